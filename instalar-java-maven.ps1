@@ -1,8 +1,8 @@
-# Script de Instalação do Java 17 e Maven
+# Script de Instalação do Java 21 e Maven
 # Execute este script como Administrador (clique com botão direito > Executar como administrador)
 
 Write-Host "========================================" -ForegroundColor Cyan
-Write-Host "Instalador Java 17 e Maven" -ForegroundColor Cyan
+Write-Host "Instalador Java 21 e Maven" -ForegroundColor Cyan
 Write-Host "========================================" -ForegroundColor Cyan
 Write-Host ""
 
@@ -16,7 +16,7 @@ if (-not $isAdmin) {
 }
 
 # Caminhos
-$javaZip = "$env:TEMP\OpenJDK17.zip"
+$javaZip = "$env:TEMP\OpenJDK21.zip"
 $mavenZip = "$env:TEMP\apache-maven.zip"
 $javaDir = "C:\Program Files\Java"
 $mavenDir = "C:\Program Files\Apache"
@@ -24,7 +24,7 @@ $mavenDir = "C:\Program Files\Apache"
 # Verificar se os arquivos foram baixados
 if (-not (Test-Path $javaZip)) {
     Write-Host "ERRO: Arquivo Java não encontrado em: $javaZip" -ForegroundColor Red
-    Write-Host "Por favor, baixe o Java 17 primeiro." -ForegroundColor Yellow
+    Write-Host "Por favor, baixe o Java 21 primeiro." -ForegroundColor Yellow
     pause
     exit 1
 }
@@ -37,7 +37,7 @@ if (-not (Test-Path $mavenZip)) {
 }
 
 # 1. Instalar Java
-Write-Host "[1/4] Extraindo Java 17..." -ForegroundColor Yellow
+Write-Host "[1/4] Extraindo Java 21..." -ForegroundColor Yellow
 if (-not (Test-Path $javaDir)) {
     New-Item -ItemType Directory -Path $javaDir -Force | Out-Null
 }
@@ -114,7 +114,7 @@ Write-Host "========================================" -ForegroundColor Cyan
 Write-Host "Instalação Concluída!" -ForegroundColor Green
 Write-Host "========================================" -ForegroundColor Cyan
 Write-Host ""
-Write-Host "Java 17:" -ForegroundColor Yellow
+Write-Host "Java 21:" -ForegroundColor Yellow
 & "$javaBin\java.exe" -version 2>&1 | Select-Object -First 1
 Write-Host ""
 Write-Host "Maven:" -ForegroundColor Yellow
@@ -0,0 +1,73 @@
+#!/bin/bash
+
+# Mede o tempo até a primeira requisição: do início do processo até a primeira resposta 2xx da URL.
+#
+# Uso: ./medir-inicializacao.sh [repeticoes] -- <comando que sobe a aplicação>
+#   URL=http://localhost:8080/api/cursos   URL consultada (padrão)
+#   ESPERA_MAXIMA=120                      segundos até desistir de uma execução
+#
+# Exemplos:
+#   ./medir-inicializacao.sh 5 -- java -Dspring.profiles.active=prod -jar target/gestao-alunos-1.0.0.jar
+#   ./medir-inicializacao.sh 5 -- docker run --rm -p 8080:8080 -e DATABASE_URL=... gestao-alunos
+
+URL=${URL:-http://localhost:8080/api/cursos}
+ESPERA_MAXIMA=${ESPERA_MAXIMA:-120}
+
+repeticoes=5
+if [ "$1" != "--" ] && [ -n "$1" ]; then
+    repeticoes=$1
+    shift
+fi
+if [ "$1" != "--" ] || [ -z "$2" ]; then
+    echo "Uso: $0 [repeticoes] -- <comando que sobe a aplicação>"
+    exit 1
+fi
+shift
+
+if curl -s -o /dev/null "$URL"; then
+    echo "❌ $URL já responde antes da aplicação subir; encerre a instância em execução"
+    exit 1
+fi
+
+agora_ms() {
+    echo $(( $(date +%s%N) / 1000000 ))
+}
+
+tempos=()
+for ((i = 1; i <= repeticoes; i++)); do
+    log=$(mktemp)
+    inicio=$(agora_ms)
+    # Grupo de processos próprio: encerra também os filhos (sh -c, docker run)
+    setsid "$@" > "$log" 2>&1 &
+    pid=$!
+
+    tempo=""
+    limite=$(( inicio + ESPERA_MAXIMA * 1000 ))
+    while [ "$(agora_ms)" -lt "$limite" ]; do
+        if curl -sf -o /dev/null --max-time 1 "$URL"; then
+            tempo=$(( $(agora_ms) - inicio ))
+            break
+        fi
+        if ! kill -0 "$pid" 2> /dev/null; then
+            break
+        fi
+        sleep 0.02
+    done
+
+    kill -TERM -- "-$pid" 2> /dev/null
+    wait "$pid" 2> /dev/null
+
+    if [ -z "$tempo" ]; then
+        echo "❌ Execução $i: sem resposta de $URL (log em $log)"
+        exit 1
+    fi
+    # Tempo de subida informado pelo próprio Spring, para comparar com o da primeira requisição
+    spring=$(grep -o "Started [A-Za-z]* in [0-9.]* seconds" "$log" | grep -o "[0-9.]* seconds")
+    echo "Execução $i: primeira requisição em ${tempo} ms (Spring: ${spring:-?})"
+    rm -f "$log"
+    tempos+=("$tempo")
+done
+
+ordenados=($(printf '%s\n' "${tempos[@]}" | sort -n))
+echo ""
+echo "Mínimo: ${ordenados[0]} ms | mediana: ${ordenados[$(( repeticoes / 2 ))]} ms | máximo: ${ordenados[$(( repeticoes - 1 ))]} ms"
@@ -0,0 +1,12 @@
+package br.com.gestao.alunos.reativo;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class GestaoAlunosReativoApplication {
+    
+    public static void main(String[] args) {
+        SpringApplication.run(GestaoAlunosReativoApplication.class, args);
+    }
+}
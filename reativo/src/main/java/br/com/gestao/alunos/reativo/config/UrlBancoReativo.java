@@ -0,0 +1,50 @@
+package br.com.gestao.alunos.reativo.config;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configura a conexão R2DBC com as mesmas variáveis de ambiente do serviço principal: spring.r2dbc.url vem de
+ * DATABASE_URL (postgres://, postgresql:// ou jdbc:postgresql://) e usuário e senha de DATABASE_USERNAME e
+ * DATABASE_PASSWORD. Propriedades spring.r2dbc.* definidas explicitamente têm precedência.
+ */
+public class UrlBancoReativo implements EnvironmentPostProcessor {
+    
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        Map<String, Object> propriedades = new HashMap<>();
+        String databaseUrl = environment.getProperty("DATABASE_URL");
+        if (databaseUrl != null && !databaseUrl.isBlank()) {
+            propriedades.put("spring.r2dbc.url", converter(databaseUrl.trim()));
+        }
+        copiar(environment, "DATABASE_USERNAME", "spring.r2dbc.username", propriedades);
+        copiar(environment, "DATABASE_PASSWORD", "spring.r2dbc.password", propriedades);
+        
+        propriedades.keySet().removeIf(environment::containsProperty);
+        if (!propriedades.isEmpty()) {
+            environment.getPropertySources().addLast(new MapPropertySource("urlBancoReativo", propriedades));
+        }
+    }
+    
+    static String converter(String databaseUrl) {
+        for (String prefixo : new String[]{"jdbc:postgresql://", "postgresql://", "postgres://"}) {
+            if (databaseUrl.startsWith(prefixo)) {
+                return "r2dbc:postgresql://" + databaseUrl.substring(prefixo.length());
+            }
+        }
+        return databaseUrl;
+    }
+    
+    private static void copiar(ConfigurableEnvironment environment, String variavel, String propriedade,
+                               Map<String, Object> propriedades) {
+        String valor = environment.getProperty(variavel);
+        if (valor != null && !valor.isBlank()) {
+            propriedades.put(propriedade, valor);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package br.com.gestao.alunos.reativo.controller;
+
+import br.com.gestao.alunos.dto.AlunoResponseDTO;
+import br.com.gestao.alunos.dto.FiltroAlunoDTO;
+import br.com.gestao.alunos.reativo.service.AlunoLeituraService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Endpoints de leitura de alunos da API servlet, com as mesmas rotas e parâmetros. As listas são fluxos: com
+ * {@code Accept: application/x-ndjson} cada aluno sai em uma linha assim que é lido; com {@code application/json}
+ * o array é escrito aos poucos. Nos dois casos a leitura do banco acompanha o ritmo de escrita na conexão.
+ */
+@RestController
+@RequestMapping("/api/alunos")
+public class AlunoReativoController {
+    
+    private final AlunoLeituraService alunoLeituraService;
+    
+    @Autowired
+    public AlunoReativoController(AlunoLeituraService alunoLeituraService) {
+        this.alunoLeituraService = alunoLeituraService;
+    }
+    
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<AlunoResponseDTO> listarAlunos(@RequestParam(required = false) String cursor,
+                                               @RequestParam(required = false) Integer limite) {
+        return alunoLeituraService.listarAlunos(cursor, limite);
+    }
+    
+    @GetMapping("/{id}")
+    public Mono<AlunoResponseDTO> buscarAlunoPorId(@PathVariable Long id) {
+        return alunoLeituraService.buscarAlunoPorId(id);
+    }
+    
+    @GetMapping(value = "/filtro", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<AlunoResponseDTO> buscarAlunosComFiltro(FiltroAlunoDTO filtro,
+                                                        @RequestParam(required = false) String cursor,
+                                                        @RequestParam(required = false) Integer limite) {
+        return alunoLeituraService.buscarAlunosComFiltro(filtro, cursor, limite);
+    }
+}
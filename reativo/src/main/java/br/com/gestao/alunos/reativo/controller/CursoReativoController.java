@@ -0,0 +1,34 @@
+package br.com.gestao.alunos.reativo.controller;
+
+import br.com.gestao.alunos.dto.CursoDTO;
+import br.com.gestao.alunos.reativo.service.CursoLeituraService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/cursos")
+public class CursoReativoController {
+    
+    private final CursoLeituraService cursoLeituraService;
+    
+    @Autowired
+    public CursoReativoController(CursoLeituraService cursoLeituraService) {
+        this.cursoLeituraService = cursoLeituraService;
+    }
+    
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<CursoDTO> listarTodosCursos() {
+        return cursoLeituraService.listarTodosCursos();
+    }
+    
+    @GetMapping("/{id}")
+    public Mono<CursoDTO> buscarCursoPorId(@PathVariable Long id) {
+        return cursoLeituraService.buscarCursoPorId(id);
+    }
+}
@@ -0,0 +1,58 @@
+package br.com.gestao.alunos.reativo.exception;
+
+import br.com.gestao.alunos.exception.BusinessException;
+import br.com.gestao.alunos.exception.ErrorResponse;
+import br.com.gestao.alunos.exception.ResourceNotFoundException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebInputException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Mesmo corpo de erro ({@link ErrorResponse}) da API servlet. Só vale para erros anteriores ao primeiro elemento:
+ * depois que a resposta começou a ser enviada, uma falha no fluxo encerra a conexão.
+ */
+@RestControllerAdvice
+public class TratadorErrosReativo {
+    
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleResourceNotFoundException(
+            ResourceNotFoundException ex, ServerHttpRequest request) {
+        return responder(HttpStatus.NOT_FOUND, "Recurso não encontrado", ex.getMessage(), request, null);
+    }
+    
+    @ExceptionHandler(BusinessException.class)
+    public ResponseEntity<ErrorResponse> handleBusinessException(BusinessException ex, ServerHttpRequest request) {
+        return responder(HttpStatus.BAD_REQUEST, "Erro de negócio", ex.getMessage(), request, null);
+    }
+    
+    // Filtro com valor que não converte para o tipo do campo (ex.: semestre=abc)
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ErrorResponse> handleBindException(WebExchangeBindException ex, ServerHttpRequest request) {
+        List<String> detalhes = ex.getFieldErrors().stream()
+                .map(FieldError::getField)
+                .map(campo -> "Valor inválido para " + campo)
+                .toList();
+        return responder(HttpStatus.BAD_REQUEST, "Erro de validação", "Dados inválidos fornecidos", request, detalhes);
+    }
+    
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<ErrorResponse> handleServerWebInputException(
+            ServerWebInputException ex, ServerHttpRequest request) {
+        return responder(HttpStatus.BAD_REQUEST, "Erro de validação", ex.getReason(), request, null);
+    }
+    
+    private static ResponseEntity<ErrorResponse> responder(HttpStatus status, String erro, String mensagem,
+                                                           ServerHttpRequest request, List<String> detalhes) {
+        ErrorResponse error = new ErrorResponse(LocalDateTime.now(), status.value(), erro, mensagem,
+                request.getPath().value(), detalhes);
+        return new ResponseEntity<>(error, status);
+    }
+}
@@ -0,0 +1,206 @@
+package br.com.gestao.alunos.reativo.repository;
+
+import br.com.gestao.alunos.dto.AlunoResponseDTO;
+import br.com.gestao.alunos.dto.FiltroAlunoDTO;
+import br.com.gestao.alunos.dto.OrdenacaoAluno;
+import io.r2dbc.spi.Readable;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * Consultas de leitura de alunos em SQL sobre R2DBC, com as mesmas projeções, filtros e ordenações da API servlet
+ * (AlunoRepository e AlunoRepositoryImpl). Os nulos do campo ordenado ficam por último em asc e primeiro em desc,
+ * escritos explicitamente porque o padrão do H2 é o contrário do PostgreSQL.
+ *
+ * <p>As listas saem em lotes buscados por keyset, como as páginas da API servlet: cada lote ocupa uma conexão só
+ * durante a sua consulta, e o próximo só é buscado quando o assinante já pediu os elementos do anterior. Um cliente
+ * lento segura no máximo dois lotes em memória e nenhuma conexão enquanto lê. O fluxo não é um retrato único do
+ * banco: como ao seguir o cursor página a página, escritas entre dois lotes podem aparecer no resultado.
+ */
+@Repository
+public class AlunoLeituraRepository {
+    
+    private static final String SELECT_RESUMO = "SELECT a.id, a.nome, a.matricula, a.email, c.nome AS curso_nome, " +
+            "c.id AS curso_id, a.semestre, a.media_geral, a.data_matricula FROM alunos a JOIN cursos c ON c.id = a.curso_id";
+    
+    private static final Map<OrdenacaoAluno, String> COLUNAS = Map.of(
+            OrdenacaoAluno.ID, "a.id",
+            OrdenacaoAluno.NOME, "a.nome",
+            OrdenacaoAluno.SEMESTRE, "a.semestre",
+            OrdenacaoAluno.MEDIA_GERAL, "a.media_geral",
+            OrdenacaoAluno.DATA_MATRICULA, "a.data_matricula");
+    
+    private final DatabaseClient databaseClient;
+    private final int tamanhoLote;
+    
+    @Autowired
+    public AlunoLeituraRepository(DatabaseClient databaseClient,
+                                  @Value("${leitura.reativa.tamanho-lote:100}") int tamanhoLote) {
+        this.databaseClient = databaseClient;
+        this.tamanhoLote = tamanhoLote;
+    }
+    
+    public Mono<AlunoResponseDTO> buscarPorId(Long id) {
+        return databaseClient.sql(SELECT_RESUMO + " WHERE a.id = :id")
+                .bind("id", id)
+                .map(AlunoLeituraRepository::converter)
+                .one();
+    }
+    
+    /**
+     * Alunos com ID maior que {@code ultimoId}, em ordem de ID; sem {@code quantidade}, até o fim da tabela.
+     */
+    public Flux<AlunoResponseDTO> listarAposId(long ultimoId, Integer quantidade) {
+        return emLotes(quantidade, (ultimo, tamanho) -> databaseClient
+                .sql(SELECT_RESUMO + " WHERE a.id > :ultimoId ORDER BY a.id LIMIT " + tamanho)
+                .bind("ultimoId", ultimo != null ? ultimo.getId() : ultimoId)
+                .map(AlunoLeituraRepository::converter)
+                .all());
+    }
+    
+    public Flux<AlunoResponseDTO> buscarPorFiltro(FiltroAlunoDTO filtro, OrdenacaoAluno ordenacao, boolean decrescente,
+                                                  Long ultimoId, Object ultimoValor, Integer quantidade) {
+        // Cada lote continua do último aluno do lote anterior, exatamente como um cursor da API servlet
+        return emLotes(quantidade, (ultimo, tamanho) -> ultimo == null
+                ? buscarLote(filtro, ordenacao, decrescente, ultimoId, ultimoValor, tamanho)
+                : buscarLote(filtro, ordenacao, decrescente, ultimo.getId(), ordenacao.valorDe(ultimo), tamanho));
+    }
+    
+    private Flux<AlunoResponseDTO> buscarLote(FiltroAlunoDTO filtro, OrdenacaoAluno ordenacao, boolean decrescente,
+                                              Long ultimoId, Object ultimoValor, int tamanho) {
+        Map<String, Object> parametros = new LinkedHashMap<>();
+        List<String> condicoes = criarCondicoes(filtro, parametros);
+        if (ultimoId != null) {
+            condicoes.add(depoisDoCursor(ordenacao, decrescente, ultimoId, ultimoValor, parametros));
+        }
+        
+        StringBuilder sql = new StringBuilder(SELECT_RESUMO);
+        if (!condicoes.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", condicoes));
+        }
+        sql.append(" ORDER BY ");
+        if (ordenacao != OrdenacaoAluno.ID) {
+            sql.append(COLUNAS.get(ordenacao)).append(decrescente ? " DESC NULLS FIRST, " : " ASC NULLS LAST, ");
+        }
+        sql.append(decrescente ? "a.id DESC" : "a.id ASC").append(" LIMIT ").append(tamanho);
+        
+        DatabaseClient.GenericExecuteSpec consulta = databaseClient.sql(sql.toString());
+        for (Map.Entry<String, Object> parametro : parametros.entrySet()) {
+            consulta = consulta.bind(parametro.getKey(), parametro.getValue());
+        }
+        return consulta.map(AlunoLeituraRepository::converter).all();
+    }
+    
+    /**
+     * Encadeia lotes de até {@code tamanhoLote} alunos até um lote vir incompleto ou a quantidade ser atingida.
+     * {@code buscar} recebe o último aluno entregue (null no primeiro lote) e o tamanho do lote.
+     */
+    private Flux<AlunoResponseDTO> emLotes(Integer quantidade,
+                                           BiFunction<AlunoResponseDTO, Integer, Flux<AlunoResponseDTO>> buscar) {
+        int total = quantidade != null ? quantidade : Integer.MAX_VALUE;
+        return proximoLote(buscar, null, total)
+                .expand(lote -> lote.isUltimo()
+                        ? Mono.empty()
+                        : proximoLote(buscar, lote.getAlunos().get(lote.getAlunos().size() - 1), lote.getRestante()))
+                // Um lote em espera além do que está sendo enviado
+                .flatMapIterable(Lote::getAlunos, 1);
+    }
+    
+    private Mono<Lote> proximoLote(BiFunction<AlunoResponseDTO, Integer, Flux<AlunoResponseDTO>> buscar,
+                                   AlunoResponseDTO ultimo, int restante) {
+        int tamanho = Math.min(tamanhoLote, restante);
+        return buscar.apply(ultimo, tamanho)
+                .collectList()
+                .map(alunos -> new Lote(alunos, restante - alunos.size(),
+                        alunos.size() < tamanho || alunos.size() == restante));
+    }
+    
+    private static List<String> criarCondicoes(FiltroAlunoDTO filtro, Map<String, Object> parametros) {
+        List<String> condicoes = new ArrayList<>();
+        
+        adicionar(condicoes, parametros, "a.curso_id = :cursoId", "cursoId", filtro.getCursoId());
+        if (filtro.getEmail() != null && !filtro.getEmail().isBlank()) {
+            // lower(email) é atendido pelo índice de expressão no PostgreSQL
+            adicionar(condicoes, parametros, "lower(a.email) = :email", "email",
+                    filtro.getEmail().trim().toLowerCase(Locale.ROOT));
+        }
+        adicionar(condicoes, parametros, "a.semestre = :semestre", "semestre", filtro.getSemestre());
+        adicionar(condicoes, parametros, "a.semestre >= :semestreMinimo", "semestreMinimo", filtro.getSemestreMinimo());
+        adicionar(condicoes, parametros, "a.semestre <= :semestreMaximo", "semestreMaximo", filtro.getSemestreMaximo());
+        adicionar(condicoes, parametros, "a.media_geral >= :mediaMinima", "mediaMinima", filtro.getMediaMinima());
+        adicionar(condicoes, parametros, "a.media_geral <= :mediaMaxima", "mediaMaxima", filtro.getMediaMaxima());
+        adicionar(condicoes, parametros, "a.data_matricula >= :dataMatriculaInicio", "dataMatriculaInicio",
+                filtro.getDataMatriculaInicio());
+        adicionar(condicoes, parametros, "a.data_matricula <= :dataMatriculaFim", "dataMatriculaFim",
+                filtro.getDataMatriculaFim());
+        
+        return condicoes;
+    }
+    
+    private static String depoisDoCursor(OrdenacaoAluno ordenacao, boolean decrescente, Long ultimoId,
+                                         Object ultimoValor, Map<String, Object> parametros) {
+        parametros.put("ultimoId", ultimoId);
+        String idDepois = decrescente ? "a.id < :ultimoId" : "a.id > :ultimoId";
+        if (ordenacao == OrdenacaoAluno.ID) {
+            return idDepois;
+        }
+        
+        String campo = COLUNAS.get(ordenacao);
+        if (ultimoValor == null) {
+            // Cursor parado entre os nulos: em asc restam só nulos; em desc ainda vêm todos os não nulos
+            String nulosDepois = "(" + campo + " IS NULL AND " + idDepois + ")";
+            return decrescente ? "(" + nulosDepois + " OR " + campo + " IS NOT NULL)" : nulosDepois;
+        }
+        
+        parametros.put("ultimoValor", ultimoValor);
+        String valorDepois = campo + (decrescente ? " < :ultimoValor" : " > :ultimoValor");
+        String empateDepois = "(" + campo + " = :ultimoValor AND " + idDepois + ")";
+        if (ordenacao.isAnulavel() && !decrescente) {
+            return "(" + valorDepois + " OR " + empateDepois + " OR " + campo + " IS NULL)";
+        }
+        return "(" + valorDepois + " OR " + empateDepois + ")";
+    }
+    
+    private static void adicionar(List<String> condicoes, Map<String, Object> parametros, String condicao,
+                                  String nome, Object valor) {
+        if (valor != null) {
+            condicoes.add(condicao);
+            parametros.put(nome, valor);
+        }
+    }
+    
+    private static AlunoResponseDTO converter(Readable linha) {
+        return new AlunoResponseDTO(
+                linha.get("id", Long.class),
+                linha.get("nome", String.class),
+                linha.get("matricula", String.class),
+                linha.get("email", String.class),
+                linha.get("curso_nome", String.class),
+                linha.get("curso_id", Long.class),
+                linha.get("semestre", Integer.class),
+                linha.get("media_geral", Double.class),
+                linha.get("data_matricula", LocalDate.class));
+    }
+    
+    @Getter
+    @AllArgsConstructor
+    private static final class Lote {
+        private final List<AlunoResponseDTO> alunos;
+        private final int restante;
+        private final boolean ultimo;
+    }
+}
@@ -0,0 +1,40 @@
+package br.com.gestao.alunos.reativo.repository;
+
+import br.com.gestao.alunos.dto.CursoDTO;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+public class CursoLeituraRepository {
+    
+    private static final String SELECT_CURSO = "SELECT id, nome, descricao FROM cursos";
+    
+    private final DatabaseClient databaseClient;
+    
+    @Autowired
+    public CursoLeituraRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+    
+    public Flux<CursoDTO> listar() {
+        return databaseClient.sql(SELECT_CURSO + " ORDER BY id")
+                .map(CursoLeituraRepository::converter)
+                .all();
+    }
+    
+    public Mono<CursoDTO> buscarPorId(Long id) {
+        return databaseClient.sql(SELECT_CURSO + " WHERE id = :id")
+                .bind("id", id)
+                .map(CursoLeituraRepository::converter)
+                .one();
+    }
+    
+    private static CursoDTO converter(Readable linha) {
+        return new CursoDTO(linha.get("id", Long.class), linha.get("nome", String.class),
+                linha.get("descricao", String.class));
+    }
+}
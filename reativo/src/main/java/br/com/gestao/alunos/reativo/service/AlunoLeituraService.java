@@ -0,0 +1,65 @@
+package br.com.gestao.alunos.reativo.service;
+
+import br.com.gestao.alunos.dto.AlunoResponseDTO;
+import br.com.gestao.alunos.dto.FiltroAlunoDTO;
+import br.com.gestao.alunos.dto.OrdenacaoAluno;
+import br.com.gestao.alunos.exception.BusinessException;
+import br.com.gestao.alunos.exception.ResourceNotFoundException;
+import br.com.gestao.alunos.reativo.repository.AlunoLeituraRepository;
+import br.com.gestao.alunos.service.CursorPaginacao;
+import br.com.gestao.alunos.service.ValidacaoFiltroAluno;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Leitura de alunos em streaming. Aceita os mesmos cursores e filtros da API servlet, mas entrega o resultado
+ * inteiro em um único fluxo em vez de páginas: sem limite, o fluxo segue até o último aluno.
+ */
+@Service
+public class AlunoLeituraService {
+    
+    private final AlunoLeituraRepository alunoLeituraRepository;
+    
+    @Autowired
+    public AlunoLeituraService(AlunoLeituraRepository alunoLeituraRepository) {
+        this.alunoLeituraRepository = alunoLeituraRepository;
+    }
+    
+    public Flux<AlunoResponseDTO> listarAlunos(String cursor, Integer limite) {
+        // Validação antes da consulta: um parâmetro inválido vira erro do fluxo, sem abrir conexão
+        return Flux.defer(() -> {
+            long ultimoId = CursorPaginacao.decodificar(cursor);
+            return alunoLeituraRepository.listarAposId(ultimoId, validarLimite(limite));
+        });
+    }
+    
+    public Mono<AlunoResponseDTO> buscarAlunoPorId(Long id) {
+        return alunoLeituraRepository.buscarPorId(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Aluno não encontrado com ID: " + id)));
+    }
+    
+    public Flux<AlunoResponseDTO> buscarAlunosComFiltro(FiltroAlunoDTO filtro, String cursor, Integer limite) {
+        return Flux.defer(() -> {
+            ValidacaoFiltroAluno.validar(filtro);
+            OrdenacaoAluno ordenacao = OrdenacaoAluno.de(filtro.getOrdenacao());
+            boolean decrescente = ValidacaoFiltroAluno.isDecrescente(filtro.getDirecao());
+            String chaveOrdenacao = ordenacao.getAtributo() + (decrescente ? ".desc" : ".asc");
+            
+            CursorPaginacao.Posicao posicao = CursorPaginacao.decodificar(cursor, chaveOrdenacao);
+            Long ultimoId = posicao != null ? posicao.getUltimoId() : null;
+            Object ultimoValor = posicao != null
+                    ? ValidacaoFiltroAluno.converterValorDoCursor(ordenacao, posicao.getUltimoValor()) : null;
+            return alunoLeituraRepository.buscarPorFiltro(filtro, ordenacao, decrescente, ultimoId, ultimoValor,
+                    validarLimite(limite));
+        });
+    }
+    
+    private static Integer validarLimite(Integer limite) {
+        if (limite != null && limite < 1) {
+            throw new BusinessException("O limite deve ser no mínimo 1");
+        }
+        return limite;
+    }
+}
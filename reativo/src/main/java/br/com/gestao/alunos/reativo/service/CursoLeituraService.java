@@ -0,0 +1,29 @@
+package br.com.gestao.alunos.reativo.service;
+
+import br.com.gestao.alunos.dto.CursoDTO;
+import br.com.gestao.alunos.exception.ResourceNotFoundException;
+import br.com.gestao.alunos.reativo.repository.CursoLeituraRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+public class CursoLeituraService {
+    
+    private final CursoLeituraRepository cursoLeituraRepository;
+    
+    @Autowired
+    public CursoLeituraService(CursoLeituraRepository cursoLeituraRepository) {
+        this.cursoLeituraRepository = cursoLeituraRepository;
+    }
+    
+    public Flux<CursoDTO> listarTodosCursos() {
+        return cursoLeituraRepository.listar();
+    }
+    
+    public Mono<CursoDTO> buscarCursoPorId(Long id) {
+        return cursoLeituraRepository.buscarPorId(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Curso não encontrado com ID: " + id)));
+    }
+}
@@ -0,0 +1,167 @@
+package br.com.gestao.alunos.reativo.controller;
+
+import br.com.gestao.alunos.dto.AlunoResponseDTO;
+import br.com.gestao.alunos.service.CursorPaginacao;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+// Banco em memória próprio, separado do usado pelos testes de repositório na mesma JVM
+@TestPropertySource(properties = {
+        "spring.r2dbc.generate-unique-name=true",
+        "spring.sql.init.schema-locations=classpath:db/migration/comum/V1__criar_cursos_e_alunos.sql"
+})
+class AlunoReativoControllerTest {
+    
+    @Autowired
+    private WebTestClient webTestClient;
+    
+    @Autowired
+    private DatabaseClient databaseClient;
+    
+    @BeforeEach
+    void setUp() {
+        executar("DELETE FROM alunos");
+        executar("DELETE FROM cursos");
+        executar("INSERT INTO cursos (id, nome) VALUES (1, 'Ciência da Computação'), (2, 'Sistemas de Informação')");
+        executar("INSERT INTO alunos (id, nome, matricula, email, curso_id, semestre, media_geral, data_matricula) VALUES " +
+                "(1, 'Ana', 'MAT1', 'ana@email.com', 1, 1, 9.0, DATE '2024-02-01'), " +
+                "(2, 'Bruno', 'MAT2', 'bruno@email.com', 1, 3, 7.5, DATE '2023-08-01'), " +
+                "(3, 'Carla', 'MAT3', 'carla@email.com', 1, 3, NULL, NULL), " +
+                "(4, 'Daniel', 'MAT4', 'daniel@email.com', 1, 5, 9.0, DATE '2022-02-01'), " +
+                "(5, 'Elisa', 'MAT5', 'elisa@email.com', 2, 3, 8.0, DATE '2024-02-01')");
+    }
+    
+    private void executar(String sql) {
+        databaseClient.sql(sql).then().block();
+    }
+    
+    @Test
+    void listarAlunos_Json_DeveTrazerTodosEmOrdemDeId() {
+        webTestClient.get().uri("/api/alunos")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(5)
+                .jsonPath("$[0].nome").isEqualTo("Ana")
+                .jsonPath("$[0].cursoNome").isEqualTo("Ciência da Computação")
+                .jsonPath("$[0].dataMatricula").isEqualTo("2024-02-01")
+                .jsonPath("$[4].nome").isEqualTo("Elisa");
+    }
+    
+    @Test
+    void listarAlunos_Ndjson_DeveEmitirUmAlunoPorLinha() {
+        Flux<AlunoResponseDTO> alunos = webTestClient.get().uri("/api/alunos")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(AlunoResponseDTO.class)
+                .getResponseBody();
+        
+        StepVerifier.create(alunos.map(AlunoResponseDTO::getNome))
+                .expectNext("Ana", "Bruno", "Carla", "Daniel", "Elisa")
+                .verifyComplete();
+    }
+    
+    @Test
+    void listarAlunos_CursorDaApiServlet_DeveContinuarDepoisDele() {
+        webTestClient.get().uri("/api/alunos?cursor={cursor}&limite=2", CursorPaginacao.codificar(2L))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].nome").isEqualTo("Carla")
+                .jsonPath("$[1].nome").isEqualTo("Daniel");
+    }
+    
+    @Test
+    void listarAlunos_LimiteInvalido_DeveRetornarBadRequest() {
+        webTestClient.get().uri("/api/alunos?limite=0")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("O limite deve ser no mínimo 1")
+                .jsonPath("$.path").isEqualTo("/api/alunos");
+    }
+    
+    @Test
+    void listarAlunos_CursorInvalido_DeveRetornarBadRequest() {
+        webTestClient.get().uri("/api/alunos?cursor=invalido")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Cursor de paginação inválido");
+    }
+    
+    @Test
+    void buscarAlunoPorId_Sucesso() {
+        webTestClient.get().uri("/api/alunos/5")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.nome").isEqualTo("Elisa")
+                .jsonPath("$.cursoId").isEqualTo(2);
+    }
+    
+    @Test
+    void buscarAlunoPorId_Inexistente_DeveRetornarNotFound() {
+        webTestClient.get().uri("/api/alunos/99")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Aluno não encontrado com ID: 99");
+    }
+    
+    @Test
+    void buscarAlunosComFiltro_OrdenadoPorMediaDesc() {
+        webTestClient.get().uri("/api/alunos/filtro?cursoId=1&ordenacao=mediaGeral&direcao=desc")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(4)
+                .jsonPath("$[0].nome").isEqualTo("Carla")
+                .jsonPath("$[1].nome").isEqualTo("Daniel")
+                .jsonPath("$[2].nome").isEqualTo("Ana")
+                .jsonPath("$[3].nome").isEqualTo("Bruno");
+    }
+    
+    @Test
+    void buscarAlunosComFiltro_CursorDeOutraOrdenacao_DeveRetornarBadRequest() {
+        String cursor = CursorPaginacao.codificar("nome.asc", 1L, "Ana");
+        
+        webTestClient.get().uri("/api/alunos/filtro?ordenacao=semestre&cursor={cursor}", cursor)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("O cursor foi gerado para outra ordenação");
+    }
+    
+    @Test
+    void buscarAlunosComFiltro_FaixaInvertida_DeveRetornarBadRequest() {
+        webTestClient.get().uri("/api/alunos/filtro?semestreMinimo=5&semestreMaximo=2")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("O semestre mínimo não pode ser maior que o semestre máximo");
+    }
+    
+    @Test
+    void buscarAlunosComFiltro_ValorNaoNumerico_DeveRetornarBadRequest() {
+        webTestClient.get().uri("/api/alunos/filtro?semestre=abc")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Erro de validação")
+                .jsonPath("$.details[0]").isEqualTo("Valor inválido para semestre");
+    }
+}
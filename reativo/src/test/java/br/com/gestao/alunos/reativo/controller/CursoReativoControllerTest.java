@@ -0,0 +1,64 @@
+package br.com.gestao.alunos.reativo.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+// Banco em memória próprio, separado do usado pelos testes de repositório na mesma JVM
+@TestPropertySource(properties = {
+        "spring.r2dbc.generate-unique-name=true",
+        "spring.sql.init.schema-locations=classpath:db/migration/comum/V1__criar_cursos_e_alunos.sql"
+})
+class CursoReativoControllerTest {
+    
+    @Autowired
+    private WebTestClient webTestClient;
+    
+    @Autowired
+    private DatabaseClient databaseClient;
+    
+    @BeforeEach
+    void setUp() {
+        databaseClient.sql("DELETE FROM alunos").then().block();
+        databaseClient.sql("DELETE FROM cursos").then().block();
+        databaseClient.sql("INSERT INTO cursos (id, nome, descricao) VALUES (1, 'Ciência da Computação', 'Curso de CC'), " +
+                "(2, 'Sistemas de Informação', NULL)").then().block();
+    }
+    
+    @Test
+    void listarTodosCursos_Sucesso() {
+        webTestClient.get().uri("/api/cursos")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].nome").isEqualTo("Ciência da Computação")
+                .jsonPath("$[0].descricao").isEqualTo("Curso de CC")
+                .jsonPath("$[1].nome").isEqualTo("Sistemas de Informação");
+    }
+    
+    @Test
+    void buscarCursoPorId_Sucesso() {
+        webTestClient.get().uri("/api/cursos/2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(2)
+                .jsonPath("$.nome").isEqualTo("Sistemas de Informação");
+    }
+    
+    @Test
+    void buscarCursoPorId_Inexistente_DeveRetornarNotFound() {
+        webTestClient.get().uri("/api/cursos/99")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Recurso não encontrado")
+                .jsonPath("$.message").isEqualTo("Curso não encontrado com ID: 99");
+    }
+}
@@ -0,0 +1,191 @@
+package br.com.gestao.alunos.reativo.repository;
+
+import br.com.gestao.alunos.dto.AlunoResponseDTO;
+import br.com.gestao.alunos.dto.FiltroAlunoDTO;
+import br.com.gestao.alunos.dto.OrdenacaoAluno;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.r2dbc.DataR2dbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.TestPropertySource;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataR2dbcTest
+@Import(AlunoLeituraRepository.class)
+// Esquema das migrations do serviço principal; lote pequeno para as listas atravessarem vários lotes
+@TestPropertySource(properties = {
+        "spring.sql.init.schema-locations=classpath:db/migration/comum/V1__criar_cursos_e_alunos.sql",
+        "leitura.reativa.tamanho-lote=2"
+})
+class AlunoLeituraRepositoryTest {
+    
+    @Autowired
+    private DatabaseClient databaseClient;
+    
+    @Autowired
+    private AlunoLeituraRepository alunoLeituraRepository;
+    
+    @BeforeEach
+    void setUp() {
+        executar("DELETE FROM alunos");
+        executar("DELETE FROM cursos");
+        executar("INSERT INTO cursos (id, nome) VALUES (1, 'Ciência da Computação'), (2, 'Sistemas de Informação')");
+        inserirAluno(1, "Ana", 1, 1, 9.0, LocalDate.of(2024, 2, 1));
+        inserirAluno(2, "Bruno", 1, 3, 7.5, LocalDate.of(2023, 8, 1));
+        inserirAluno(3, "Carla", 1, 3, null, null);
+        inserirAluno(4, "Daniel", 1, 5, 9.0, LocalDate.of(2022, 2, 1));
+        inserirAluno(5, "Elisa", 2, 3, 8.0, LocalDate.of(2024, 2, 1));
+    }
+    
+    private void executar(String sql) {
+        databaseClient.sql(sql).then().block();
+    }
+    
+    private void inserirAluno(long id, String nome, long cursoId, int semestre, Double media, LocalDate data) {
+        DatabaseClient.GenericExecuteSpec insert = databaseClient.sql("INSERT INTO alunos (id, nome, matricula, " +
+                        "email, curso_id, semestre, media_geral, data_matricula) VALUES (:id, :nome, :matricula, " +
+                        ":email, :cursoId, :semestre, :media, :data)")
+                .bind("id", id)
+                .bind("nome", nome)
+                .bind("matricula", "MAT" + id)
+                .bind("email", nome.toLowerCase() + "@email.com")
+                .bind("cursoId", cursoId)
+                .bind("semestre", semestre);
+        insert = media != null ? insert.bind("media", media) : insert.bindNull("media", Double.class);
+        insert = data != null ? insert.bind("data", data) : insert.bindNull("data", LocalDate.class);
+        insert.then().block();
+    }
+    
+    @Test
+    void buscarPorId_DeveTrazerNomeDoCurso() {
+        AlunoResponseDTO aluno = alunoLeituraRepository.buscarPorId(2L).block();
+        
+        assertNotNull(aluno);
+        assertEquals("Bruno", aluno.getNome());
+        assertEquals("Ciência da Computação", aluno.getCursoNome());
+        assertEquals(LocalDate.of(2023, 8, 1), aluno.getDataMatricula());
+    }
+    
+    @Test
+    void buscarPorId_Inexistente_DeveSerVazio() {
+        StepVerifier.create(alunoLeituraRepository.buscarPorId(99L)).verifyComplete();
+    }
+    
+    @Test
+    void listarAposId_SemLimite_DeveIrAteOFimAtravessandoOsLotes() {
+        List<String> nomes = nomes(alunoLeituraRepository.listarAposId(1L, null).collectList().block());
+        
+        assertEquals(List.of("Bruno", "Carla", "Daniel", "Elisa"), nomes);
+    }
+    
+    @Test
+    void listarAposId_ComLimite() {
+        List<String> nomes = nomes(alunoLeituraRepository.listarAposId(0L, 2).collectList().block());
+        
+        assertEquals(List.of("Ana", "Bruno"), nomes);
+    }
+    
+    @Test
+    void listarAposId_LimiteNoMeioDeUmLote() {
+        List<String> nomes = nomes(alunoLeituraRepository.listarAposId(0L, 3).collectList().block());
+        
+        assertEquals(List.of("Ana", "Bruno", "Carla"), nomes);
+    }
+    
+    @Test
+    void listarAposId_DeveEmitirSoOQueFoiPedido() {
+        StepVerifier.create(alunoLeituraRepository.listarAposId(0L, null), 1)
+                .expectNextMatches(aluno -> aluno.getNome().equals("Ana"))
+                .expectNoEvent(Duration.ofMillis(100))
+                .thenRequest(2)
+                .expectNextCount(2)
+                .thenCancel()
+                .verify();
+    }
+    
+    @Test
+    void buscarPorFiltro_CombinaTodosOsCriterios() {
+        FiltroAlunoDTO filtro = new FiltroAlunoDTO();
+        filtro.setCursoId(1L);
+        filtro.setSemestreMinimo(2);
+        filtro.setMediaMinima(7.0);
+        filtro.setDataMatriculaFim(LocalDate.of(2023, 12, 31));
+        
+        List<AlunoResponseDTO> alunos = alunoLeituraRepository
+                .buscarPorFiltro(filtro, OrdenacaoAluno.ID, false, null, null, null).collectList().block();
+        
+        assertEquals(List.of("Bruno", "Daniel"), nomes(alunos));
+    }
+    
+    @Test
+    void buscarPorFiltro_Email_DeveIgnorarMaiusculasEEspacos() {
+        FiltroAlunoDTO filtro = new FiltroAlunoDTO();
+        filtro.setEmail(" Carla@Email.COM ");
+        
+        List<AlunoResponseDTO> alunos = alunoLeituraRepository
+                .buscarPorFiltro(filtro, OrdenacaoAluno.ID, false, null, null, null).collectList().block();
+        
+        assertEquals(List.of("Carla"), nomes(alunos));
+    }
+    
+    @Test
+    void buscarPorFiltro_OrdenadoPorMediaAsc_NulosNoFim() {
+        FiltroAlunoDTO filtro = new FiltroAlunoDTO();
+        filtro.setCursoId(1L);
+        
+        assertEquals(List.of("Bruno", "Ana", "Daniel", "Carla"), percorrer(filtro, OrdenacaoAluno.MEDIA_GERAL, false));
+    }
+    
+    @Test
+    void buscarPorFiltro_OrdenadoPorMediaDesc_NulosNoInicio() {
+        FiltroAlunoDTO filtro = new FiltroAlunoDTO();
+        filtro.setCursoId(1L);
+        
+        assertEquals(List.of("Carla", "Daniel", "Ana", "Bruno"), percorrer(filtro, OrdenacaoAluno.MEDIA_GERAL, true));
+    }
+    
+    @Test
+    void buscarPorFiltro_OrdenadoPorMediaAsc_LotesContinuamDoUltimoAluno() {
+        List<AlunoResponseDTO> alunos = alunoLeituraRepository
+                .buscarPorFiltro(new FiltroAlunoDTO(), OrdenacaoAluno.MEDIA_GERAL, false, null, null, null)
+                .collectList().block();
+        
+        assertEquals(List.of("Bruno", "Elisa", "Ana", "Daniel", "Carla"), nomes(alunos));
+    }
+    
+    @Test
+    void buscarPorFiltro_OrdenadoPorSemestre_DesempataPorId() {
+        FiltroAlunoDTO filtro = new FiltroAlunoDTO();
+        filtro.setSemestre(3);
+        
+        assertEquals(List.of("Bruno", "Carla", "Elisa"), percorrer(filtro, OrdenacaoAluno.SEMESTRE, false));
+    }
+    
+    // Retoma a consulta uma linha por vez a partir da última recebida, como um cliente que perdeu a conexão
+    private List<String> percorrer(FiltroAlunoDTO filtro, OrdenacaoAluno ordenacao, boolean decrescente) {
+        List<String> visitados = new ArrayList<>();
+        Long ultimoId = null;
+        Object ultimoValor = null;
+        AlunoResponseDTO aluno;
+        while ((aluno = alunoLeituraRepository.buscarPorFiltro(filtro, ordenacao, decrescente, ultimoId, ultimoValor, 1)
+                .blockFirst()) != null) {
+            visitados.add(aluno.getNome());
+            ultimoId = aluno.getId();
+            ultimoValor = ordenacao.valorDe(aluno);
+        }
+        return visitados;
+    }
+    
+    private static List<String> nomes(List<AlunoResponseDTO> alunos) {
+        return alunos.stream().map(AlunoResponseDTO::getNome).toList();
+    }
+}
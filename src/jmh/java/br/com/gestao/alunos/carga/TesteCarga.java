@@ -0,0 +1,157 @@
+package br.com.gestao.alunos.carga;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Teste de carga em malha fechada: cada cliente, em sua própria thread virtual, envia uma requisição, espera a
+ * resposta e envia a próxima, até o fim do tempo. Serve para comparar o modo de threads de plataforma com o de
+ * threads virtuais ({@code spring.threads.virtual.enabled}) contra uma instância já em execução.
+ *
+ * <p>Roda sem compilação, direto do código-fonte (Java 21):
+ * <pre>
+ * java -Dclientes=1000 -Dduracao=60 -Dcenario=matricula src/jmh/java/br/com/gestao/alunos/carga/TesteCarga.java
+ * </pre>
+ * Propriedades: {@code url} (padrão http://localhost:8080), {@code clientes} (1000), {@code duracao} em segundos
+ * (30), {@code aquecimento} em segundos, descartados da medição (10), {@code cenario} ({@code matricula}: POST de
+ * alunos novos; {@code leitura}: GET paginado de alunos) e {@code cursoId} (1), curso das matrículas.
+ */
+public final class TesteCarga {
+    
+    private static final Duration TEMPO_LIMITE = Duration.ofSeconds(60);
+    
+    private TesteCarga() {
+    }
+    
+    public static void main(String[] args) throws Exception {
+        String url = System.getProperty("url", "http://localhost:8080");
+        int clientes = Integer.getInteger("clientes", 1000);
+        int duracao = Integer.getInteger("duracao", 30);
+        int aquecimento = Integer.getInteger("aquecimento", 10);
+        String cenario = System.getProperty("cenario", "matricula");
+        long cursoId = Long.getLong("cursoId", 1L);
+        if (!cenario.equals("matricula") && !cenario.equals("leitura")) {
+            throw new IllegalArgumentException("Cenário desconhecido: " + cenario + " (use matricula ou leitura)");
+        }
+        
+        // Prefixo da execução: mantém matrícula e email únicos entre execuções contra o mesmo banco
+        String execucao = Long.toString(System.currentTimeMillis() % 2_176_782_336L, 36);
+        AtomicLong sequencia = new AtomicLong();
+        
+        ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor();
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(TEMPO_LIMITE)
+                .executor(threads)
+                .build();
+        
+        long inicioMedicao = System.nanoTime() + Duration.ofSeconds(aquecimento).toNanos();
+        long fim = inicioMedicao + Duration.ofSeconds(duracao).toNanos();
+        List<long[]> latencias = new ArrayList<>();
+        Map<String, LongAdder> falhas = new ConcurrentHashMap<>();
+        
+        System.out.printf("Cenário %s: %d clientes, %d s de aquecimento e %d s de medição contra %s%n",
+                cenario, clientes, aquecimento, duracao, url);
+        
+        List<Thread> clientesEmExecucao = new ArrayList<>();
+        for (int i = 0; i < clientes; i++) {
+            long[][] amostras = {new long[1024]};
+            int[] quantidade = {0};
+            int cliente = i;
+            Thread thread = Thread.ofVirtual().name("cliente-" + i).start(() -> {
+                long agora;
+                while ((agora = System.nanoTime()) < fim) {
+                    HttpRequest requisicao = cenario.equals("matricula")
+                            ? matricula(url, cursoId, execucao, sequencia.incrementAndGet())
+                            : leitura(url, cliente);
+                    String falha = null;
+                    try {
+                        HttpResponse<Void> resposta = http.send(requisicao, HttpResponse.BodyHandlers.discarding());
+                        if (resposta.statusCode() / 100 != 2) {
+                            falha = "HTTP " + resposta.statusCode();
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    } catch (Exception e) {
+                        falha = e.getClass().getSimpleName();
+                    }
+                    long termino = System.nanoTime();
+                    if (agora < inicioMedicao || termino > fim) {
+                        continue;
+                    }
+                    if (falha != null) {
+                        falhas.computeIfAbsent(falha, chave -> new LongAdder()).increment();
+                        continue;
+                    }
+                    if (quantidade[0] == amostras[0].length) {
+                        amostras[0] = Arrays.copyOf(amostras[0], amostras[0].length * 2);
+                    }
+                    amostras[0][quantidade[0]++] = termino - agora;
+                }
+                synchronized (latencias) {
+                    latencias.add(Arrays.copyOf(amostras[0], quantidade[0]));
+                }
+            });
+            clientesEmExecucao.add(thread);
+        }
+        for (Thread thread : clientesEmExecucao) {
+            thread.join();
+        }
+        threads.shutdownNow();
+        
+        relatar(latencias, falhas, duracao);
+    }
+    
+    private static HttpRequest matricula(String url, long cursoId, String execucao, long numero) {
+        String matricula = "C" + execucao + Long.toString(numero, 36);
+        String corpo = "{\"nome\":\"Aluno Carga " + numero + "\",\"matricula\":\"" + matricula
+                + "\",\"email\":\"" + matricula.toLowerCase() + "@carga.com\",\"cursoId\":" + cursoId
+                + ",\"semestre\":1,\"mediaGeral\":7.5}";
+        return HttpRequest.newBuilder(URI.create(url + "/api/alunos"))
+                .timeout(TEMPO_LIMITE)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(corpo))
+                .build();
+    }
+    
+    private static HttpRequest leitura(String url, int cliente) {
+        return HttpRequest.newBuilder(URI.create(url + "/api/alunos?page=" + cliente % 10 + "&size=20"))
+                .timeout(TEMPO_LIMITE)
+                .GET()
+                .build();
+    }
+    
+    private static void relatar(List<long[]> latencias, Map<String, LongAdder> falhas, int duracao) {
+        long[] todas = latencias.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        long totalFalhas = falhas.values().stream().mapToLong(LongAdder::sum).sum();
+        
+        System.out.printf("Respostas 2xx: %d (%.1f req/s) | falhas: %d%n",
+                todas.length, todas.length / (double) duracao, totalFalhas);
+        if (todas.length > 0) {
+            System.out.printf("Latência (ms): p50 %.1f | p90 %.1f | p99 %.1f | máx %.1f%n",
+                    percentil(todas, 0.50), percentil(todas, 0.90), percentil(todas, 0.99),
+                    todas[todas.length - 1] / 1e6);
+        }
+        new TreeMap<>(falhas).forEach((falha, quantidade) ->
+                System.out.printf("  %s: %d%n", falha, quantidade.sum()));
+    }
+    
+    private static double percentil(long[] ordenadas, double fracao) {
+        int indice = (int) Math.ceil(fracao * ordenadas.length) - 1;
+        return ordenadas[Math.max(indice, 0)] / 1e6;
+    }
+}
@@ -0,0 +1,70 @@
+package br.com.gestao.alunos.service;
+
+import br.com.gestao.alunos.GestaoAlunosApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Sobe a aplicação (sem servidor web) sobre um H2 em memória exclusivo e o popula com dados sintéticos,
+ * para que os benchmarks meçam os caminhos reais de serviço e repositório.
+ */
+final class BenchmarkContexto {
+    
+    static final int QUANTIDADE_CURSOS = 10;
+    
+    private BenchmarkContexto() {
+    }
+    
+    static ConfigurableApplicationContext iniciar(int quantidadeAlunos) {
+        // Argumentos de linha de comando têm precedência sobre application-dev.properties
+        ConfigurableApplicationContext contexto = new SpringApplicationBuilder(GestaoAlunosApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                        "--spring.flyway.locations=classpath:db/migration/comum,classpath:db/migration/{vendor}",
+                        "--ranking.memoria.habilitado=false",
+                        "--estatisticas.memoria.habilitado=false",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.br.com.gestao.alunos=WARN");
+        popular(contexto.getBean(JdbcTemplate.class), quantidadeAlunos);
+        return contexto;
+    }
+    
+    private static void popular(JdbcTemplate jdbcTemplate, int quantidadeAlunos) {
+        List<Object[]> cursos = new ArrayList<>();
+        for (long id = 1; id <= QUANTIDADE_CURSOS; id++) {
+            cursos.add(new Object[]{id, "Curso " + id, "Curso sintético " + id});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO cursos (id, nome, descricao) VALUES (?, ?, ?)", cursos);
+        
+        List<Object[]> alunos = new ArrayList<>();
+        LocalDate inicio = LocalDate.of(2020, 1, 1);
+        for (long id = 1; id <= quantidadeAlunos; id++) {
+            alunos.add(new Object[]{id, "Aluno " + id, "M" + id, "aluno" + id + "@email.com",
+                    id % QUANTIDADE_CURSOS + 1, (int) (id % 10) + 1, (id % 101) / 10.0,
+                    Date.valueOf(inicio.plusDays(id % 1500))});
+            if (alunos.size() == 1000) {
+                inserirAlunos(jdbcTemplate, alunos);
+                alunos.clear();
+            }
+        }
+        inserirAlunos(jdbcTemplate, alunos);
+        
+        // Posiciona as sequences depois dos IDs sintéticos para os benchmarks que criam registros
+        jdbcTemplate.execute("ALTER SEQUENCE cursos_seq RESTART WITH " + (QUANTIDADE_CURSOS + 50));
+        jdbcTemplate.execute("ALTER SEQUENCE alunos_seq RESTART WITH " + (quantidadeAlunos + 50));
+    }
+    
+    private static void inserirAlunos(JdbcTemplate jdbcTemplate, List<Object[]> alunos) {
+        jdbcTemplate.batchUpdate("INSERT INTO alunos (id, nome, matricula, email, curso_id, semestre, media_geral, " +
+                "data_matricula) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", alunos);
+    }
+}
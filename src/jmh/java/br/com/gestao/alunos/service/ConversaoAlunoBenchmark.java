@@ -0,0 +1,45 @@
+package br.com.gestao.alunos.service;
+
+import br.com.gestao.alunos.dto.AlunoResponseDTO;
+import br.com.gestao.alunos.model.Aluno;
+import br.com.gestao.alunos.model.Curso;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede o mapeamento entidade → DTO usado nos caminhos de escrita ({@link AlunoService#converterParaResponseDTO}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConversaoAlunoBenchmark {
+    
+    private Aluno aluno;
+    
+    @Setup(Level.Trial)
+    public void iniciar() {
+        Curso curso = new Curso();
+        curso.setId(1L);
+        curso.setNome("Ciência da Computação");
+        
+        aluno = new Aluno();
+        aluno.setId(1L);
+        aluno.setNome("João Silva");
+        aluno.setMatricula("2024001");
+        aluno.setEmail("joao@email.com");
+        aluno.setCurso(curso);
+        aluno.setSemestre(3);
+        aluno.setMediaGeral(8.5);
+        aluno.setDataMatricula(LocalDate.of(2024, 2, 1));
+    }
+    
+    @Benchmark
+    public AlunoResponseDTO converterParaResponseDTO() {
+        return AlunoService.converterParaResponseDTO(aluno);
+    }
+}
@@ -0,0 +1,70 @@
+package br.com.gestao.alunos.service;
+
+import br.com.gestao.alunos.dto.AlunoResponseDTO;
+import br.com.gestao.alunos.model.Aluno;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compara a listagem paginada por projeção (DTO montado na consulta) com o caminho anterior,
+ * que carregava entidades gerenciadas (com o curso EAGER) e convertia campo a campo.
+ * Rodar com {@code mvn -Pjmh test-compile exec:exec -Djmh.benchmarks=ProjecaoAlunoBenchmark};
+ * compare {@code avgt} e {@code gc.alloc.rate.norm} (bytes alocados por operação).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProjecaoAlunoBenchmark {
+    
+    @Param({"50", "500"})
+    private int limite;
+    
+    private ConfigurableApplicationContext contexto;
+    private AlunoService alunoService;
+    private EntityManager entityManager;
+    private TransactionTemplate transacaoLeitura;
+    
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = BenchmarkContexto.iniciar(20_000);
+        alunoService = contexto.getBean(AlunoService.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(contexto.getBean(EntityManagerFactory.class));
+        transacaoLeitura = new TransactionTemplate(contexto.getBean(PlatformTransactionManager.class));
+        transacaoLeitura.setReadOnly(true);
+    }
+    
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+    
+    @Benchmark
+    public List<AlunoResponseDTO> projecao() {
+        return alunoService.listarAlunos(null, limite).getConteudo();
+    }
+    
+    @Benchmark
+    public List<AlunoResponseDTO> entidades() {
+        return transacaoLeitura.execute(status -> entityManager
+                .createQuery("SELECT a FROM Aluno a WHERE a.id > :ultimoId ORDER BY a.id", Aluno.class)
+                .setParameter("ultimoId", 0L)
+                .setMaxResults(limite + 1)
+                .getResultList()
+                .stream()
+                .limit(limite)
+                .map(AlunoService::converterParaResponseDTO)
+                .collect(Collectors.toList()));
+    }
+}
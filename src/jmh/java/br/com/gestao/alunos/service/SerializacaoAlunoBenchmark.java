@@ -0,0 +1,51 @@
+package br.com.gestao.alunos.service;
+
+import br.com.gestao.alunos.dto.AlunoResponseDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede a serialização Jackson de listas de {@link AlunoResponseDTO}, como nas respostas da API.
+ * A saída é descartada para medir só a serialização, sem o custo de montar um array de bytes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializacaoAlunoBenchmark {
+    
+    @Param({"1000", "100000"})
+    private int quantidade;
+    
+    private ObjectMapper objectMapper;
+    private List<AlunoResponseDTO> alunos;
+    
+    @Setup(Level.Trial)
+    public void iniciar() {
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        
+        alunos = new ArrayList<>(quantidade);
+        for (long id = 1; id <= quantidade; id++) {
+            alunos.add(new AlunoResponseDTO(id, "Aluno " + id, "M" + id, "aluno" + id + "@email.com",
+                    "Curso " + (id % 10), id % 10, (int) (id % 10) + 1, (id % 101) / 10.0,
+                    LocalDate.of(2024, 2, 1)));
+        }
+    }
+    
+    @Benchmark
+    public void serializarLista() throws Exception {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), alunos);
+    }
+}
@@ -0,0 +1,59 @@
+package br.com.gestao.alunos.service;
+
+import br.com.gestao.alunos.dto.AlunoDTO;
+import br.com.gestao.alunos.dto.AlunoResponseDTO;
+import br.com.gestao.alunos.dto.PaginaDTO;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mede os caminhos completos de {@link AlunoService} (transação, repositório, cache de cursos e mapeamento)
+ * sobre um H2 em memória populado com dados sintéticos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServicoAlunoBenchmark {
+    
+    private static final int QUANTIDADE_ALUNOS = 50_000;
+    
+    private final AtomicLong sequencia = new AtomicLong();
+    
+    private ConfigurableApplicationContext contexto;
+    private AlunoService alunoService;
+    
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = BenchmarkContexto.iniciar(QUANTIDADE_ALUNOS);
+        alunoService = contexto.getBean(AlunoService.class);
+    }
+    
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+    
+    @Benchmark
+    public AlunoResponseDTO criarAluno() {
+        long numero = sequencia.incrementAndGet();
+        AlunoDTO alunoDTO = new AlunoDTO(null, "Aluno Benchmark " + numero, "B" + numero,
+                "benchmark" + numero + "@email.com", numero % BenchmarkContexto.QUANTIDADE_CURSOS + 1, 1, 7.5);
+        return alunoService.criarAluno(alunoDTO);
+    }
+    
+    @Benchmark
+    public PaginaDTO<AlunoResponseDTO> listarAlunos() {
+        return alunoService.listarAlunos(null, null);
+    }
+    
+    @Benchmark
+    public PaginaDTO<AlunoResponseDTO> listarAlunosPaginaMaxima() {
+        return alunoService.listarAlunos(null, CursorPaginacao.LIMITE_MAXIMO);
+    }
+}
@@ -0,0 +1,52 @@
+package br.com.gestao.alunos.service;
+
+import br.com.gestao.alunos.dto.AlunoDTO;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede a validação (Bean Validation) de um {@link AlunoDTO} válido e de um com várias violações,
+ * que é o custo pago por item em POST/PUT e na criação em lote.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidacaoAlunoBenchmark {
+    
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private AlunoDTO alunoValido;
+    private AlunoDTO alunoInvalido;
+    
+    @Setup(Level.Trial)
+    public void iniciar() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        alunoValido = new AlunoDTO(null, "João Silva", "2024001", "joao@email.com", 1L, 3, 8.5);
+        alunoInvalido = new AlunoDTO(null, "", "123", "email-invalido", null, 0, 11.0);
+    }
+    
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        validatorFactory.close();
+    }
+    
+    @Benchmark
+    public Set<ConstraintViolation<AlunoDTO>> validarAlunoValido() {
+        return validator.validate(alunoValido);
+    }
+    
+    @Benchmark
+    public Set<ConstraintViolation<AlunoDTO>> validarAlunoInvalido() {
+        return validator.validate(alunoInvalido);
+    }
+}
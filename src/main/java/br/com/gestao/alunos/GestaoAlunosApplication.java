@@ -1,10 +1,13 @@
 package br.com.gestao.alunos;
 
 import br.com.gestao.alunos.config.DatabaseConfig;
+import br.com.gestao.alunos.config.DicasNativas;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(DicasNativas.class)
 public class GestaoAlunosApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,87 @@
+package br.com.gestao.alunos.alteracoes;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Conexão SSE com a fila dos eventos ainda não enviados. Quem publica só enfileira; o envio, que pode
+ * bloquear enquanto o cliente não lê, é feito por uma thread do despachante, uma por assinante de cada vez.
+ */
+class Assinante {
+    
+    private final SseEmitter emitter;
+    private final Queue<SseEmitter.SseEventBuilder> fila = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendentes = new AtomicInteger();
+    private final AtomicBoolean agendado = new AtomicBoolean();
+    private volatile boolean descartado;
+    
+    // Só lido e escrito pelo envio, que nunca roda em duas threads ao mesmo tempo para o mesmo assinante
+    private boolean encerrado;
+    
+    Assinante(SseEmitter emitter) {
+        this.emitter = emitter;
+    }
+    
+    SseEmitter getEmitter() {
+        return emitter;
+    }
+    
+    int getPendentes() {
+        return pendentes.get();
+    }
+    
+    void enfileirar(SseEmitter.SseEventBuilder evento) {
+        pendentes.incrementAndGet();
+        fila.add(evento);
+    }
+    
+    /** Marca o assinante para encerramento; a conexão é fechada pelo despachante, depois de um envio em curso. */
+    void descartar() {
+        descartado = true;
+    }
+    
+    /** Encerra a conexão com erro quando o envio não pôde ser agendado; nada mais é enviado a este assinante. */
+    void abortar(Throwable causa) {
+        descartado = true;
+        fila.clear();
+        emitter.completeWithError(causa);
+    }
+    
+    /** Verdadeiro se coube ao chamador agendar o envio, que já não estava agendado. */
+    boolean agendar() {
+        return agendado.compareAndSet(false, true);
+    }
+    
+    void enviarPendentes() {
+        try {
+            if (encerrado) {
+                return;
+            }
+            SseEmitter.SseEventBuilder evento;
+            while (!descartado && (evento = fila.poll()) != null) {
+                pendentes.decrementAndGet();
+                emitter.send(evento);
+            }
+            if (descartado) {
+                encerrado = true;
+                emitter.complete();
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Cliente desconectado ou conexão expirada: o emitter já se encerrou e avisa o feed pelos callbacks
+            descartado = true;
+            encerrado = true;
+        } finally {
+            agendado.set(false);
+        }
+    }
+    
+    /** Eventos enfileirados depois que o envio terminou, mas antes de liberar o agendamento. */
+    boolean temPendentes() {
+        return !descartado && !fila.isEmpty();
+    }
+}
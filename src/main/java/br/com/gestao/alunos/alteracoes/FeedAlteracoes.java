@@ -0,0 +1,255 @@
+package br.com.gestao.alunos.alteracoes;
+
+import br.com.gestao.alunos.dto.AlteracaoDTO;
+import br.com.gestao.alunos.dto.TipoAlteracao;
+import br.com.gestao.alunos.event.AlunoAlteradoEvent;
+import br.com.gestao.alunos.event.AlunosImportadosEvent;
+import br.com.gestao.alunos.event.CursoAlteradoEvent;
+import br.com.gestao.alunos.exception.ServiceUnavailableException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Feed SSE das alterações de alunos e cursos, publicadas depois do commit. Cada assinante tem um buffer
+ * limitado: quem fica para trás é desconectado em vez de atrasar os demais, e ao reconectar com
+ * Last-Event-ID recebe o que perdeu, desde que ainda esteja no histórico em memória. O feed é da
+ * instância: com várias instâncias, cada uma só transmite as alterações que ela mesma fez.
+ */
+@Component
+public class FeedAlteracoes {
+    
+    private static final Logger logger = LoggerFactory.getLogger(FeedAlteracoes.class);
+    
+    static final String EVENTO_HISTORICO_INCOMPLETO = "historico-incompleto";
+    
+    private final Executor despachante;
+    private final Supplier<SseEmitter> fabricaEmitters;
+    private final int bufferPorAssinante;
+    private final int maximoAssinantes;
+    
+    // Prefixo dos IDs, diferente a cada subida: um Last-Event-ID de outra execução não é confundido com um desta
+    private final String execucao = Long.toString(System.currentTimeMillis(), 36);
+    
+    // Histórico circular: a alteração de sequência s fica na posição s % tamanho
+    private final AlteracaoDTO[] historico;
+    private long ultimaSequencia;
+    
+    private final Set<Assinante> assinantes = ConcurrentHashMap.newKeySet();
+    
+    @Autowired
+    public FeedAlteracoes(@Value("${alteracoes.sse.historico:1000}") int tamanhoHistorico,
+                          @Value("${alteracoes.sse.buffer-por-assinante:256}") int bufferPorAssinante,
+                          @Value("${alteracoes.sse.maximo-assinantes:100}") int maximoAssinantes,
+                          @Value("${alteracoes.sse.timeout-ms:1800000}") long timeoutMs,
+                          @Value("${spring.threads.virtual.enabled:false}") boolean threadsVirtuais) {
+        this(criarDespachante(maximoAssinantes, threadsVirtuais), () -> new SseEmitter(timeoutMs), tamanhoHistorico,
+                bufferPorAssinante, maximoAssinantes);
+    }
+    
+    FeedAlteracoes(Executor despachante, Supplier<SseEmitter> fabricaEmitters, int tamanhoHistorico,
+                   int bufferPorAssinante, int maximoAssinantes) {
+        this.despachante = despachante;
+        this.fabricaEmitters = fabricaEmitters;
+        this.historico = new AlteracaoDTO[tamanhoHistorico];
+        this.bufferPorAssinante = bufferPorAssinante;
+        this.maximoAssinantes = maximoAssinantes;
+    }
+    
+    /**
+     * Abre uma conexão que recebe as próximas alterações. Com {@code ultimoEventoId}, antes reenvia as
+     * alterações posteriores a ele; se elas já saíram do histórico, envia um evento historico-incompleto
+     * para que o cliente recarregue os dados antes de seguir com o feed.
+     */
+    public SseEmitter assinar(String ultimoEventoId) {
+        SseEmitter emitter = fabricaEmitters.get();
+        Assinante assinante = new Assinante(emitter);
+        synchronized (this) {
+            if (assinantes.size() >= maximoAssinantes) {
+                throw new ServiceUnavailableException("Limite de " + maximoAssinantes +
+                        " conexões com o feed de alterações atingido");
+            }
+            if (ultimoEventoId != null) {
+                reenviar(assinante, ultimoEventoId);
+            }
+            assinantes.add(assinante);
+        }
+        emitter.onCompletion(() -> assinantes.remove(assinante));
+        emitter.onTimeout(() -> assinantes.remove(assinante));
+        emitter.onError(erro -> assinantes.remove(assinante));
+        agendarEnvio(assinante);
+        return emitter;
+    }
+    
+    public int getQuantidadeAssinantes() {
+        return assinantes.size();
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoAlterarAluno(AlunoAlteradoEvent evento) {
+        if (evento.isRemocao()) {
+            publicar(TipoAlteracao.ALUNO_REMOVIDO, evento.getAlunoId(), null);
+        } else {
+            publicar(evento.isCriacao() ? TipoAlteracao.ALUNO_CRIADO : TipoAlteracao.ALUNO_ATUALIZADO,
+                    evento.getAlunoId(), evento.getAtual());
+        }
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoAlterarCurso(CursoAlteradoEvent evento) {
+        if (evento.isRemovido()) {
+            publicar(TipoAlteracao.CURSO_REMOVIDO, evento.getCursoId(), null);
+        } else if (evento.isAlunosRemovidos()) {
+            publicar(TipoAlteracao.ALUNOS_DO_CURSO_REMOVIDOS, evento.getCursoId(), null);
+        } else {
+            publicar(evento.isCriado() ? TipoAlteracao.CURSO_CRIADO : TipoAlteracao.CURSO_ATUALIZADO,
+                    evento.getCursoId(), Map.of("nome", evento.getNome()));
+        }
+    }
+    
+    // Importações não têm evento por aluno: o cliente recebe a quantidade e recarrega o que precisar
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoImportarAlunos(AlunosImportadosEvent evento) {
+        publicar(TipoAlteracao.ALUNOS_IMPORTADOS, null, Map.of("quantidade", evento.getQuantidade()));
+    }
+    
+    /** Comentário SSE periódico: mantém a conexão aberta em proxies e detecta clientes que já saíram. */
+    @Scheduled(fixedDelayString = "${alteracoes.sse.intervalo-heartbeat-ms:15000}",
+               initialDelayString = "${alteracoes.sse.intervalo-heartbeat-ms:15000}")
+    public void manterConexoes() {
+        for (Assinante assinante : assinantes) {
+            if (assinante.getPendentes() == 0) {
+                assinante.enfileirar(SseEmitter.event().comment(""));
+                agendarEnvio(assinante);
+            }
+        }
+    }
+    
+    @PreDestroy
+    public void encerrar() throws InterruptedException {
+        for (Assinante assinante : assinantes) {
+            assinante.descartar();
+            agendarEnvio(assinante);
+        }
+        if (despachante instanceof ExecutorService executor) {
+            executor.shutdown();
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+    
+    synchronized void publicar(TipoAlteracao tipo, Long entidadeId, Object dados) {
+        long sequencia = ++ultimaSequencia;
+        AlteracaoDTO alteracao = new AlteracaoDTO(idDe(sequencia), tipo, entidadeId, dados, LocalDateTime.now());
+        historico[(int) (sequencia % historico.length)] = alteracao;
+        
+        for (Assinante assinante : assinantes) {
+            if (assinante.getPendentes() >= bufferPorAssinante) {
+                // Não bloqueia o commit de quem publicou: o assinante lento reconecta e retoma pelo histórico
+                logger.warn("Assinante do feed de alterações desconectado com {} eventos pendentes",
+                        assinante.getPendentes());
+                assinantes.remove(assinante);
+                assinante.descartar();
+            } else {
+                assinante.enfileirar(evento(alteracao));
+            }
+            agendarEnvio(assinante);
+        }
+    }
+    
+    // Chamado com o lock do feed, para que nenhuma alteração publicada durante a assinatura falte ou se repita
+    private void reenviar(Assinante assinante, String ultimoEventoId) {
+        long primeiraNoHistorico = Math.max(1, ultimaSequencia - historico.length + 1);
+        Long ultimaRecebida = sequenciaDe(ultimoEventoId);
+        if (ultimaRecebida == null || ultimaRecebida < primeiraNoHistorico - 1 || ultimaRecebida > ultimaSequencia) {
+            // O id leva à posição atual: numa nova reconexão o cliente não é avisado de novo
+            assinante.enfileirar(SseEmitter.event()
+                    .id(idDe(ultimaSequencia))
+                    .name(EVENTO_HISTORICO_INCOMPLETO)
+                    .data(Map.of("ultimoEventoId", ultimoEventoId), MediaType.APPLICATION_JSON));
+            return;
+        }
+        for (long sequencia = ultimaRecebida + 1; sequencia <= ultimaSequencia; sequencia++) {
+            assinante.enfileirar(evento(historico[(int) (sequencia % historico.length)]));
+        }
+    }
+    
+    private void agendarEnvio(Assinante assinante) {
+        if (!assinante.agendar()) {
+            return;
+        }
+        try {
+            despachante.execute(() -> {
+                assinante.enviarPendentes();
+                if (assinante.temPendentes()) {
+                    agendarEnvio(assinante);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Todas as threads presas em envios de assinantes já desconectados, ou o feed encerrando
+            logger.warn("Assinante do feed de alterações desconectado: nenhuma thread livre para o envio");
+            assinantes.remove(assinante);
+            assinante.abortar(e);
+        }
+    }
+    
+    // Cada assinante recebe seu próprio builder: o build() do SseEventBuilder não pode ser repetido
+    private SseEmitter.SseEventBuilder evento(AlteracaoDTO alteracao) {
+        return SseEmitter.event()
+                .id(alteracao.getId())
+                .name(alteracao.getTipo().getNomeEvento())
+                .data(alteracao, MediaType.APPLICATION_JSON);
+    }
+    
+    private String idDe(long sequencia) {
+        return execucao + "-" + sequencia;
+    }
+    
+    private Long sequenciaDe(String id) {
+        String prefixo = execucao + "-";
+        if (!id.startsWith(prefixo)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(id.substring(prefixo.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+    
+    // Cada assinante tem no máximo um envio agendado, e o envio bloqueia enquanto o cliente não lê: com menos
+    // threads que assinantes, um cliente parado seguraria a entrega para todos os outros
+    private static ExecutorService criarDespachante(int maximoAssinantes, boolean virtuais) {
+        if (virtuais) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("feed-alteracoes-", 1).factory());
+        }
+        AtomicInteger contador = new AtomicInteger();
+        // Sem fila: as threads são criadas conforme os envios e encerradas depois de um minuto ociosas
+        return new ThreadPoolExecutor(0, maximoAssinantes, 60, TimeUnit.SECONDS, new SynchronousQueue<>(), tarefa -> {
+            Thread thread = new Thread(tarefa, "feed-alteracoes-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
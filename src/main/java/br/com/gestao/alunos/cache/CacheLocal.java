@@ -0,0 +1,122 @@
+package br.com.gestao.alunos.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache em memória limitado por tamanho (LRU) e por tempo de vida das entradas.
+ * Pensado para poucos dados, lidos com muita frequência e raramente alterados (ex.: cursos),
+ * sem depender de um provedor de cache externo.
+ */
+public class CacheLocal<K, V> {
+    
+    private final int tamanhoMaximo;
+    private final long ttlNanos;
+    private final LongSupplier relogio;
+    private final LinkedHashMap<K, Entrada<V>> entradas;
+    
+    private final AtomicLong acertos = new AtomicLong();
+    private final AtomicLong falhas = new AtomicLong();
+    private final AtomicLong remocoes = new AtomicLong();
+    
+    public CacheLocal(int tamanhoMaximo, long ttlSegundos) {
+        this(tamanhoMaximo, ttlSegundos, System::nanoTime);
+    }
+    
+    CacheLocal(int tamanhoMaximo, long ttlSegundos, LongSupplier relogio) {
+        if (tamanhoMaximo < 1) {
+            throw new IllegalArgumentException("O tamanho máximo do cache deve ser no mínimo 1");
+        }
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSegundos);
+        this.relogio = relogio;
+        // accessOrder = true: a entrada menos usada recentemente fica no início do mapa
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true);
+    }
+    
+    /**
+     * Retorna o valor em cache ou o obtém com o carregador. O carregador roda fora do lock,
+     * então leituras concorrentes de chaves diferentes não esperam umas pelas outras.
+     * Valores nulos não são armazenados.
+     */
+    public V obter(K chave, Function<K, V> carregador) {
+        synchronized (entradas) {
+            Entrada<V> entrada = entradas.get(chave);
+            if (entrada != null) {
+                if (!entrada.expirou(relogio.getAsLong())) {
+                    acertos.incrementAndGet();
+                    return entrada.valor;
+                }
+                entradas.remove(chave);
+                remocoes.incrementAndGet();
+            }
+        }
+        falhas.incrementAndGet();
+        
+        V valor = carregador.apply(chave);
+        if (valor != null) {
+            colocar(chave, valor);
+        }
+        return valor;
+    }
+    
+    public void colocar(K chave, V valor) {
+        synchronized (entradas) {
+            entradas.put(chave, new Entrada<>(valor, relogio.getAsLong() + ttlNanos));
+            removerExcedentes();
+        }
+    }
+    
+    public void invalidar(K chave) {
+        synchronized (entradas) {
+            entradas.remove(chave);
+        }
+    }
+    
+    public void invalidarTodos() {
+        synchronized (entradas) {
+            entradas.clear();
+        }
+    }
+    
+    public EstatisticasCache estatisticas() {
+        int tamanho;
+        synchronized (entradas) {
+            tamanho = entradas.size();
+        }
+        return new EstatisticasCache(acertos.get(), falhas.get(), remocoes.get(), tamanho, tamanhoMaximo);
+    }
+    
+    private void removerExcedentes() {
+        long agora = relogio.getAsLong();
+        Iterator<Map.Entry<K, Entrada<V>>> iterador = entradas.entrySet().iterator();
+        while (iterador.hasNext()) {
+            Entrada<V> entrada = iterador.next().getValue();
+            if (entradas.size() > tamanhoMaximo || entrada.expirou(agora)) {
+                iterador.remove();
+                remocoes.incrementAndGet();
+            } else {
+                break;
+            }
+        }
+    }
+    
+    private static final class Entrada<V> {
+        private final V valor;
+        private final long expiraEm;
+        
+        private Entrada(V valor, long expiraEm) {
+            this.valor = valor;
+            this.expiraEm = expiraEm;
+        }
+        
+        private boolean expirou(long agora) {
+            return agora - expiraEm >= 0;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package br.com.gestao.alunos.cache;
+
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Estado em memória derivado do banco: reconstruído por inteiro de tempos em tempos e ajustado, entre as cargas,
+ * pelas escritas desta instância. Alterações recebidas enquanto uma carga lê o banco são guardadas e reaplicadas
+ * no estado novo antes da troca, para que nenhuma se perca entre a leitura e a publicação do resultado.
+ * <p>
+ * Os locks são {@link ReentrantLock}, não {@code synchronized}: a carga consulta o banco, e uma thread virtual
+ * bloqueada dentro de um monitor prende a thread de plataforma que a executa.
+ */
+public class EstadoRecarregavel<T> {
+    
+    // Uma carga por vez: duas simultâneas disputariam a mesma lista de alterações pendentes
+    private final ReentrantLock recarga = new ReentrantLock();
+    // Alterações, troca do estado e leituras que não podem correr junto com elas
+    private final ReentrantLock escrita = new ReentrantLock();
+    private final AtomicBoolean recargaAgendada = new AtomicBoolean();
+    
+    private volatile T atual;
+    private List<Consumer<T>> pendentes;
+    // Incrementada a cada descarte: uma carga iniciada antes dele pode ter lido o banco já desatualizado
+    private long geracao;
+    
+    /**
+     * Constrói um estado novo com a carga e o publica. Se a carga falhar, o estado anterior continua valendo;
+     * se o estado for descartado durante a carga, o resultado dela não é publicado.
+     */
+    public void recarregar(Supplier<T> carga) {
+        recarga.lock();
+        try {
+            long geracaoDaCarga;
+            escrita.lock();
+            try {
+                pendentes = new ArrayList<>();
+                geracaoDaCarga = geracao;
+            } finally {
+                escrita.unlock();
+            }
+            
+            T novo;
+            try {
+                novo = carga.get();
+            } catch (RuntimeException e) {
+                escrita.lock();
+                try {
+                    pendentes = null;
+                } finally {
+                    escrita.unlock();
+                }
+                throw e;
+            }
+            
+            escrita.lock();
+            try {
+                if (geracaoDaCarga == geracao) {
+                    pendentes.forEach(alteracao -> alteracao.accept(novo));
+                    atual = novo;
+                }
+                pendentes = null;
+            } finally {
+                escrita.unlock();
+            }
+        } finally {
+            recarga.unlock();
+        }
+    }
+    
+    /**
+     * Agenda a recarga para já no agendador, fora da thread de quem pede. Pedidos feitos enquanto uma recarga
+     * espera para começar são atendidos por ela.
+     */
+    public void agendarRecarga(TaskScheduler agendador, Supplier<T> carga) {
+        agendarRecarga(agendador, () -> recarregar(carga));
+    }
+    
+    /** Como {@link #agendarRecarga(TaskScheduler, Supplier)}, para quem precisa envolver a recarga. */
+    public void agendarRecarga(TaskScheduler agendador, Runnable recarga) {
+        if (!recargaAgendada.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            agendador.schedule(() -> {
+                recargaAgendada.set(false);
+                recarga.run();
+            }, Instant.now());
+        } catch (RuntimeException e) {
+            recargaAgendada.set(false);
+            throw e;
+        }
+    }
+    
+    /** Aplica a alteração ao estado atual, se houver, e a guarda para reaplicar se uma carga estiver em curso. */
+    public void aplicar(Consumer<T> alteracao) {
+        escrita.lock();
+        try {
+            if (atual != null) {
+                alteracao.accept(atual);
+            }
+            if (pendentes != null) {
+                pendentes.add(alteracao);
+            }
+        } finally {
+            escrita.unlock();
+        }
+    }
+    
+    /** Descarta o estado atual até a próxima carga iniciada depois daqui, para quando ele deixou de ser confiável. */
+    public void descartar() {
+        escrita.lock();
+        try {
+            atual = null;
+            geracao++;
+        } finally {
+            escrita.unlock();
+        }
+    }
+    
+    /** O estado publicado, ou nulo antes da primeira carga; só para estados seguros para leitura concorrente. */
+    public T atual() {
+        return atual;
+    }
+    
+    /** Lê o estado sem concorrer com as alterações; retorna nulo antes da primeira carga. */
+    public <R> R ler(Function<T, R> leitura) {
+        escrita.lock();
+        try {
+            return atual != null ? leitura.apply(atual) : null;
+        } finally {
+            escrita.unlock();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package br.com.gestao.alunos.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EstatisticasCache {
+    
+    private long acertos;
+    private long falhas;
+    private long remocoes;
+    private int tamanho;
+    private int tamanhoMaximo;
+    
+    public double getTaxaAcerto() {
+        long total = acertos + falhas;
+        return total == 0 ? 0.0 : (double) acertos / total;
+    }
+}
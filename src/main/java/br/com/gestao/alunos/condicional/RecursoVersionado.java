@@ -0,0 +1,13 @@
+package br.com.gestao.alunos.condicional;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** Resultado de uma escrita com a versão gravada, enviada como ETag para a próxima alteração condicional. */
+@Getter
+@AllArgsConstructor
+public class RecursoVersionado<T> {
+    
+    private final T conteudo;
+    private final VersaoRecurso versao;
+}
@@ -0,0 +1,114 @@
+package br.com.gestao.alunos.condicional;
+
+import br.com.gestao.alunos.dto.VersaoAlunoDTO;
+import br.com.gestao.alunos.model.Aluno;
+import br.com.gestao.alunos.model.Curso;
+import lombok.Getter;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Versão de um recurso ou de uma página para GETs condicionais: a ETag forte e a data da última alteração
+ * (Last-Modified), calculadas só com IDs, versões e datas de atualização.
+ * <p>
+ * Os serviços leem a versão antes do conteúdo, na mesma transação. Se o recurso mudar entre as duas leituras,
+ * a resposta leva a ETag anterior junto com o conteúdo novo e o cliente apenas baixa de novo na próxima vez;
+ * o contrário, conteúdo antigo guardado com a ETag nova, não acontece.
+ */
+@Getter
+public final class VersaoRecurso {
+    
+    private final String etag;
+    private final LocalDateTime ultimaAlteracao;
+    
+    private VersaoRecurso(String etag, LocalDateTime ultimaAlteracao) {
+        this.etag = etag;
+        this.ultimaAlteracao = ultimaAlteracao;
+    }
+    
+    /** A versão do curso entra na ETag do aluno porque a representação traz o nome do curso. */
+    public static VersaoRecurso doAluno(VersaoAlunoDTO aluno) {
+        return new VersaoRecurso(aluno.getVersao() + "." + aluno.getCursoVersao(),
+                maisRecente(aluno.getAtualizadoEm(), aluno.getCursoAtualizadoEm()));
+    }
+    
+    public static VersaoRecurso doAluno(Aluno aluno) {
+        return doAluno(new VersaoAlunoDTO(aluno.getId(), aluno.getVersao(), aluno.getAtualizadoEm(),
+                aluno.getCurso().getVersao(), aluno.getCurso().getAtualizadoEm()));
+    }
+    
+    public static VersaoRecurso doCurso(Curso curso) {
+        return new VersaoRecurso(String.valueOf(curso.getVersao()), curso.getAtualizadoEm());
+    }
+    
+    /**
+     * Página de alunos, incluindo o registro a mais que decide o cursor da próxima página. A ETag resume IDs e
+     * versões em ordem: muda quando um aluno da página é alterado, removido ou substituído por outro, mesmo que
+     * a maior data de atualização e a quantidade continuem iguais.
+     */
+    public static VersaoRecurso daPagina(List<VersaoAlunoDTO> alunos) {
+        Resumo resumo = new Resumo();
+        LocalDateTime ultimaAlteracao = null;
+        for (VersaoAlunoDTO aluno : alunos) {
+            resumo.adicionar(aluno.getId(), aluno.getVersao(), aluno.getCursoVersao());
+            ultimaAlteracao = maisRecente(ultimaAlteracao, maisRecente(aluno.getAtualizadoEm(), aluno.getCursoAtualizadoEm()));
+        }
+        return new VersaoRecurso(resumo.hex(), ultimaAlteracao);
+    }
+    
+    public static VersaoRecurso daLista(List<Curso> cursos) {
+        Resumo resumo = new Resumo();
+        LocalDateTime ultimaAlteracao = null;
+        for (Curso curso : cursos) {
+            resumo.adicionar(curso.getId(), curso.getVersao());
+            ultimaAlteracao = maisRecente(ultimaAlteracao, curso.getAtualizadoEm());
+        }
+        return new VersaoRecurso(resumo.hex(), ultimaAlteracao);
+    }
+    
+    /** Instante da última alteração em milissegundos, ou -1 quando não há data (lista vazia). */
+    public long getUltimaAlteracaoEmMilissegundos() {
+        // O Hibernate grava LocalDateTime no fuso da JVM
+        return ultimaAlteracao != null ? ultimaAlteracao.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1;
+    }
+    
+    private static LocalDateTime maisRecente(LocalDateTime a, LocalDateTime b) {
+        if (a == null) {
+            return b;
+        }
+        return b != null && b.isAfter(a) ? b : a;
+    }
+    
+    // SHA-256 dos números em sequência, truncado em 128 bits
+    private static final class Resumo {
+    
+        private final MessageDigest digest;
+        private final ByteBuffer numero = ByteBuffer.allocate(Long.BYTES);
+        
+        Resumo() {
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 indisponível", e);
+            }
+        }
+        
+        void adicionar(Long... valores) {
+            for (Long valor : valores) {
+                numero.clear();
+                digest.update(numero.putLong(valor != null ? valor : -1L).array());
+            }
+        }
+        
+        String hex() {
+            return HexFormat.of().formatHex(Arrays.copyOf(digest.digest(), 16));
+        }
+    }
+}
@@ -2,6 +2,7 @@ package br.com.gestao.alunos.config;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.aot.AotDetector;
 import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEvent;
 import org.springframework.context.ApplicationListener;
 import org.springframework.core.env.ConfigurableEnvironment;
@@ -9,7 +10,9 @@ import org.springframework.core.env.MapPropertySource;
 
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -21,9 +24,9 @@ import java.util.Map;
  * para garantir que seja executada antes da auto-configuração do DataSource.
  */
 public class DatabaseConfig implements ApplicationListener<ApplicationEnvironmentPreparedEvent> {
-
+    
     private static final Logger logger = LoggerFactory.getLogger(DatabaseConfig.class);
-
+    
     @Override
     public void onApplicationEvent(ApplicationEnvironmentPreparedEvent event) {
         ConfigurableEnvironment env = event.getEnvironment();
@@ -52,6 +55,8 @@ public class DatabaseConfig implements ApplicationListener<ApplicationEnvironmen
         
         logger.info("🔧 DatabaseConfig: Configurando PostgreSQL para perfil 'prod'...");
         
+        configurarReplicas(env);
+        
         Map<String, Object> props = new HashMap<>();
         
         // CRÍTICO: Desabilitar completamente a auto-configuração do H2
@@ -71,6 +76,13 @@ public class DatabaseConfig implements ApplicationListener<ApplicationEnvironmen
         
         String databaseUrl = System.getenv("DATABASE_URL");
         
+        // No processamento AOT do build (mvn -Paot/-Pnative) só importam as propriedades que decidem quais beans
+        // existem; a URL do banco vem do ambiente na execução
+        if ((databaseUrl == null || databaseUrl.isEmpty()) && Boolean.getBoolean("spring.aot.processing")) {
+            env.getPropertySources().addFirst(new MapPropertySource("databaseConfig", props));
+            return;
+        }
+        
         // Log para debug - mostra se DATABASE_URL foi encontrada (sem mostrar a senha)
         if (databaseUrl != null && !databaseUrl.isEmpty()) {
             String maskedUrl = databaseUrl.replaceAll(":([^:@]+)@", ":****@");
@@ -164,7 +176,60 @@ public class DatabaseConfig implements ApplicationListener<ApplicationEnvironmen
             env.getPropertySources().addFirst(new MapPropertySource("databaseConfig", props));
         }
     }
-
+    
+    /**
+     * Réplicas de leitura opcionais: DATABASE_REPLICA_URLS (separadas por vírgula) ou DATABASE_REPLICA_URL,
+     * nos mesmos formatos aceitos em DATABASE_URL. Sem credenciais na URL, as réplicas usam as do primário.
+     */
+    private void configurarReplicas(ConfigurableEnvironment env) {
+        String replicaUrls = System.getenv("DATABASE_REPLICA_URLS");
+        if (replicaUrls == null || replicaUrls.isBlank()) {
+            replicaUrls = System.getenv("DATABASE_REPLICA_URL");
+        }
+        if (replicaUrls == null || replicaUrls.isBlank()) {
+            return;
+        }
+        
+        Map<String, Object> props = new HashMap<>();
+        List<String> jdbcUrls = new ArrayList<>();
+        for (String replicaUrl : replicaUrls.split(",")) {
+            replicaUrl = replicaUrl.trim();
+            if (replicaUrl.isEmpty()) {
+                continue;
+            }
+            if (replicaUrl.startsWith("jdbc:")) {
+                jdbcUrls.add(replicaUrl);
+                continue;
+            }
+            if (!replicaUrl.startsWith("postgres://") && !replicaUrl.startsWith("postgresql://")) {
+                logger.warn("Formato de URL de réplica desconhecido, ignorada: {}", replicaUrl.replaceAll(":([^:@]+)@", ":****@"));
+                continue;
+            }
+            try {
+                jdbcUrls.add(convertToJdbcUrl(replicaUrl));
+                String[] credentials = extractCredentials(replicaUrl);
+                if (credentials != null && !props.containsKey("banco.replicas.username")) {
+                    props.put("banco.replicas.username", credentials[0]);
+                    props.put("banco.replicas.password", credentials[1]);
+                }
+            } catch (URISyntaxException e) {
+                logger.error("❌ Erro ao converter URL de réplica: {}", e.getMessage());
+            }
+        }
+        if (jdbcUrls.isEmpty()) {
+            return;
+        }
+        
+        if (AotDetector.useGeneratedArtifacts()) {
+            // Com AOT os beans condicionais foram decididos no build: o roteamento só existe se o build o incluiu
+            logger.warn("Aplicação executando com AOT: as réplicas só são usadas se banco.replicas.urls estava "
+                    + "definida no processamento AOT do build");
+        }
+        props.put("banco.replicas.urls", String.join(",", jdbcUrls));
+        env.getPropertySources().addFirst(new MapPropertySource("databaseReplicasConfig", props));
+        logger.info("{} réplica(s) de leitura configurada(s)", jdbcUrls.size());
+    }
+    
     private String convertToJdbcUrl(String postgresUrl) throws URISyntaxException {
         String url = postgresUrl.replace("postgres://", "http://")
                 .replace("postgresql://", "http://");
@@ -180,7 +245,7 @@ public class DatabaseConfig implements ApplicationListener<ApplicationEnvironmen
         
         return String.format("jdbc:postgresql://%s:%d/%s", host, port, path);
     }
-
+    
     private String[] extractCredentials(String postgresUrl) {
         try {
             String url = postgresUrl.replace("postgres://", "http://")
@@ -0,0 +1,21 @@
+package br.com.gestao.alunos.config;
+
+import br.com.gestao.alunos.dto.FiltroAlunoDTO;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Dicas para a imagem nativa (perfil Maven native) do que o processamento AOT do Spring não descobre sozinho:
+ * as pastas de migrations do Flyway fora de db/migration e o filtro de alunos, ligado aos parâmetros da
+ * requisição com {@code @ParameterObject} em vez de {@code @ModelAttribute}.
+ */
+public class DicasNativas implements RuntimeHintsRegistrar {
+    
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        hints.resources().registerPattern("db/migration/comum/*.sql");
+        hints.resources().registerPattern("db/migration/postgresql/*.sql");
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(), FiltroAlunoDTO.class);
+    }
+}
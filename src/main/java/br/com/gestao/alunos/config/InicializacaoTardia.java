@@ -0,0 +1,74 @@
+package br.com.gestao.alunos.config;
+
+import br.com.gestao.alunos.exception.GlobalExceptionHandler;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Inicialização tardia (opcional, {@code inicializacao.tardia.habilitada}) dos beans que não atendem as requisições
+ * normais da API: a documentação OpenAPI (springdoc), criada na primeira visita ao Swagger, e o tratador de
+ * exceções, criado no primeiro erro. Tira esses beans da subida, que é o que o usuário espera quando o serviço
+ * volta da escala zero.
+ * Beans marcados explicitamente com {@code @Lazy(false)} e os que precisam do retorno de
+ * {@link SmartInitializingSingleton} continuam sendo criados na subida.
+ */
+@Component
+public class InicializacaoTardia implements BeanFactoryPostProcessor, EnvironmentAware {
+    
+    // Prefixos do nome da classe do bean ou, para métodos @Bean, da classe que declara o método
+    static final List<String> NAO_CRITICOS = List.of(
+            "org.springdoc.",
+            OpenApiConfig.class.getName(),
+            GlobalExceptionHandler.class.getName());
+    
+    private boolean habilitada = true;
+    
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.habilitada = environment.getProperty("inicializacao.tardia.habilitada", Boolean.class, true);
+    }
+    
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) throws BeansException {
+        if (!habilitada) {
+            return;
+        }
+        for (String nome : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition definicao = beanFactory.getBeanDefinition(nome);
+            if (!(definicao instanceof AbstractBeanDefinition abstrata) || abstrata.getLazyInit() != null
+                    || !naoCritico(definicao)) {
+                continue;
+            }
+            Class<?> tipo = beanFactory.getType(nome, false);
+            if (tipo == null || !SmartInitializingSingleton.class.isAssignableFrom(tipo)) {
+                abstrata.setLazyInit(true);
+            }
+        }
+    }
+    
+    private static boolean naoCritico(BeanDefinition definicao) {
+        String classe = definicao.getBeanClassName();
+        if (definicao instanceof AnnotatedBeanDefinition anotada && anotada.getFactoryMethodMetadata() != null) {
+            classe = anotada.getFactoryMethodMetadata().getDeclaringClassName();
+        }
+        if (classe == null) {
+            return false;
+        }
+        for (String prefixo : NAO_CRITICOS) {
+            if (classe.startsWith(prefixo)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,86 @@
+package br.com.gestao.alunos.config;
+
+import br.com.gestao.alunos.replicas.DataSourceRoteado;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Réplicas de leitura (opcional, ativado por {@code banco.replicas.urls}). O primário continua configurado por
+ * {@code spring.datasource.*}; cada réplica ganha um pool próprio com as mesmas configurações do primário,
+ * trocando só a URL e, se informadas, as credenciais. O DataSource exposto à aplicação é o
+ * {@link DataSourceRoteado} atrás de um {@link LazyConnectionDataSourceProxy}.
+ */
+@Configuration
+@ConditionalOnProperty("banco.replicas.urls")
+public class ReplicasConfig {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ReplicasConfig.class);
+    
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSourcePrimario(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primario");
+        return dataSource;
+    }
+    
+    @Bean
+    public DataSourceRoteado dataSourceRoteado(HikariDataSource dataSourcePrimario,
+                                               @Value("${banco.replicas.urls}") List<String> urls,
+                                               @Value("${banco.replicas.username:}") String username,
+                                               @Value("${banco.replicas.password:}") String password,
+                                               @Value("${banco.replicas.timeout-conexao-ms:2000}") long timeoutConexaoMs,
+                                               @Value("${banco.replicas.intervalo-reteste-ms:30000}") long intervaloRetesteMs,
+                                               ObjectProvider<MeterRegistry> meterRegistry) {
+        MeterRegistry registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (String url : urls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            String nome = "replica-" + (replicas.size() + 1);
+            HikariConfig config = new HikariConfig();
+            dataSourcePrimario.copyStateTo(config);
+            config.setJdbcUrl(url.trim());
+            config.setPoolName(nome);
+            // Réplica fora do ar na subida não impede a aplicação de subir: as leituras vão para o primário
+            config.setInitializationFailTimeout(-1);
+            // Espera curta por conexão: esgotado o tempo, a réplica sai do rodízio e a leitura vai para o primário
+            config.setConnectionTimeout(timeoutConexaoMs);
+            if (!username.isEmpty()) {
+                config.setUsername(username);
+                config.setPassword(password);
+            }
+            // Métricas do pool (hikaricp.connections.*) com a tag pool=<nome da réplica>, como as do primário
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            replicas.put(nome, new HikariDataSource(config));
+        }
+        logger.info("Roteamento de leituras habilitado com {} réplica(s)", replicas.size());
+        return new DataSourceRoteado(dataSourcePrimario, replicas, intervaloRetesteMs, registry);
+    }
+    
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceRoteado dataSourceRoteado) {
+        return new LazyConnectionDataSourceProxy(dataSourceRoteado);
+    }
+}
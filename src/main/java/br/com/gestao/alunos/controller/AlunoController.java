@@ -1,31 +1,70 @@
 package br.com.gestao.alunos.controller;
 
+import br.com.gestao.alunos.condicional.RecursoVersionado;
 import br.com.gestao.alunos.dto.AlunoDTO;
 import br.com.gestao.alunos.dto.AlunoResponseDTO;
+import br.com.gestao.alunos.dto.FiltroAlunoDTO;
+import br.com.gestao.alunos.dto.FormatoExportacao;
+import br.com.gestao.alunos.dto.PaginaDTO;
+import br.com.gestao.alunos.dto.PosicaoRankingDTO;
+import br.com.gestao.alunos.dto.RankingAlunoDTO;
+import br.com.gestao.alunos.dto.ResultadoImportacaoDTO;
+import br.com.gestao.alunos.dto.ResultadoLoteDTO;
+import br.com.gestao.alunos.service.AlunoExportacaoService;
+import br.com.gestao.alunos.service.AlunoImportacaoService;
+import br.com.gestao.alunos.service.AlunoLoteService;
 import br.com.gestao.alunos.service.AlunoService;
+import br.com.gestao.alunos.service.RankingService;
+import br.com.gestao.alunos.unicidade.EstatisticasFiltroBloom;
+import com.fasterxml.jackson.databind.JsonNode;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/alunos")
 @Tag(name = "Alunos", description = "API para gerenciamento de alunos")
 public class AlunoController {
     
+    public static final String HEADER_PROXIMO_CURSOR = "X-Proximo-Cursor";
+    public static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+    
     private final AlunoService alunoService;
+    private final AlunoExportacaoService alunoExportacaoService;
+    private final AlunoLoteService alunoLoteService;
+    private final AlunoImportacaoService alunoImportacaoService;
+    private final RankingService rankingService;
     
     @Autowired
-    public AlunoController(AlunoService alunoService) {
+    public AlunoController(AlunoService alunoService, AlunoExportacaoService alunoExportacaoService,
+                           AlunoLoteService alunoLoteService, AlunoImportacaoService alunoImportacaoService,
+                           RankingService rankingService) {
         this.alunoService = alunoService;
+        this.alunoExportacaoService = alunoExportacaoService;
+        this.alunoLoteService = alunoLoteService;
+        this.alunoImportacaoService = alunoImportacaoService;
+        this.rankingService = rankingService;
     }
     
     @PostMapping
@@ -40,26 +79,123 @@ public class AlunoController {
         return ResponseEntity.status(HttpStatus.CREATED).body(alunoCriado);
     }
     
+    @PostMapping("/bulk")
+    @Operation(summary = "Criar alunos em lote", description = "Cria até 5000 alunos em uma única requisição. " +
+            "Cada item é validado individualmente e o resultado informa o que foi criado e o que foi rejeitado")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lote processado; veja o resultado de cada item"),
+            @ApiResponse(responseCode = "400", description = "Lote vazio ou acima do tamanho máximo")
+    })
+    public ResponseEntity<ResultadoLoteDTO> criarAlunosEmLote(@RequestBody List<AlunoDTO> alunosDTO) {
+        ResultadoLoteDTO resultado = alunoLoteService.criarAlunosEmLote(alunosDTO);
+        return ResponseEntity.ok(resultado);
+    }
+    
+    @PostMapping(value = "/importacao", consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE})
+    @Operation(summary = "Importar alunos de CSV", description = "Importa o CSV enviado no corpo da requisição " +
+            "(UTF-8, separado por vírgula ou ponto e vírgula, com cabeçalho nome, matricula, email, cursoId, semestre " +
+            "e mediaGeral opcional). O arquivo é processado em streaming; linhas inválidas são rejeitadas e " +
+            "relatadas pelo número da linha")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Arquivo processado; veja as linhas rejeitadas"),
+            @ApiResponse(responseCode = "400", description = "Arquivo vazio, sem colunas obrigatórias ou malformado")
+    })
+    public ResponseEntity<ResultadoImportacaoDTO> importarAlunos(InputStream corpo) throws IOException {
+        // Lê direto do stream da requisição: nada do arquivo é acumulado em memória ou em disco
+        ResultadoImportacaoDTO resultado = alunoImportacaoService.importarCsv(
+                new InputStreamReader(corpo, StandardCharsets.UTF_8));
+        return ResponseEntity.ok(resultado);
+    }
+    
     @GetMapping
-    @Operation(summary = "Listar todos os alunos", description = "Retorna uma lista com todos os alunos cadastrados")
+    @Operation(summary = "Listar alunos", description = "Retorna uma página de alunos ordenada por ID. " +
+            "O cursor da próxima página é enviado no header X-Proximo-Cursor")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página de alunos retornada com sucesso"),
+            @ApiResponse(responseCode = "304", description = "Página sem alterações desde a ETag de If-None-Match"),
+            @ApiResponse(responseCode = "400", description = "Cursor ou limite inválido")
+    })
+    public ResponseEntity<List<AlunoResponseDTO>> listarAlunos(
+            @Parameter(description = "Cursor opaco retornado pela página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Quantidade máxima de alunos por página (padrão 50, máximo 500)") @RequestParam(required = false) Integer limite,
+            WebRequest requisicao) {
+        return alunoService.listarAlunos(cursor, limite, RequisicoesCondicionais.naoModificado(requisicao))
+                .map(this::responderPagina)
+                .orElse(null);
+    }
+    
+    @GetMapping("/exportacao")
+    @Operation(summary = "Exportar todos os alunos", description = "Envia todos os alunos em NDJSON ou CSV à medida que " +
+            "são lidos do banco, sem montar a lista inteira em memória")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Exportação iniciada"),
+            @ApiResponse(responseCode = "400", description = "Formato inválido")
+    })
+    public ResponseEntity<StreamingResponseBody> exportarAlunos(
+            @Parameter(description = "Formato da exportação: ndjson ou csv") @RequestParam(defaultValue = "ndjson") String formato) {
+        FormatoExportacao formatoExportacao = FormatoExportacao.de(formato);
+        StreamingResponseBody corpo = saida -> alunoExportacaoService.exportar(formatoExportacao, saida);
+        
+        return ResponseEntity.ok()
+                .contentType(formatoExportacao.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("alunos." + formatoExportacao.getExtensao())
+                        .build()
+                        .toString())
+                .body(corpo);
+    }
+    
+    @GetMapping("/ranking")
+    @Operation(summary = "Ranking por média", description = "Retorna os K alunos com maior média geral, no geral ou " +
+            "em um curso. Alunos com a mesma média dividem a posição")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Ranking retornado com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Valor de k inválido"),
+            @ApiResponse(responseCode = "404", description = "Curso não encontrado")
+    })
+    public ResponseEntity<List<RankingAlunoDTO>> buscarRanking(
+            @Parameter(description = "ID do curso; sem ele o ranking é geral") @RequestParam(required = false) Long cursoId,
+            @Parameter(description = "Quantidade de alunos (padrão 10, máximo 100)") @RequestParam(required = false) Integer k) {
+        List<RankingAlunoDTO> ranking = rankingService.buscarRanking(cursoId, k);
+        return ResponseEntity.ok(ranking);
+    }
+    
+    @GetMapping("/unicidade/estatisticas")
+    @Operation(summary = "Estatísticas dos filtros de unicidade", description = "Retorna tamanho em memória, taxa de " +
+            "falso positivo estimada e observada e quantas verificações de matrícula e email dispensaram o banco")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Lista de alunos retornada com sucesso")
+            @ApiResponse(responseCode = "200", description = "Estatísticas retornadas com sucesso")
     })
-    public ResponseEntity<List<AlunoResponseDTO>> listarTodosAlunos() {
-        List<AlunoResponseDTO> alunos = alunoService.listarTodosAlunos();
-        return ResponseEntity.ok(alunos);
+    public ResponseEntity<Map<String, EstatisticasFiltroBloom>> estatisticasUnicidade() {
+        return ResponseEntity.ok(alunoService.estatisticasUnicidade());
     }
     
     @GetMapping("/{id}")
     @Operation(summary = "Buscar aluno por ID", description = "Retorna os dados de um aluno específico pelo ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Aluno encontrado"),
+            @ApiResponse(responseCode = "304", description = "Aluno sem alterações desde a ETag de If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Aluno não encontrado")
     })
     public ResponseEntity<AlunoResponseDTO> buscarAlunoPorId(
+            @Parameter(description = "ID do aluno") @PathVariable Long id,
+            WebRequest requisicao) {
+        return alunoService.buscarAlunoPorId(id, RequisicoesCondicionais.naoModificado(requisicao))
+                .map(ResponseEntity::ok)
+                .orElse(null);
+    }
+    
+    @GetMapping("/{id}/ranking")
+    @Operation(summary = "Posição do aluno no ranking", description = "Retorna a posição do aluno por média geral " +
+            "no ranking geral e no do seu curso")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Posição retornada com sucesso"),
+            @ApiResponse(responseCode = "404", description = "Aluno não encontrado")
+    })
+    public ResponseEntity<PosicaoRankingDTO> buscarPosicaoNoRanking(
             @Parameter(description = "ID do aluno") @PathVariable Long id) {
-        AlunoResponseDTO aluno = alunoService.buscarAlunoPorId(id);
-        return ResponseEntity.ok(aluno);
+        PosicaoRankingDTO posicao = rankingService.buscarPosicao(id);
+        return ResponseEntity.ok(posicao);
     }
     
     @PutMapping("/{id}")
@@ -67,13 +203,44 @@ public class AlunoController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Aluno atualizado com sucesso"),
             @ApiResponse(responseCode = "404", description = "Aluno não encontrado"),
-            @ApiResponse(responseCode = "400", description = "Dados inválidos")
+            @ApiResponse(responseCode = "400", description = "Dados inválidos"),
+            @ApiResponse(responseCode = "409", description = "Matrícula ou email já existe, ou, sem If-Match, aluno " +
+                    "alterado por outra requisição ao mesmo tempo"),
+            @ApiResponse(responseCode = "412", description = "Aluno alterado depois da versão de If-Match")
     })
     public ResponseEntity<AlunoResponseDTO> atualizarAluno(
             @Parameter(description = "ID do aluno") @PathVariable Long id,
+            @Parameter(description = "ETag lida no GET; se o aluno mudou desde então, nada é alterado (412)")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody AlunoDTO alunoDTO) {
-        AlunoResponseDTO alunoAtualizado = alunoService.atualizarAluno(id, alunoDTO);
-        return ResponseEntity.ok(alunoAtualizado);
+        RecursoVersionado<AlunoResponseDTO> alunoAtualizado = alunoService.atualizarAluno(id, alunoDTO,
+                RequisicoesCondicionais.correspondeAoIfMatch(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(alunoAtualizado.getVersao().getEtag())
+                .body(alunoAtualizado.getConteudo());
+    }
+    
+    @PatchMapping(value = "/{id}", consumes = {AlunoController.MERGE_PATCH_JSON, MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "Atualizar campos do aluno", description = "Altera só os campos enviados (JSON Merge Patch); " +
+            "null remove a média. Unicidade e curso são verificados apenas para os campos alterados")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Aluno atualizado com sucesso"),
+            @ApiResponse(responseCode = "404", description = "Aluno não encontrado"),
+            @ApiResponse(responseCode = "400", description = "Campo desconhecido, id diferente do caminho ou aluno resultante inválido"),
+            @ApiResponse(responseCode = "409", description = "Matrícula ou email já existe, ou, sem If-Match, aluno " +
+                    "alterado por outra requisição ao mesmo tempo"),
+            @ApiResponse(responseCode = "412", description = "Aluno alterado depois da versão de If-Match")
+    })
+    public ResponseEntity<AlunoResponseDTO> atualizarAlunoParcialmente(
+            @Parameter(description = "ID do aluno") @PathVariable Long id,
+            @Parameter(description = "ETag lida no GET; se o aluno mudou desde então, nada é alterado (412)")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody JsonNode patch) {
+        RecursoVersionado<AlunoResponseDTO> alunoAtualizado = alunoService.atualizarAlunoParcialmente(id, patch,
+                RequisicoesCondicionais.correspondeAoIfMatch(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(alunoAtualizado.getVersao().getEtag())
+                .body(alunoAtualizado.getConteudo());
     }
     
     @DeleteMapping("/{id}")
@@ -89,28 +256,34 @@ public class AlunoController {
     }
     
     @GetMapping("/filtro")
-    @Operation(summary = "Buscar alunos com filtros", description = "Busca alunos por curso, semestre ou média mínima")
+    @Operation(summary = "Buscar alunos com filtros", description = "Combina (AND) todos os filtros informados — curso, " +
+            "semestre, faixas de semestre, média e data de matrícula — em uma única consulta, com ordenação configurável " +
+            "e paginação por cursor como a listagem")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Alunos encontrados")
+            @ApiResponse(responseCode = "200", description = "Alunos encontrados"),
+            @ApiResponse(responseCode = "304", description = "Página sem alterações desde a ETag de If-None-Match"),
+            @ApiResponse(responseCode = "400", description = "Filtro, ordenação, cursor ou limite inválido")
     })
     public ResponseEntity<List<AlunoResponseDTO>> buscarAlunosComFiltro(
-            @Parameter(description = "ID do curso") @RequestParam(required = false) Long cursoId,
-            @Parameter(description = "Semestre") @RequestParam(required = false) Integer semestre,
-            @Parameter(description = "Média mínima") @RequestParam(required = false) Double mediaMinima) {
-        
-        List<AlunoResponseDTO> alunos;
-        
-        if (cursoId != null) {
-            alunos = alunoService.buscarAlunosPorCurso(cursoId);
-        } else if (semestre != null) {
-            alunos = alunoService.buscarAlunosPorSemestre(semestre);
-        } else if (mediaMinima != null) {
-            alunos = alunoService.buscarAlunosPorMediaMinima(mediaMinima);
-        } else {
-            alunos = alunoService.listarTodosAlunos();
+            @ParameterObject FiltroAlunoDTO filtro,
+            @Parameter(description = "Cursor opaco retornado pela página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Quantidade máxima de alunos por página (padrão 50, máximo 500)") @RequestParam(required = false) Integer limite,
+            WebRequest requisicao) {
+        return alunoService.buscarAlunosComFiltro(filtro, cursor, limite,
+                        RequisicoesCondicionais.naoModificado(requisicao))
+                .map(this::responderPagina)
+                .orElse(null);
+    }
+    
+    private ResponseEntity<List<AlunoResponseDTO>> responderPagina(PaginaDTO<AlunoResponseDTO> pagina) {
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok();
+        if (pagina.getProximoCursor() != null) {
+            String proximaPagina = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("cursor", pagina.getProximoCursor())
+                    .toUriString();
+            resposta.header(HEADER_PROXIMO_CURSOR, pagina.getProximoCursor());
+            resposta.header(HttpHeaders.LINK, "<" + proximaPagina + ">; rel=\"next\"");
         }
-        
-        return ResponseEntity.ok(alunos);
+        return resposta.body(pagina.getConteudo());
     }
 }
-
@@ -1,7 +1,12 @@
 package br.com.gestao.alunos.controller;
 
+import br.com.gestao.alunos.cache.EstatisticasCache;
+import br.com.gestao.alunos.condicional.RecursoVersionado;
 import br.com.gestao.alunos.dto.CursoDTO;
+import br.com.gestao.alunos.dto.EstatisticasCursoDTO;
+import br.com.gestao.alunos.dto.ResultadoRemocaoDTO;
 import br.com.gestao.alunos.service.CursoService;
+import br.com.gestao.alunos.service.EstatisticasCursoService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -9,11 +14,14 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/cursos")
@@ -21,17 +29,20 @@ import java.util.List;
 public class CursoController {
     
     private final CursoService cursoService;
+    private final EstatisticasCursoService estatisticasCursoService;
     
     @Autowired
-    public CursoController(CursoService cursoService) {
+    public CursoController(CursoService cursoService, EstatisticasCursoService estatisticasCursoService) {
         this.cursoService = cursoService;
+        this.estatisticasCursoService = estatisticasCursoService;
     }
     
     @PostMapping
     @Operation(summary = "Criar um novo curso", description = "Cria um novo curso no sistema")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Curso criado com sucesso"),
-            @ApiResponse(responseCode = "400", description = "Dados inválidos")
+            @ApiResponse(responseCode = "400", description = "Dados inválidos"),
+            @ApiResponse(responseCode = "409", description = "Já existe um curso com o nome informado")
     })
     public ResponseEntity<CursoDTO> criarCurso(@Valid @RequestBody CursoDTO cursoDTO) {
         CursoDTO cursoCriado = cursoService.criarCurso(cursoDTO);
@@ -39,25 +50,70 @@ public class CursoController {
     }
     
     @GetMapping
-    @Operation(summary = "Listar todos os cursos", description = "Retorna uma lista com todos os cursos cadastrados")
+    @Operation(summary = "Listar todos os cursos", description = "Retorna uma lista com todos os cursos cadastrados. " +
+            "Com incluirTotais=true, cada curso traz a quantidade de alunos e a média geral, obtidas numa única consulta")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Lista de cursos retornada com sucesso")
+            @ApiResponse(responseCode = "200", description = "Lista de cursos retornada com sucesso"),
+            @ApiResponse(responseCode = "304", description = "Lista sem alterações desde a ETag de If-None-Match")
     })
-    public ResponseEntity<List<CursoDTO>> listarTodosCursos() {
-        List<CursoDTO> cursos = cursoService.listarTodosCursos();
-        return ResponseEntity.ok(cursos);
+    public ResponseEntity<List<? extends CursoDTO>> listarTodosCursos(
+            @Parameter(description = "Incluir quantidade de alunos e média geral de cada curso")
+            @RequestParam(defaultValue = "false") boolean incluirTotais,
+            WebRequest requisicao) {
+        // Os totais mudam a cada escrita de aluno e não são cacheados: só a lista simples é condicional
+        if (incluirTotais) {
+            return ResponseEntity.ok(cursoService.listarCursosComTotais());
+        }
+        return cursoService.listarTodosCursos(RequisicoesCondicionais.naoModificado(requisicao))
+                .<ResponseEntity<List<? extends CursoDTO>>>map(ResponseEntity::ok)
+                .orElse(null);
+    }
+    
+    @GetMapping("/cache/estatisticas")
+    @Operation(summary = "Estatísticas do cache de cursos", description = "Retorna acertos, falhas, remoções e ocupação " +
+            "dos caches em memória de cursos")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estatísticas retornadas com sucesso")
+    })
+    public ResponseEntity<Map<String, EstatisticasCache>> estatisticasCache() {
+        return ResponseEntity.ok(cursoService.estatisticasCache());
+    }
+    
+    @GetMapping("/estatisticas")
+    @Operation(summary = "Estatísticas de todos os cursos", description = "Retorna, para cada curso, a quantidade de " +
+            "alunos, média, menor e maior média e a distribuição por semestre e por faixa de média")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estatísticas retornadas com sucesso")
+    })
+    public ResponseEntity<List<EstatisticasCursoDTO>> listarEstatisticas() {
+        return ResponseEntity.ok(estatisticasCursoService.listarEstatisticas());
+    }
+    
+    @GetMapping("/{id}/estatisticas")
+    @Operation(summary = "Estatísticas de um curso", description = "Retorna a quantidade de alunos, média, menor e " +
+            "maior média e a distribuição por semestre e por faixa de média do curso")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estatísticas retornadas com sucesso"),
+            @ApiResponse(responseCode = "404", description = "Curso não encontrado")
+    })
+    public ResponseEntity<EstatisticasCursoDTO> buscarEstatisticas(
+            @Parameter(description = "ID do curso") @PathVariable Long id) {
+        return ResponseEntity.ok(estatisticasCursoService.buscarEstatisticas(id));
     }
     
     @GetMapping("/{id}")
     @Operation(summary = "Buscar curso por ID", description = "Retorna os dados de um curso específico pelo ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Curso encontrado"),
+            @ApiResponse(responseCode = "304", description = "Curso sem alterações desde a ETag de If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Curso não encontrado")
     })
     public ResponseEntity<CursoDTO> buscarCursoPorId(
-            @Parameter(description = "ID do curso") @PathVariable Long id) {
-        CursoDTO curso = cursoService.buscarCursoPorId(id);
-        return ResponseEntity.ok(curso);
+            @Parameter(description = "ID do curso") @PathVariable Long id,
+            WebRequest requisicao) {
+        return cursoService.buscarCursoPorId(id, RequisicoesCondicionais.naoModificado(requisicao))
+                .map(ResponseEntity::ok)
+                .orElse(null);
     }
     
     @PutMapping("/{id}")
@@ -65,25 +121,45 @@ public class CursoController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Curso atualizado com sucesso"),
             @ApiResponse(responseCode = "404", description = "Curso não encontrado"),
-            @ApiResponse(responseCode = "400", description = "Dados inválidos")
+            @ApiResponse(responseCode = "400", description = "Dados inválidos"),
+            @ApiResponse(responseCode = "409", description = "Já existe um curso com o nome informado, ou, sem If-Match, curso " +
+                    "alterado por outra requisição ao mesmo tempo"),
+            @ApiResponse(responseCode = "412", description = "Curso alterado depois da versão de If-Match")
     })
     public ResponseEntity<CursoDTO> atualizarCurso(
             @Parameter(description = "ID do curso") @PathVariable Long id,
+            @Parameter(description = "ETag lida no GET; se o curso mudou desde então, nada é alterado (412)")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody CursoDTO cursoDTO) {
-        CursoDTO cursoAtualizado = cursoService.atualizarCurso(id, cursoDTO);
-        return ResponseEntity.ok(cursoAtualizado);
+        RecursoVersionado<CursoDTO> cursoAtualizado = cursoService.atualizarCurso(id, cursoDTO,
+                RequisicoesCondicionais.correspondeAoIfMatch(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(cursoAtualizado.getVersao().getEtag())
+                .body(cursoAtualizado.getConteudo());
     }
     
     @DeleteMapping("/{id}")
-    @Operation(summary = "Deletar curso", description = "Remove um curso do sistema")
+    @Operation(summary = "Deletar curso", description = "Remove um curso e todos os seus alunos, informando " +
+            "quantos alunos foram removidos")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Curso deletado com sucesso"),
+            @ApiResponse(responseCode = "404", description = "Curso não encontrado")
+    })
+    public ResponseEntity<ResultadoRemocaoDTO> deletarCurso(
+            @Parameter(description = "ID do curso") @PathVariable Long id) {
+        return ResponseEntity.ok(cursoService.deletarCurso(id));
+    }
+    
+    @DeleteMapping("/{id}/alunos")
+    @Operation(summary = "Deletar alunos do curso", description = "Remove todos os alunos do curso, mantendo o " +
+            "curso, e informa quantos foram removidos")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "204", description = "Curso deletado com sucesso"),
+            @ApiResponse(responseCode = "200", description = "Alunos removidos com sucesso"),
             @ApiResponse(responseCode = "404", description = "Curso não encontrado")
     })
-    public ResponseEntity<Void> deletarCurso(
+    public ResponseEntity<ResultadoRemocaoDTO> deletarAlunosDoCurso(
             @Parameter(description = "ID do curso") @PathVariable Long id) {
-        cursoService.deletarCurso(id);
-        return ResponseEntity.noContent().build();
+        return ResponseEntity.ok(cursoService.deletarAlunosDoCurso(id));
     }
 }
 
@@ -0,0 +1,46 @@
+package br.com.gestao.alunos.controller;
+
+import br.com.gestao.alunos.alteracoes.FeedAlteracoes;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/eventos")
+@Tag(name = "Eventos", description = "Feed de alterações de alunos e cursos")
+public class EventoController {
+    
+    private final FeedAlteracoes feedAlteracoes;
+    
+    @Autowired
+    public EventoController(FeedAlteracoes feedAlteracoes) {
+        this.feedAlteracoes = feedAlteracoes;
+    }
+    
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Acompanhar alterações", description = "Server-Sent Events com cada aluno ou curso criado, " +
+            "atualizado ou removido, enviados depois do commit. Ao reconectar, o EventSource envia o header " +
+            "Last-Event-ID e recebe as alterações perdidas que ainda estão no histórico; se já saíram, recebe um " +
+            "evento historico-incompleto e deve recarregar os dados")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Conexão aberta"),
+            @ApiResponse(responseCode = "503", description = "Limite de conexões atingido")
+    })
+    public SseEmitter acompanharAlteracoes(
+            @Parameter(description = "ID do último evento recebido, enviado pelo EventSource ao reconectar")
+            @RequestHeader(value = "Last-Event-ID", required = false) String ultimoEventoId,
+            @Parameter(description = "Alternativa ao header Last-Event-ID para a primeira conexão")
+            @RequestParam(required = false) String desde) {
+        return feedAlteracoes.assinar(ultimoEventoId != null ? ultimoEventoId : desde);
+    }
+}
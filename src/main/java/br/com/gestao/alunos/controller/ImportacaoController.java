@@ -0,0 +1,61 @@
+package br.com.gestao.alunos.controller;
+
+import br.com.gestao.alunos.dto.ImportacaoDTO;
+import br.com.gestao.alunos.service.ImportacaoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+
+@RestController
+@RequestMapping("/api/importacoes")
+@Tag(name = "Importações", description = "API para importação assíncrona de alunos em CSV")
+public class ImportacaoController {
+    
+    private final ImportacaoService importacaoService;
+    
+    @Autowired
+    public ImportacaoController(ImportacaoService importacaoService) {
+        this.importacaoService = importacaoService;
+    }
+    
+    @PostMapping(consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE})
+    @Operation(summary = "Iniciar importação de CSV", description = "Recebe o CSV no mesmo formato de POST " +
+            "/api/alunos/importacao e responde assim que o arquivo é gravado. A importação é feita em segundo " +
+            "plano, em blocos confirmados um a um; o andamento é consultado pela URL do header Location")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Importação agendada"),
+            @ApiResponse(responseCode = "400", description = "Arquivo vazio ou sem colunas obrigatórias"),
+            @ApiResponse(responseCode = "503", description = "Limite de importações em andamento atingido")
+    })
+    public ResponseEntity<ImportacaoDTO> criarImportacao(InputStream corpo) throws IOException {
+        ImportacaoDTO importacao = importacaoService.criar(corpo);
+        URI local = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{id}")
+                .buildAndExpand(importacao.getId())
+                .toUri();
+        return ResponseEntity.accepted().location(local).body(importacao);
+    }
+    
+    @GetMapping("/{id}")
+    @Operation(summary = "Consultar importação", description = "Retorna o status, as linhas processadas, a " +
+            "velocidade, a previsão de término e os erros das linhas rejeitadas até o último bloco confirmado")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Importação encontrada"),
+            @ApiResponse(responseCode = "404", description = "Importação não encontrada")
+    })
+    public ResponseEntity<ImportacaoDTO> buscarImportacao(
+            @Parameter(description = "ID da importação") @PathVariable Long id) {
+        return ResponseEntity.ok(importacaoService.buscarPorId(id));
+    }
+}
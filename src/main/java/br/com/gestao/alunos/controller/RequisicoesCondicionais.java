@@ -0,0 +1,42 @@
+package br.com.gestao.alunos.controller;
+
+import br.com.gestao.alunos.condicional.VersaoRecurso;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Liga as versões calculadas pelos serviços aos headers da requisição. Nos GETs, o {@code checkNotModified} compara a
+ * versão com If-None-Match (ou If-Modified-Since, sem ETag), grava ETag e Last-Modified na resposta e, quando o
+ * cliente já tem a versão atual, marca a resposta como 304; o controller então retorna {@code null}, sem corpo.
+ * Nas alterações, If-Match indica a versão sobre a qual o cliente editou.
+ */
+final class RequisicoesCondicionais {
+    
+    private RequisicoesCondicionais() {
+    }
+    
+    static Predicate<VersaoRecurso> naoModificado(WebRequest requisicao) {
+        return versao -> requisicao.checkNotModified(versao.getEtag(), versao.getUltimaAlteracaoEmMilissegundos());
+    }
+    
+    /**
+     * Aceita a versão quando não há If-Match, quando ele é {@code *} ou quando lista a ETag da versão. A comparação
+     * é forte, como pede o If-Match: ETags fracas ({@code W/"..."}) nunca correspondem.
+     */
+    static Predicate<VersaoRecurso> correspondeAoIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return versao -> true;
+        }
+        List<String> etags = Arrays.stream(ifMatch.split(","))
+                .map(String::trim)
+                .filter(etag -> !etag.startsWith("W/"))
+                .map(etag -> etag.length() > 1 && etag.startsWith("\"") && etag.endsWith("\"")
+                        ? etag.substring(1, etag.length() - 1) : etag)
+                .collect(Collectors.toList());
+        return versao -> etags.contains("*") || etags.contains(versao.getEtag());
+    }
+}
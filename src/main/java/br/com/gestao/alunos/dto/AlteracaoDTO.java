@@ -0,0 +1,25 @@
+package br.com.gestao.alunos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlteracaoDTO {
+    
+    // O mesmo valor do campo id do evento SSE, que o cliente devolve em Last-Event-ID ao reconectar
+    private String id;
+    private TipoAlteracao tipo;
+    
+    // ID do aluno ou do curso alterado; nulo em importações
+    private Long entidadeId;
+    
+    // Aluno atual na criação e na atualização, nome do curso ou quantidade importada; nulo nas remoções
+    private Object dados;
+    
+    private LocalDateTime ocorridaEm;
+}
@@ -4,6 +4,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDate;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -17,5 +19,6 @@ public class AlunoResponseDTO {
     private Long cursoId;
     private Integer semestre;
     private Double mediaGeral;
+    private LocalDate dataMatricula;
 }
 
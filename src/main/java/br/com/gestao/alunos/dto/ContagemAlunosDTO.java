@@ -0,0 +1,17 @@
+package br.com.gestao.alunos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Quantidade de alunos de um curso com o mesmo semestre e a mesma média. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContagemAlunosDTO {
+    
+    private Long cursoId;
+    private Integer semestre;
+    private Double mediaGeral;
+    private Long quantidade;
+}
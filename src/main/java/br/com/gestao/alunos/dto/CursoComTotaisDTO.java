@@ -0,0 +1,22 @@
+package br.com.gestao.alunos.dto;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+public class CursoComTotaisDTO extends CursoDTO {
+    
+    private long totalAlunos;
+    
+    // Média das médias gerais dos alunos do curso; nula quando nenhum aluno tem média
+    private Double mediaGeral;
+    
+    public CursoComTotaisDTO(Long id, String nome, String descricao, Long totalAlunos, Double mediaGeral) {
+        super(id, nome, descricao);
+        this.totalAlunos = totalAlunos != null ? totalAlunos : 0;
+        this.mediaGeral = mediaGeral;
+    }
+}
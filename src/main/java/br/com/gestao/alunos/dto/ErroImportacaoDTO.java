@@ -0,0 +1,17 @@
+package br.com.gestao.alunos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ErroImportacaoDTO {
+    
+    // Linha do arquivo onde o registro começa; a linha 1 é o cabeçalho
+    private long linha;
+    private List<String> erros;
+}
@@ -0,0 +1,25 @@
+package br.com.gestao.alunos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EstatisticasCursoDTO {
+    
+    private Long cursoId;
+    private String cursoNome;
+    private long quantidadeAlunos;
+    // Média, menor e maior consideram só os alunos com média; ficam nulas se nenhum tiver
+    private long alunosComMedia;
+    private Double mediaGeral;
+    private Double menorMedia;
+    private Double maiorMedia;
+    private Map<Integer, Long> alunosPorSemestre;
+    // Faixas de um ponto ("0-1" ... "9-10"); a nota 10 entra em "9-10"
+    private Map<String, Long> alunosPorFaixaDeMedia;
+}
@@ -0,0 +1,50 @@
+package br.com.gestao.alunos.dto;
+
+import io.swagger.v3.oas.annotations.Parameter;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FiltroAlunoDTO {
+    
+    @Parameter(description = "ID do curso")
+    private Long cursoId;
+    
+    @Parameter(description = "Email exato, sem diferenciar maiúsculas de minúsculas")
+    private String email;
+    
+    @Parameter(description = "Semestre exato")
+    private Integer semestre;
+    
+    @Parameter(description = "Semestre mínimo (inclusivo)")
+    private Integer semestreMinimo;
+    
+    @Parameter(description = "Semestre máximo (inclusivo)")
+    private Integer semestreMaximo;
+    
+    @Parameter(description = "Média mínima (inclusiva)")
+    private Double mediaMinima;
+    
+    @Parameter(description = "Média máxima (inclusiva)")
+    private Double mediaMaxima;
+    
+    @Parameter(description = "Data de matrícula inicial (inclusiva), formato yyyy-MM-dd")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dataMatriculaInicio;
+    
+    @Parameter(description = "Data de matrícula final (inclusiva), formato yyyy-MM-dd")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dataMatriculaFim;
+    
+    @Parameter(description = "Campo de ordenação: id, nome, semestre, mediaGeral ou dataMatricula (padrão id)")
+    private String ordenacao;
+    
+    @Parameter(description = "Direção da ordenação: asc ou desc (padrão asc)")
+    private String direcao;
+}
@@ -0,0 +1,29 @@
+package br.com.gestao.alunos.dto;
+
+import br.com.gestao.alunos.exception.BusinessException;
+import lombok.Getter;
+import org.springframework.http.MediaType;
+
+@Getter
+public enum FormatoExportacao {
+    
+    NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+    CSV(MediaType.parseMediaType("text/csv;charset=UTF-8"), "csv");
+    
+    private final MediaType mediaType;
+    private final String extensao;
+    
+    FormatoExportacao(MediaType mediaType, String extensao) {
+        this.mediaType = mediaType;
+        this.extensao = extensao;
+    }
+    
+    public static FormatoExportacao de(String valor) {
+        for (FormatoExportacao formato : values()) {
+            if (formato.extensao.equalsIgnoreCase(valor)) {
+                return formato;
+            }
+        }
+        throw new BusinessException("Formato de exportação inválido: " + valor + ". Use 'ndjson' ou 'csv'");
+    }
+}
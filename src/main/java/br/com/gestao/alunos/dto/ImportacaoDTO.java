@@ -0,0 +1,32 @@
+package br.com.gestao.alunos.dto;
+
+import br.com.gestao.alunos.model.StatusImportacao;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportacaoDTO {
+    
+    private Long id;
+    private StatusImportacao status;
+    private long linhasEstimadas;
+    private long linhasProcessadas;
+    private long importados;
+    private long rejeitados;
+    private double linhasPorSegundo;
+    
+    // Nulo enquanto não há velocidade medida ou depois que a importação termina
+    private Long segundosRestantes;
+    
+    private LocalDateTime criadaEm;
+    private LocalDateTime concluidaEm;
+    private String falha;
+    private List<ErroImportacaoDTO> erros;
+    private long errosNaoListados;
+}
@@ -0,0 +1,23 @@
+package br.com.gestao.alunos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemLoteDTO {
+    
+    private int indice;
+    private boolean criado;
+    private AlunoResponseDTO aluno;
+    private List<String> erros = new ArrayList<>();
+    
+    public ItemLoteDTO(int indice) {
+        this.indice = indice;
+    }
+}
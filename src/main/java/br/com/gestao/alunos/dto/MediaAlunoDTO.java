@@ -0,0 +1,16 @@
+package br.com.gestao.alunos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Média de um aluno com o seu curso: tudo o que o ranking em memória precisa guardar. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MediaAlunoDTO {
+    
+    private Long id;
+    private Long cursoId;
+    private Double mediaGeral;
+}
@@ -0,0 +1,51 @@
+package br.com.gestao.alunos.dto;
+
+import br.com.gestao.alunos.exception.BusinessException;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.function.Function;
+
+@Getter
+public enum OrdenacaoAluno {
+    
+    ID("id", false, AlunoResponseDTO::getId, Long::valueOf),
+    NOME("nome", false, AlunoResponseDTO::getNome, valor -> valor),
+    SEMESTRE("semestre", false, AlunoResponseDTO::getSemestre, Integer::valueOf),
+    MEDIA_GERAL("mediaGeral", true, AlunoResponseDTO::getMediaGeral, Double::valueOf),
+    DATA_MATRICULA("dataMatricula", true, AlunoResponseDTO::getDataMatricula, LocalDate::parse);
+    
+    private final String atributo;
+    private final boolean anulavel;
+    private final Function<AlunoResponseDTO, Comparable<?>> extrator;
+    private final Function<String, Comparable<?>> conversor;
+    
+    OrdenacaoAluno(String atributo, boolean anulavel, Function<AlunoResponseDTO, Comparable<?>> extrator,
+                   Function<String, Comparable<?>> conversor) {
+        this.atributo = atributo;
+        this.anulavel = anulavel;
+        this.extrator = extrator;
+        this.conversor = conversor;
+    }
+    
+    public static OrdenacaoAluno de(String valor) {
+        if (valor == null || valor.isBlank()) {
+            return ID;
+        }
+        for (OrdenacaoAluno ordenacao : values()) {
+            if (ordenacao.atributo.equalsIgnoreCase(valor)) {
+                return ordenacao;
+            }
+        }
+        throw new BusinessException("Ordenação inválida: " + valor +
+                ". Use 'id', 'nome', 'semestre', 'mediaGeral' ou 'dataMatricula'");
+    }
+    
+    public Comparable<?> valorDe(AlunoResponseDTO aluno) {
+        return extrator.apply(aluno);
+    }
+    
+    public Comparable<?> converter(String valor) {
+        return valor == null ? null : conversor.apply(valor);
+    }
+}
@@ -0,0 +1,20 @@
+package br.com.gestao.alunos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PosicaoRankingDTO {
+    
+    private Long alunoId;
+    private Long cursoId;
+    private Double mediaGeral;
+    // Posições ficam nulas quando o aluno não tem média
+    private Long posicaoGeral;
+    private long totalGeral;
+    private Long posicaoNoCurso;
+    private long totalNoCurso;
+}
@@ -0,0 +1,20 @@
+package br.com.gestao.alunos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RankingAlunoDTO {
+    
+    // Alunos com a mesma média dividem a posição (1, 2, 2, 4...)
+    private int posicao;
+    private Long id;
+    private String nome;
+    private String matricula;
+    private Long cursoId;
+    private String cursoNome;
+    private Double mediaGeral;
+}
@@ -0,0 +1,21 @@
+package br.com.gestao.alunos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoImportacaoDTO {
+    
+    private long linhas;
+    private long importados;
+    private long rejeitados;
+    
+    // Erros das primeiras linhas rejeitadas, em ordem de linha; o restante só entra na contagem
+    private List<ErroImportacaoDTO> erros;
+    private long errosNaoListados;
+}
@@ -0,0 +1,18 @@
+package br.com.gestao.alunos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoLoteDTO {
+    
+    private int total;
+    private int criados;
+    private int rejeitados;
+    private List<ItemLoteDTO> itens;
+}
@@ -0,0 +1,15 @@
+package br.com.gestao.alunos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoRemocaoDTO {
+    
+    private Long cursoId;
+    private boolean cursoRemovido;
+    private int alunosRemovidos;
+}
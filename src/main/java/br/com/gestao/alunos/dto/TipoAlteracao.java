@@ -0,0 +1,20 @@
+package br.com.gestao.alunos.dto;
+
+import java.util.Locale;
+
+public enum TipoAlteracao {
+    
+    ALUNO_CRIADO,
+    ALUNO_ATUALIZADO,
+    ALUNO_REMOVIDO,
+    ALUNOS_IMPORTADOS,
+    CURSO_CRIADO,
+    CURSO_ATUALIZADO,
+    CURSO_REMOVIDO,
+    ALUNOS_DO_CURSO_REMOVIDOS;
+    
+    /** Nome do evento SSE, para o cliente registrar um listener por tipo (por exemplo, aluno-criado). */
+    public String getNomeEvento() {
+        return name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+}
@@ -0,0 +1,20 @@
+package br.com.gestao.alunos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/** Colunas de controle de um aluno e do seu curso, lidas para calcular a ETag sem montar o aluno. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VersaoAlunoDTO {
+    
+    private Long id;
+    private Long versao;
+    private LocalDateTime atualizadoEm;
+    private Long cursoVersao;
+    private LocalDateTime cursoAtualizadoEm;
+}
@@ -0,0 +1,75 @@
+package br.com.gestao.alunos.estatisticas;
+
+import br.com.gestao.alunos.dto.EstatisticasCursoDTO;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Contagens de um curso por semestre e por média. Guardar a quantidade por valor de média
+ * (e não só soma, mínimo e máximo) permite remover alunos sem reler a tabela; as médias vão
+ * de 0 a 10, então o mapa tem poucas chaves e o resumo é calculado na hora.
+ */
+class AgregadoCurso {
+    
+    private static final int QUANTIDADE_FAIXAS = 10;
+    
+    private long quantidade;
+    private final Map<Integer, Long> porSemestre = new TreeMap<>();
+    private final NavigableMap<Double, Long> porMedia = new TreeMap<>();
+    
+    void adicionar(Integer semestre, Double media, long quantidadeAlunos) {
+        quantidade += quantidadeAlunos;
+        if (semestre != null) {
+            somar(porSemestre, semestre, quantidadeAlunos);
+        }
+        if (media != null) {
+            somar(porMedia, media, quantidadeAlunos);
+        }
+    }
+    
+    void remover(Integer semestre, Double media, long quantidadeAlunos) {
+        adicionar(semestre, media, -quantidadeAlunos);
+    }
+    
+    boolean isVazio() {
+        return quantidade <= 0;
+    }
+    
+    EstatisticasCursoDTO resumir(Long cursoId) {
+        long comMedia = 0;
+        double soma = 0;
+        Map<String, Long> porFaixa = new LinkedHashMap<>();
+        for (int faixa = 0; faixa < QUANTIDADE_FAIXAS; faixa++) {
+            porFaixa.put(faixa + "-" + (faixa + 1), 0L);
+        }
+        for (Map.Entry<Double, Long> entrada : porMedia.entrySet()) {
+            comMedia += entrada.getValue();
+            soma += entrada.getKey() * entrada.getValue();
+            int faixa = (int) Math.max(0, Math.min(QUANTIDADE_FAIXAS - 1, Math.floor(entrada.getKey())));
+            porFaixa.merge(faixa + "-" + (faixa + 1), entrada.getValue(), Long::sum);
+        }
+        
+        EstatisticasCursoDTO estatisticas = new EstatisticasCursoDTO();
+        estatisticas.setCursoId(cursoId);
+        estatisticas.setQuantidadeAlunos(quantidade);
+        estatisticas.setAlunosComMedia(comMedia);
+        if (comMedia > 0) {
+            estatisticas.setMediaGeral(Math.round(soma / comMedia * 100) / 100.0);
+            estatisticas.setMenorMedia(porMedia.firstKey());
+            estatisticas.setMaiorMedia(porMedia.lastKey());
+        }
+        estatisticas.setAlunosPorSemestre(new LinkedHashMap<>(porSemestre));
+        estatisticas.setAlunosPorFaixaDeMedia(porFaixa);
+        return estatisticas;
+    }
+    
+    private static <K> void somar(Map<K, Long> contagens, K chave, long quantidadeAlunos) {
+        Long total = contagens.merge(chave, quantidadeAlunos, Long::sum);
+        if (total <= 0) {
+            contagens.remove(chave);
+        }
+    }
+}
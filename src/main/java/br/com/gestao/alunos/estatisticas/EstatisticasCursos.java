@@ -0,0 +1,223 @@
+package br.com.gestao.alunos.estatisticas;
+
+import br.com.gestao.alunos.cache.EstadoRecarregavel;
+import br.com.gestao.alunos.dto.AlunoResponseDTO;
+import br.com.gestao.alunos.dto.ContagemAlunosDTO;
+import br.com.gestao.alunos.dto.EstatisticasCursoDTO;
+import br.com.gestao.alunos.event.AlunoAlteradoEvent;
+import br.com.gestao.alunos.event.AlunosImportadosEvent;
+import br.com.gestao.alunos.event.CursoAlteradoEvent;
+import br.com.gestao.alunos.repository.AlunoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Estatísticas de alunos por curso mantidas em memória (opcional, {@code estatisticas.memoria.habilitado}).
+ * A carga lê as contagens já agrupadas pelo banco (uma linha por curso, semestre e média); depois dela,
+ * cada criação, atualização ou remoção de aluno só tira o estado anterior e soma o atual nos contadores,
+ * e a leitura nunca toca a tabela de alunos. A recarga periódica absorve escritas feitas por outras instâncias.
+ * <p>
+ * Os contadores não sabem quais alunos já contaram, então um evento não pode ser aplicado sobre uma carga que
+ * já inclui a escrita dele. Por isso uma carga só é publicada se nenhum commit de alunos desta instância correu
+ * junto com a consulta agrupada: quem confirmou antes teve o evento aplicado antes da carga, e quem confirma
+ * depois tem o evento aplicado sobre ela. Uma carga que cruzou com um commit é descartada e repetida; as escritas
+ * nunca esperam pela recarga.
+ */
+@Component
+public class EstatisticasCursos {
+    
+    private static final Logger logger = LoggerFactory.getLogger(EstatisticasCursos.class);
+    
+    private final AlunoRepository alunoRepository;
+    private final TaskScheduler agendador;
+    private final boolean habilitado;
+    
+    private static final int TENTATIVAS_DE_CARGA = 5;
+    
+    private final EstadoRecarregavel<Map<Long, AgregadoCurso>> agregados = new EstadoRecarregavel<>();
+    // Transações que alteram alunos entre o início do commit e a entrega dos eventos, e as que já passaram por ele
+    private final AtomicInteger commitsEmCurso = new AtomicInteger();
+    private final AtomicLong commitsConcluidos = new AtomicLong();
+    
+    @Autowired
+    public EstatisticasCursos(AlunoRepository alunoRepository, TaskScheduler agendador,
+                              @Value("${estatisticas.memoria.habilitado:true}") boolean habilitado) {
+        this.alunoRepository = alunoRepository;
+        this.agendador = agendador;
+        this.habilitado = habilitado;
+    }
+    
+    @Scheduled(initialDelayString = "${estatisticas.memoria.atraso-inicial-ms:0}",
+               fixedDelayString = "${estatisticas.memoria.intervalo-recarga-ms:600000}")
+    public void recarregar() {
+        if (!habilitado) {
+            return;
+        }
+        for (int tentativa = 1; tentativa <= TENTATIVAS_DE_CARGA; tentativa++) {
+            // Lido antes da recarga começar a guardar eventos: quem concluiu até aqui já foi aplicado
+            long concluidosAntes = commitsConcluidos.get();
+            try {
+                agregados.recarregar(() -> carregar(concluidosAntes));
+                return;
+            } catch (CargaConcorrente e) {
+                logger.debug("Carga das estatísticas em memória cruzou com um commit de alunos (tentativa {})",
+                        tentativa);
+            }
+        }
+        // Os contadores seguem exatos pelos eventos; só as escritas de outras instâncias esperam a próxima recarga
+        logger.info("Estatísticas em memória não recarregadas: commits de alunos em todas as {} tentativas",
+                TENTATIVAS_DE_CARGA);
+    }
+    
+    private Map<Long, AgregadoCurso> carregar(long concluidosAntes) {
+        Map<Long, AgregadoCurso> novos = agregar(alunoRepository.contarAlunosAgrupados());
+        if (commitsEmCurso.get() != 0 || commitsConcluidos.get() != concluidosAntes) {
+            // A consulta pode ter lido uma escrita cujo evento ainda chega: aplicado sobre ela, contaria duas vezes
+            throw new CargaConcorrente();
+        }
+        logger.debug("Estatísticas em memória carregadas para {} cursos", novos.size());
+        return novos;
+    }
+    
+    // Importações gravam direto no banco, sem evento por aluno: os agregados são reconstruídos no agendador
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoImportarAlunos(AlunosImportadosEvent evento) {
+        if (habilitado) {
+            agregados.agendarRecarga(agendador, this::recarregar);
+        }
+    }
+    
+    /**
+     * Chamado na publicação, ainda dentro da transação: conta o commit dela como em curso até os eventos AFTER_COMMIT
+     * serem entregues, para que uma carga que cruze com ele seja descartada. Eventos sem transação são aplicados
+     * como chegam e, durante uma carga, reaplicados sobre ela.
+     */
+    @EventListener({AlunoAlteradoEvent.class, CursoAlteradoEvent.class})
+    public void registrarCommit() {
+        if (!habilitado || !TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(commitsEmCurso)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(commitsEmCurso, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            
+            private boolean emCurso;
+            
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                commitsEmCurso.incrementAndGet();
+                emCurso = true;
+            }
+            
+            // Depois dos afterCommit, que entregam os eventos; conclui antes de sair, para a carga ver um dos dois
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResource(commitsEmCurso);
+                if (emCurso) {
+                    commitsConcluidos.incrementAndGet();
+                    commitsEmCurso.decrementAndGet();
+                }
+            }
+        });
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoAlterarAluno(AlunoAlteradoEvent evento) {
+        AlunoResponseDTO anterior = evento.getAnterior();
+        AlunoResponseDTO atual = evento.getAtual();
+        agregados.aplicar(porCurso -> {
+            if (anterior != null) {
+                descontar(porCurso, anterior);
+            }
+            if (atual != null) {
+                porCurso.computeIfAbsent(atual.getCursoId(), chave -> new AgregadoCurso())
+                        .adicionar(atual.getSemestre(), atual.getMediaGeral(), 1);
+            }
+        });
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoAlterarCurso(CursoAlteradoEvent evento) {
+        if (evento.isAlunosRemovidos()) {
+            agregados.aplicar(porCurso -> porCurso.remove(evento.getCursoId()));
+        }
+    }
+    
+    /** Estatísticas do curso, ou nulo se os agregados não estão carregados. */
+    public EstatisticasCursoDTO resumir(Long cursoId) {
+        return agregados.ler(porCurso -> {
+            AgregadoCurso agregado = porCurso.get(cursoId);
+            return agregado != null ? agregado.resumir(cursoId) : vazias(cursoId);
+        });
+    }
+    
+    /** Estatísticas de todos os cursos com alunos, ou nulo se os agregados não estão carregados. */
+    public Map<Long, EstatisticasCursoDTO> resumirTodos() {
+        return agregados.ler(EstatisticasCursos::resumir);
+    }
+    
+    public boolean isCarregado() {
+        return agregados.atual() != null;
+    }
+    
+    /** Resume contagens agrupadas lidas do banco, para quando os agregados em memória não estão disponíveis. */
+    public static Map<Long, EstatisticasCursoDTO> resumir(List<ContagemAlunosDTO> contagens) {
+        return resumir(agregar(contagens));
+    }
+    
+    /** Estatísticas de um curso sem alunos. */
+    public static EstatisticasCursoDTO vazias(Long cursoId) {
+        return new AgregadoCurso().resumir(cursoId);
+    }
+    
+    private static Map<Long, AgregadoCurso> agregar(List<ContagemAlunosDTO> contagens) {
+        Map<Long, AgregadoCurso> porCurso = new HashMap<>();
+        for (ContagemAlunosDTO contagem : contagens) {
+            porCurso.computeIfAbsent(contagem.getCursoId(), chave -> new AgregadoCurso())
+                    .adicionar(contagem.getSemestre(), contagem.getMediaGeral(), contagem.getQuantidade());
+        }
+        return porCurso;
+    }
+    
+    // Um evento atrasado de um curso cujos alunos já saíram dos contadores não deixa contagens negativas
+    private static void descontar(Map<Long, AgregadoCurso> porCurso, AlunoResponseDTO aluno) {
+        AgregadoCurso agregado = porCurso.get(aluno.getCursoId());
+        if (agregado == null) {
+            return;
+        }
+        agregado.remover(aluno.getSemestre(), aluno.getMediaGeral(), 1);
+        if (agregado.isVazio()) {
+            porCurso.remove(aluno.getCursoId());
+        }
+    }
+    
+    private static Map<Long, EstatisticasCursoDTO> resumir(Map<Long, AgregadoCurso> porCurso) {
+        Map<Long, EstatisticasCursoDTO> estatisticas = new HashMap<>();
+        porCurso.forEach((cursoId, agregado) -> estatisticas.put(cursoId, agregado.resumir(cursoId)));
+        return estatisticas;
+    }
+    
+    // Sinaliza ao laço de tentativas uma carga descartada; sem stack trace, não é um erro
+    private static final class CargaConcorrente extends RuntimeException {
+    
+        private CargaConcorrente() {
+            super(null, null, false, false);
+        }
+    }
+}
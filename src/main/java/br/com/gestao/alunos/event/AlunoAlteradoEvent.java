@@ -0,0 +1,44 @@
+package br.com.gestao.alunos.event;
+
+import br.com.gestao.alunos.dto.AlunoResponseDTO;
+import lombok.Getter;
+
+/**
+ * Publicado a cada criação, atualização ou remoção de aluno. Carrega o estado anterior e o atual
+ * (nulo na remoção) para que os consumidores atualizem estruturas derivadas sem voltar ao banco.
+ */
+@Getter
+public class AlunoAlteradoEvent {
+    
+    private final AlunoResponseDTO anterior;
+    private final AlunoResponseDTO atual;
+    
+    private AlunoAlteradoEvent(AlunoResponseDTO anterior, AlunoResponseDTO atual) {
+        this.anterior = anterior;
+        this.atual = atual;
+    }
+    
+    public static AlunoAlteradoEvent criado(AlunoResponseDTO atual) {
+        return new AlunoAlteradoEvent(null, atual);
+    }
+    
+    public static AlunoAlteradoEvent atualizado(AlunoResponseDTO anterior, AlunoResponseDTO atual) {
+        return new AlunoAlteradoEvent(anterior, atual);
+    }
+    
+    public static AlunoAlteradoEvent removido(AlunoResponseDTO anterior) {
+        return new AlunoAlteradoEvent(anterior, null);
+    }
+    
+    public Long getAlunoId() {
+        return atual != null ? atual.getId() : anterior.getId();
+    }
+    
+    public boolean isCriacao() {
+        return anterior == null;
+    }
+    
+    public boolean isRemocao() {
+        return atual == null;
+    }
+}
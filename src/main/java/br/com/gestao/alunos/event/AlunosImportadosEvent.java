@@ -0,0 +1,17 @@
+package br.com.gestao.alunos.event;
+
+import lombok.Getter;
+
+/**
+ * Publicado quando uma importação grava alunos em lote direto no banco. Não há um
+ * {@link AlunoAlteradoEvent} por aluno: quem mantém estruturas derivadas deve recarregá-las.
+ */
+@Getter
+public class AlunosImportadosEvent {
+    
+    private final long quantidade;
+    
+    public AlunosImportadosEvent(long quantidade) {
+        this.quantidade = quantidade;
+    }
+}
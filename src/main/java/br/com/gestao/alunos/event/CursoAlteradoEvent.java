@@ -0,0 +1,42 @@
+package br.com.gestao.alunos.event;
+
+import lombok.Getter;
+
+/**
+ * Publicado quando um curso é criado, renomeado, removido ou tem todos os seus alunos removidos.
+ * Os alunos são removidos em lote, sem um {@link AlunoAlteradoEvent} por aluno: quem mantém
+ * dados por aluno deve descartar os do curso quando {@link #isAlunosRemovidos()} for verdadeiro.
+ */
+@Getter
+public class CursoAlteradoEvent {
+    
+    private final Long cursoId;
+    private final String nome;
+    private final boolean criado;
+    private final boolean removido;
+    private final boolean alunosRemovidos;
+    
+    private CursoAlteradoEvent(Long cursoId, String nome, boolean criado, boolean removido, boolean alunosRemovidos) {
+        this.cursoId = cursoId;
+        this.nome = nome;
+        this.criado = criado;
+        this.removido = removido;
+        this.alunosRemovidos = alunosRemovidos;
+    }
+    
+    public static CursoAlteradoEvent criado(Long cursoId, String nome) {
+        return new CursoAlteradoEvent(cursoId, nome, true, false, false);
+    }
+    
+    public static CursoAlteradoEvent atualizado(Long cursoId, String nome) {
+        return new CursoAlteradoEvent(cursoId, nome, false, false, false);
+    }
+    
+    public static CursoAlteradoEvent removido(Long cursoId) {
+        return new CursoAlteradoEvent(cursoId, null, false, true, true);
+    }
+    
+    public static CursoAlteradoEvent alunosRemovidos(Long cursoId) {
+        return new CursoAlteradoEvent(cursoId, null, false, false, true);
+    }
+}
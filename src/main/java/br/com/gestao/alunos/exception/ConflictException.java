@@ -0,0 +1,8 @@
+package br.com.gestao.alunos.exception;
+
+public class ConflictException extends RuntimeException {
+    
+    public ConflictException(String message) {
+        super(message);
+    }
+}
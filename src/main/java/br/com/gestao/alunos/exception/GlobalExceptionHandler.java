@@ -2,6 +2,9 @@ package br.com.gestao.alunos.exception;
 
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -10,12 +13,34 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
 
+import java.sql.SQLException;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
     
+    // Unique constraints criadas nas migrations e a mensagem equivalente à da verificação feita antes de gravar
+    private static final Map<String, String> MENSAGENS_POR_CONSTRAINT = Map.of(
+            "uk_alunos_matricula", "Já existe um aluno com a matrícula informada",
+            "uk_alunos_email", "Já existe um aluno com o email informado",
+            "uk_cursos_nome", "Já existe um curso com o nome informado");
+    
+    // Coluna de cada uma delas, para bancos em que a constraint ainda tem o nome gerado pelo Hibernate
+    private static final Map<String, String> CONSTRAINTS_POR_COLUNA = Map.of(
+            "matricula", "uk_alunos_matricula",
+            "email", "uk_alunos_email",
+            "nome", "uk_cursos_nome");
+    
+    // Coluna única entre parênteses seguida do valor, como no detalhe do PostgreSQL: "Key (email)=(a@x.com)"
+    private static final Pattern COLUNA_DA_CHAVE = Pattern.compile("\\((\\w+)\\)=\\(");
+    // Primeira coluna do índice no nome informado pelo H2: "... ON PUBLIC.ALUNOS(EMAIL NULLS FIRST) ..."
+    private static final Pattern COLUNA_DO_INDICE = Pattern.compile("\\((\\w+)[ )]");
+    
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleResourceNotFoundException(
             ResourceNotFoundException ex, WebRequest request) {
@@ -40,6 +65,131 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
     
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<ErrorResponse> handleConflictException(
+            ConflictException ex, WebRequest request) {
+        return conflito(ex.getMessage(), request);
+    }
+    
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleServiceUnavailableException(
+            ServiceUnavailableException ex, WebRequest request) {
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Serviço indisponível",
+                ex.getMessage(),
+                request.getDescription(false).replace("uri=", "")
+        );
+        return new ResponseEntity<>(error, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+    
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ErrorResponse> handlePreconditionFailedException(
+            PreconditionFailedException ex, WebRequest request) {
+        return precondicaoFalhou(ex.getMessage(), request);
+    }
+    
+    /**
+     * O UPDATE com a versão lida no WHERE não alterou nenhuma linha: outra requisição gravou o mesmo registro
+     * depois da leitura. Nada foi alterado; o cliente deve ler a versão atual e repetir a alteração. Só é 412
+     * quando a requisição trouxe If-Match; sem ele não havia precondição a falhar, e a disputa é um 409.
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailureException(
+            OptimisticLockingFailureException ex, WebRequest request) {
+        String mensagem = "O registro foi alterado por outra requisição; leia a versão atual e repita a alteração";
+        String ifMatch = request.getHeader(HttpHeaders.IF_MATCH);
+        return ifMatch != null && !ifMatch.isBlank() ? precondicaoFalhou(mensagem, request) : conflito(mensagem, request);
+    }
+    
+    private ResponseEntity<ErrorResponse> precondicaoFalhou(String mensagem, WebRequest request) {
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.PRECONDITION_FAILED.value(),
+                "Versão desatualizada",
+                mensagem,
+                request.getDescription(false).replace("uri=", "")
+        );
+        return new ResponseEntity<>(error, HttpStatus.PRECONDITION_FAILED);
+    }
+    
+    /**
+     * Violação de unique constraint que escapou das verificações prévias (por exemplo, chave gravada
+     * por outra requisição ao mesmo tempo ou não vista pelo filtro de unicidade). Responde com o mesmo
+     * status da verificação prévia, identificando a chave pelo nome da constraint ou, se o nome não é um dos
+     * criados pelas migrations, pela coluna violada.
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponse> handleDataIntegrityViolationException(
+            DataIntegrityViolationException ex, WebRequest request) {
+        String constraint = nomeDaConstraint(ex);
+        String mensagem = constraint != null ? MENSAGENS_POR_CONSTRAINT.get(constraint) : null;
+        if (mensagem == null) {
+            String coluna = colunaDaConstraint(ex);
+            String constraintDaColuna = coluna != null ? CONSTRAINTS_POR_COLUNA.get(coluna) : null;
+            mensagem = constraintDaColuna != null ? MENSAGENS_POR_CONSTRAINT.get(constraintDaColuna) : null;
+        }
+        return conflito(mensagem != null ? mensagem : "A operação viola uma restrição de integridade dos dados", request);
+    }
+    
+    private ResponseEntity<ErrorResponse> conflito(String mensagem, WebRequest request) {
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.CONFLICT.value(),
+                "Conflito",
+                mensagem,
+                request.getDescription(false).replace("uri=", "")
+        );
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+    
+    /**
+     * Nome da constraint violada, em minúsculas, ou nulo se o Hibernate não o identificou. O PostgreSQL informa
+     * o nome exato; o H2 informa o índice criado para ela, com esquema e sufixo
+     * ({@code "PUBLIC.UK_ALUNOS_EMAIL_INDEX_A ON PUBLIC.ALUNOS(EMAIL ...)"}), reduzido aqui ao mesmo nome.
+     */
+    static String nomeDaConstraint(Throwable ex) {
+        for (Throwable causa = ex; causa != null; causa = causa.getCause()) {
+            if (causa instanceof org.hibernate.exception.ConstraintViolationException violacao
+                    && violacao.getConstraintName() != null) {
+                String nome = violacao.getConstraintName().replace("\"", "").trim().toLowerCase(Locale.ROOT);
+                int espaco = nome.indexOf(' ');
+                if (espaco >= 0) {
+                    nome = nome.substring(0, espaco);
+                }
+                nome = nome.substring(nome.lastIndexOf('.') + 1);
+                int sufixoIndice = nome.indexOf("_index_");
+                return sufixoIndice >= 0 ? nome.substring(0, sufixoIndice) : nome;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Coluna única da constraint violada, em minúsculas, ou nulo se não identificada. O H2 a informa junto do nome
+     * ({@code "... ON PUBLIC.ALUNOS(EMAIL NULLS FIRST) ..."}); o PostgreSQL, no detalhe do erro do driver
+     * ({@code "Key (email)=(a@email.com) already exists"}). No lote, o erro do servidor é a última exceção da
+     * cadeia de {@link SQLException#getNextException()}: a primeira traz também o SQL, com os valores gravados.
+     */
+    static String colunaDaConstraint(Throwable ex) {
+        for (Throwable causa = ex; causa != null; causa = causa.getCause()) {
+            if (causa instanceof org.hibernate.exception.ConstraintViolationException violacao) {
+                String nome = violacao.getConstraintName();
+                int tabela = nome != null ? nome.indexOf(" ON ") : -1;
+                if (tabela >= 0) {
+                    Matcher coluna = COLUNA_DO_INDICE.matcher(nome);
+                    return coluna.find(tabela) ? coluna.group(1).toLowerCase(Locale.ROOT) : null;
+                }
+                SQLException erro = violacao.getSQLException();
+                while (erro != null && erro.getNextException() != null) {
+                    erro = erro.getNextException();
+                }
+                Matcher coluna = erro != null && erro.getMessage() != null
+                        ? COLUNA_DA_CHAVE.matcher(erro.getMessage()) : null;
+                return coluna != null && coluna.find() ? coluna.group(1).toLowerCase(Locale.ROOT) : null;
+            }
+        }
+        return null;
+    }
+    
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidationExceptions(
             MethodArgumentNotValidException ex, WebRequest request) {
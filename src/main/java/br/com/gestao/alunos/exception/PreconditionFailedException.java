@@ -0,0 +1,8 @@
+package br.com.gestao.alunos.exception;
+
+public class PreconditionFailedException extends RuntimeException {
+    
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
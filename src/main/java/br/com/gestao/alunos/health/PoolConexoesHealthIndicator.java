@@ -0,0 +1,82 @@
+package br.com.gestao.alunos.health;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Indicador de prontidão baseado no pool de conexões.
+ * Custa tempo constante: lê os contadores do Hikari e, só quando há conexão ociosa,
+ * valida uma delas com {@link Connection#isValid(int)} (ping do driver, sem consultar tabelas).
+ * Com o pool saturado a validação é pulada para não disputar conexões com as requisições reais.
+ */
+@Component("poolConexoes")
+public class PoolConexoesHealthIndicator implements HealthIndicator {
+    
+    static final int TIMEOUT_VALIDACAO_SEGUNDOS = 1;
+    
+    private final DataSource dataSource;
+    
+    @Autowired
+    public PoolConexoesHealthIndicator(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+    
+    @Override
+    public Health health() {
+        HikariDataSource hikari = obterHikari();
+        if (hikari == null || !hikari.isRunning()) {
+            return validarConexao(Health.up());
+        }
+        
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        int ativas = pool.getActiveConnections();
+        int ociosas = pool.getIdleConnections();
+        int total = pool.getTotalConnections();
+        int aguardando = pool.getThreadsAwaitingConnection();
+        int maximo = hikari.getMaximumPoolSize();
+        boolean saturado = aguardando > 0 || (ociosas == 0 && total >= maximo);
+        
+        Health.Builder builder = Health.up()
+                .withDetail("ativas", ativas)
+                .withDetail("ociosas", ociosas)
+                .withDetail("total", total)
+                .withDetail("maximo", maximo)
+                .withDetail("aguardandoConexao", aguardando)
+                .withDetail("saturacao", maximo > 0 ? Math.round(ativas * 100.0 / maximo) : 0)
+                .withDetail("saturado", saturado);
+        
+        if (saturado) {
+            // Todas as conexões estão em uso por requisições: o banco está respondendo
+            return builder.build();
+        }
+        return validarConexao(builder);
+    }
+    
+    private HikariDataSource obterHikari() {
+        try {
+            // unwrap atravessa proxies (ex.: LazyConnectionDataSourceProxy) até o pool real
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+    
+    private Health validarConexao(Health.Builder builder) {
+        try (Connection conexao = dataSource.getConnection()) {
+            if (!conexao.isValid(TIMEOUT_VALIDACAO_SEGUNDOS)) {
+                return builder.down().withDetail("erro", "Conexão inválida").build();
+            }
+            return builder.build();
+        } catch (SQLException e) {
+            return builder.down(e).build();
+        }
+    }
+}
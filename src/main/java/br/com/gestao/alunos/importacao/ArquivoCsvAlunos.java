@@ -0,0 +1,147 @@
+package br.com.gestao.alunos.importacao;
+
+import br.com.gestao.alunos.dto.AlunoDTO;
+import br.com.gestao.alunos.exception.BusinessException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * CSV de alunos aberto para importação: lê o cabeçalho na criação e entrega as linhas seguintes já
+ * convertidas para {@link AlunoDTO} e validadas com as mesmas regras da API.
+ */
+public class ArquivoCsvAlunos {
+    
+    private static final List<String> COLUNAS_OBRIGATORIAS = List.of("nome", "matricula", "email", "cursoid", "semestre");
+    private static final String COLUNA_MEDIA = "mediageral";
+    
+    private final LeitorCsv leitor;
+    private final Validator validator;
+    private final int quantidadeColunas;
+    private final Map<String, Integer> colunas;
+    
+    /**
+     * Abre o arquivo, que deve ter cabeçalho com as colunas nome, matricula, email, cursoId, semestre e,
+     * opcionalmente, mediaGeral; outras colunas são ignoradas, então o CSV da exportação também serve.
+     */
+    public ArquivoCsvAlunos(Reader entrada, Validator validator) throws IOException {
+        this.leitor = new LeitorCsv(entrada);
+        this.validator = validator;
+        List<String> cabecalho = leitor.proximoRegistro();
+        if (cabecalho == null) {
+            throw new BusinessException("O arquivo CSV está vazio");
+        }
+        this.quantidadeColunas = cabecalho.size();
+        this.colunas = mapearColunas(cabecalho);
+    }
+    
+    /** Próxima linha do arquivo, ou nula no fim; linhas inválidas vêm com os erros e sem aluno. */
+    public LinhaAluno proximaLinha() throws IOException {
+        List<String> registro = leitor.proximoRegistro();
+        if (registro == null) {
+            return null;
+        }
+        List<String> erros = new ArrayList<>();
+        AlunoDTO aluno = converter(registro, erros);
+        return new LinhaAluno(leitor.getLinhaDoRegistro(), erros.isEmpty() ? aluno : null, erros);
+    }
+    
+    /** Avança as próximas linhas sem convertê-las; retorna quantas existiam. */
+    public long pular(long quantidade) throws IOException {
+        long puladas = 0;
+        while (puladas < quantidade && leitor.proximoRegistro() != null) {
+            puladas++;
+        }
+        return puladas;
+    }
+    
+    // Nomes de coluna sem diferença de maiúsculas nem de separador: cursoId, curso_id e CURSOID são a mesma
+    private Map<String, Integer> mapearColunas(List<String> cabecalho) {
+        Map<String, Integer> mapa = new HashMap<>();
+        for (int i = 0; i < cabecalho.size(); i++) {
+            mapa.putIfAbsent(cabecalho.get(i).replace("_", "").replace(" ", "").toLowerCase(Locale.ROOT), i);
+        }
+        for (String obrigatoria : COLUNAS_OBRIGATORIAS) {
+            if (!mapa.containsKey(obrigatoria)) {
+                throw new BusinessException("Coluna obrigatória ausente no cabeçalho do CSV: " + obrigatoria);
+            }
+        }
+        return mapa;
+    }
+    
+    private AlunoDTO converter(List<String> registro, List<String> mensagens) {
+        if (registro.size() != quantidadeColunas) {
+            mensagens.add("A linha tem " + registro.size() + " colunas, mas o cabeçalho tem " + quantidadeColunas);
+            return null;
+        }
+        
+        // Campos que não puderam ser convertidos já têm a mensagem própria, sem repetir a de obrigatório
+        Set<String> naoConvertidos = new HashSet<>();
+        AlunoDTO aluno = new AlunoDTO();
+        aluno.setNome(valor(registro, "nome"));
+        aluno.setMatricula(valor(registro, "matricula"));
+        aluno.setEmail(valor(registro, "email"));
+        
+        String cursoId = valor(registro, "cursoid");
+        try {
+            aluno.setCursoId(cursoId != null ? Long.valueOf(cursoId) : null);
+        } catch (NumberFormatException e) {
+            mensagens.add("Curso inválido: " + cursoId);
+            naoConvertidos.add("cursoId");
+        }
+        String semestre = valor(registro, "semestre");
+        try {
+            aluno.setSemestre(semestre != null ? Integer.valueOf(semestre) : null);
+        } catch (NumberFormatException e) {
+            mensagens.add("Semestre inválido: " + semestre);
+            naoConvertidos.add("semestre");
+        }
+        String media = valor(registro, COLUNA_MEDIA);
+        try {
+            // Com ponto e vírgula como separador a vírgula decimal chega sem aspas
+            aluno.setMediaGeral(media != null
+                    ? Double.valueOf(leitor.getSeparador() == ';' ? media.replace(',', '.') : media) : null);
+        } catch (NumberFormatException e) {
+            mensagens.add("Média geral inválida: " + media);
+        }
+        
+        for (ConstraintViolation<AlunoDTO> violacao : validator.validate(aluno)) {
+            if (!naoConvertidos.contains(violacao.getPropertyPath().toString())) {
+                mensagens.add(violacao.getMessage());
+            }
+        }
+        if (aluno.getMediaGeral() == null) {
+            aluno.setMediaGeral(0.0);
+        }
+        return aluno;
+    }
+    
+    private String valor(List<String> registro, String coluna) {
+        Integer indice = colunas.get(coluna);
+        if (indice == null) {
+            return null;
+        }
+        String valor = registro.get(indice);
+        return valor.isBlank() ? null : valor;
+    }
+    
+    @Getter
+    @AllArgsConstructor
+    public static class LinhaAluno {
+        
+        private final long linha;
+        private final AlunoDTO aluno;
+        private final List<String> erros;
+    }
+}
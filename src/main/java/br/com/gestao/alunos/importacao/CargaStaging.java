@@ -0,0 +1,17 @@
+package br.com.gestao.alunos.importacao;
+
+import br.com.gestao.alunos.dto.AlunoDTO;
+
+/** Envia as linhas válidas do arquivo para a tabela de staging, em blocos. */
+interface CargaStaging {
+    
+    String COLUNAS = "linha, nome, matricula, email, curso_id, semestre, media_geral";
+    
+    void adicionar(long linha, AlunoDTO aluno);
+    
+    /** Envia o que ainda está pendente e retorna a quantidade de linhas carregadas. */
+    long concluir();
+    
+    /** Interrompe a carga após uma falha, deixando a conexão utilizável para o rollback. */
+    void cancelar();
+}
@@ -0,0 +1,78 @@
+package br.com.gestao.alunos.importacao;
+
+import br.com.gestao.alunos.dto.AlunoDTO;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+
+/**
+ * Carga pelo protocolo COPY do PostgreSQL: as linhas são serializadas em CSV e enviadas em blocos
+ * de até 64 KB no mesmo stream, sem um INSERT por linha nem round trip por bloco.
+ */
+class CargaStagingCopy implements CargaStaging {
+    
+    static final String COMANDO = "COPY " + TabelaStaging.NOME + " (" + COLUNAS + ") FROM STDIN WITH (FORMAT csv)";
+    
+    private static final int TAMANHO_BLOCO = 64 * 1024;
+    
+    private final CopyIn copia;
+    private final StringBuilder bloco = new StringBuilder(TAMANHO_BLOCO + 1024);
+    
+    CargaStagingCopy(CopyIn copia) {
+        this.copia = copia;
+    }
+    
+    @Override
+    public void adicionar(long linha, AlunoDTO aluno) {
+        bloco.append(linha).append(',');
+        texto(aluno.getNome()).append(',');
+        texto(aluno.getMatricula()).append(',');
+        texto(aluno.getEmail()).append(',');
+        bloco.append(aluno.getCursoId()).append(',')
+                .append(aluno.getSemestre()).append(',')
+                .append(aluno.getMediaGeral()).append('\n');
+        if (bloco.length() >= TAMANHO_BLOCO) {
+            enviar();
+        }
+    }
+    
+    @Override
+    public long concluir() {
+        enviar();
+        try {
+            return copia.endCopy();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Falha ao concluir o COPY da importação", e);
+        }
+    }
+    
+    @Override
+    public void cancelar() {
+        try {
+            if (copia.isActive()) {
+                copia.cancelCopy();
+            }
+        } catch (SQLException e) {
+            // A transação será desfeita de qualquer forma; o erro original é o que interessa
+        }
+    }
+    
+    // Texto sempre entre aspas: no formato csv do COPY só o campo vazio sem aspas vira NULL
+    private StringBuilder texto(String valor) {
+        return bloco.append('"').append(valor.replace("\"", "\"\"")).append('"');
+    }
+    
+    private void enviar() {
+        if (bloco.length() == 0) {
+            return;
+        }
+        byte[] bytes = bloco.toString().getBytes(StandardCharsets.UTF_8);
+        bloco.setLength(0);
+        try {
+            copia.writeToCopy(bytes, 0, bytes.length);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Falha ao enviar o COPY da importação", e);
+        }
+    }
+}
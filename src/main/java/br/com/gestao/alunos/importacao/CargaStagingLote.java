@@ -0,0 +1,53 @@
+package br.com.gestao.alunos.importacao;
+
+import br.com.gestao.alunos.dto.AlunoDTO;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** Carga com INSERTs em batch JDBC, para bancos sem COPY (H2 no perfil dev). */
+class CargaStagingLote implements CargaStaging {
+    
+    static final int TAMANHO_BLOCO = 1000;
+    
+    private static final String INSERT = "INSERT INTO " + TabelaStaging.NOME + " (" + COLUNAS + ") " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final List<Object[]> bloco = new ArrayList<>(TAMANHO_BLOCO);
+    private long carregadas;
+    
+    CargaStagingLote(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+    
+    @Override
+    public void adicionar(long linha, AlunoDTO aluno) {
+        bloco.add(new Object[]{linha, aluno.getNome(), aluno.getMatricula(), aluno.getEmail(),
+                aluno.getCursoId(), aluno.getSemestre(), aluno.getMediaGeral()});
+        if (bloco.size() == TAMANHO_BLOCO) {
+            enviar();
+        }
+    }
+    
+    @Override
+    public long concluir() {
+        enviar();
+        return carregadas;
+    }
+    
+    @Override
+    public void cancelar() {
+        bloco.clear();
+    }
+    
+    private void enviar() {
+        if (bloco.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT, bloco);
+        carregadas += bloco.size();
+        bloco.clear();
+    }
+}
@@ -0,0 +1,154 @@
+package br.com.gestao.alunos.importacao;
+
+import br.com.gestao.alunos.exception.BusinessException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Leitor de CSV em streaming: lê um registro por vez com um buffer fixo, então o consumo de memória
+ * não depende do tamanho do arquivo. Segue a RFC 4180 (campos entre aspas podem conter separador,
+ * quebra de linha e aspas duplicadas) e detecta o separador, vírgula ou ponto e vírgula, pela
+ * primeira linha. Campos sem aspas têm os espaços das pontas removidos e linhas em branco são ignoradas.
+ */
+public class LeitorCsv {
+    
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+    private static final char BOM = '\uFEFF';
+    
+    private final Reader entrada;
+    private final char[] buffer = new char[TAMANHO_BUFFER];
+    private int posicao;
+    private int limite;
+    
+    private char separador;
+    private long linha = 1;
+    private long linhaDoRegistro;
+    
+    public LeitorCsv(Reader entrada) {
+        this.entrada = entrada;
+    }
+    
+    /** Próximo registro com os campos na ordem do arquivo, ou nulo no fim da entrada. */
+    public List<String> proximoRegistro() throws IOException {
+        if (separador == 0) {
+            detectarSeparador();
+        }
+        while (espiar() >= 0) {
+            linhaDoRegistro = linha;
+            List<String> campos = lerRegistro();
+            if (campos != null) {
+                return campos;
+            }
+        }
+        return null;
+    }
+    
+    /** Linha do arquivo (começando em 1) onde o último registro lido começa. */
+    public long getLinhaDoRegistro() {
+        return linhaDoRegistro;
+    }
+    
+    public char getSeparador() {
+        return separador;
+    }
+    
+    // Retorna nulo para linhas em branco
+    private List<String> lerRegistro() throws IOException {
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreAspas = false;
+        boolean comAspas = false;
+        
+        while (true) {
+            int c = ler();
+            if (entreAspas) {
+                if (c < 0) {
+                    throw new BusinessException("Aspas não fechadas no registro iniciado na linha " + linhaDoRegistro);
+                }
+                if (c == '"') {
+                    if (espiar() == '"') {
+                        ler();
+                        campo.append('"');
+                    } else {
+                        entreAspas = false;
+                    }
+                } else {
+                    if (c == '\n') {
+                        linha++;
+                    }
+                    campo.append((char) c);
+                }
+            } else if (c == '"' && !comAspas && campo.toString().isBlank()) {
+                campo.setLength(0);
+                entreAspas = true;
+                comAspas = true;
+            } else if (c == separador) {
+                campos.add(finalizar(campo, comAspas));
+                campo.setLength(0);
+                comAspas = false;
+            } else if (c < 0 || c == '\n' || c == '\r') {
+                if (c == '\r' && espiar() == '\n') {
+                    ler();
+                }
+                if (c >= 0) {
+                    linha++;
+                }
+                if (campos.isEmpty() && !comAspas && campo.toString().isBlank()) {
+                    return null;
+                }
+                campos.add(finalizar(campo, comAspas));
+                return campos;
+            } else {
+                campo.append((char) c);
+            }
+        }
+    }
+    
+    private String finalizar(StringBuilder campo, boolean comAspas) {
+        return comAspas ? campo.toString() : campo.toString().trim();
+    }
+    
+    // Decide pelo separador que mais aparece fora de aspas na primeira linha
+    private void detectarSeparador() throws IOException {
+        if (espiar() == BOM) {
+            ler();
+        }
+        int virgulas = 0;
+        int pontosEVirgulas = 0;
+        boolean entreAspas = false;
+        for (int i = posicao; i < limite && buffer[i] != '\n' && buffer[i] != '\r'; i++) {
+            char c = buffer[i];
+            if (c == '"') {
+                entreAspas = !entreAspas;
+            } else if (!entreAspas && c == ',') {
+                virgulas++;
+            } else if (!entreAspas && c == ';') {
+                pontosEVirgulas++;
+            }
+        }
+        separador = pontosEVirgulas > virgulas ? ';' : ',';
+    }
+    
+    private int ler() throws IOException {
+        int c = espiar();
+        if (c >= 0) {
+            posicao++;
+        }
+        return c;
+    }
+    
+    private int espiar() throws IOException {
+        if (posicao == limite) {
+            int lidos = entrada.read(buffer, 0, buffer.length);
+            if (lidos <= 0) {
+                return -1;
+            }
+            posicao = 0;
+            limite = lidos;
+        }
+        return buffer[posicao];
+    }
+}
@@ -0,0 +1,54 @@
+package br.com.gestao.alunos.importacao;
+
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Statement;
+
+/**
+ * Cria a tabela de staging da importação na conexão da transação corrente. No PostgreSQL as linhas
+ * são carregadas com COPY; nos demais bancos (H2 no perfil dev), com INSERTs em batch.
+ */
+@Component
+public class StagingAlunos {
+    
+    private static final String COLUNAS = "(linha BIGINT NOT NULL, nome VARCHAR(100) NOT NULL, " +
+            "matricula VARCHAR(20) NOT NULL, email VARCHAR(100) NOT NULL, curso_id BIGINT NOT NULL, " +
+            "semestre INTEGER NOT NULL, media_geral DOUBLE PRECISION, erro VARCHAR(300))";
+    
+    private static final String CRIAR_POSTGRES =
+            "CREATE TEMPORARY TABLE " + TabelaStaging.NOME + " " + COLUNAS + " ON COMMIT DROP";
+    
+    // No H2, CREATE INDEX faz commit implícito da transação: os índices das verificações de repetição vêm
+    // como constraints da própria tabela, e TRANSACTIONAL evita o commit implícito do CREATE TABLE
+    private static final String CRIAR_H2 = "CREATE LOCAL TEMPORARY TABLE " + TabelaStaging.NOME + " " +
+            COLUNAS.substring(0, COLUNAS.length() - 1) + ", PRIMARY KEY (matricula, linha), UNIQUE (email, linha)) " +
+            "ON COMMIT DROP TRANSACTIONAL";
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    public StagingAlunos(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+    
+    /** A tabela vive até o fim da transação, por isso exige uma transação já aberta. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public TabelaStaging criar() {
+        return jdbcTemplate.execute((ConnectionCallback<TabelaStaging>) conexao -> {
+            boolean postgres = conexao.isWrapperFor(PGConnection.class);
+            try (Statement comando = conexao.createStatement()) {
+                comando.execute(postgres ? CRIAR_POSTGRES : CRIAR_H2);
+            }
+            CargaStaging carga = postgres
+                    ? new CargaStagingCopy(conexao.unwrap(PGConnection.class).getCopyAPI().copyIn(CargaStagingCopy.COMANDO))
+                    : new CargaStagingLote(jdbcTemplate);
+            return new TabelaStaging(jdbcTemplate, postgres, carga);
+        });
+    }
+}
@@ -0,0 +1,88 @@
+package br.com.gestao.alunos.importacao;
+
+import br.com.gestao.alunos.dto.AlunoDTO;
+import br.com.gestao.alunos.dto.ErroImportacaoDTO;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Tabela temporária de uma importação, descartada no fim da transação. Recebe as linhas que passaram
+ * na validação de campos; unicidade e existência do curso são verificadas depois, para todas as linhas
+ * de uma vez, e só as linhas sem erro são copiadas para a tabela de alunos.
+ */
+public class TabelaStaging {
+    
+    static final String NOME = "alunos_importacao";
+    
+    // Cada verificação marca só linhas ainda sem erro, então cada linha rejeitada guarda o primeiro motivo
+    private static final List<String> VERIFICACOES = List.of(
+            "UPDATE " + NOME + " s SET erro = 'Curso não encontrado com ID: ' || s.curso_id " +
+            "WHERE s.erro IS NULL AND NOT EXISTS (SELECT 1 FROM cursos c WHERE c.id = s.curso_id)",
+            "UPDATE " + NOME + " s SET erro = 'Matrícula repetida no arquivo: ' || s.matricula " +
+            "WHERE s.erro IS NULL AND EXISTS (SELECT 1 FROM " + NOME + " o " +
+            "WHERE o.matricula = s.matricula AND o.linha < s.linha)",
+            "UPDATE " + NOME + " s SET erro = 'Email repetido no arquivo: ' || s.email " +
+            "WHERE s.erro IS NULL AND EXISTS (SELECT 1 FROM " + NOME + " o " +
+            "WHERE o.email = s.email AND o.linha < s.linha)",
+            "UPDATE " + NOME + " s SET erro = 'Já existe um aluno com a matrícula: ' || s.matricula " +
+            "WHERE s.erro IS NULL AND EXISTS (SELECT 1 FROM alunos a WHERE a.matricula = s.matricula)",
+            "UPDATE " + NOME + " s SET erro = 'Já existe um aluno com o email: ' || s.email " +
+            "WHERE s.erro IS NULL AND EXISTS (SELECT 1 FROM alunos a WHERE a.email = s.email)");
+    
+    private static final String ERROS = "SELECT linha, erro FROM " + NOME + " WHERE erro IS NOT NULL " +
+            "ORDER BY linha LIMIT ?";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean postgres;
+    private final CargaStaging carga;
+    
+    TabelaStaging(JdbcTemplate jdbcTemplate, boolean postgres, CargaStaging carga) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.postgres = postgres;
+        this.carga = carga;
+    }
+    
+    public void adicionar(long linha, AlunoDTO aluno) {
+        carga.adicionar(linha, aluno);
+    }
+    
+    public long concluirCarga() {
+        return carga.concluir();
+    }
+    
+    public void cancelarCarga() {
+        carga.cancelar();
+    }
+    
+    /** Marca as linhas com curso inexistente ou matrícula/email repetidos e retorna quantas foram rejeitadas. */
+    public long rejeitarInvalidos() {
+        if (postgres) {
+            // Índices criados depois da carga saem de uma ordenação só; o ANALYZE é necessário porque
+            // o autovacuum não enxerga tabelas temporárias e o planejador ficaria sem estatísticas
+            jdbcTemplate.execute("CREATE INDEX ON " + NOME + " (matricula, linha)");
+            jdbcTemplate.execute("CREATE INDEX ON " + NOME + " (email, linha)");
+            jdbcTemplate.execute("ANALYZE " + NOME);
+        }
+        long rejeitadas = 0;
+        for (String verificacao : VERIFICACOES) {
+            rejeitadas += jdbcTemplate.update(verificacao);
+        }
+        return rejeitadas;
+    }
+    
+    /** Copia as linhas sem erro para a tabela de alunos com um único INSERT ... SELECT. */
+    public long mesclar(LocalDate dataMatricula) {
+        // Um valor da sequence por aluno, como nos dados de desenvolvimento: os blocos que o Hibernate reserva não se sobrepõem
+        String proximoId = postgres ? "nextval('alunos_seq')" : "NEXT VALUE FOR alunos_seq";
+        return jdbcTemplate.update("INSERT INTO alunos (id, nome, matricula, email, curso_id, semestre, media_geral, " +
+                "data_matricula) SELECT " + proximoId + ", nome, matricula, email, curso_id, semestre, media_geral, ? " +
+                "FROM " + NOME + " WHERE erro IS NULL ORDER BY linha", dataMatricula);
+    }
+    
+    public List<ErroImportacaoDTO> listarErros(int limite) {
+        return jdbcTemplate.query(ERROS, (rs, i) -> new ErroImportacaoDTO(rs.getLong("linha"),
+                List.of(rs.getString("erro"))), limite);
+    }
+}
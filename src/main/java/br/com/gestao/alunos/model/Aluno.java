@@ -4,18 +4,33 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "alunos")
+// Índices compostos para o filtro dinâmico: o ID no final atende a ordenação e o cursor de paginação
+@Table(name = "alunos", indexes = {
+        @Index(name = "idx_alunos_curso_id", columnList = "curso_id, id"),
+        @Index(name = "idx_alunos_semestre_id", columnList = "semestre, id"),
+        @Index(name = "idx_alunos_curso_semestre", columnList = "curso_id, semestre, id"),
+        @Index(name = "idx_alunos_curso_media", columnList = "curso_id, media_geral, id"),
+        @Index(name = "idx_alunos_media_geral", columnList = "media_geral, id"),
+        @Index(name = "idx_alunos_data_matricula", columnList = "data_matricula, id")
+})
+// UPDATE só das colunas alteradas: lançar uma média não reescreve nome, email e matrícula
+@DynamicUpdate
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Aluno {
     
+    // Sequence com alocação em blocos: IDENTITY impede o Hibernate de agrupar INSERTs em batch
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "alunos_seq")
+    @SequenceGenerator(name = "alunos_seq", sequenceName = "alunos_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false, length = 100)
@@ -39,5 +54,14 @@ public class Aluno {
     
     @Column(name = "data_matricula")
     private LocalDate dataMatricula;
+    
+    // Incrementada pelo Hibernate a cada UPDATE: base da ETag e do controle de concorrência otimista
+    @Version
+    @Column(nullable = false)
+    private Long versao;
+    
+    @UpdateTimestamp
+    @Column(name = "atualizado_em", nullable = false)
+    private LocalDateTime atualizadoEm;
 }
 
@@ -4,7 +4,9 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -16,7 +18,8 @@ import java.util.List;
 public class Curso {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cursos_seq")
+    @SequenceGenerator(name = "cursos_seq", sequenceName = "cursos_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false, unique = true, length = 100)
@@ -25,7 +28,17 @@ public class Curso {
     @Column(length = 255)
     private String descricao;
     
-    @OneToMany(mappedBy = "curso", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    // Mudam a cada UPDATE; a versão também entra na ETag dos alunos, que exibem o nome do curso
+    @Version
+    @Column(nullable = false)
+    private Long versao;
+    
+    @UpdateTimestamp
+    @Column(name = "atualizado_em", nullable = false)
+    private LocalDateTime atualizadoEm;
+    
+    // Sem cascade: a remoção dos alunos de um curso é feita em lote (DELETE ... WHERE curso_id = ?) pelo CursoService
+    @OneToMany(mappedBy = "curso", fetch = FetchType.LAZY)
     private List<Aluno> alunos = new ArrayList<>();
 }
 
@@ -0,0 +1,30 @@
+package br.com.gestao.alunos.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "importacoes_erros", indexes = {
+        @Index(name = "idx_importacoes_erros_importacao", columnList = "importacao_id, linha, id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ErroImportacao {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "importacoes_erros_seq")
+    @SequenceGenerator(name = "importacoes_erros_seq", sequenceName = "importacoes_erros_seq", allocationSize = 50)
+    private Long id;
+    
+    @Column(name = "importacao_id", nullable = false)
+    private Long importacaoId;
+    
+    @Column(nullable = false)
+    private long linha;
+    
+    @Column(nullable = false, length = 255)
+    private String mensagem;
+}
@@ -0,0 +1,65 @@
+package br.com.gestao.alunos.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Importação assíncrona de CSV. Os contadores são atualizados na mesma transação de cada bloco
+ * importado, então refletem exatamente o que já está gravado e indicam de onde retomar.
+ */
+@Entity
+@Table(name = "importacoes", indexes = {
+        @Index(name = "idx_importacoes_status", columnList = "status, id")
+})
+@Data
+@NoArgsConstructor
+public class Importacao {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "importacoes_seq")
+    @SequenceGenerator(name = "importacoes_seq", sequenceName = "importacoes_seq", allocationSize = 1)
+    private Long id;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private StatusImportacao status;
+    
+    // Cópia do CSV enviado, mantida até a importação terminar
+    @Column(nullable = false, length = 500)
+    private String arquivo;
+    
+    // Quebras de linha do arquivo sem o cabeçalho; aproximado quando há campos com várias linhas
+    @Column(name = "linhas_estimadas", nullable = false)
+    private long linhasEstimadas;
+    
+    @Column(name = "linhas_processadas", nullable = false)
+    private long linhasProcessadas;
+    
+    @Column(nullable = false)
+    private long importados;
+    
+    @Column(nullable = false)
+    private long rejeitados;
+    
+    @Column(name = "erros_listados", nullable = false)
+    private long errosListados;
+    
+    // Linhas já processadas quando a execução atual começou: base da velocidade depois de uma retomada
+    @Column(name = "linhas_no_inicio", nullable = false)
+    private long linhasNoInicio;
+    
+    @Column(name = "criada_em", nullable = false)
+    private LocalDateTime criadaEm;
+    
+    @Column(name = "iniciada_em")
+    private LocalDateTime iniciadaEm;
+    
+    @Column(name = "concluida_em")
+    private LocalDateTime concluidaEm;
+    
+    @Column(length = 500)
+    private String falha;
+}
@@ -0,0 +1,8 @@
+package br.com.gestao.alunos.model;
+
+public enum StatusImportacao {
+    PENDENTE,
+    PROCESSANDO,
+    CONCLUIDA,
+    FALHOU
+}
@@ -0,0 +1,183 @@
+package br.com.gestao.alunos.pool;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dimensionamento adaptativo do pool de conexões (opcional, {@code banco.pool.adaptativo.habilitado}).
+ * A cada intervalo compara a janela mais recente das métricas do Hikari: espera média para obter conexão
+ * ({@code hikaricp.connections.acquire}) e tempo médio de uso ({@code hikaricp.connections.usage}), que acompanha
+ * a latência do banco. O pool cresce quando há espera e o banco responde bem, não cresce com o banco lento (mais
+ * conexões só aumentariam a contenção nele) e encolhe quando não há espera e a demanda estimada cabe com folga em
+ * menos conexões.
+ * Toda mudança de tamanho é registrada no log com as medidas que a motivaram.
+ */
+@Component
+public class DimensionamentoPool {
+    
+    private static final Logger logger = LoggerFactory.getLogger(DimensionamentoPool.class);
+    
+    static final String METRICA_ESPERA = "hikaricp.connections.acquire";
+    static final String METRICA_USO = "hikaricp.connections.usage";
+    static final String METRICA_AJUSTES = "banco.pool.ajustes";
+    
+    // O pool encolhe só quando a demanda estimada ocupa menos que esta fração das conexões e a espera é desprezível
+    // (abaixo desta fração do limite): com picos curtos a demanda média é baixa mesmo havendo fila
+    private static final double OCUPACAO_PARA_REDUZIR = 0.5;
+    private static final double FRACAO_ESPERA_DESPREZIVEL = 0.1;
+    
+    private final DataSource dataSource;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final boolean habilitado;
+    private final int minimo;
+    private final int maximo;
+    private final int passo;
+    private final double esperaLimiteMs;
+    private final double latenciaLimiteMs;
+    private final long intervaloMs;
+    
+    private Janela anterior;
+    
+    @Autowired
+    public DimensionamentoPool(DataSource dataSource, ObjectProvider<MeterRegistry> meterRegistry,
+                               @Value("${banco.pool.adaptativo.habilitado:false}") boolean habilitado,
+                               @Value("${banco.pool.adaptativo.minimo:2}") int minimo,
+                               @Value("${banco.pool.adaptativo.maximo:20}") int maximo,
+                               @Value("${banco.pool.adaptativo.passo:2}") int passo,
+                               @Value("${banco.pool.adaptativo.espera-limite-ms:20}") double esperaLimiteMs,
+                               @Value("${banco.pool.adaptativo.latencia-limite-ms:200}") double latenciaLimiteMs,
+                               @Value("${banco.pool.adaptativo.intervalo-ms:30000}") long intervaloMs) {
+        if (minimo < 1 || maximo < minimo || passo < 1) {
+            throw new IllegalArgumentException("Limites inválidos para o pool adaptativo: mínimo " + minimo
+                    + ", máximo " + maximo + ", passo " + passo);
+        }
+        this.dataSource = dataSource;
+        this.meterRegistry = meterRegistry;
+        this.habilitado = habilitado;
+        this.minimo = minimo;
+        this.maximo = maximo;
+        this.passo = passo;
+        this.esperaLimiteMs = esperaLimiteMs;
+        this.latenciaLimiteMs = latenciaLimiteMs;
+        this.intervaloMs = intervaloMs;
+    }
+    
+    @Scheduled(initialDelayString = "${banco.pool.adaptativo.intervalo-ms:30000}",
+               fixedDelayString = "${banco.pool.adaptativo.intervalo-ms:30000}")
+    public synchronized void ajustar() {
+        if (!habilitado) {
+            return;
+        }
+        HikariDataSource hikari = obterHikari();
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (hikari == null || !hikari.isRunning() || registry == null) {
+            return;
+        }
+        Timer espera = registry.find(METRICA_ESPERA).tag("pool", hikari.getPoolName()).timer();
+        Timer uso = registry.find(METRICA_USO).tag("pool", hikari.getPoolName()).timer();
+        if (espera == null || uso == null) {
+            return;
+        }
+        
+        Janela atual = new Janela(espera, uso);
+        Janela janelaAnterior = anterior;
+        anterior = atual;
+        if (janelaAnterior == null) {
+            return;
+        }
+        
+        HikariConfigMXBean config = hikari.getHikariConfigMXBean();
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        int tamanho = config.getMaximumPoolSize();
+        int aguardando = pool.getThreadsAwaitingConnection();
+        long obtencoes = atual.obtencoes - janelaAnterior.obtencoes;
+        long usos = atual.usos - janelaAnterior.usos;
+        double esperaMediaMs = obtencoes > 0 ? (atual.esperaMs - janelaAnterior.esperaMs) / obtencoes : 0;
+        double usoMedioMs = usos > 0 ? (atual.usoMs - janelaAnterior.usoMs) / usos : 0;
+        // Lei de Little: conexões ocupadas em média = vazão × tempo de uso
+        double demanda = usos * usoMedioMs / intervaloMs;
+        
+        int novoTamanho = tamanho;
+        String motivo;
+        if (usoMedioMs > latenciaLimiteMs) {
+            novoTamanho = Math.min(tamanho, maximo);
+            motivo = "banco lento";
+        } else if (esperaMediaMs > esperaLimiteMs || aguardando > 0) {
+            novoTamanho = Math.min(tamanho + passo, maximo);
+            motivo = "espera por conexão";
+        } else if (demanda < tamanho * OCUPACAO_PARA_REDUZIR
+                && esperaMediaMs <= esperaLimiteMs * FRACAO_ESPERA_DESPREZIVEL) {
+            novoTamanho = Math.max(Math.max(tamanho - passo, (int) Math.ceil(demanda / OCUPACAO_PARA_REDUZIR)), minimo);
+            motivo = "pool ocioso";
+        } else {
+            motivo = "dentro dos limites";
+        }
+        novoTamanho = Math.max(Math.min(novoTamanho, maximo), minimo);
+        
+        if (novoTamanho == tamanho) {
+            logger.debug("Pool {} mantido em {} conexões ({}): espera média {} ms, uso médio {} ms, demanda {}",
+                    hikari.getPoolName(), tamanho, motivo, formatar(esperaMediaMs), formatar(usoMedioMs), formatar(demanda));
+            return;
+        }
+        // Sem reduzir o mínimo de ociosas junto, o Hikari manteria as conexões acima do novo máximo abertas
+        if (config.getMinimumIdle() > novoTamanho) {
+            config.setMinimumIdle(novoTamanho);
+        }
+        config.setMaximumPoolSize(novoTamanho);
+        Counter.builder(METRICA_AJUSTES)
+                .description("Mudanças de tamanho do pool feitas pelo dimensionamento adaptativo")
+                .tag("pool", hikari.getPoolName())
+                .tag("direcao", novoTamanho > tamanho ? "aumento" : "reducao")
+                .register(registry)
+                .increment();
+        logger.info("Pool {} ajustado de {} para {} conexões ({}): espera média {} ms, uso médio {} ms, demanda {}, "
+                        + "aguardando {}", hikari.getPoolName(), tamanho, novoTamanho, motivo, formatar(esperaMediaMs),
+                formatar(usoMedioMs), formatar(demanda), aguardando);
+    }
+    
+    private HikariDataSource obterHikari() {
+        try {
+            // Com réplicas de leitura, unwrap chega ao pool do primário
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+    
+    private static String formatar(double valor) {
+        return String.format(Locale.ROOT, "%.1f", valor);
+    }
+    
+    // Totais acumulados dos timers (registro cumulativo, o padrão do actuator) no momento da leitura; a janela é a
+    // diferença entre duas leituras
+    private static class Janela {
+    
+        private final long obtencoes;
+        private final double esperaMs;
+        private final long usos;
+        private final double usoMs;
+        
+        private Janela(Timer espera, Timer uso) {
+            this.obtencoes = espera.count();
+            this.esperaMs = espera.totalTime(TimeUnit.MILLISECONDS);
+            this.usos = uso.count();
+            this.usoMs = uso.totalTime(TimeUnit.MILLISECONDS);
+        }
+    }
+}
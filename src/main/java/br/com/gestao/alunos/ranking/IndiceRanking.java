@@ -0,0 +1,121 @@
+package br.com.gestao.alunos.ranking;
+
+import br.com.gestao.alunos.dto.PosicaoRankingDTO;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Ranking em memória por média geral, global e por curso. Só entram alunos com média e, de cada um, só o
+ * curso e a média: nomes e demais dados do top-K são lidos do banco pelos IDs na hora da consulta.
+ */
+class IndiceRanking {
+    
+    private final Map<Long, Entrada> alunos = new HashMap<>();
+    private final RankingOrdenado geral = new RankingOrdenado();
+    private final Map<Long, RankingOrdenado> porCurso = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    void salvar(Long alunoId, Long cursoId, Double media) {
+        lock.writeLock().lock();
+        try {
+            removerSemLock(alunoId);
+            if (media == null) {
+                return;
+            }
+            alunos.put(alunoId, new Entrada(cursoId, media));
+            geral.adicionar(alunoId, media);
+            porCurso.computeIfAbsent(cursoId, chave -> new RankingOrdenado()).adicionar(alunoId, media);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    void remover(Long alunoId) {
+        lock.writeLock().lock();
+        try {
+            removerSemLock(alunoId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    void removerCurso(Long cursoId) {
+        lock.writeLock().lock();
+        try {
+            RankingOrdenado ranking = porCurso.remove(cursoId);
+            if (ranking == null) {
+                return;
+            }
+            for (Long id : ranking.primeiros(Integer.MAX_VALUE)) {
+                geral.remover(id, alunos.remove(id).media);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /** IDs dos K primeiros do ranking, em ordem; {@code cursoId} nulo para o ranking geral. */
+    List<Long> primeiros(Long cursoId, int quantidade) {
+        lock.readLock().lock();
+        try {
+            RankingOrdenado ranking = cursoId == null ? geral : porCurso.get(cursoId);
+            return ranking != null ? ranking.primeiros(quantidade) : List.of();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /** Posição do aluno no ranking geral e no do curso, ou nulo se ele não está no ranking. */
+    PosicaoRankingDTO posicao(Long alunoId) {
+        lock.readLock().lock();
+        try {
+            Entrada aluno = alunos.get(alunoId);
+            if (aluno == null) {
+                return null;
+            }
+            RankingOrdenado doCurso = porCurso.get(aluno.cursoId);
+            return new PosicaoRankingDTO(alunoId, aluno.cursoId, aluno.media,
+                    geral.posicao(aluno.media), geral.getTotal(),
+                    doCurso.posicao(aluno.media), doCurso.getTotal());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    int tamanho() {
+        lock.readLock().lock();
+        try {
+            return alunos.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private void removerSemLock(Long alunoId) {
+        Entrada existente = alunos.remove(alunoId);
+        if (existente == null) {
+            return;
+        }
+        geral.remover(alunoId, existente.media);
+        RankingOrdenado doCurso = porCurso.get(existente.cursoId);
+        doCurso.remover(alunoId, existente.media);
+        if (doCurso.isVazio()) {
+            porCurso.remove(existente.cursoId);
+        }
+    }
+    
+    private static final class Entrada {
+    
+        private final Long cursoId;
+        private final double media;
+        
+        private Entrada(Long cursoId, double media) {
+            this.cursoId = cursoId;
+            this.media = media;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package br.com.gestao.alunos.ranking;
+
+import br.com.gestao.alunos.cache.EstadoRecarregavel;
+import br.com.gestao.alunos.dto.AlunoResponseDTO;
+import br.com.gestao.alunos.dto.MediaAlunoDTO;
+import br.com.gestao.alunos.dto.PosicaoRankingDTO;
+import br.com.gestao.alunos.event.AlunoAlteradoEvent;
+import br.com.gestao.alunos.event.AlunosImportadosEvent;
+import br.com.gestao.alunos.event.CursoAlteradoEvent;
+import br.com.gestao.alunos.repository.AlunoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * Ranking por média mantido em memória (opcional, {@code ranking.memoria.habilitado}).
+ * É carregado do banco na subida e recarregado periodicamente; entre as cargas acompanha as
+ * escritas desta instância pelos eventos publicados após o commit. Guarda só ID, curso e média
+ * de cada aluno com média. Enquanto não está carregado, os métodos de leitura retornam nulo e
+ * quem chama deve consultar o banco.
+ */
+@Component
+public class RankingAlunos {
+    
+    private static final Logger logger = LoggerFactory.getLogger(RankingAlunos.class);
+    
+    private static final int TAMANHO_BLOCO_CARGA = 1000;
+    
+    private final AlunoRepository alunoRepository;
+    private final TaskScheduler agendador;
+    private final boolean habilitado;
+    
+    private final EstadoRecarregavel<IndiceRanking> indice = new EstadoRecarregavel<>();
+    
+    @Autowired
+    public RankingAlunos(AlunoRepository alunoRepository, TaskScheduler agendador,
+                         @Value("${ranking.memoria.habilitado:true}") boolean habilitado) {
+        this.alunoRepository = alunoRepository;
+        this.agendador = agendador;
+        this.habilitado = habilitado;
+    }
+    
+    @Scheduled(initialDelayString = "${ranking.memoria.atraso-inicial-ms:0}",
+               fixedDelayString = "${ranking.memoria.intervalo-recarga-ms:600000}")
+    public void recarregar() {
+        if (!habilitado) {
+            return;
+        }
+        indice.recarregar(this::carregar);
+    }
+    
+    private IndiceRanking carregar() {
+        IndiceRanking novo = new IndiceRanking();
+        long ultimoId = 0;
+        List<MediaAlunoDTO> bloco;
+        do {
+            bloco = alunoRepository.findMediasAposId(ultimoId, PageRequest.of(0, TAMANHO_BLOCO_CARGA));
+            bloco.forEach(aluno -> novo.salvar(aluno.getId(), aluno.getCursoId(), aluno.getMediaGeral()));
+            if (!bloco.isEmpty()) {
+                ultimoId = bloco.get(bloco.size() - 1).getId();
+            }
+        } while (bloco.size() == TAMANHO_BLOCO_CARGA);
+        logger.debug("Ranking em memória carregado com {} alunos", novo.tamanho());
+        return novo;
+    }
+    
+    /**
+     * Importações gravam direto no banco, sem evento por aluno: o índice é reconstruído. A recarga vai para o
+     * agendador, fora da thread da requisição de importação, que responde sem esperar a leitura da tabela.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoImportarAlunos(AlunosImportadosEvent evento) {
+        if (habilitado) {
+            indice.agendarRecarga(agendador, this::carregar);
+        }
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoAlterarAluno(AlunoAlteradoEvent evento) {
+        if (evento.isRemocao()) {
+            indice.aplicar(ranking -> ranking.remover(evento.getAlunoId()));
+        } else {
+            AlunoResponseDTO atual = evento.getAtual();
+            indice.aplicar(ranking -> ranking.salvar(atual.getId(), atual.getCursoId(), atual.getMediaGeral()));
+        }
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoAlterarCurso(CursoAlteradoEvent evento) {
+        if (evento.isAlunosRemovidos()) {
+            indice.aplicar(ranking -> ranking.removerCurso(evento.getCursoId()));
+        }
+    }
+    
+    /**
+     * IDs dos K primeiros por média, em ordem ({@code cursoId} nulo para o ranking geral), ou nulo se o ranking não
+     * está carregado.
+     */
+    public List<Long> primeiros(Long cursoId, int quantidade) {
+        IndiceRanking atual = indice.atual();
+        return atual != null ? atual.primeiros(cursoId, quantidade) : null;
+    }
+    
+    /** Posição do aluno, ou nulo se o ranking não está carregado ou o aluno não está nele. */
+    public PosicaoRankingDTO posicao(Long alunoId) {
+        IndiceRanking atual = indice.atual();
+        return atual != null ? atual.posicao(alunoId) : null;
+    }
+    
+    public boolean isCarregado() {
+        return indice.atual() != null;
+    }
+}
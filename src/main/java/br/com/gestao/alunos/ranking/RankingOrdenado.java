@@ -0,0 +1,67 @@
+package br.com.gestao.alunos.ranking;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * IDs de alunos agrupados por média, da maior para a menor (empates por ID decrescente, como na consulta).
+ * O top-K percorre só os primeiros grupos; a posição soma os grupos com média maior, que são poucos
+ * porque as médias vão de 0 a 10.
+ */
+class RankingOrdenado {
+    
+    private final NavigableMap<Double, NavigableSet<Long>> idsPorMedia = new TreeMap<>(Comparator.reverseOrder());
+    private long total;
+    
+    void adicionar(Long id, double media) {
+        if (idsPorMedia.computeIfAbsent(media, chave -> new TreeSet<>(Collections.reverseOrder())).add(id)) {
+            total++;
+        }
+    }
+    
+    void remover(Long id, double media) {
+        NavigableSet<Long> ids = idsPorMedia.get(media);
+        if (ids != null && ids.remove(id)) {
+            total--;
+            if (ids.isEmpty()) {
+                idsPorMedia.remove(media);
+            }
+        }
+    }
+    
+    List<Long> primeiros(int quantidade) {
+        List<Long> primeiros = new ArrayList<>(Math.min(quantidade, (int) Math.min(total, Integer.MAX_VALUE)));
+        for (NavigableSet<Long> ids : idsPorMedia.values()) {
+            for (Long id : ids) {
+                if (primeiros.size() == quantidade) {
+                    return primeiros;
+                }
+                primeiros.add(id);
+            }
+        }
+        return primeiros;
+    }
+    
+    /** Posição de quem tem a média informada: 1 + quantidade de alunos com média estritamente maior. */
+    long posicao(double media) {
+        long acima = 0;
+        for (NavigableSet<Long> ids : idsPorMedia.headMap(media, false).values()) {
+            acima += ids.size();
+        }
+        return acima + 1;
+    }
+    
+    long getTotal() {
+        return total;
+    }
+    
+    boolean isVazio() {
+        return total == 0;
+    }
+}
@@ -0,0 +1,180 @@
+package br.com.gestao.alunos.replicas;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * DataSource que entrega conexões das réplicas de leitura para transações {@code readOnly} e do primário
+ * para o resto. As réplicas são usadas em rodízio; a que falha ao conectar fica fora do rodízio pelo
+ * intervalo de reteste e, sem réplica disponível, a leitura vai para o primário.
+ * <p>
+ * A decisão usa o flag de somente leitura da transação corrente, que o Spring só registra depois de abrir a
+ * transação: este DataSource precisa ficar atrás de um {@code LazyConnectionDataSourceProxy}, que adia a
+ * obtenção da conexão física até o primeiro comando.
+ */
+public class DataSourceRoteado extends AbstractDataSource implements AutoCloseable {
+    
+    private static final Logger logger = LoggerFactory.getLogger(DataSourceRoteado.class);
+    
+    static final String DESTINO_PRIMARIO = "primario";
+    static final String METRICA_CONEXOES = "banco.roteamento.conexoes";
+    static final String METRICA_FALHAS = "banco.roteamento.falhas";
+    static final String METRICA_REPLICAS_DISPONIVEIS = "banco.roteamento.replicas.disponiveis";
+    
+    private final DataSource primario;
+    private final List<Replica> replicas;
+    private final long intervaloRetesteMs;
+    private final LongSupplier relogio;
+    private final AtomicInteger proxima = new AtomicInteger();
+    
+    private final Counter escritasPrimario;
+    private final Counter leiturasPrimario;
+    
+    /** As réplicas são identificadas nas métricas e nos logs pela chave do mapa, na ordem de iteração. */
+    public DataSourceRoteado(DataSource primario, Map<String, DataSource> replicas, long intervaloRetesteMs,
+                             MeterRegistry registry) {
+        this(primario, replicas, intervaloRetesteMs, registry, System::currentTimeMillis);
+    }
+    
+    DataSourceRoteado(DataSource primario, Map<String, DataSource> replicas, long intervaloRetesteMs,
+                      MeterRegistry registry, LongSupplier relogio) {
+        this.primario = primario;
+        this.intervaloRetesteMs = intervaloRetesteMs;
+        this.relogio = relogio;
+        this.replicas = new ArrayList<>();
+        replicas.forEach((nome, dataSource) -> this.replicas.add(new Replica(nome, dataSource, registry)));
+        this.escritasPrimario = contador(registry, DESTINO_PRIMARIO, "escrita");
+        this.leiturasPrimario = contador(registry, DESTINO_PRIMARIO, "leitura");
+        Gauge.builder(METRICA_REPLICAS_DISPONIVEIS, this, DataSourceRoteado::getReplicasDisponiveis)
+                .description("Réplicas de leitura fora do intervalo de reteste")
+                .register(registry);
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        return conectar(DataSource::getConnection);
+    }
+    
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return conectar(dataSource -> dataSource.getConnection(username, password));
+    }
+    
+    /** Réplicas que o rodízio considera no momento. */
+    public int getReplicasDisponiveis() {
+        long agora = relogio.getAsLong();
+        return (int) replicas.stream().filter(replica -> replica.disponivel(agora)).count();
+    }
+    
+    // unwrap chega ao pool do primário, o que mantém o indicador de saturação do pool funcionando
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        return iface.isInstance(this) ? (T) this : primario.unwrap(iface);
+    }
+    
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || primario.isWrapperFor(iface);
+    }
+    
+    /** Fecha os pools das réplicas; o do primário pertence a quem o criou. */
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable pool) {
+                pool.close();
+            }
+        }
+    }
+    
+    private Connection conectar(Conexao conexao) throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            escritasPrimario.increment();
+            return conexao.abrir(primario);
+        }
+        Connection daReplica = conectarReplica(conexao);
+        if (daReplica != null) {
+            return daReplica;
+        }
+        leiturasPrimario.increment();
+        return conexao.abrir(primario);
+    }
+    
+    private Connection conectarReplica(Conexao abertura) {
+        if (replicas.isEmpty()) {
+            return null;
+        }
+        int inicio = Math.floorMod(proxima.getAndIncrement(), replicas.size());
+        long agora = relogio.getAsLong();
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((inicio + i) % replicas.size());
+            if (!replica.disponivel(agora)) {
+                continue;
+            }
+            try {
+                Connection conexao = abertura.abrir(replica.dataSource);
+                replica.leituras.increment();
+                return conexao;
+            } catch (SQLException e) {
+                replica.falhas.increment();
+                replica.indisponivelAte = agora + intervaloRetesteMs;
+                logger.warn("Réplica {} indisponível, fora do rodízio por {} ms: {}",
+                        replica.nome, intervaloRetesteMs, e.getMessage());
+            }
+        }
+        return null;
+    }
+    
+    private static Counter contador(MeterRegistry registry, String destino, String tipo) {
+        return Counter.builder(METRICA_CONEXOES)
+                .description("Conexões entregues pelo roteamento entre primário e réplicas")
+                .tag("destino", destino)
+                .tag("tipo", tipo)
+                .register(registry);
+    }
+    
+    /** Como obter a conexão do destino escolhido: com as credenciais do pool ou com as informadas. */
+    @FunctionalInterface
+    private interface Conexao {
+    
+        Connection abrir(DataSource dataSource) throws SQLException;
+    }
+    
+    private static class Replica {
+    
+        private final String nome;
+        private final DataSource dataSource;
+        private final Counter leituras;
+        private final Counter falhas;
+        private volatile long indisponivelAte;
+        
+        private Replica(String nome, DataSource dataSource, MeterRegistry registry) {
+            this.nome = nome;
+            this.dataSource = dataSource;
+            this.leituras = contador(registry, nome, "leitura");
+            this.falhas = Counter.builder(METRICA_FALHAS)
+                    .description("Falhas ao obter conexão da réplica")
+                    .tag("destino", nome)
+                    .register(registry);
+        }
+        
+        private boolean disponivel(long agora) {
+            return agora >= indisponivelAte;
+        }
+    }
+}
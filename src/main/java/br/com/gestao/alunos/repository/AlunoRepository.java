@@ -1,16 +1,24 @@
 package br.com.gestao.alunos.repository;
 
+import br.com.gestao.alunos.dto.AlunoResponseDTO;
+import br.com.gestao.alunos.dto.ContagemAlunosDTO;
+import br.com.gestao.alunos.dto.MediaAlunoDTO;
+import br.com.gestao.alunos.dto.VersaoAlunoDTO;
 import br.com.gestao.alunos.model.Aluno;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
-public interface AlunoRepository extends JpaRepository<Aluno, Long> {
+public interface AlunoRepository extends JpaRepository<Aluno, Long>, AlunoRepositoryCustom {
     
     Optional<Aluno> findByMatricula(String matricula);
     
@@ -29,5 +37,72 @@ public interface AlunoRepository extends JpaRepository<Aluno, Long> {
     
     @Query("SELECT a FROM Aluno a WHERE a.mediaGeral >= :mediaMinima ORDER BY a.mediaGeral DESC")
     List<Aluno> findByMediaGeralGreaterThanEqual(@Param("mediaMinima") Double mediaMinima);
+    
+    @Query("SELECT a.matricula FROM Aluno a WHERE a.matricula IN :matriculas")
+    Set<String> findMatriculasExistentes(@Param("matriculas") Collection<String> matriculas);
+    
+    @Query("SELECT a.email FROM Aluno a WHERE a.email IN :emails")
+    Set<String> findEmailsExistentes(@Param("emails") Collection<String> emails);
+    
+    // Projeções de leitura: o DTO é montado na própria consulta, sem entidades no contexto de persistência
+    @Query("SELECT new br.com.gestao.alunos.dto.AlunoResponseDTO(a.id, a.nome, a.matricula, a.email, c.nome, c.id, " +
+           "a.semestre, a.mediaGeral, a.dataMatricula) FROM Aluno a JOIN a.curso c WHERE a.id = :id")
+    Optional<AlunoResponseDTO> findResumoById(@Param("id") Long id);
+    
+    // Paginação por keyset: cada página busca apenas IDs maiores que o cursor
+    @Query("SELECT new br.com.gestao.alunos.dto.AlunoResponseDTO(a.id, a.nome, a.matricula, a.email, c.nome, c.id, " +
+           "a.semestre, a.mediaGeral, a.dataMatricula) FROM Aluno a JOIN a.curso c WHERE a.id > :ultimoId ORDER BY a.id")
+    List<AlunoResponseDTO> findResumosAposId(@Param("ultimoId") Long ultimoId, Pageable pageable);
+    
+    @Query("SELECT new br.com.gestao.alunos.dto.AlunoResponseDTO(a.id, a.nome, a.matricula, a.email, c.nome, c.id, " +
+           "a.semestre, a.mediaGeral, a.dataMatricula) FROM Aluno a JOIN a.curso c WHERE a.id IN :ids")
+    List<AlunoResponseDTO> findResumosByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // Carga do ranking em memória: só ID, curso e média dos alunos com média, sem o JOIN com cursos
+    @Query("SELECT new br.com.gestao.alunos.dto.MediaAlunoDTO(a.id, a.curso.id, a.mediaGeral) FROM Aluno a " +
+           "WHERE a.id > :ultimoId AND a.mediaGeral IS NOT NULL ORDER BY a.id")
+    List<MediaAlunoDTO> findMediasAposId(@Param("ultimoId") Long ultimoId, Pageable pageable);
+    
+    // Colunas de controle para GETs condicionais, pela chave primária e pelo mesmo índice da página
+    @Query("SELECT new br.com.gestao.alunos.dto.VersaoAlunoDTO(a.id, a.versao, a.atualizadoEm, c.versao, c.atualizadoEm) " +
+           "FROM Aluno a JOIN a.curso c WHERE a.id = :id")
+    Optional<VersaoAlunoDTO> findVersaoById(@Param("id") Long id);
+    
+    @Query("SELECT new br.com.gestao.alunos.dto.VersaoAlunoDTO(a.id, a.versao, a.atualizadoEm, c.versao, c.atualizadoEm) " +
+           "FROM Aluno a JOIN a.curso c WHERE a.id > :ultimoId ORDER BY a.id")
+    List<VersaoAlunoDTO> findVersoesAposId(@Param("ultimoId") Long ultimoId, Pageable pageable);
+    
+    // Top-K por média: percorre de trás para frente os índices (media_geral, id) e (curso_id, media_geral, id)
+    // e para após K linhas, por isso os empates saem por ID decrescente
+    @Query("SELECT new br.com.gestao.alunos.dto.AlunoResponseDTO(a.id, a.nome, a.matricula, a.email, c.nome, c.id, " +
+           "a.semestre, a.mediaGeral, a.dataMatricula) FROM Aluno a JOIN a.curso c " +
+           "WHERE a.mediaGeral IS NOT NULL ORDER BY a.mediaGeral DESC, a.id DESC")
+    List<AlunoResponseDTO> findMelhoresMedias(Pageable pageable);
+    
+    @Query("SELECT new br.com.gestao.alunos.dto.AlunoResponseDTO(a.id, a.nome, a.matricula, a.email, c.nome, c.id, " +
+           "a.semestre, a.mediaGeral, a.dataMatricula) FROM Aluno a JOIN a.curso c " +
+           "WHERE c.id = :cursoId AND a.mediaGeral IS NOT NULL ORDER BY a.mediaGeral DESC, a.id DESC")
+    List<AlunoResponseDTO> findMelhoresMediasDoCurso(@Param("cursoId") Long cursoId, Pageable pageable);
+    
+    long countByMediaGeralGreaterThan(Double mediaGeral);
+    
+    long countByMediaGeralIsNotNull();
+    
+    long countByCursoIdAndMediaGeralGreaterThan(Long cursoId, Double mediaGeral);
+    
+    long countByCursoIdAndMediaGeralIsNotNull(Long cursoId);
+    
+    // Estatísticas por curso agregadas no banco: uma linha por curso, semestre e média
+    @Query("SELECT new br.com.gestao.alunos.dto.ContagemAlunosDTO(a.curso.id, a.semestre, a.mediaGeral, COUNT(a)) " +
+           "FROM Aluno a GROUP BY a.curso.id, a.semestre, a.mediaGeral")
+    List<ContagemAlunosDTO> contarAlunosAgrupados();
+    
+    @Query("SELECT new br.com.gestao.alunos.dto.ContagemAlunosDTO(a.curso.id, a.semestre, a.mediaGeral, COUNT(a)) " +
+           "FROM Aluno a WHERE a.curso.id = :cursoId GROUP BY a.curso.id, a.semestre, a.mediaGeral")
+    List<ContagemAlunosDTO> contarAlunosAgrupadosDoCurso(@Param("cursoId") Long cursoId);
+    
+    // Remoção em lote pelo índice (curso_id, id), sem carregar as entidades
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Aluno a WHERE a.curso.id = :cursoId")
+    int deletarPorCursoId(@Param("cursoId") Long cursoId);
 }
-
@@ -0,0 +1,26 @@
+package br.com.gestao.alunos.repository;
+
+import br.com.gestao.alunos.dto.AlunoResponseDTO;
+import br.com.gestao.alunos.dto.FiltroAlunoDTO;
+import br.com.gestao.alunos.dto.OrdenacaoAluno;
+import br.com.gestao.alunos.dto.VersaoAlunoDTO;
+
+import java.util.List;
+
+public interface AlunoRepositoryCustom {
+    
+    /**
+     * Busca alunos combinando (AND) todos os critérios preenchidos do filtro em uma única consulta,
+     * projetada direto no DTO de resposta (sem carregar entidades). A paginação é por keyset: quando {@code ultimoId} é informado,
+     * retorna apenas os alunos posicionados depois de ({@code ultimoValor}, {@code ultimoId}) na ordenação.
+     */
+    List<AlunoResponseDTO> buscarPorFiltro(FiltroAlunoDTO filtro, OrdenacaoAluno ordenacao, boolean decrescente,
+                                           Long ultimoId, Comparable<?> ultimoValor, int quantidade);
+    
+    /**
+     * Mesma consulta de {@link #buscarPorFiltro}, trazendo só as colunas de controle dos alunos da página
+     * e dos seus cursos, para calcular a ETag sem montar os alunos.
+     */
+    List<VersaoAlunoDTO> buscarVersoesPorFiltro(FiltroAlunoDTO filtro, OrdenacaoAluno ordenacao, boolean decrescente,
+                                                Long ultimoId, Comparable<?> ultimoValor, int quantidade);
+}
@@ -0,0 +1,142 @@
+package br.com.gestao.alunos.repository;
+
+import br.com.gestao.alunos.dto.AlunoResponseDTO;
+import br.com.gestao.alunos.dto.FiltroAlunoDTO;
+import br.com.gestao.alunos.dto.OrdenacaoAluno;
+import br.com.gestao.alunos.dto.VersaoAlunoDTO;
+import br.com.gestao.alunos.model.Aluno;
+import br.com.gestao.alunos.model.Curso;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.BiFunction;
+
+/**
+ * Implementação da consulta dinâmica de alunos com a Criteria API.
+ * Valores nulos no campo de ordenação são tratados como os maiores (último em asc, primeiro em desc),
+ * que é o comportamento padrão do PostgreSQL e permite usar os índices compostos nos dois sentidos.
+ */
+public class AlunoRepositoryImpl implements AlunoRepositoryCustom {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public List<AlunoResponseDTO> buscarPorFiltro(FiltroAlunoDTO filtro, OrdenacaoAluno ordenacao, boolean decrescente,
+                                                  Long ultimoId, Comparable<?> ultimoValor, int quantidade) {
+        return buscar(AlunoResponseDTO.class, (aluno, curso) -> new Selection<?>[] {
+                aluno.get("id"), aluno.get("nome"), aluno.get("matricula"), aluno.get("email"),
+                curso.get("nome"), curso.get("id"), aluno.get("semestre"), aluno.get("mediaGeral"),
+                aluno.get("dataMatricula")
+        }, filtro, ordenacao, decrescente, ultimoId, ultimoValor, quantidade);
+    }
+    
+    @Override
+    public List<VersaoAlunoDTO> buscarVersoesPorFiltro(FiltroAlunoDTO filtro, OrdenacaoAluno ordenacao, boolean decrescente,
+                                                       Long ultimoId, Comparable<?> ultimoValor, int quantidade) {
+        return buscar(VersaoAlunoDTO.class, (aluno, curso) -> new Selection<?>[] {
+                aluno.get("id"), aluno.get("versao"), aluno.get("atualizadoEm"), curso.get("versao"),
+                curso.get("atualizadoEm")
+        }, filtro, ordenacao, decrescente, ultimoId, ultimoValor, quantidade);
+    }
+    
+    private <T> List<T> buscar(Class<T> tipo, BiFunction<Root<Aluno>, Join<Aluno, Curso>, Selection<?>[]> colunas,
+                               FiltroAlunoDTO filtro, OrdenacaoAluno ordenacao, boolean decrescente,
+                               Long ultimoId, Comparable<?> ultimoValor, int quantidade) {
+        // Ordenação com posição explícita dos nulos é uma extensão do Hibernate à Criteria API
+        HibernateCriteriaBuilder cb = (HibernateCriteriaBuilder) entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(tipo);
+        Root<Aluno> aluno = query.from(Aluno.class);
+        Join<Aluno, Curso> curso = aluno.join("curso");
+        
+        List<Predicate> predicados = criarPredicados(cb, aluno, filtro);
+        if (ultimoId != null) {
+            predicados.add(depoisDoCursor(cb, aluno, ordenacao, decrescente, ultimoId, ultimoValor));
+        }
+        
+        List<Order> ordem = new ArrayList<>();
+        if (ordenacao != OrdenacaoAluno.ID) {
+            Expression<?> campo = aluno.get(ordenacao.getAtributo());
+            ordem.add(decrescente ? cb.desc(campo, true) : cb.asc(campo, false));
+        }
+        ordem.add(decrescente ? cb.desc(aluno.get("id")) : cb.asc(aluno.get("id")));
+        
+        query.select(cb.construct(tipo, colunas.apply(aluno, curso)))
+                .where(predicados.toArray(new Predicate[0]))
+                .orderBy(ordem);
+        
+        return entityManager.createQuery(query)
+                .setMaxResults(quantidade)
+                .getResultList();
+    }
+    
+    private List<Predicate> criarPredicados(HibernateCriteriaBuilder cb, Root<Aluno> aluno, FiltroAlunoDTO filtro) {
+        List<Predicate> predicados = new ArrayList<>();
+        
+        if (filtro.getCursoId() != null) {
+            predicados.add(cb.equal(aluno.get("curso").get("id"), filtro.getCursoId()));
+        }
+        if (filtro.getEmail() != null && !filtro.getEmail().isBlank()) {
+            // lower(email) é atendido pelo índice de expressão no PostgreSQL
+            predicados.add(cb.equal(cb.lower(aluno.get("email")), filtro.getEmail().trim().toLowerCase(Locale.ROOT)));
+        }
+        if (filtro.getSemestre() != null) {
+            predicados.add(cb.equal(aluno.get("semestre"), filtro.getSemestre()));
+        }
+        if (filtro.getSemestreMinimo() != null) {
+            predicados.add(cb.greaterThanOrEqualTo(aluno.get("semestre"), filtro.getSemestreMinimo()));
+        }
+        if (filtro.getSemestreMaximo() != null) {
+            predicados.add(cb.lessThanOrEqualTo(aluno.get("semestre"), filtro.getSemestreMaximo()));
+        }
+        if (filtro.getMediaMinima() != null) {
+            predicados.add(cb.greaterThanOrEqualTo(aluno.get("mediaGeral"), filtro.getMediaMinima()));
+        }
+        if (filtro.getMediaMaxima() != null) {
+            predicados.add(cb.lessThanOrEqualTo(aluno.get("mediaGeral"), filtro.getMediaMaxima()));
+        }
+        if (filtro.getDataMatriculaInicio() != null) {
+            predicados.add(cb.greaterThanOrEqualTo(aluno.get("dataMatricula"), filtro.getDataMatriculaInicio()));
+        }
+        if (filtro.getDataMatriculaFim() != null) {
+            predicados.add(cb.lessThanOrEqualTo(aluno.get("dataMatricula"), filtro.getDataMatriculaFim()));
+        }
+        
+        return predicados;
+    }
+    
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Predicate depoisDoCursor(HibernateCriteriaBuilder cb, Root<Aluno> aluno, OrdenacaoAluno ordenacao,
+                                     boolean decrescente, Long ultimoId, Comparable ultimoValor) {
+        Expression<Long> id = aluno.get("id");
+        Predicate idDepois = decrescente ? cb.lessThan(id, ultimoId) : cb.greaterThan(id, ultimoId);
+        if (ordenacao == OrdenacaoAluno.ID) {
+            return idDepois;
+        }
+        
+        Expression<Comparable> campo = aluno.get(ordenacao.getAtributo());
+        if (ultimoValor == null) {
+            // Cursor parado entre os nulos: em asc restam só nulos; em desc ainda vêm todos os não nulos
+            Predicate nulosDepois = cb.and(cb.isNull(campo), idDepois);
+            return decrescente ? cb.or(nulosDepois, cb.isNotNull(campo)) : nulosDepois;
+        }
+        
+        Predicate valorDepois = decrescente ? cb.lessThan(campo, ultimoValor) : cb.greaterThan(campo, ultimoValor);
+        Predicate empateDepois = cb.and(cb.equal(campo, ultimoValor), idDepois);
+        if (ordenacao.isAnulavel() && !decrescente) {
+            return cb.or(valorDepois, empateDepois, cb.isNull(campo));
+        }
+        return cb.or(valorDepois, empateDepois);
+    }
+}
@@ -1,9 +1,14 @@
 package br.com.gestao.alunos.repository;
 
+import br.com.gestao.alunos.dto.CursoComTotaisDTO;
 import br.com.gestao.alunos.model.Curso;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,5 +17,17 @@ public interface CursoRepository extends JpaRepository<Curso, Long> {
     Optional<Curso> findByNome(String nome);
     
     boolean existsByNome(String nome);
+    
+    // Totais de todos os cursos numa única consulta agrupada; o LEFT JOIN explícito mantém os cursos sem
+    // alunos e não passa pela coleção Curso.alunos. A média sai do índice (curso_id, media_geral, id).
+    @Query("SELECT new br.com.gestao.alunos.dto.CursoComTotaisDTO(c.id, c.nome, c.descricao, COUNT(a.id), " +
+           "AVG(a.mediaGeral)) FROM Curso c LEFT JOIN Aluno a ON a.curso.id = c.id " +
+           "GROUP BY c.id, c.nome, c.descricao ORDER BY c.id")
+    List<CursoComTotaisDTO> listarComTotais();
+    
+    // DELETE direto, sem carregar a entidade nem a coleção de alunos como faz o deleteById
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Curso c WHERE c.id = :id")
+    int deletarPorId(@Param("id") Long id);
 }
 
@@ -0,0 +1,14 @@
+package br.com.gestao.alunos.repository;
+
+import br.com.gestao.alunos.model.ErroImportacao;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ErroImportacaoRepository extends JpaRepository<ErroImportacao, Long> {
+    
+    // Limitado na gravação a importacao.csv.maximo-erros-listados linhas por importação
+    List<ErroImportacao> findByImportacaoIdOrderByLinhaAscIdAsc(Long importacaoId);
+}
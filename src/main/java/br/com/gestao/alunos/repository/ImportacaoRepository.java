@@ -0,0 +1,17 @@
+package br.com.gestao.alunos.repository;
+
+import br.com.gestao.alunos.model.Importacao;
+import br.com.gestao.alunos.model.StatusImportacao;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ImportacaoRepository extends JpaRepository<Importacao, Long> {
+    
+    long countByStatusIn(Collection<StatusImportacao> status);
+    
+    List<Importacao> findByStatusInOrderByIdAsc(Collection<StatusImportacao> status);
+}
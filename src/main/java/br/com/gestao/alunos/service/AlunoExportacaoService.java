@@ -0,0 +1,176 @@
+package br.com.gestao.alunos.service;
+
+import br.com.gestao.alunos.dto.FormatoExportacao;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Exporta todos os alunos lendo o resultado por um cursor JDBC somente-leitura e
+ * escrevendo cada linha direto no stream de saída. Nenhuma lista é montada em memória,
+ * então o consumo de heap não depende do tamanho da tabela.
+ */
+@Service
+public class AlunoExportacaoService {
+    
+    static final int TAMANHO_FETCH = 1000;
+    private static final int LINHAS_POR_FLUSH = 500;
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+    
+    private static final String CONSULTA_EXPORTACAO =
+            "SELECT a.id, a.nome, a.matricula, a.email, a.curso_id, c.nome AS curso_nome, " +
+            "a.semestre, a.media_geral, a.data_matricula " +
+            "FROM alunos a JOIN cursos c ON c.id = a.curso_id " +
+            "ORDER BY a.id";
+    
+    private static final String CABECALHO_CSV =
+            "id,nome,matricula,email,cursoId,cursoNome,semestre,mediaGeral,dataMatricula";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    
+    @Autowired
+    public AlunoExportacaoService(DataSource dataSource, PlatformTransactionManager transactionManager,
+                                  ObjectMapper objectMapper) {
+        // JdbcTemplate próprio para não alterar o fetch size do template compartilhado
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(TAMANHO_FETCH);
+        
+        // O PostgreSQL só usa cursor no servidor com autocommit desligado, ou seja, dentro de transação
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        
+        this.objectMapper = objectMapper;
+    }
+    
+    public void exportar(FormatoExportacao formato, OutputStream saida) throws IOException {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try {
+                    if (formato == FormatoExportacao.CSV) {
+                        exportarCsv(saida);
+                    } else {
+                        exportarNdjson(saida);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+    
+    private void exportarNdjson(OutputStream saida) throws IOException {
+        JsonGenerator gerador = objectMapper.getFactory().createGenerator(saida);
+        gerador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        gerador.setRootValueSeparator(null);
+        
+        int[] linhas = {0};
+        jdbcTemplate.query(CONSULTA_EXPORTACAO, (ResultSet rs) -> {
+            try {
+                gerador.writeStartObject();
+                gerador.writeNumberField("id", rs.getLong("id"));
+                gerador.writeStringField("nome", rs.getString("nome"));
+                gerador.writeStringField("matricula", rs.getString("matricula"));
+                gerador.writeStringField("email", rs.getString("email"));
+                gerador.writeNumberField("cursoId", rs.getLong("curso_id"));
+                gerador.writeStringField("cursoNome", rs.getString("curso_nome"));
+                gerador.writeNumberField("semestre", rs.getInt("semestre"));
+                escreverMediaJson(gerador, rs);
+                Date dataMatricula = rs.getDate("data_matricula");
+                gerador.writeStringField("dataMatricula", dataMatricula != null ? dataMatricula.toLocalDate().toString() : null);
+                gerador.writeEndObject();
+                gerador.writeRaw('\n');
+                
+                if (++linhas[0] % LINHAS_POR_FLUSH == 0) {
+                    gerador.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        gerador.flush();
+    }
+    
+    private void escreverMediaJson(JsonGenerator gerador, ResultSet rs) throws IOException, SQLException {
+        double media = rs.getDouble("media_geral");
+        if (rs.wasNull()) {
+            gerador.writeNullField("mediaGeral");
+        } else {
+            gerador.writeNumberField("mediaGeral", media);
+        }
+    }
+    
+    private void exportarCsv(OutputStream saida) throws IOException {
+        Writer escritor = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8), TAMANHO_BUFFER);
+        escritor.write(CABECALHO_CSV);
+        escritor.write('\n');
+        
+        int[] linhas = {0};
+        jdbcTemplate.query(CONSULTA_EXPORTACAO, (ResultSet rs) -> {
+            try {
+                escritor.write(Long.toString(rs.getLong("id")));
+                escritor.write(',');
+                escritor.write(escaparCsv(rs.getString("nome")));
+                escritor.write(',');
+                escritor.write(escaparCsv(rs.getString("matricula")));
+                escritor.write(',');
+                escritor.write(escaparCsv(rs.getString("email")));
+                escritor.write(',');
+                escritor.write(Long.toString(rs.getLong("curso_id")));
+                escritor.write(',');
+                escritor.write(escaparCsv(rs.getString("curso_nome")));
+                escritor.write(',');
+                escritor.write(Integer.toString(rs.getInt("semestre")));
+                escritor.write(',');
+                double media = rs.getDouble("media_geral");
+                if (!rs.wasNull()) {
+                    escritor.write(Double.toString(media));
+                }
+                escritor.write(',');
+                Date dataMatricula = rs.getDate("data_matricula");
+                if (dataMatricula != null) {
+                    escritor.write(dataMatricula.toLocalDate().toString());
+                }
+                escritor.write('\n');
+                
+                if (++linhas[0] % LINHAS_POR_FLUSH == 0) {
+                    escritor.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        escritor.flush();
+    }
+    
+    static String escaparCsv(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        boolean precisaAspas = valor.indexOf(',') >= 0 || valor.indexOf('"') >= 0
+                || valor.indexOf('\n') >= 0 || valor.indexOf('\r') >= 0;
+        if (!precisaAspas) {
+            return valor;
+        }
+        return '"' + valor.replace("\"", "\"\"") + '"';
+    }
+}
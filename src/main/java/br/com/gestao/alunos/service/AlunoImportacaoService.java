@@ -0,0 +1,104 @@
+package br.com.gestao.alunos.service;
+
+import br.com.gestao.alunos.dto.AlunoDTO;
+import br.com.gestao.alunos.dto.ErroImportacaoDTO;
+import br.com.gestao.alunos.dto.ResultadoImportacaoDTO;
+import br.com.gestao.alunos.event.AlunosImportadosEvent;
+import br.com.gestao.alunos.importacao.ArquivoCsvAlunos;
+import br.com.gestao.alunos.importacao.StagingAlunos;
+import br.com.gestao.alunos.importacao.TabelaStaging;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Importação de alunos a partir de CSV. O arquivo é lido em streaming e cada linha é validada com as
+ * mesmas regras do {@link AlunoDTO}; as válidas vão para uma tabela de staging (COPY no PostgreSQL) e
+ * a unicidade e a existência do curso são verificadas com poucos comandos para o arquivo inteiro,
+ * antes de um único INSERT ... SELECT na tabela de alunos.
+ */
+@Service
+public class AlunoImportacaoService {
+    
+    private final StagingAlunos stagingAlunos;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int maximoErrosListados;
+    
+    @Autowired
+    public AlunoImportacaoService(StagingAlunos stagingAlunos, Validator validator,
+                                  ApplicationEventPublisher eventPublisher,
+                                  @Value("${importacao.csv.maximo-erros-listados:1000}") int maximoErrosListados) {
+        this.stagingAlunos = stagingAlunos;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.maximoErrosListados = maximoErrosListados;
+    }
+    
+    /**
+     * Importa o CSV inteiro em uma transação. Linhas inválidas são rejeitadas individualmente e o resto
+     * do arquivo é importado.
+     */
+    @Transactional
+    public ResultadoImportacaoDTO importarCsv(Reader entrada) throws IOException {
+        ResultadoImportacaoDTO resultado = importarBloco(abrirArquivo(entrada), Long.MAX_VALUE, maximoErrosListados);
+        if (resultado.getImportados() > 0) {
+            eventPublisher.publishEvent(new AlunosImportadosEvent(resultado.getImportados()));
+        }
+        return resultado;
+    }
+    
+    /** Lê o cabeçalho do CSV; colunas obrigatórias ausentes são recusadas aqui, antes de qualquer linha. */
+    public ArquivoCsvAlunos abrirArquivo(Reader entrada) throws IOException {
+        return new ArquivoCsvAlunos(entrada, validator);
+    }
+    
+    /**
+     * Importa até {@code maximoLinhas} das próximas linhas do arquivo na transação corrente. Não publica
+     * {@link AlunosImportadosEvent}: quem divide o arquivo em blocos publica uma vez ao final.
+     */
+    @Transactional
+    public ResultadoImportacaoDTO importarBloco(ArquivoCsvAlunos arquivo, long maximoLinhas, int maximoErros)
+            throws IOException {
+        TabelaStaging staging = stagingAlunos.criar();
+        List<ErroImportacaoDTO> erros = new ArrayList<>();
+        long linhas = 0;
+        try {
+            ArquivoCsvAlunos.LinhaAluno linha;
+            while (linhas < maximoLinhas && (linha = arquivo.proximaLinha()) != null) {
+                linhas++;
+                if (linha.getAluno() != null) {
+                    staging.adicionar(linha.getLinha(), linha.getAluno());
+                } else if (erros.size() < maximoErros) {
+                    erros.add(new ErroImportacaoDTO(linha.getLinha(), linha.getErros()));
+                }
+            }
+            staging.concluirCarga();
+        } catch (IOException | RuntimeException e) {
+            staging.cancelarCarga();
+            throw e;
+        }
+        
+        staging.rejeitarInvalidos();
+        long importados = staging.mesclar(LocalDate.now());
+        
+        erros.addAll(staging.listarErros(maximoErros));
+        erros.sort(Comparator.comparingLong(ErroImportacaoDTO::getLinha));
+        if (erros.size() > maximoErros) {
+            erros = new ArrayList<>(erros.subList(0, maximoErros));
+        }
+        
+        long rejeitados = linhas - importados;
+        return new ResultadoImportacaoDTO(linhas, importados, rejeitados, erros, rejeitados - erros.size());
+    }
+}
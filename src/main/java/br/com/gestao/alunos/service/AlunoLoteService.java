@@ -0,0 +1,219 @@
+package br.com.gestao.alunos.service;
+
+import br.com.gestao.alunos.dto.AlunoDTO;
+import br.com.gestao.alunos.dto.ItemLoteDTO;
+import br.com.gestao.alunos.dto.ResultadoLoteDTO;
+import br.com.gestao.alunos.event.AlunoAlteradoEvent;
+import br.com.gestao.alunos.exception.BusinessException;
+import br.com.gestao.alunos.model.Aluno;
+import br.com.gestao.alunos.model.Curso;
+import br.com.gestao.alunos.repository.AlunoRepository;
+import br.com.gestao.alunos.repository.CursoRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Criação de alunos em lote. A unicidade de matrícula e email é verificada para o lote
+ * inteiro com poucas consultas IN, os cursos são resolvidos de uma vez e os INSERTs
+ * saem em batches JDBC (hibernate.jdbc.batch_size).
+ */
+@Service
+public class AlunoLoteService {
+    
+    public static final int TAMANHO_MAXIMO_LOTE = 5000;
+    
+    // Limita o tamanho das listas IN e a quantidade de entidades no contexto de persistência
+    private static final int TAMANHO_BLOCO_CONSULTA = 1000;
+    private static final int TAMANHO_BLOCO_PERSISTENCIA = 50;
+    
+    private final AlunoRepository alunoRepository;
+    private final CursoRepository cursoRepository;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    public AlunoLoteService(AlunoRepository alunoRepository, CursoRepository cursoRepository,
+                            Validator validator, EntityManager entityManager,
+                            ApplicationEventPublisher eventPublisher) {
+        this.alunoRepository = alunoRepository;
+        this.cursoRepository = cursoRepository;
+        this.validator = validator;
+        this.entityManager = entityManager;
+        this.eventPublisher = eventPublisher;
+    }
+    
+    @Transactional
+    public ResultadoLoteDTO criarAlunosEmLote(List<AlunoDTO> alunosDTO) {
+        if (alunosDTO == null || alunosDTO.isEmpty()) {
+            throw new BusinessException("O lote deve conter ao menos um aluno");
+        }
+        if (alunosDTO.size() > TAMANHO_MAXIMO_LOTE) {
+            throw new BusinessException("O lote deve conter no máximo " + TAMANHO_MAXIMO_LOTE + " alunos");
+        }
+        
+        List<ItemLoteDTO> itens = new ArrayList<>(alunosDTO.size());
+        for (int i = 0; i < alunosDTO.size(); i++) {
+            itens.add(new ItemLoteDTO(i));
+        }
+        
+        validarCampos(alunosDTO, itens);
+        marcarDuplicadosNoLote(alunosDTO, itens);
+        marcarExistentes(alunosDTO, itens, AlunoDTO::getMatricula, alunoRepository::findMatriculasExistentes,
+                "Já existe um aluno com a matrícula: ");
+        marcarExistentes(alunosDTO, itens, AlunoDTO::getEmail, alunoRepository::findEmailsExistentes,
+                "Já existe um aluno com o email: ");
+        Map<Long, Curso> cursos = resolverCursos(alunosDTO, itens);
+        
+        persistirValidos(alunosDTO, itens, cursos);
+        
+        int criados = (int) itens.stream().filter(ItemLoteDTO::isCriado).count();
+        return new ResultadoLoteDTO(itens.size(), criados, itens.size() - criados, itens);
+    }
+    
+    private void validarCampos(List<AlunoDTO> alunosDTO, List<ItemLoteDTO> itens) {
+        for (int i = 0; i < alunosDTO.size(); i++) {
+            AlunoDTO alunoDTO = alunosDTO.get(i);
+            if (alunoDTO == null) {
+                itens.get(i).getErros().add("Aluno não informado");
+                continue;
+            }
+            for (ConstraintViolation<AlunoDTO> violacao : validator.validate(alunoDTO)) {
+                itens.get(i).getErros().add(violacao.getMessage());
+            }
+        }
+    }
+    
+    private void marcarDuplicadosNoLote(List<AlunoDTO> alunosDTO, List<ItemLoteDTO> itens) {
+        Set<String> matriculas = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (int i = 0; i < alunosDTO.size(); i++) {
+            if (!valido(itens.get(i))) {
+                continue;
+            }
+            AlunoDTO alunoDTO = alunosDTO.get(i);
+            if (!matriculas.add(alunoDTO.getMatricula())) {
+                itens.get(i).getErros().add("Matrícula repetida no lote: " + alunoDTO.getMatricula());
+            }
+            if (!emails.add(alunoDTO.getEmail())) {
+                itens.get(i).getErros().add("Email repetido no lote: " + alunoDTO.getEmail());
+            }
+        }
+    }
+    
+    private void marcarExistentes(List<AlunoDTO> alunosDTO, List<ItemLoteDTO> itens,
+                                  Function<AlunoDTO, String> campo,
+                                  Function<Collection<String>, Set<String>> consulta,
+                                  String mensagem) {
+        List<String> valores = new ArrayList<>();
+        for (int i = 0; i < alunosDTO.size(); i++) {
+            if (valido(itens.get(i))) {
+                valores.add(campo.apply(alunosDTO.get(i)));
+            }
+        }
+        
+        Set<String> existentes = new HashSet<>();
+        for (int inicio = 0; inicio < valores.size(); inicio += TAMANHO_BLOCO_CONSULTA) {
+            List<String> bloco = valores.subList(inicio, Math.min(inicio + TAMANHO_BLOCO_CONSULTA, valores.size()));
+            existentes.addAll(consulta.apply(bloco));
+        }
+        
+        if (existentes.isEmpty()) {
+            return;
+        }
+        for (int i = 0; i < alunosDTO.size(); i++) {
+            String valor = alunosDTO.get(i) != null ? campo.apply(alunosDTO.get(i)) : null;
+            if (valido(itens.get(i)) && existentes.contains(valor)) {
+                itens.get(i).getErros().add(mensagem + valor);
+            }
+        }
+    }
+    
+    private Map<Long, Curso> resolverCursos(List<AlunoDTO> alunosDTO, List<ItemLoteDTO> itens) {
+        Set<Long> cursoIds = new HashSet<>();
+        for (int i = 0; i < alunosDTO.size(); i++) {
+            if (valido(itens.get(i))) {
+                cursoIds.add(alunosDTO.get(i).getCursoId());
+            }
+        }
+        
+        Map<Long, Curso> cursos = new HashMap<>();
+        if (!cursoIds.isEmpty()) {
+            for (Curso curso : cursoRepository.findAllById(cursoIds)) {
+                cursos.put(curso.getId(), curso);
+            }
+        }
+        
+        for (int i = 0; i < alunosDTO.size(); i++) {
+            if (valido(itens.get(i)) && !cursos.containsKey(alunosDTO.get(i).getCursoId())) {
+                itens.get(i).getErros().add("Curso não encontrado com ID: " + alunosDTO.get(i).getCursoId());
+            }
+        }
+        return cursos;
+    }
+    
+    private void persistirValidos(List<AlunoDTO> alunosDTO, List<ItemLoteDTO> itens, Map<Long, Curso> cursos) {
+        LocalDate hoje = LocalDate.now();
+        List<Aluno> bloco = new ArrayList<>(TAMANHO_BLOCO_PERSISTENCIA);
+        List<ItemLoteDTO> itensDoBloco = new ArrayList<>(TAMANHO_BLOCO_PERSISTENCIA);
+        
+        for (int i = 0; i < alunosDTO.size(); i++) {
+            if (!valido(itens.get(i))) {
+                continue;
+            }
+            AlunoDTO alunoDTO = alunosDTO.get(i);
+            Aluno aluno = new Aluno();
+            aluno.setNome(alunoDTO.getNome());
+            aluno.setMatricula(alunoDTO.getMatricula());
+            aluno.setEmail(alunoDTO.getEmail());
+            aluno.setCurso(cursos.get(alunoDTO.getCursoId()));
+            aluno.setSemestre(alunoDTO.getSemestre());
+            aluno.setMediaGeral(alunoDTO.getMediaGeral() != null ? alunoDTO.getMediaGeral() : 0.0);
+            aluno.setDataMatricula(hoje);
+            bloco.add(aluno);
+            itensDoBloco.add(itens.get(i));
+            
+            if (bloco.size() == TAMANHO_BLOCO_PERSISTENCIA) {
+                gravarBloco(bloco, itensDoBloco);
+            }
+        }
+        if (!bloco.isEmpty()) {
+            gravarBloco(bloco, itensDoBloco);
+        }
+    }
+    
+    private void gravarBloco(List<Aluno> bloco, List<ItemLoteDTO> itensDoBloco) {
+        List<Aluno> salvos = alunoRepository.saveAll(bloco);
+        // Envia o batch de INSERTs e libera as entidades para o heap não crescer com o lote
+        entityManager.flush();
+        entityManager.clear();
+        
+        for (int i = 0; i < salvos.size(); i++) {
+            ItemLoteDTO item = itensDoBloco.get(i);
+            item.setCriado(true);
+            item.setAluno(AlunoService.converterParaResponseDTO(salvos.get(i)));
+            eventPublisher.publishEvent(AlunoAlteradoEvent.criado(item.getAluno()));
+        }
+        bloco.clear();
+        itensDoBloco.clear();
+    }
+    
+    private boolean valido(ItemLoteDTO item) {
+        return item.getErros().isEmpty();
+    }
+}
@@ -1,45 +1,79 @@
 package br.com.gestao.alunos.service;
 
+import br.com.gestao.alunos.condicional.RecursoVersionado;
+import br.com.gestao.alunos.condicional.VersaoRecurso;
 import br.com.gestao.alunos.dto.AlunoDTO;
 import br.com.gestao.alunos.dto.AlunoResponseDTO;
+import br.com.gestao.alunos.dto.FiltroAlunoDTO;
+import br.com.gestao.alunos.dto.OrdenacaoAluno;
+import br.com.gestao.alunos.dto.PaginaDTO;
+import br.com.gestao.alunos.event.AlunoAlteradoEvent;
 import br.com.gestao.alunos.exception.BusinessException;
+import br.com.gestao.alunos.exception.ConflictException;
+import br.com.gestao.alunos.exception.PreconditionFailedException;
 import br.com.gestao.alunos.exception.ResourceNotFoundException;
 import br.com.gestao.alunos.model.Aluno;
 import br.com.gestao.alunos.model.Curso;
 import br.com.gestao.alunos.repository.AlunoRepository;
-import br.com.gestao.alunos.repository.CursoRepository;
+import br.com.gestao.alunos.unicidade.ChavesAlunos;
+import br.com.gestao.alunos.unicidade.EstatisticasFiltroBloom;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
 @Service
 public class AlunoService {
     
     private final AlunoRepository alunoRepository;
-    private final CursoRepository cursoRepository;
+    private final CursoService cursoService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ChavesAlunos chavesAlunos;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
     
     @Autowired
-    public AlunoService(AlunoRepository alunoRepository, CursoRepository cursoRepository) {
+    public AlunoService(AlunoRepository alunoRepository, CursoService cursoService,
+                        ApplicationEventPublisher eventPublisher, ChavesAlunos chavesAlunos,
+                        ObjectMapper objectMapper, Validator validator) {
         this.alunoRepository = alunoRepository;
-        this.cursoRepository = cursoRepository;
+        this.cursoService = cursoService;
+        this.eventPublisher = eventPublisher;
+        this.chavesAlunos = chavesAlunos;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
     }
     
     @Transactional
     public AlunoResponseDTO criarAluno(AlunoDTO alunoDTO) {
-        if (alunoRepository.existsByMatricula(alunoDTO.getMatricula())) {
-            throw new BusinessException("Já existe um aluno com a matrícula: " + alunoDTO.getMatricula());
+        // Chaves novas costumam ser descartadas pelo filtro sem consulta; a unique constraint é a garantia final
+        if (chavesAlunos.matriculaExiste(alunoDTO.getMatricula(), alunoRepository::existsByMatricula)) {
+            throw new ConflictException("Já existe um aluno com a matrícula: " + alunoDTO.getMatricula());
         }
         
-        if (alunoRepository.existsByEmail(alunoDTO.getEmail())) {
-            throw new BusinessException("Já existe um aluno com o email: " + alunoDTO.getEmail());
+        if (chavesAlunos.emailExiste(alunoDTO.getEmail(), alunoRepository::existsByEmail)) {
+            throw new ConflictException("Já existe um aluno com o email: " + alunoDTO.getEmail());
         }
         
-        Curso curso = cursoRepository.findById(alunoDTO.getCursoId())
-                .orElseThrow(() -> new ResourceNotFoundException("Curso não encontrado com ID: " + alunoDTO.getCursoId()));
+        Curso curso = cursoService.buscarEntidadePorId(alunoDTO.getCursoId());
         
         Aluno aluno = new Aluno();
         aluno.setNome(alunoDTO.getNome());
@@ -51,38 +85,84 @@ public class AlunoService {
         aluno.setDataMatricula(LocalDate.now());
         
         Aluno alunoSalvo = alunoRepository.save(aluno);
-        return converterParaResponseDTO(alunoSalvo);
+        AlunoResponseDTO alunoCriado = converterParaResponseDTO(alunoSalvo);
+        eventPublisher.publishEvent(AlunoAlteradoEvent.criado(alunoCriado));
+        return alunoCriado;
     }
     
-    public List<AlunoResponseDTO> listarTodosAlunos() {
-        return alunoRepository.findAll().stream()
-                .map(this::converterParaResponseDTO)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public PaginaDTO<AlunoResponseDTO> listarAlunos(String cursor, Integer limite) {
+        long ultimoId = CursorPaginacao.decodificar(cursor);
+        int tamanho = CursorPaginacao.normalizarLimite(limite);
+        
+        // Busca um registro a mais apenas para saber se existe próxima página
+        List<AlunoResponseDTO> alunos = alunoRepository.findResumosAposId(ultimoId, PageRequest.of(0, tamanho + 1));
+        return montarPagina(alunos, tamanho, ultimo -> CursorPaginacao.codificar(ultimo.getId()));
     }
     
+    /**
+     * Listagem para GETs condicionais: lê primeiro só a versão da página e, quando {@code naoModificado} a aceita
+     * (o cliente já tem essa versão), retorna vazio sem buscar os alunos.
+     */
+    @Transactional(readOnly = true)
+    public Optional<PaginaDTO<AlunoResponseDTO>> listarAlunos(String cursor, Integer limite,
+                                                              Predicate<VersaoRecurso> naoModificado) {
+        long ultimoId = CursorPaginacao.decodificar(cursor);
+        int tamanho = CursorPaginacao.normalizarLimite(limite);
+        
+        VersaoRecurso versao = VersaoRecurso.daPagina(
+                alunoRepository.findVersoesAposId(ultimoId, PageRequest.of(0, tamanho + 1)));
+        if (naoModificado.test(versao)) {
+            return Optional.empty();
+        }
+        return Optional.of(listarAlunos(cursor, limite));
+    }
+    
+    @Transactional(readOnly = true)
     public AlunoResponseDTO buscarAlunoPorId(Long id) {
-        Aluno aluno = alunoRepository.findById(id)
+        return alunoRepository.findResumoById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Aluno não encontrado com ID: " + id));
+    }
+    
+    /** Como {@link #listarAlunos(String, Integer, Predicate)}, para um aluno: a versão vem pela chave primária. */
+    @Transactional(readOnly = true)
+    public Optional<AlunoResponseDTO> buscarAlunoPorId(Long id, Predicate<VersaoRecurso> naoModificado) {
+        VersaoRecurso versao = alunoRepository.findVersaoById(id)
+                .map(VersaoRecurso::doAluno)
                 .orElseThrow(() -> new ResourceNotFoundException("Aluno não encontrado com ID: " + id));
-        return converterParaResponseDTO(aluno);
+        if (naoModificado.test(versao)) {
+            return Optional.empty();
+        }
+        return Optional.of(buscarAlunoPorId(id));
     }
     
     @Transactional
     public AlunoResponseDTO atualizarAluno(Long id, AlunoDTO alunoDTO) {
-        Aluno aluno = alunoRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Aluno não encontrado com ID: " + id));
+        return atualizarAluno(id, alunoDTO, versao -> true).getConteudo();
+    }
+    
+    /**
+     * Atualização condicional: {@code versaoAceita} recebe a versão atual do aluno (comparada com If-Match) e,
+     * se a recusar, nada é alterado. A leitura não trava a linha; o UPDATE leva a versão lida no WHERE e não
+     * altera nada se outra requisição gravou o aluno depois dela, o que chega ao cliente como 412.
+     */
+    @Transactional
+    public RecursoVersionado<AlunoResponseDTO> atualizarAluno(Long id, AlunoDTO alunoDTO,
+                                                              Predicate<VersaoRecurso> versaoAceita) {
+        Aluno aluno = buscarParaAlterar(id, versaoAceita);
         
         if (alunoRepository.existsByMatricula(alunoDTO.getMatricula()) && 
             !aluno.getMatricula().equals(alunoDTO.getMatricula())) {
-            throw new BusinessException("Já existe um aluno com a matrícula: " + alunoDTO.getMatricula());
+            throw new ConflictException("Já existe um aluno com a matrícula: " + alunoDTO.getMatricula());
         }
         
         if (alunoRepository.existsByEmail(alunoDTO.getEmail()) && 
             !aluno.getEmail().equals(alunoDTO.getEmail())) {
-            throw new BusinessException("Já existe um aluno com o email: " + alunoDTO.getEmail());
+            throw new ConflictException("Já existe um aluno com o email: " + alunoDTO.getEmail());
         }
         
-        Curso curso = cursoRepository.findById(alunoDTO.getCursoId())
-                .orElseThrow(() -> new ResourceNotFoundException("Curso não encontrado com ID: " + alunoDTO.getCursoId()));
+        Curso curso = cursoService.buscarEntidadePorId(alunoDTO.getCursoId());
+        AlunoResponseDTO anterior = converterParaResponseDTO(aluno);
         
         aluno.setNome(alunoDTO.getNome());
         aluno.setMatricula(alunoDTO.getMatricula());
@@ -92,36 +172,179 @@ public class AlunoService {
         aluno.setMediaGeral(alunoDTO.getMediaGeral() != null ? alunoDTO.getMediaGeral() : aluno.getMediaGeral());
         
         Aluno alunoAtualizado = alunoRepository.save(aluno);
-        return converterParaResponseDTO(alunoAtualizado);
+        // UPDATE ... WHERE id = ? AND versao = ? já aqui: um conflito não publica o evento e a nova versão vai na resposta
+        alunoRepository.flush();
+        AlunoResponseDTO atual = converterParaResponseDTO(alunoAtualizado);
+        eventPublisher.publishEvent(AlunoAlteradoEvent.atualizado(anterior, atual));
+        return new RecursoVersionado<>(atual, VersaoRecurso.doAluno(alunoAtualizado));
     }
     
+    /**
+     * Atualização parcial no formato JSON Merge Patch (RFC 7386): só os campos presentes no patch mudam e um campo
+     * com {@code null} é removido, o que só a média admite. Unicidade e curso são verificados apenas para os campos
+     * que de fato mudaram e o UPDATE grava só as colunas alteradas ({@code @DynamicUpdate}), então lançar a média
+     * de um aluno custa a leitura pela chave primária e um UPDATE. Um patch que não altera nada não grava nem
+     * publica evento. If-Match e conflitos de versão seguem {@link #atualizarAluno(Long, AlunoDTO, Predicate)}.
+     */
     @Transactional
-    public void deletarAluno(Long id) {
-        if (!alunoRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Aluno não encontrado com ID: " + id);
+    public RecursoVersionado<AlunoResponseDTO> atualizarAlunoParcialmente(Long id, JsonNode patch,
+                                                                          Predicate<VersaoRecurso> versaoAceita) {
+        if (patch == null || !patch.isObject()) {
+            throw new BusinessException("O patch deve ser um objeto JSON com os campos a alterar");
+        }
+        // O id do corpo seria ignorado em silêncio: só é aceito repetindo o do caminho, como no GET
+        JsonNode idNoPatch = patch.get("id");
+        if (idNoPatch != null && !(idNoPatch.canConvertToExactIntegral() && idNoPatch.asLong() == id)) {
+            throw new BusinessException("O id do aluno não pode ser alterado: o patch informa " + idNoPatch +
+                    " para o aluno " + id);
+        }
+        Aluno aluno = buscarParaAlterar(id, versaoAceita);
+        
+        AlunoDTO alterado = aplicarPatch(converterParaDTO(aluno), patch);
+        Set<ConstraintViolation<AlunoDTO>> violacoes = validator.validate(alterado);
+        if (!violacoes.isEmpty()) {
+            throw new ConstraintViolationException(violacoes);
+        }
+        
+        if (!aluno.getMatricula().equals(alterado.getMatricula())
+                && chavesAlunos.matriculaExiste(alterado.getMatricula(), alunoRepository::existsByMatricula)) {
+            throw new ConflictException("Já existe um aluno com a matrícula: " + alterado.getMatricula());
+        }
+        
+        if (!aluno.getEmail().equals(alterado.getEmail())
+                && chavesAlunos.emailExiste(alterado.getEmail(), alunoRepository::existsByEmail)) {
+            throw new ConflictException("Já existe um aluno com o email: " + alterado.getEmail());
+        }
+        
+        Curso curso = Objects.equals(aluno.getCurso().getId(), alterado.getCursoId())
+                ? aluno.getCurso() : cursoService.buscarEntidadePorId(alterado.getCursoId());
+        AlunoResponseDTO anterior = converterParaResponseDTO(aluno);
+        
+        // Valores iguais aos carregados não sujam a entidade: o dirty checking deixa essas colunas fora do UPDATE
+        aluno.setNome(alterado.getNome());
+        aluno.setMatricula(alterado.getMatricula());
+        aluno.setEmail(alterado.getEmail());
+        aluno.setCurso(curso);
+        aluno.setSemestre(alterado.getSemestre());
+        aluno.setMediaGeral(alterado.getMediaGeral());
+        
+        AlunoResponseDTO atual = converterParaResponseDTO(aluno);
+        if (atual.equals(anterior)) {
+            return new RecursoVersionado<>(anterior, VersaoRecurso.doAluno(aluno));
         }
+        // A entidade já está no contexto de persistência: o flush grava e incrementa a versão antes do evento
+        alunoRepository.flush();
+        eventPublisher.publishEvent(AlunoAlteradoEvent.atualizado(anterior, atual));
+        return new RecursoVersionado<>(atual, VersaoRecurso.doAluno(aluno));
+    }
+    
+    @Transactional
+    public void deletarAluno(Long id) {
+        AlunoResponseDTO anterior = alunoRepository.findResumoById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Aluno não encontrado com ID: " + id));
         alunoRepository.deleteById(id);
+        eventPublisher.publishEvent(AlunoAlteradoEvent.removido(anterior));
+    }
+    
+    @Transactional(readOnly = true)
+    public PaginaDTO<AlunoResponseDTO> buscarAlunosComFiltro(FiltroAlunoDTO filtro, String cursor, Integer limite) {
+        return new ConsultaFiltro(filtro, cursor, limite).buscar();
+    }
+    
+    /** Como {@link #listarAlunos(String, Integer, Predicate)}, com a mesma consulta do filtro lendo só as versões. */
+    @Transactional(readOnly = true)
+    public Optional<PaginaDTO<AlunoResponseDTO>> buscarAlunosComFiltro(FiltroAlunoDTO filtro, String cursor, Integer limite,
+                                                                       Predicate<VersaoRecurso> naoModificado) {
+        ConsultaFiltro consulta = new ConsultaFiltro(filtro, cursor, limite);
+        if (naoModificado.test(consulta.versao())) {
+            return Optional.empty();
+        }
+        return Optional.of(consulta.buscar());
+    }
+    
+    public Map<String, EstatisticasFiltroBloom> estatisticasUnicidade() {
+        return chavesAlunos.estatisticas();
+    }
+    
+    private Aluno buscarParaAlterar(Long id, Predicate<VersaoRecurso> versaoAceita) {
+        Aluno aluno = alunoRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Aluno não encontrado com ID: " + id));
+        if (!versaoAceita.test(VersaoRecurso.doAluno(aluno))) {
+            throw new PreconditionFailedException("O aluno " + id + " foi alterado depois da versão informada em If-Match");
+        }
+        return aluno;
     }
     
-    public List<AlunoResponseDTO> buscarAlunosPorCurso(Long cursoId) {
-        return alunoRepository.findByCursoId(cursoId).stream()
-                .map(this::converterParaResponseDTO)
-                .collect(Collectors.toList());
+    // Campos fora do AlunoDTO são recusados: ignorá-los, como no PUT, faria um erro de digitação virar um 200 sem efeito
+    private AlunoDTO aplicarPatch(AlunoDTO atual, JsonNode patch) {
+        try {
+            return objectMapper.readerForUpdating(atual)
+                    .with(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                    .readValue(patch);
+        } catch (JsonMappingException e) {
+            String campo = e.getPath().isEmpty() ? null : e.getPath().get(0).getFieldName();
+            throw new BusinessException(campo != null
+                    ? "Campo desconhecido ou com valor inválido no patch: " + campo
+                    : "Patch inválido para um aluno");
+        } catch (IOException e) {
+            throw new BusinessException("Patch inválido para um aluno");
+        }
+    }
+    
+    private PaginaDTO<AlunoResponseDTO> montarPagina(List<AlunoResponseDTO> alunos, int tamanho,
+                                                     Function<AlunoResponseDTO, String> cursorDe) {
+        if (alunos.size() <= tamanho) {
+            return new PaginaDTO<>(alunos, null, tamanho);
+        }
+        List<AlunoResponseDTO> conteudo = alunos.subList(0, tamanho);
+        return new PaginaDTO<>(conteudo, cursorDe.apply(conteudo.get(tamanho - 1)), tamanho);
     }
     
-    public List<AlunoResponseDTO> buscarAlunosPorSemestre(Integer semestre) {
-        return alunoRepository.findBySemestre(semestre).stream()
-                .map(this::converterParaResponseDTO)
-                .collect(Collectors.toList());
+    /** Filtro, ordenação e posição do cursor já validados, usados pela busca dos alunos e pela da versão. */
+    private final class ConsultaFiltro {
+    
+        private final FiltroAlunoDTO filtro;
+        private final OrdenacaoAluno ordenacao;
+        private final boolean decrescente;
+        private final String chaveOrdenacao;
+        private final Long ultimoId;
+        private final Comparable<?> ultimoValor;
+        private final int tamanho;
+        
+        ConsultaFiltro(FiltroAlunoDTO filtro, String cursor, Integer limite) {
+            ValidacaoFiltroAluno.validar(filtro);
+            this.filtro = filtro;
+            this.ordenacao = OrdenacaoAluno.de(filtro.getOrdenacao());
+            this.decrescente = ValidacaoFiltroAluno.isDecrescente(filtro.getDirecao());
+            this.chaveOrdenacao = ordenacao.getAtributo() + (decrescente ? ".desc" : ".asc");
+            
+            CursorPaginacao.Posicao posicao = CursorPaginacao.decodificar(cursor, chaveOrdenacao);
+            this.ultimoId = posicao != null ? posicao.getUltimoId() : null;
+            this.ultimoValor = posicao != null
+                    ? ValidacaoFiltroAluno.converterValorDoCursor(ordenacao, posicao.getUltimoValor()) : null;
+            this.tamanho = CursorPaginacao.normalizarLimite(limite);
+        }
+        
+        PaginaDTO<AlunoResponseDTO> buscar() {
+            List<AlunoResponseDTO> alunos = alunoRepository.buscarPorFiltro(filtro, ordenacao, decrescente, ultimoId, ultimoValor, tamanho + 1);
+            return montarPagina(alunos, tamanho, ultimo -> {
+                Comparable<?> valor = ordenacao.valorDe(ultimo);
+                return CursorPaginacao.codificar(chaveOrdenacao, ultimo.getId(), valor != null ? valor.toString() : null);
+            });
+        }
+        
+        VersaoRecurso versao() {
+            return VersaoRecurso.daPagina(alunoRepository.buscarVersoesPorFiltro(
+                    filtro, ordenacao, decrescente, ultimoId, ultimoValor, tamanho + 1));
+        }
     }
     
-    public List<AlunoResponseDTO> buscarAlunosPorMediaMinima(Double mediaMinima) {
-        return alunoRepository.findByMediaGeralGreaterThanEqual(mediaMinima).stream()
-                .map(this::converterParaResponseDTO)
-                .collect(Collectors.toList());
+    private static AlunoDTO converterParaDTO(Aluno aluno) {
+        return new AlunoDTO(aluno.getId(), aluno.getNome(), aluno.getMatricula(), aluno.getEmail(),
+                aluno.getCurso().getId(), aluno.getSemestre(), aluno.getMediaGeral());
     }
     
-    private AlunoResponseDTO converterParaResponseDTO(Aluno aluno) {
+    static AlunoResponseDTO converterParaResponseDTO(Aluno aluno) {
         AlunoResponseDTO dto = new AlunoResponseDTO();
         dto.setId(aluno.getId());
         dto.setNome(aluno.getNome());
@@ -131,6 +354,7 @@ public class AlunoService {
         dto.setCursoNome(aluno.getCurso().getNome());
         dto.setSemestre(aluno.getSemestre());
         dto.setMediaGeral(aluno.getMediaGeral());
+        dto.setDataMatricula(aluno.getDataMatricula());
         return dto;
     }
 }
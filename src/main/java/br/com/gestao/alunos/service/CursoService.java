@@ -1,31 +1,63 @@
 package br.com.gestao.alunos.service;
 
+import br.com.gestao.alunos.cache.CacheLocal;
+import br.com.gestao.alunos.cache.EstatisticasCache;
+import br.com.gestao.alunos.condicional.RecursoVersionado;
+import br.com.gestao.alunos.condicional.VersaoRecurso;
+import br.com.gestao.alunos.dto.CursoComTotaisDTO;
 import br.com.gestao.alunos.dto.CursoDTO;
-import br.com.gestao.alunos.exception.BusinessException;
+import br.com.gestao.alunos.dto.ResultadoRemocaoDTO;
+import br.com.gestao.alunos.event.CursoAlteradoEvent;
+import br.com.gestao.alunos.exception.ConflictException;
+import br.com.gestao.alunos.exception.PreconditionFailedException;
 import br.com.gestao.alunos.exception.ResourceNotFoundException;
 import br.com.gestao.alunos.model.Curso;
+import br.com.gestao.alunos.repository.AlunoRepository;
 import br.com.gestao.alunos.repository.CursoRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 @Service
 public class CursoService {
     
+    private static final String CHAVE_LISTA = "todos";
+    
     private final CursoRepository cursoRepository;
+    private final AlunoRepository alunoRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    // Cursos quase nunca mudam: ficam em cache (cópias desanexadas) até o TTL ou a próxima escrita
+    private final CacheLocal<Long, Curso> cursosPorId;
+    private final CacheLocal<String, List<Curso>> listaCursos;
     
     @Autowired
-    public CursoService(CursoRepository cursoRepository) {
+    public CursoService(CursoRepository cursoRepository, AlunoRepository alunoRepository,
+                        ApplicationEventPublisher eventPublisher,
+                        @Value("${cursos.cache.tamanho-maximo:1000}") int tamanhoMaximoCache,
+                        @Value("${cursos.cache.ttl-segundos:300}") long ttlSegundosCache) {
         this.cursoRepository = cursoRepository;
+        this.alunoRepository = alunoRepository;
+        this.eventPublisher = eventPublisher;
+        this.cursosPorId = new CacheLocal<>(tamanhoMaximoCache, ttlSegundosCache);
+        this.listaCursos = new CacheLocal<>(1, ttlSegundosCache);
     }
     
     @Transactional
     public CursoDTO criarCurso(CursoDTO cursoDTO) {
         if (cursoRepository.existsByNome(cursoDTO.getNome())) {
-            throw new BusinessException("Já existe um curso com o nome: " + cursoDTO.getNome());
+            throw new ConflictException("Já existe um curso com o nome: " + cursoDTO.getNome());
         }
         
         Curso curso = new Curso();
@@ -33,44 +65,133 @@ public class CursoService {
         curso.setDescricao(cursoDTO.getDescricao());
         
         Curso cursoSalvo = cursoRepository.save(curso);
+        invalidarCache(null);
+        eventPublisher.publishEvent(CursoAlteradoEvent.criado(cursoSalvo.getId(), cursoSalvo.getNome()));
         return converterParaDTO(cursoSalvo);
     }
     
+    @Transactional(readOnly = true)
     public List<CursoDTO> listarTodosCursos() {
-        return cursoRepository.findAll().stream()
-                .map(this::converterParaDTO)
-                .collect(Collectors.toList());
+        return converterParaDTOs(cursosEmCache());
+    }
+    
+    /**
+     * Listagem para GETs condicionais: a versão é calculada da mesma lista em cache que seria enviada, então a
+     * verificação não vai ao banco e nunca descreve uma lista diferente da cacheada. Retorna vazio, sem montar
+     * os DTOs, quando {@code naoModificado} aceita a versão.
+     */
+    @Transactional(readOnly = true)
+    public Optional<List<CursoDTO>> listarTodosCursos(Predicate<VersaoRecurso> naoModificado) {
+        List<Curso> cursos = cursosEmCache();
+        if (naoModificado.test(VersaoRecurso.daLista(cursos))) {
+            return Optional.empty();
+        }
+        return Optional.of(converterParaDTOs(cursos));
+    }
+    
+    /**
+     * Lista os cursos com a quantidade de alunos e a média geral de cada um, calculadas no banco.
+     * Não usa cache: os totais mudam a cada escrita de aluno.
+     */
+    @Transactional(readOnly = true)
+    public List<CursoComTotaisDTO> listarCursosComTotais() {
+        List<CursoComTotaisDTO> cursos = cursoRepository.listarComTotais();
+        cursos.forEach(curso -> {
+            if (curso.getMediaGeral() != null) {
+                curso.setMediaGeral(Math.round(curso.getMediaGeral() * 100) / 100.0);
+            }
+        });
+        return cursos;
     }
     
+    @Transactional(readOnly = true)
     public CursoDTO buscarCursoPorId(Long id) {
-        Curso curso = cursoRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Curso não encontrado com ID: " + id));
-        return converterParaDTO(curso);
+        return converterParaDTO(buscarEntidadePorId(id));
+    }
+    
+    /** Como {@link #listarTodosCursos(Predicate)}, para um curso lido pelo cache de cursos por ID. */
+    @Transactional(readOnly = true)
+    public Optional<CursoDTO> buscarCursoPorId(Long id, Predicate<VersaoRecurso> naoModificado) {
+        Curso curso = buscarEntidadePorId(id);
+        if (naoModificado.test(VersaoRecurso.doCurso(curso))) {
+            return Optional.empty();
+        }
+        return Optional.of(converterParaDTO(curso));
+    }
+    
+    /**
+     * Resolve o curso pelo ID usando o cache, sem ida ao banco quando o curso já foi lido recentemente.
+     * Retorna uma cópia desanexada do contexto de persistência, própria para ser associada a um aluno.
+     */
+    @Transactional(readOnly = true)
+    public Curso buscarEntidadePorId(Long id) {
+        Curso curso = cursosPorId.obter(id, chave -> cursoRepository.findById(chave)
+                .map(this::copiar)
+                .orElse(null));
+        if (curso == null) {
+            throw new ResourceNotFoundException("Curso não encontrado com ID: " + id);
+        }
+        return copiar(curso);
     }
     
     @Transactional
     public CursoDTO atualizarCurso(Long id, CursoDTO cursoDTO) {
+        return atualizarCurso(id, cursoDTO, versao -> true).getConteudo();
+    }
+    
+    /**
+     * Atualização condicional, como a de alunos: lê o curso sem lock, recusa a alteração se a versão não for a de
+     * If-Match e deixa o WHERE do UPDATE pegar as gravações concorrentes. O curso vem do banco, não do cache,
+     * para comparar com a versão gravada.
+     */
+    @Transactional
+    public RecursoVersionado<CursoDTO> atualizarCurso(Long id, CursoDTO cursoDTO, Predicate<VersaoRecurso> versaoAceita) {
         Curso curso = cursoRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Curso não encontrado com ID: " + id));
+        if (!versaoAceita.test(VersaoRecurso.doCurso(curso))) {
+            throw new PreconditionFailedException("O curso " + id + " foi alterado depois da versão informada em If-Match");
+        }
         
-        if (cursoRepository.existsByNome(cursoDTO.getNome()) && 
+        if (cursoRepository.existsByNome(cursoDTO.getNome()) &&
             !curso.getNome().equals(cursoDTO.getNome())) {
-            throw new BusinessException("Já existe um curso com o nome: " + cursoDTO.getNome());
+            throw new ConflictException("Já existe um curso com o nome: " + cursoDTO.getNome());
         }
         
         curso.setNome(cursoDTO.getNome());
         curso.setDescricao(cursoDTO.getDescricao());
         
         Curso cursoAtualizado = cursoRepository.save(curso);
-        return converterParaDTO(cursoAtualizado);
+        cursoRepository.flush();
+        invalidarCache(id);
+        eventPublisher.publishEvent(CursoAlteradoEvent.atualizado(id, cursoAtualizado.getNome()));
+        return new RecursoVersionado<>(converterParaDTO(cursoAtualizado), VersaoRecurso.doCurso(cursoAtualizado));
+    }
+    
+    /**
+     * Remove o curso e seus alunos com dois DELETEs em lote, sem carregar as entidades:
+     * o custo é o do trabalho nos índices, não o de materializar cada aluno.
+     */
+    @Transactional
+    public ResultadoRemocaoDTO deletarCurso(Long id) {
+        if (!cursoRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Curso não encontrado com ID: " + id);
+        }
+        int alunosRemovidos = alunoRepository.deletarPorCursoId(id);
+        cursoRepository.deletarPorId(id);
+        invalidarCache(id);
+        eventPublisher.publishEvent(CursoAlteradoEvent.removido(id));
+        return new ResultadoRemocaoDTO(id, true, alunosRemovidos);
     }
     
+    /** Remove todos os alunos do curso com um único DELETE em lote, mantendo o curso. */
     @Transactional
-    public void deletarCurso(Long id) {
+    public ResultadoRemocaoDTO deletarAlunosDoCurso(Long id) {
         if (!cursoRepository.existsById(id)) {
             throw new ResourceNotFoundException("Curso não encontrado com ID: " + id);
         }
-        cursoRepository.deleteById(id);
+        int alunosRemovidos = alunoRepository.deletarPorCursoId(id);
+        eventPublisher.publishEvent(CursoAlteradoEvent.alunosRemovidos(id));
+        return new ResultadoRemocaoDTO(id, false, alunosRemovidos);
     }
     
     public Curso buscarOuCriarCurso(String nomeCurso) {
@@ -78,10 +199,65 @@ public class CursoService {
                 .orElseGet(() -> {
                     Curso novoCurso = new Curso();
                     novoCurso.setNome(nomeCurso);
-                    return cursoRepository.save(novoCurso);
+                    Curso cursoSalvo = cursoRepository.save(novoCurso);
+                    invalidarCache(null);
+                    eventPublisher.publishEvent(CursoAlteradoEvent.criado(cursoSalvo.getId(), cursoSalvo.getNome()));
+                    return cursoSalvo;
                 });
     }
     
+    public Map<String, EstatisticasCache> estatisticasCache() {
+        Map<String, EstatisticasCache> estatisticas = new LinkedHashMap<>();
+        estatisticas.put("cursosPorId", cursosPorId.estatisticas());
+        estatisticas.put("listaCursos", listaCursos.estatisticas());
+        return estatisticas;
+    }
+    
+    /**
+     * Invalida as entradas afetadas na hora e de novo após o commit, para que uma leitura
+     * concorrente feita antes do commit não deixe o valor antigo em cache.
+     */
+    private void invalidarCache(Long id) {
+        Runnable invalidacao = () -> {
+            if (id != null) {
+                cursosPorId.invalidar(id);
+            }
+            listaCursos.invalidarTodos();
+        };
+        invalidacao.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidacao.run();
+                }
+            });
+        }
+    }
+    
+    private Curso copiar(Curso curso) {
+        Curso copia = new Curso();
+        copia.setId(curso.getId());
+        copia.setNome(curso.getNome());
+        copia.setDescricao(curso.getDescricao());
+        // Com a versão preenchida o Hibernate trata a cópia como já persistida ao associá-la a um aluno
+        copia.setVersao(curso.getVersao());
+        copia.setAtualizadoEm(curso.getAtualizadoEm());
+        return copia;
+    }
+    
+    private List<Curso> cursosEmCache() {
+        return listaCursos.obter(CHAVE_LISTA, chave -> cursoRepository.findAll().stream()
+                .map(this::copiar)
+                .collect(Collectors.toUnmodifiableList()));
+    }
+    
+    private List<CursoDTO> converterParaDTOs(List<Curso> cursos) {
+        return cursos.stream()
+                .map(this::converterParaDTO)
+                .collect(Collectors.toUnmodifiableList());
+    }
+    
     private CursoDTO converterParaDTO(Curso curso) {
         CursoDTO dto = new CursoDTO();
         dto.setId(curso.getId());
@@ -90,4 +266,3 @@ public class CursoService {
         return dto;
     }
 }
-
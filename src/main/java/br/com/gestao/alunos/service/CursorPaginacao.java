@@ -0,0 +1,108 @@
+package br.com.gestao.alunos.service;
+
+import br.com.gestao.alunos.exception.BusinessException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Codifica e decodifica os cursores opacos usados na paginação por keyset.
+ * O cursor carrega o último ID entregue; a próxima página busca apenas IDs maiores,
+ * o que mantém cada consulta como uma varredura limitada do índice, sem OFFSET.
+ * Quando a ordenação não é por ID, o cursor também carrega a ordenação e o último valor do campo ordenado.
+ */
+public final class CursorPaginacao {
+    
+    public static final int LIMITE_PADRAO = 50;
+    public static final int LIMITE_MAXIMO = 500;
+    
+    private static final String PREFIXO = "id:";
+    private static final String PREFIXO_ORDENADO = "ord:";
+    private static final String ORDENACAO_POR_ID = "id.asc";
+    
+    private CursorPaginacao() {
+    }
+    
+    public static String codificar(Long ultimoId) {
+        String conteudo = PREFIXO + ultimoId;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    public static long decodificar(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String conteudo = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!conteudo.startsWith(PREFIXO)) {
+                throw new BusinessException("Cursor de paginação inválido");
+            }
+            return Long.parseLong(conteudo.substring(PREFIXO.length()));
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Cursor de paginação inválido");
+        }
+    }
+    
+    public static String codificar(String chaveOrdenacao, Long ultimoId, String ultimoValor) {
+        String conteudo = PREFIXO_ORDENADO + chaveOrdenacao + ":" + ultimoId
+                + (ultimoValor == null ? "" : ":" + ultimoValor);
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Decodifica um cursor gerado para a ordenação {@code chaveOrdenacao} (ex.: "mediaGeral.desc").
+     * Retorna null na primeira página. Cursores simples de ID continuam aceitos para a ordenação padrão.
+     */
+    public static Posicao decodificar(String cursor, String chaveOrdenacao) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        String conteudo;
+        try {
+            conteudo = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Cursor de paginação inválido");
+        }
+        if (conteudo.startsWith(PREFIXO) && ORDENACAO_POR_ID.equals(chaveOrdenacao)) {
+            return new Posicao(decodificar(cursor), null);
+        }
+        if (!conteudo.startsWith(PREFIXO_ORDENADO)) {
+            throw new BusinessException("Cursor de paginação inválido");
+        }
+        
+        // Formato: ord:<campo.direcao>:<ultimoId>[:<ultimoValor>]; o valor pode conter ':'
+        String[] partes = conteudo.substring(PREFIXO_ORDENADO.length()).split(":", 3);
+        if (partes.length < 2) {
+            throw new BusinessException("Cursor de paginação inválido");
+        }
+        if (!partes[0].equals(chaveOrdenacao)) {
+            throw new BusinessException("O cursor foi gerado para outra ordenação");
+        }
+        try {
+            return new Posicao(Long.parseLong(partes[1]), partes.length == 3 ? partes[2] : null);
+        } catch (NumberFormatException e) {
+            throw new BusinessException("Cursor de paginação inválido");
+        }
+    }
+    
+    public static int normalizarLimite(Integer limite) {
+        if (limite == null) {
+            return LIMITE_PADRAO;
+        }
+        if (limite < 1) {
+            throw new BusinessException("O limite da página deve ser no mínimo 1");
+        }
+        return Math.min(limite, LIMITE_MAXIMO);
+    }
+    
+    @Getter
+    @AllArgsConstructor
+    public static final class Posicao {
+        private final long ultimoId;
+        private final String ultimoValor;
+    }
+}
@@ -0,0 +1,68 @@
+package br.com.gestao.alunos.service;
+
+import br.com.gestao.alunos.dto.CursoDTO;
+import br.com.gestao.alunos.dto.EstatisticasCursoDTO;
+import br.com.gestao.alunos.estatisticas.EstatisticasCursos;
+import br.com.gestao.alunos.repository.AlunoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Estatísticas de alunos por curso. Usa os agregados em memória quando estão carregados;
+ * caso contrário, agrega no banco com GROUP BY, sem trazer os alunos para a aplicação.
+ */
+@Service
+public class EstatisticasCursoService {
+    
+    private final AlunoRepository alunoRepository;
+    private final CursoService cursoService;
+    private final EstatisticasCursos estatisticasCursos;
+    
+    @Autowired
+    public EstatisticasCursoService(AlunoRepository alunoRepository, CursoService cursoService,
+                                    EstatisticasCursos estatisticasCursos) {
+        this.alunoRepository = alunoRepository;
+        this.cursoService = cursoService;
+        this.estatisticasCursos = estatisticasCursos;
+    }
+    
+    @Transactional(readOnly = true)
+    public EstatisticasCursoDTO buscarEstatisticas(Long cursoId) {
+        CursoDTO curso = cursoService.buscarCursoPorId(cursoId);
+        
+        EstatisticasCursoDTO estatisticas = estatisticasCursos.resumir(cursoId);
+        if (estatisticas == null) {
+            estatisticas = doCurso(EstatisticasCursos.resumir(alunoRepository.contarAlunosAgrupadosDoCurso(cursoId)), cursoId);
+        }
+        estatisticas.setCursoNome(curso.getNome());
+        return estatisticas;
+    }
+    
+    @Transactional(readOnly = true)
+    public List<EstatisticasCursoDTO> listarEstatisticas() {
+        Map<Long, EstatisticasCursoDTO> porCurso = estatisticasCursos.resumirTodos();
+        if (porCurso == null) {
+            porCurso = EstatisticasCursos.resumir(alunoRepository.contarAlunosAgrupados());
+        }
+        
+        List<CursoDTO> cursos = cursoService.listarTodosCursos();
+        List<EstatisticasCursoDTO> estatisticas = new ArrayList<>(cursos.size());
+        for (CursoDTO curso : cursos) {
+            EstatisticasCursoDTO doCurso = doCurso(porCurso, curso.getId());
+            doCurso.setCursoNome(curso.getNome());
+            estatisticas.add(doCurso);
+        }
+        return estatisticas;
+    }
+    
+    // Cursos sem alunos não aparecem nas contagens; recebem estatísticas zeradas
+    private EstatisticasCursoDTO doCurso(Map<Long, EstatisticasCursoDTO> porCurso, Long cursoId) {
+        EstatisticasCursoDTO estatisticas = porCurso.get(cursoId);
+        return estatisticas != null ? estatisticas : EstatisticasCursos.vazias(cursoId);
+    }
+}
@@ -0,0 +1,333 @@
+package br.com.gestao.alunos.service;
+
+import br.com.gestao.alunos.dto.ErroImportacaoDTO;
+import br.com.gestao.alunos.dto.ImportacaoDTO;
+import br.com.gestao.alunos.dto.ResultadoImportacaoDTO;
+import br.com.gestao.alunos.event.AlunosImportadosEvent;
+import br.com.gestao.alunos.exception.ResourceNotFoundException;
+import br.com.gestao.alunos.exception.ServiceUnavailableException;
+import br.com.gestao.alunos.importacao.ArquivoCsvAlunos;
+import br.com.gestao.alunos.model.ErroImportacao;
+import br.com.gestao.alunos.model.Importacao;
+import br.com.gestao.alunos.model.StatusImportacao;
+import br.com.gestao.alunos.repository.ErroImportacaoRepository;
+import br.com.gestao.alunos.repository.ImportacaoRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Importação assíncrona de CSV para arquivos grandes demais para o tempo de uma requisição. O corpo é
+ * gravado em disco e um pool fixo de threads importa o arquivo em blocos, cada um em sua transação junto
+ * com o progresso da importação. Se a aplicação para no meio, a importação é retomada do último bloco
+ * confirmado na próxima subida; por isso o diretório precisa estar em disco persistente e só uma
+ * instância deve receber importações.
+ */
+@Service
+public class ImportacaoService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ImportacaoService.class);
+    
+    private static final List<StatusImportacao> EM_ANDAMENTO = List.of(StatusImportacao.PENDENTE, StatusImportacao.PROCESSANDO);
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+    private static final int TAMANHO_MENSAGEM = 255;
+    private static final int TAMANHO_FALHA = 500;
+    
+    private final ImportacaoRepository importacaoRepository;
+    private final ErroImportacaoRepository erroImportacaoRepository;
+    private final AlunoImportacaoService alunoImportacaoService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executor;
+    private final Path diretorio;
+    private final int maximoEmAndamento;
+    private final int tamanhoBloco;
+    private final int maximoErrosListados;
+    
+    @Autowired
+    public ImportacaoService(ImportacaoRepository importacaoRepository, ErroImportacaoRepository erroImportacaoRepository,
+                             AlunoImportacaoService alunoImportacaoService, ApplicationEventPublisher eventPublisher,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${importacao.tarefas.diretorio:${java.io.tmpdir}/gestao-alunos-importacoes}") String diretorio,
+                             @Value("${importacao.tarefas.threads:2}") int threads,
+                             @Value("${importacao.tarefas.maximo-em-andamento:10}") int maximoEmAndamento,
+                             @Value("${importacao.tarefas.tamanho-bloco:10000}") int tamanhoBloco,
+                             @Value("${importacao.csv.maximo-erros-listados:1000}") int maximoErrosListados,
+                             @Value("${spring.threads.virtual.enabled:false}") boolean threadsVirtuais) {
+        this(importacaoRepository, erroImportacaoRepository, alunoImportacaoService, eventPublisher, transactionManager,
+                criarExecutor(threads, threadsVirtuais), Path.of(diretorio), maximoEmAndamento, tamanhoBloco,
+                maximoErrosListados);
+    }
+    
+    ImportacaoService(ImportacaoRepository importacaoRepository, ErroImportacaoRepository erroImportacaoRepository,
+                      AlunoImportacaoService alunoImportacaoService, ApplicationEventPublisher eventPublisher,
+                      PlatformTransactionManager transactionManager, ExecutorService executor, Path diretorio,
+                      int maximoEmAndamento, int tamanhoBloco, int maximoErrosListados) {
+        this.importacaoRepository = importacaoRepository;
+        this.erroImportacaoRepository = erroImportacaoRepository;
+        this.alunoImportacaoService = alunoImportacaoService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.executor = executor;
+        this.diretorio = diretorio;
+        this.maximoEmAndamento = maximoEmAndamento;
+        this.tamanhoBloco = tamanhoBloco;
+        this.maximoErrosListados = maximoErrosListados;
+    }
+    
+    /**
+     * Grava o CSV e agenda a importação. O cabeçalho é conferido aqui, para que um arquivo sem as colunas
+     * obrigatórias seja recusado na requisição e não como falha da importação.
+     */
+    public ImportacaoDTO criar(InputStream corpo) throws IOException {
+        // As importações pendentes ficam na fila do executor e seus arquivos em disco: ambos limitados aqui
+        if (importacaoRepository.countByStatusIn(EM_ANDAMENTO) >= maximoEmAndamento) {
+            throw new ServiceUnavailableException("Limite de " + maximoEmAndamento +
+                    " importações em andamento atingido; tente novamente mais tarde");
+        }
+        
+        Files.createDirectories(diretorio);
+        Path arquivo = Files.createTempFile(diretorio, "importacao-", ".csv");
+        long linhasEstimadas;
+        try {
+            linhasEstimadas = gravar(corpo, arquivo);
+            try (Reader leitor = abrir(arquivo)) {
+                alunoImportacaoService.abrirArquivo(leitor);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(arquivo);
+            throw e;
+        }
+        
+        Importacao importacao = new Importacao();
+        importacao.setStatus(StatusImportacao.PENDENTE);
+        importacao.setArquivo(arquivo.toString());
+        importacao.setLinhasEstimadas(linhasEstimadas);
+        importacao.setCriadaEm(LocalDateTime.now());
+        Importacao importacaoSalva = importacaoRepository.save(importacao);
+        
+        Long id = importacaoSalva.getId();
+        executor.execute(() -> executar(id));
+        return converterParaDTO(importacaoSalva, List.of());
+    }
+    
+    public ImportacaoDTO buscarPorId(Long id) {
+        Importacao importacao = importacaoRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Importação não encontrada com ID: " + id));
+        return converterParaDTO(importacao, listarErros(id));
+    }
+    
+    /** Reagenda as importações que não terminaram antes da última parada da aplicação. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void retomarPendentes() {
+        for (Importacao importacao : importacaoRepository.findByStatusInOrderByIdAsc(EM_ANDAMENTO)) {
+            logger.info("Retomando a importação {} a partir da linha {}", importacao.getId(),
+                    importacao.getLinhasProcessadas());
+            Long id = importacao.getId();
+            executor.execute(() -> executar(id));
+        }
+    }
+    
+    /** Interrompe as importações entre um bloco e outro; elas continuam PROCESSANDO e são retomadas na subida. */
+    @PreDestroy
+    public void encerrar() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+    
+    void executar(Long id) {
+        Importacao importacao = importacaoRepository.findById(id).orElse(null);
+        if (importacao == null || !EM_ANDAMENTO.contains(importacao.getStatus())) {
+            return;
+        }
+        
+        Path arquivo = Path.of(importacao.getArquivo());
+        long importadosNaExecucao = 0;
+        try (Reader leitor = abrir(arquivo)) {
+            ArquivoCsvAlunos csv = alunoImportacaoService.abrirArquivo(leitor);
+            // Na retomada, as linhas dos blocos já confirmados são puladas sem conversão
+            csv.pular(importacao.getLinhasProcessadas());
+            
+            importacao.setStatus(StatusImportacao.PROCESSANDO);
+            importacao.setIniciadaEm(LocalDateTime.now());
+            importacao.setLinhasNoInicio(importacao.getLinhasProcessadas());
+            importacao = importacaoRepository.save(importacao);
+            
+            while (importacao.getStatus() == StatusImportacao.PROCESSANDO) {
+                if (Thread.currentThread().isInterrupted()) {
+                    logger.info("Importação {} interrompida na linha {}", id, importacao.getLinhasProcessadas());
+                    return;
+                }
+                long importadosAntes = importacao.getImportados();
+                importacao = transactionTemplate.execute(status -> importarBloco(id, csv));
+                importadosNaExecucao += importacao.getImportados() - importadosAntes;
+            }
+        } catch (Exception e) {
+            if (executor.isShutdown()) {
+                logger.info("Importação {} interrompida pelo encerramento da aplicação", id);
+                return;
+            }
+            logger.error("Falha na importação {}", id, e);
+            registrarFalha(id, e);
+        } finally {
+            if (importadosNaExecucao > 0 && !executor.isShutdown()) {
+                eventPublisher.publishEvent(new AlunosImportadosEvent(importadosNaExecucao));
+            }
+        }
+        removerArquivo(arquivo);
+    }
+    
+    // Alunos, erros e progresso do bloco são confirmados juntos: o progresso nunca passa do que foi gravado
+    private Importacao importarBloco(Long id, ArquivoCsvAlunos csv) {
+        Importacao importacao = importacaoRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Importação não encontrada com ID: " + id));
+        int maximoErros = (int) Math.max(0, maximoErrosListados - importacao.getErrosListados());
+        ResultadoImportacaoDTO resultado;
+        try {
+            resultado = alunoImportacaoService.importarBloco(csv, tamanhoBloco, maximoErros);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        
+        List<ErroImportacao> erros = new ArrayList<>();
+        for (ErroImportacaoDTO erro : resultado.getErros()) {
+            for (String mensagem : erro.getErros()) {
+                erros.add(new ErroImportacao(null, id, erro.getLinha(), limitar(mensagem, TAMANHO_MENSAGEM)));
+            }
+        }
+        erroImportacaoRepository.saveAll(erros);
+        
+        importacao.setLinhasProcessadas(importacao.getLinhasProcessadas() + resultado.getLinhas());
+        importacao.setImportados(importacao.getImportados() + resultado.getImportados());
+        importacao.setRejeitados(importacao.getRejeitados() + resultado.getRejeitados());
+        importacao.setErrosListados(importacao.getErrosListados() + resultado.getErros().size());
+        if (resultado.getLinhas() < tamanhoBloco) {
+            importacao.setStatus(StatusImportacao.CONCLUIDA);
+            importacao.setConcluidaEm(LocalDateTime.now());
+        }
+        return importacaoRepository.save(importacao);
+    }
+    
+    private void registrarFalha(Long id, Exception e) {
+        importacaoRepository.findById(id).ifPresent(importacao -> {
+            importacao.setStatus(StatusImportacao.FALHOU);
+            importacao.setFalha(limitar(String.valueOf(e.getMessage()), TAMANHO_FALHA));
+            importacao.setConcluidaEm(LocalDateTime.now());
+            importacaoRepository.save(importacao);
+        });
+    }
+    
+    // Copia o corpo para o arquivo contando as quebras de linha, que estimam o total para a previsão de término
+    private long gravar(InputStream corpo, Path arquivo) throws IOException {
+        long quebras = 0;
+        byte ultimo = '\n';
+        try (OutputStream saida = Files.newOutputStream(arquivo)) {
+            byte[] buffer = new byte[TAMANHO_BUFFER];
+            int lidos;
+            while ((lidos = corpo.read(buffer)) > 0) {
+                for (int i = 0; i < lidos; i++) {
+                    if (buffer[i] == '\n') {
+                        quebras++;
+                    }
+                }
+                ultimo = buffer[lidos - 1];
+                saida.write(buffer, 0, lidos);
+            }
+        }
+        long linhas = ultimo == '\n' ? quebras : quebras + 1;
+        return Math.max(0, linhas - 1);
+    }
+    
+    private Reader abrir(Path arquivo) throws IOException {
+        return new InputStreamReader(Files.newInputStream(arquivo), StandardCharsets.UTF_8);
+    }
+    
+    private void removerArquivo(Path arquivo) {
+        try {
+            Files.deleteIfExists(arquivo);
+        } catch (IOException e) {
+            logger.warn("Não foi possível remover o arquivo {}", arquivo, e);
+        }
+    }
+    
+    private List<ErroImportacaoDTO> listarErros(Long id) {
+        Map<Long, List<String>> mensagensPorLinha = new LinkedHashMap<>();
+        for (ErroImportacao erro : erroImportacaoRepository.findByImportacaoIdOrderByLinhaAscIdAsc(id)) {
+            mensagensPorLinha.computeIfAbsent(erro.getLinha(), linha -> new ArrayList<>()).add(erro.getMensagem());
+        }
+        List<ErroImportacaoDTO> erros = new ArrayList<>();
+        mensagensPorLinha.forEach((linha, mensagens) -> erros.add(new ErroImportacaoDTO(linha, mensagens)));
+        return erros;
+    }
+    
+    private ImportacaoDTO converterParaDTO(Importacao importacao, List<ErroImportacaoDTO> erros) {
+        ImportacaoDTO dto = new ImportacaoDTO();
+        dto.setId(importacao.getId());
+        dto.setStatus(importacao.getStatus());
+        dto.setLinhasEstimadas(importacao.getLinhasEstimadas());
+        dto.setLinhasProcessadas(importacao.getLinhasProcessadas());
+        dto.setImportados(importacao.getImportados());
+        dto.setRejeitados(importacao.getRejeitados());
+        dto.setCriadaEm(importacao.getCriadaEm());
+        dto.setConcluidaEm(importacao.getConcluidaEm());
+        dto.setFalha(importacao.getFalha());
+        dto.setErros(erros);
+        dto.setErrosNaoListados(importacao.getRejeitados() - importacao.getErrosListados());
+        
+        // Velocidade da execução atual, medida só sobre blocos confirmados
+        if (importacao.getIniciadaEm() != null) {
+            LocalDateTime fim = importacao.getConcluidaEm() != null ? importacao.getConcluidaEm() : LocalDateTime.now();
+            double segundos = Duration.between(importacao.getIniciadaEm(), fim).toMillis() / 1000.0;
+            long linhas = importacao.getLinhasProcessadas() - importacao.getLinhasNoInicio();
+            double linhasPorSegundo = segundos > 0 ? linhas / segundos : 0;
+            dto.setLinhasPorSegundo(Math.round(linhasPorSegundo * 10) / 10.0);
+            if (EM_ANDAMENTO.contains(importacao.getStatus()) && linhasPorSegundo > 0) {
+                long restantes = Math.max(0, importacao.getLinhasEstimadas() - importacao.getLinhasProcessadas());
+                dto.setSegundosRestantes((long) Math.ceil(restantes / linhasPorSegundo));
+            }
+        }
+        return dto;
+    }
+    
+    private static String limitar(String texto, int tamanho) {
+        return texto.length() <= tamanho ? texto : texto.substring(0, tamanho);
+    }
+    
+    private static ExecutorService criarExecutor(int threads, boolean virtuais) {
+        // Mesmo com threads virtuais o número de importações simultâneas continua limitado: cada uma ocupa uma
+        // conexão do pool durante o bloco e disputa o banco com as requisições
+        if (virtuais) {
+            return Executors.newFixedThreadPool(threads, Thread.ofVirtual().name("importacao-", 1).factory());
+        }
+        AtomicInteger contador = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, tarefa -> new Thread(tarefa, "importacao-" + contador.incrementAndGet()));
+    }
+}
@@ -0,0 +1,125 @@
+package br.com.gestao.alunos.service;
+
+import br.com.gestao.alunos.dto.AlunoResponseDTO;
+import br.com.gestao.alunos.dto.PosicaoRankingDTO;
+import br.com.gestao.alunos.dto.RankingAlunoDTO;
+import br.com.gestao.alunos.exception.BusinessException;
+import br.com.gestao.alunos.exception.ResourceNotFoundException;
+import br.com.gestao.alunos.ranking.RankingAlunos;
+import br.com.gestao.alunos.repository.AlunoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Ranking de alunos por média geral. Responde pelo ranking em memória quando ele está carregado
+ * e, caso contrário, com consultas LIMIT/COUNT apoiadas nos índices de média.
+ */
+@Service
+public class RankingService {
+    
+    public static final int QUANTIDADE_PADRAO = 10;
+    public static final int QUANTIDADE_MAXIMA = 100;
+    
+    private final AlunoRepository alunoRepository;
+    private final CursoService cursoService;
+    private final RankingAlunos rankingAlunos;
+    
+    @Autowired
+    public RankingService(AlunoRepository alunoRepository, CursoService cursoService, RankingAlunos rankingAlunos) {
+        this.alunoRepository = alunoRepository;
+        this.cursoService = cursoService;
+        this.rankingAlunos = rankingAlunos;
+    }
+    
+    @Transactional(readOnly = true)
+    public List<RankingAlunoDTO> buscarRanking(Long cursoId, Integer k) {
+        int quantidade = normalizarQuantidade(k);
+        if (cursoId != null) {
+            // Valida o curso pelo cache para devolver 404 em vez de um ranking vazio
+            cursoService.buscarEntidadePorId(cursoId);
+        }
+        
+        List<Long> ids = rankingAlunos.primeiros(cursoId, quantidade);
+        if (ids != null) {
+            return numerar(buscarNaOrdem(ids));
+        }
+        PageRequest pagina = PageRequest.of(0, quantidade);
+        return numerar(cursoId == null
+                ? alunoRepository.findMelhoresMedias(pagina)
+                : alunoRepository.findMelhoresMediasDoCurso(cursoId, pagina));
+    }
+    
+    @Transactional(readOnly = true)
+    public PosicaoRankingDTO buscarPosicao(Long alunoId) {
+        PosicaoRankingDTO posicao = rankingAlunos.posicao(alunoId);
+        if (posicao != null) {
+            return posicao;
+        }
+        
+        AlunoResponseDTO aluno = alunoRepository.findResumoById(alunoId)
+                .orElseThrow(() -> new ResourceNotFoundException("Aluno não encontrado com ID: " + alunoId));
+        posicao = new PosicaoRankingDTO();
+        posicao.setAlunoId(aluno.getId());
+        posicao.setCursoId(aluno.getCursoId());
+        posicao.setMediaGeral(aluno.getMediaGeral());
+        posicao.setTotalGeral(alunoRepository.countByMediaGeralIsNotNull());
+        posicao.setTotalNoCurso(alunoRepository.countByCursoIdAndMediaGeralIsNotNull(aluno.getCursoId()));
+        if (aluno.getMediaGeral() != null) {
+            posicao.setPosicaoGeral(alunoRepository.countByMediaGeralGreaterThan(aluno.getMediaGeral()) + 1);
+            posicao.setPosicaoNoCurso(alunoRepository.countByCursoIdAndMediaGeralGreaterThan(
+                    aluno.getCursoId(), aluno.getMediaGeral()) + 1);
+        }
+        return posicao;
+    }
+    
+    private int normalizarQuantidade(Integer k) {
+        if (k == null) {
+            return QUANTIDADE_PADRAO;
+        }
+        if (k < 1 || k > QUANTIDADE_MAXIMA) {
+            throw new BusinessException("O parâmetro k deve estar entre 1 e " + QUANTIDADE_MAXIMA);
+        }
+        return k;
+    }
+    
+    // Os K alunos do ranking em memória, lidos pela chave primária; quem foi removido nesse meio-tempo fica de fora
+    private List<AlunoResponseDTO> buscarNaOrdem(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, AlunoResponseDTO> porId = alunoRepository.findResumosByIdIn(ids).stream()
+                .collect(Collectors.toMap(AlunoResponseDTO::getId, Function.identity()));
+        List<AlunoResponseDTO> alunos = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            AlunoResponseDTO aluno = porId.get(id);
+            if (aluno != null) {
+                alunos.add(aluno);
+            }
+        }
+        return alunos;
+    }
+    
+    // A lista começa no topo do ranking, então a posição só avança quando a média muda
+    private List<RankingAlunoDTO> numerar(List<AlunoResponseDTO> alunos) {
+        List<RankingAlunoDTO> ranking = new ArrayList<>(alunos.size());
+        int posicao = 0;
+        for (int i = 0; i < alunos.size(); i++) {
+            AlunoResponseDTO aluno = alunos.get(i);
+            if (i == 0 || !Objects.equals(aluno.getMediaGeral(), alunos.get(i - 1).getMediaGeral())) {
+                posicao = i + 1;
+            }
+            ranking.add(new RankingAlunoDTO(posicao, aluno.getId(), aluno.getNome(), aluno.getMatricula(),
+                    aluno.getCursoId(), aluno.getCursoNome(), aluno.getMediaGeral()));
+        }
+        return ranking;
+    }
+}
@@ -0,0 +1,48 @@
+package br.com.gestao.alunos.service;
+
+import br.com.gestao.alunos.dto.FiltroAlunoDTO;
+import br.com.gestao.alunos.dto.OrdenacaoAluno;
+import br.com.gestao.alunos.exception.BusinessException;
+
+/**
+ * Regras do filtro de alunos que não dependem do banco: faixas coerentes, direção da ordenação e valor do cursor.
+ * Compartilhadas pela API servlet e pela variante reativa (módulo reativo), que compila esta classe do mesmo fonte.
+ */
+public final class ValidacaoFiltroAluno {
+    
+    private ValidacaoFiltroAluno() {
+    }
+    
+    public static void validar(FiltroAlunoDTO filtro) {
+        if (filtro.getSemestreMinimo() != null && filtro.getSemestreMaximo() != null
+                && filtro.getSemestreMinimo() > filtro.getSemestreMaximo()) {
+            throw new BusinessException("O semestre mínimo não pode ser maior que o semestre máximo");
+        }
+        if (filtro.getMediaMinima() != null && filtro.getMediaMaxima() != null
+                && filtro.getMediaMinima() > filtro.getMediaMaxima()) {
+            throw new BusinessException("A média mínima não pode ser maior que a média máxima");
+        }
+        if (filtro.getDataMatriculaInicio() != null && filtro.getDataMatriculaFim() != null
+                && filtro.getDataMatriculaInicio().isAfter(filtro.getDataMatriculaFim())) {
+            throw new BusinessException("A data de matrícula inicial não pode ser posterior à final");
+        }
+    }
+    
+    public static boolean isDecrescente(String direcao) {
+        if (direcao == null || direcao.isBlank() || direcao.equalsIgnoreCase("asc")) {
+            return false;
+        }
+        if (direcao.equalsIgnoreCase("desc")) {
+            return true;
+        }
+        throw new BusinessException("Direção de ordenação inválida: " + direcao + ". Use 'asc' ou 'desc'");
+    }
+    
+    public static Comparable<?> converterValorDoCursor(OrdenacaoAluno ordenacao, String valor) {
+        try {
+            return ordenacao.converter(valor);
+        } catch (RuntimeException e) {
+            throw new BusinessException("Cursor de paginação inválido");
+        }
+    }
+}
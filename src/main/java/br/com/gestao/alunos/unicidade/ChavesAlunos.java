@@ -0,0 +1,191 @@
+package br.com.gestao.alunos.unicidade;
+
+import br.com.gestao.alunos.cache.EstadoRecarregavel;
+import br.com.gestao.alunos.dto.AlunoResponseDTO;
+import br.com.gestao.alunos.event.AlunoAlteradoEvent;
+import br.com.gestao.alunos.event.AlunosImportadosEvent;
+import br.com.gestao.alunos.repository.AlunoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * Filtros de Bloom com as matrículas e emails existentes (opcional, {@code unicidade.filtro.habilitado}).
+ * Quando o filtro garante que a chave não existe, a verificação no banco é pulada; nos demais casos, ou
+ * enquanto o filtro não está carregado, o banco é consultado. Chaves gravadas por outra instância depois
+ * da última carga podem escapar do filtro: a unique constraint continua sendo a garantia final.
+ */
+@Component
+public class ChavesAlunos {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ChavesAlunos.class);
+    
+    private static final int TAMANHO_BLOCO_CARGA = 1000;
+    // Folga para crescer entre recargas sem que a taxa de falso positivo suba além da configurada
+    private static final int FATOR_CAPACIDADE = 2;
+    
+    private final AlunoRepository alunoRepository;
+    private final TaskScheduler agendador;
+    private final boolean habilitado;
+    private final double taxaFalsoPositivo;
+    private final long capacidadeMinima;
+    
+    // Filtros de matrículas e de emails, nessa ordem; FiltroBloom aceita leituras concorrentes com as escritas
+    private final EstadoRecarregavel<FiltroBloom[]> filtros = new EstadoRecarregavel<>();
+    
+    private final Verificacao matriculas = new Verificacao(0);
+    private final Verificacao emails = new Verificacao(1);
+    
+    @Autowired
+    public ChavesAlunos(AlunoRepository alunoRepository, TaskScheduler agendador,
+                        @Value("${unicidade.filtro.habilitado:true}") boolean habilitado,
+                        @Value("${unicidade.filtro.taxa-falso-positivo:0.01}") double taxaFalsoPositivo,
+                        @Value("${unicidade.filtro.capacidade-minima:10000}") long capacidadeMinima) {
+        this.alunoRepository = alunoRepository;
+        this.agendador = agendador;
+        this.habilitado = habilitado;
+        this.taxaFalsoPositivo = taxaFalsoPositivo;
+        this.capacidadeMinima = capacidadeMinima;
+    }
+    
+    /**
+     * Recria os filtros a partir do banco. Além de acompanhar o crescimento da tabela, é o que
+     * descarta as chaves de alunos removidos, que um filtro de Bloom não consegue apagar.
+     */
+    @Scheduled(initialDelayString = "${unicidade.filtro.atraso-inicial-ms:0}",
+               fixedDelayString = "${unicidade.filtro.intervalo-recarga-ms:3600000}")
+    public void recarregar() {
+        if (!habilitado) {
+            return;
+        }
+        filtros.recarregar(this::carregar);
+    }
+    
+    private FiltroBloom[] carregar() {
+        List<String[]> chaves = new ArrayList<>();
+        long ultimoId = 0;
+        List<AlunoResponseDTO> bloco;
+        do {
+            bloco = alunoRepository.findResumosAposId(ultimoId, PageRequest.of(0, TAMANHO_BLOCO_CARGA));
+            for (AlunoResponseDTO aluno : bloco) {
+                chaves.add(new String[] {aluno.getMatricula(), aluno.getEmail()});
+            }
+            if (!bloco.isEmpty()) {
+                ultimoId = bloco.get(bloco.size() - 1).getId();
+            }
+        } while (bloco.size() == TAMANHO_BLOCO_CARGA);
+        
+        long capacidade = Math.max(capacidadeMinima, (long) chaves.size() * FATOR_CAPACIDADE);
+        FiltroBloom[] novos = {new FiltroBloom(capacidade, taxaFalsoPositivo), new FiltroBloom(capacidade, taxaFalsoPositivo)};
+        for (String[] chave : chaves) {
+            novos[0].adicionar(chave[0]);
+            novos[1].adicionar(chave[1]);
+        }
+        logger.debug("Filtros de unicidade carregados com {} alunos", novos[0].getChavesAdicionadas());
+        return novos;
+    }
+    
+    /**
+     * Sem as chaves importadas o filtro daria falsos negativos: ele é descartado, e as verificações vão ao banco,
+     * até a recarga agendada, que já o dimensiona para elas, terminar.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoImportarAlunos(AlunosImportadosEvent evento) {
+        if (habilitado) {
+            filtros.descartar();
+            filtros.agendarRecarga(agendador, this::carregar);
+        }
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoAlterarAluno(AlunoAlteradoEvent evento) {
+        if (evento.isRemocao()) {
+            return;
+        }
+        String matricula = evento.getAtual().getMatricula();
+        String email = evento.getAtual().getEmail();
+        filtros.aplicar(atuais -> {
+            atuais[0].adicionar(matricula);
+            atuais[1].adicionar(email);
+        });
+    }
+    
+    /** Indica se a matrícula existe, consultando o banco apenas quando o filtro não descarta a chave. */
+    public boolean matriculaExiste(String matricula, Predicate<String> consultaBanco) {
+        return matriculas.existe(matricula, consultaBanco);
+    }
+    
+    /** Indica se o email existe, consultando o banco apenas quando o filtro não descarta a chave. */
+    public boolean emailExiste(String email, Predicate<String> consultaBanco) {
+        return emails.existe(email, consultaBanco);
+    }
+    
+    public Map<String, EstatisticasFiltroBloom> estatisticas() {
+        Map<String, EstatisticasFiltroBloom> estatisticas = new LinkedHashMap<>();
+        estatisticas.put("matriculas", matriculas.estatisticas());
+        estatisticas.put("emails", emails.estatisticas());
+        return estatisticas;
+    }
+    
+    private class Verificacao {
+    
+        private final int posicao;
+        private final LongAdder descartadasSemBanco = new LongAdder();
+        private final LongAdder confirmadasNoBanco = new LongAdder();
+        private final LongAdder falsosPositivos = new LongAdder();
+        
+        Verificacao(int posicao) {
+            this.posicao = posicao;
+        }
+        
+        private FiltroBloom filtro() {
+            FiltroBloom[] atuais = filtros.atual();
+            return atuais != null ? atuais[posicao] : null;
+        }
+        
+        boolean existe(String chave, Predicate<String> consultaBanco) {
+            FiltroBloom atual = filtro();
+            if (atual != null && !atual.podeConter(chave)) {
+                descartadasSemBanco.increment();
+                return false;
+            }
+            boolean existe = consultaBanco.test(chave);
+            if (atual != null) {
+                (existe ? confirmadasNoBanco : falsosPositivos).increment();
+            }
+            return existe;
+        }
+        
+        EstatisticasFiltroBloom estatisticas() {
+            FiltroBloom atual = filtro();
+            EstatisticasFiltroBloom estatisticas = new EstatisticasFiltroBloom();
+            estatisticas.setCarregado(atual != null);
+            if (atual != null) {
+                estatisticas.setChaves(atual.getChavesAdicionadas());
+                estatisticas.setCapacidade(atual.getCapacidade());
+                estatisticas.setBits(atual.getQuantidadeBits());
+                estatisticas.setFuncoesHash(atual.getFuncoesHash());
+                estatisticas.setTamanhoBytes(atual.getTamanhoBytes());
+                estatisticas.setTaxaFalsoPositivoEstimada(atual.taxaFalsoPositivoEstimada());
+            }
+            estatisticas.setDescartadasSemBanco(descartadasSemBanco.sum());
+            estatisticas.setConfirmadasNoBanco(confirmadasNoBanco.sum());
+            estatisticas.setFalsosPositivos(falsosPositivos.sum());
+            return estatisticas;
+        }
+    }
+}
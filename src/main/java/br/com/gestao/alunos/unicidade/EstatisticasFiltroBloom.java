@@ -0,0 +1,29 @@
+package br.com.gestao.alunos.unicidade;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EstatisticasFiltroBloom {
+    
+    private boolean carregado;
+    private long chaves;
+    private long capacidade;
+    private long bits;
+    private int funcoesHash;
+    private long tamanhoBytes;
+    private double taxaFalsoPositivoEstimada;
+    // Verificações respondidas só pelo filtro, confirmadas no banco e que o banco desmentiu
+    private long descartadasSemBanco;
+    private long confirmadasNoBanco;
+    private long falsosPositivos;
+    
+    /** Entre as chaves que não existiam, fração em que o filtro respondeu "talvez" e o banco precisou ser consultado. */
+    public double getTaxaFalsoPositivoObservada() {
+        long ausentes = descartadasSemBanco + falsosPositivos;
+        return ausentes == 0 ? 0.0 : (double) falsosPositivos / ausentes;
+    }
+}
@@ -0,0 +1,105 @@
+package br.com.gestao.alunos.unicidade;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom para strings. Responde "com certeza ausente" ou "talvez presente"; não remove chaves.
+ * O tamanho é calculado para a capacidade e a taxa de falso positivo desejadas, e as k posições de cada
+ * chave saem de dois hashes de 64 bits (h1 + i * h2).
+ */
+class FiltroBloom {
+    
+    private final AtomicLongArray palavras;
+    private final long quantidadeBits;
+    private final int funcoesHash;
+    private final long capacidade;
+    private final AtomicLong chavesAdicionadas = new AtomicLong();
+    
+    FiltroBloom(long capacidade, double taxaFalsoPositivo) {
+        if (capacidade < 1 || taxaFalsoPositivo <= 0 || taxaFalsoPositivo >= 1) {
+            throw new IllegalArgumentException("Capacidade deve ser positiva e a taxa deve estar entre 0 e 1");
+        }
+        long bits = (long) Math.ceil(-capacidade * Math.log(taxaFalsoPositivo) / (Math.log(2) * Math.log(2)));
+        int palavrasNecessarias = (int) Math.min(Integer.MAX_VALUE - 8, (bits + 63) / 64);
+        this.palavras = new AtomicLongArray(palavrasNecessarias);
+        this.quantidadeBits = (long) palavrasNecessarias * 64;
+        this.funcoesHash = Math.max(1, (int) Math.round((double) quantidadeBits / capacidade * Math.log(2)));
+        this.capacidade = capacidade;
+    }
+    
+    void adicionar(String chave) {
+        long hash = hash(chave);
+        long h1 = hash;
+        long h2 = misturar(hash ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < funcoesHash; i++) {
+            long bit = Math.floorMod(h1 + i * h2, quantidadeBits);
+            int indice = (int) (bit >>> 6);
+            long mascara = 1L << bit;
+            long atual;
+            do {
+                atual = palavras.get(indice);
+                if ((atual & mascara) != 0) {
+                    break;
+                }
+            } while (!palavras.compareAndSet(indice, atual, atual | mascara));
+        }
+        chavesAdicionadas.incrementAndGet();
+    }
+    
+    boolean podeConter(String chave) {
+        long hash = hash(chave);
+        long h1 = hash;
+        long h2 = misturar(hash ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < funcoesHash; i++) {
+            long bit = Math.floorMod(h1 + i * h2, quantidadeBits);
+            if ((palavras.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /** Taxa de falso positivo esperada para as chaves já adicionadas: (1 - e^(-k*n/m))^k. */
+    double taxaFalsoPositivoEstimada() {
+        double ocupacao = 1 - Math.exp(-(double) funcoesHash * chavesAdicionadas.get() / quantidadeBits);
+        return Math.pow(ocupacao, funcoesHash);
+    }
+    
+    long getQuantidadeBits() {
+        return quantidadeBits;
+    }
+    
+    int getFuncoesHash() {
+        return funcoesHash;
+    }
+    
+    long getCapacidade() {
+        return capacidade;
+    }
+    
+    long getChavesAdicionadas() {
+        return chavesAdicionadas.get();
+    }
+    
+    long getTamanhoBytes() {
+        return quantidadeBits / 8;
+    }
+    
+    // FNV-1a de 64 bits sobre os bytes UTF-8, seguido da finalização do SplitMix64 para espalhar os bits
+    private static long hash(String chave) {
+        long hash = 0xCBF29CE484222325L;
+        for (byte b : chave.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001B3L;
+        }
+        return misturar(hash);
+    }
+    
+    private static long misturar(long valor) {
+        valor = (valor ^ (valor >>> 30)) * 0xBF58476D1CE4E5B9L;
+        valor = (valor ^ (valor >>> 27)) * 0x94D049BB133111EBL;
+        return valor ^ (valor >>> 31);
+    }
+}
@@ -0,0 +1,17 @@
+-- Dados iniciais para desenvolvimento (apenas perfil dev, migration repetível aplicada depois das versionadas)
+-- Os IDs vêm das sequences usadas pelo Hibernate (alocação de 50 em 50)
+
+-- Inserir cursos
+INSERT INTO cursos (id, nome, descricao) VALUES 
+(NEXT VALUE FOR cursos_seq, 'Ciência da Computação', 'Curso de Ciência da Computação'),
+(NEXT VALUE FOR cursos_seq, 'Engenharia de Software', 'Curso de Engenharia de Software'),
+(NEXT VALUE FOR cursos_seq, 'Sistemas de Informação', 'Curso de Sistemas de Informação'),
+(NEXT VALUE FOR cursos_seq, 'Análise e Desenvolvimento de Sistemas', 'Curso de ADS');
+
+-- Inserir alunos
+INSERT INTO alunos (id, nome, matricula, email, curso_id, semestre, media_geral, data_matricula) VALUES 
+(NEXT VALUE FOR alunos_seq, 'João Silva', '2024001', 'joao.silva@email.com', (SELECT id FROM cursos WHERE nome = 'Ciência da Computação'), 3, 8.5, CURRENT_DATE),
+(NEXT VALUE FOR alunos_seq, 'Maria Santos', '2024002', 'maria.santos@email.com', (SELECT id FROM cursos WHERE nome = 'Ciência da Computação'), 2, 9.0, CURRENT_DATE),
+(NEXT VALUE FOR alunos_seq, 'Pedro Oliveira', '2024003', 'pedro.oliveira@email.com', (SELECT id FROM cursos WHERE nome = 'Engenharia de Software'), 4, 7.8, CURRENT_DATE),
+(NEXT VALUE FOR alunos_seq, 'Ana Costa', '2024004', 'ana.costa@email.com', (SELECT id FROM cursos WHERE nome = 'Engenharia de Software'), 3, 9.2, CURRENT_DATE),
+(NEXT VALUE FOR alunos_seq, 'Carlos Souza', '2024005', 'carlos.souza@email.com', (SELECT id FROM cursos WHERE nome = 'Sistemas de Informação'), 5, 8.0, CURRENT_DATE);
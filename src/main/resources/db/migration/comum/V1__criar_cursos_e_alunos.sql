@@ -0,0 +1,30 @@
+-- Esquema inicial: as tabelas, colunas e sequences que o Hibernate criava com ddl-auto=update, com nomes
+-- próprios para as restrições no lugar dos gerados por ele (uk..., fk..., tabela_pkey).
+-- Bancos que já existiam antes do Flyway recebem a linha de base na versão 1 (spring.flyway.baseline-on-migrate)
+-- e começam a partir da V2; a V6 renomeia as restrições deles para os nomes daqui.
+
+CREATE SEQUENCE cursos_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE alunos_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE cursos (
+    id BIGINT NOT NULL,
+    nome VARCHAR(100) NOT NULL,
+    descricao VARCHAR(255),
+    CONSTRAINT pk_cursos PRIMARY KEY (id),
+    CONSTRAINT uk_cursos_nome UNIQUE (nome)
+);
+
+CREATE TABLE alunos (
+    id BIGINT NOT NULL,
+    nome VARCHAR(100) NOT NULL,
+    matricula VARCHAR(20) NOT NULL,
+    email VARCHAR(100) NOT NULL,
+    curso_id BIGINT NOT NULL,
+    semestre INTEGER NOT NULL,
+    media_geral FLOAT(53),
+    data_matricula DATE,
+    CONSTRAINT pk_alunos PRIMARY KEY (id),
+    CONSTRAINT uk_alunos_matricula UNIQUE (matricula),
+    CONSTRAINT uk_alunos_email UNIQUE (email),
+    CONSTRAINT fk_alunos_curso FOREIGN KEY (curso_id) REFERENCES cursos (id)
+);
@@ -0,0 +1,33 @@
+-- Importação assíncrona de CSV. IF NOT EXISTS: bancos com linha de base podem já ter as tabelas criadas pelo Hibernate.
+
+CREATE SEQUENCE IF NOT EXISTS importacoes_seq START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE IF NOT EXISTS importacoes_erros_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS importacoes (
+    id BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL CHECK (status IN ('PENDENTE', 'PROCESSANDO', 'CONCLUIDA', 'FALHOU')),
+    arquivo VARCHAR(500) NOT NULL,
+    linhas_estimadas BIGINT NOT NULL,
+    linhas_processadas BIGINT NOT NULL,
+    importados BIGINT NOT NULL,
+    rejeitados BIGINT NOT NULL,
+    erros_listados BIGINT NOT NULL,
+    linhas_no_inicio BIGINT NOT NULL,
+    criada_em TIMESTAMP(6) NOT NULL,
+    iniciada_em TIMESTAMP(6),
+    concluida_em TIMESTAMP(6),
+    falha VARCHAR(500),
+    CONSTRAINT pk_importacoes PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS importacoes_erros (
+    id BIGINT NOT NULL,
+    importacao_id BIGINT NOT NULL,
+    linha BIGINT NOT NULL,
+    mensagem VARCHAR(255) NOT NULL,
+    CONSTRAINT pk_importacoes_erros PRIMARY KEY (id)
+);
+
+-- Fila de importações pendentes ao subir a aplicação e erros de uma importação em ordem de linha
+CREATE INDEX IF NOT EXISTS idx_importacoes_status ON importacoes (status, id);
+CREATE INDEX IF NOT EXISTS idx_importacoes_erros_importacao ON importacoes_erros (importacao_id, linha, id);
@@ -0,0 +1,9 @@
+-- Índices do filtro dinâmico e do cursor de paginação: o ID no final atende a ordenação e o desempate do cursor.
+-- curso_id também cobre a chave estrangeira (remoção de curso e DELETE em lote dos alunos do curso).
+
+CREATE INDEX IF NOT EXISTS idx_alunos_curso_id ON alunos (curso_id, id);
+CREATE INDEX IF NOT EXISTS idx_alunos_semestre_id ON alunos (semestre, id);
+CREATE INDEX IF NOT EXISTS idx_alunos_curso_semestre ON alunos (curso_id, semestre, id);
+CREATE INDEX IF NOT EXISTS idx_alunos_curso_media ON alunos (curso_id, media_geral, id);
+CREATE INDEX IF NOT EXISTS idx_alunos_media_geral ON alunos (media_geral, id);
+CREATE INDEX IF NOT EXISTS idx_alunos_data_matricula ON alunos (data_matricula, id);
@@ -0,0 +1,8 @@
+-- Versão (controle otimista do Hibernate) e data da última alteração de cursos e alunos, base das ETags e do
+-- Last-Modified das requisições condicionais. Os valores padrão atendem as linhas já existentes e as inseridas
+-- por SQL (importação pela tabela de staging); as gravações pela aplicação preenchem as duas colunas.
+
+ALTER TABLE cursos ADD COLUMN IF NOT EXISTS versao BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE cursos ADD COLUMN IF NOT EXISTS atualizado_em TIMESTAMP(6) DEFAULT LOCALTIMESTAMP NOT NULL;
+ALTER TABLE alunos ADD COLUMN IF NOT EXISTS versao BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE alunos ADD COLUMN IF NOT EXISTS atualizado_em TIMESTAMP(6) DEFAULT LOCALTIMESTAMP NOT NULL;
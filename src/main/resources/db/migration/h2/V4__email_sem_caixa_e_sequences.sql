@@ -0,0 +1,3 @@
+-- Correspondente H2 da V4 do PostgreSQL, mantida para as versões coincidirem entre os bancos.
+-- O H2 não tem índice de expressão: no desenvolvimento o filtro por email percorre a tabela de alunos.
+-- As sequences nascem junto com o esquema em memória, então não há IDs antigos para alinhar.
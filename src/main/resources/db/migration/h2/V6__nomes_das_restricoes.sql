@@ -0,0 +1,2 @@
+-- Correspondente H2 da V6 do PostgreSQL, mantida para as versões coincidirem entre os bancos.
+-- O esquema em memória nasce da V1, já com os nomes das restrições que a V6 renomeia nos bancos antigos.
@@ -0,0 +1,16 @@
+-- Busca de aluno por email sem diferenciar maiúsculas (filtro email), atendida pelo índice de expressão.
+CREATE INDEX IF NOT EXISTS idx_alunos_email_minusculo ON alunos (lower(email));
+
+-- Bancos criados quando os IDs eram IDENTITY, ou com linhas gravadas por fora da aplicação, podem ter as sequences
+-- atrás do maior ID. O Hibernate usa os IDs até o valor devolvido pela sequence, então basta que o último valor não
+-- seja menor que o maior ID existente; sequences já à frente, ou de tabelas vazias, ficam como estão.
+CREATE SEQUENCE IF NOT EXISTS cursos_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS alunos_seq INCREMENT BY 50;
+SELECT setval('cursos_seq', maior) FROM (SELECT MAX(id) AS maior FROM cursos) t
+WHERE maior > (SELECT last_value FROM cursos_seq);
+SELECT setval('alunos_seq', maior) FROM (SELECT MAX(id) AS maior FROM alunos) t
+WHERE maior > (SELECT last_value FROM alunos_seq);
+SELECT setval('importacoes_seq', maior) FROM (SELECT MAX(id) AS maior FROM importacoes) t
+WHERE maior > (SELECT last_value FROM importacoes_seq);
+SELECT setval('importacoes_erros_seq', maior) FROM (SELECT MAX(id) AS maior FROM importacoes_erros) t
+WHERE maior > (SELECT last_value FROM importacoes_erros_seq);
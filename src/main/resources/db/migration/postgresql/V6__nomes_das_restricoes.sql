@@ -0,0 +1,41 @@
+-- Bancos anteriores ao Flyway receberam a linha de base na versão 1 e mantêm as restrições com os nomes gerados
+-- pelo Hibernate (uk..., fk..., tabela_pkey). Renomeia cada uma para o nome da V1, localizando-a pelo tipo e pela
+-- coluna: o tratamento de unicidade da API identifica a chave duplicada pelo nome da restrição. Bancos criados
+-- pela V1 já têm esses nomes e não mudam.
+DO $$
+DECLARE
+    restricao RECORD;
+BEGIN
+    FOR restricao IN
+        -- Uma por nome esperado: duas restrições iguais na mesma coluna não disputam o nome
+        SELECT DISTINCT ON (esperada.nome) tc.table_name AS tabela, tc.constraint_name AS atual, esperada.nome
+        FROM (VALUES ('cursos', 'PRIMARY KEY', 'id', 'pk_cursos'),
+                     ('cursos', 'UNIQUE', 'nome', 'uk_cursos_nome'),
+                     ('alunos', 'PRIMARY KEY', 'id', 'pk_alunos'),
+                     ('alunos', 'UNIQUE', 'matricula', 'uk_alunos_matricula'),
+                     ('alunos', 'UNIQUE', 'email', 'uk_alunos_email'),
+                     ('alunos', 'FOREIGN KEY', 'curso_id', 'fk_alunos_curso'))
+             AS esperada (tabela, tipo, coluna, nome)
+        JOIN information_schema.table_constraints tc
+          ON tc.table_schema = current_schema()
+         AND tc.table_name = esperada.tabela
+         AND tc.constraint_type = esperada.tipo
+        JOIN information_schema.key_column_usage kcu
+          ON kcu.constraint_schema = tc.constraint_schema
+         AND kcu.constraint_name = tc.constraint_name
+         AND kcu.table_name = tc.table_name
+        WHERE kcu.column_name = esperada.coluna
+          AND tc.constraint_name <> esperada.nome
+          -- Só restrições dessa coluna sozinha, e sem outra já com o nome esperado
+          AND NOT EXISTS (SELECT 1 FROM information_schema.key_column_usage outra
+                          WHERE outra.constraint_schema = tc.constraint_schema
+                            AND outra.constraint_name = tc.constraint_name
+                            AND outra.column_name <> esperada.coluna)
+          AND NOT EXISTS (SELECT 1 FROM information_schema.table_constraints existente
+                          WHERE existente.table_schema = tc.table_schema
+                            AND existente.constraint_name = esperada.nome)
+        ORDER BY esperada.nome, tc.constraint_name
+    LOOP
+        EXECUTE format('ALTER TABLE %I RENAME CONSTRAINT %I TO %I', restricao.tabela, restricao.atual, restricao.nome);
+    END LOOP;
+END $$;
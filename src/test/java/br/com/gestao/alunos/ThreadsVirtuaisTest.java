@@ -0,0 +1,106 @@
+package br.com.gestao.alunos;
+
+import br.com.gestao.alunos.estatisticas.EstatisticasCursos;
+import br.com.gestao.alunos.ranking.RankingAlunos;
+import br.com.gestao.alunos.repository.AlunoRepository;
+import br.com.gestao.alunos.unicidade.ChavesAlunos;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.lenient;
+
+/**
+ * Recargas que consultam o banco não podem prender a thread de plataforma quando rodam em uma thread virtual
+ * (modo {@code spring.threads.virtual.enabled}). O JFR registra {@code jdk.VirtualThreadPinned} quando uma thread
+ * virtual bloqueia dentro de um synchronized; o repositório simulado demora como uma consulta lenta.
+ */
+@ExtendWith(MockitoExtension.class)
+class ThreadsVirtuaisTest {
+    
+    private static final long CONSULTA_MS = 50;
+    
+    @Mock
+    private AlunoRepository alunoRepository;
+    
+    @BeforeEach
+    void setUp() {
+        // Cada componente lê a tabela pela sua consulta; nem todo teste usa todas
+        lenient().when(alunoRepository.findResumosAposId(anyLong(), any())).thenAnswer(invocacao -> {
+            Thread.sleep(CONSULTA_MS);
+            return List.of();
+        });
+        lenient().when(alunoRepository.findMediasAposId(anyLong(), any())).thenAnswer(invocacao -> {
+            Thread.sleep(CONSULTA_MS);
+            return List.of();
+        });
+        lenient().when(alunoRepository.contarAlunosAgrupados()).thenAnswer(invocacao -> {
+            Thread.sleep(CONSULTA_MS);
+            return List.of();
+        });
+    }
+    
+    // Fixações registradas enquanto a ação roda em uma thread virtual
+    private static int fixacoes(Runnable acao) throws InterruptedException {
+        List<RecordedEvent> eventos = new CopyOnWriteArrayList<>();
+        try (RecordingStream stream = new RecordingStream()) {
+            stream.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO);
+            stream.onEvent("jdk.VirtualThreadPinned", eventos::add);
+            stream.startAsync();
+            Thread thread = Thread.ofVirtual().start(acao);
+            thread.join();
+            stream.stop();
+            return (int) eventos.stream()
+                    .filter(evento -> evento.getThread() != null
+                            && evento.getThread().getJavaThreadId() == thread.threadId())
+                    .count();
+        }
+    }
+    
+    @Test
+    void fixacoes_ConsultaDentroDeSynchronized_DeveSerDetectada() throws InterruptedException {
+        Object monitor = new Object();
+        
+        int fixacoes = fixacoes(() -> {
+            synchronized (monitor) {
+                alunoRepository.findResumosAposId(0L, null);
+            }
+        });
+        
+        assertEquals(1, fixacoes);
+    }
+    
+    @Test
+    void recarregar_RankingEmThreadVirtual_NaoDeveFixarAThreadDePlataforma() throws InterruptedException {
+        RankingAlunos ranking = new RankingAlunos(alunoRepository, null, true);
+        
+        assertEquals(0, fixacoes(ranking::recarregar));
+        assertTrue(ranking.isCarregado());
+    }
+    
+    @Test
+    void recarregar_EstatisticasEmThreadVirtual_NaoDeveFixarAThreadDePlataforma() throws InterruptedException {
+        EstatisticasCursos estatisticas = new EstatisticasCursos(alunoRepository, null, true);
+        
+        assertEquals(0, fixacoes(estatisticas::recarregar));
+        assertTrue(estatisticas.isCarregado());
+    }
+    
+    @Test
+    void recarregar_FiltrosDeUnicidadeEmThreadVirtual_NaoDeveFixarAThreadDePlataforma() throws InterruptedException {
+        ChavesAlunos chaves = new ChavesAlunos(alunoRepository, null, true, 0.01, 100);
+        
+        assertEquals(0, fixacoes(chaves::recarregar));
+    }
+}
@@ -0,0 +1,215 @@
+package br.com.gestao.alunos.alteracoes;
+
+import br.com.gestao.alunos.dto.AlteracaoDTO;
+import br.com.gestao.alunos.dto.AlunoResponseDTO;
+import br.com.gestao.alunos.dto.TipoAlteracao;
+import br.com.gestao.alunos.event.AlunoAlteradoEvent;
+import br.com.gestao.alunos.event.AlunosImportadosEvent;
+import br.com.gestao.alunos.event.CursoAlteradoEvent;
+import br.com.gestao.alunos.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class FeedAlteracoesTest {
+    
+    private final List<Runnable> envios = new ArrayList<>();
+    
+    private FeedAlteracoes criarFeed(Executor despachante, int tamanhoHistorico, int buffer, int maximoAssinantes) {
+        return new FeedAlteracoes(despachante, () -> mock(SseEmitter.class), tamanhoHistorico, buffer, maximoAssinantes);
+    }
+    
+    private FeedAlteracoes criarFeed(int tamanhoHistorico) {
+        return criarFeed(Runnable::run, tamanhoHistorico, 10, 10);
+    }
+    
+    private AlunoResponseDTO aluno(Long id) {
+        return new AlunoResponseDTO(id, "Aluno " + id, "2024" + id, "aluno" + id + "@email.com", "Engenharia", 1L, 1, 8.0, null);
+    }
+    
+    private List<SseEmitter.SseEventBuilder> enviados(SseEmitter emitter) throws IOException {
+        ArgumentCaptor<SseEmitter.SseEventBuilder> eventos = ArgumentCaptor.forClass(SseEmitter.SseEventBuilder.class);
+        verify(emitter, atLeast(0)).send(eventos.capture());
+        return eventos.getAllValues();
+    }
+    
+    // Partes de texto do evento (id, event, comentário), sem o JSON dos dados
+    private String texto(SseEmitter.SseEventBuilder evento) {
+        StringBuilder texto = new StringBuilder();
+        for (ResponseBodyEmitter.DataWithMediaType parte : evento.build()) {
+            if (parte.getData() instanceof String) {
+                texto.append(parte.getData());
+            }
+        }
+        return texto.toString();
+    }
+    
+    private AlteracaoDTO alteracao(SseEmitter.SseEventBuilder evento) {
+        return evento.build().stream()
+                .map(ResponseBodyEmitter.DataWithMediaType::getData)
+                .filter(AlteracaoDTO.class::isInstance)
+                .map(AlteracaoDTO.class::cast)
+                .findFirst()
+                .orElseThrow();
+    }
+    
+    @Test
+    void aoAlterarAluno_EnviaParaTodosOsAssinantes() throws IOException {
+        FeedAlteracoes feed = criarFeed(100);
+        SseEmitter primeiro = feed.assinar(null);
+        SseEmitter segundo = feed.assinar(null);
+        
+        feed.aoAlterarAluno(AlunoAlteradoEvent.criado(aluno(1L)));
+        feed.aoAlterarAluno(AlunoAlteradoEvent.atualizado(aluno(1L), aluno(1L)));
+        feed.aoAlterarAluno(AlunoAlteradoEvent.removido(aluno(1L)));
+        
+        List<SseEmitter.SseEventBuilder> eventos = enviados(primeiro);
+        assertEquals(3, eventos.size());
+        assertTrue(texto(eventos.get(0)).contains("event:aluno-criado"));
+        AlteracaoDTO criado = alteracao(eventos.get(0));
+        assertEquals(TipoAlteracao.ALUNO_CRIADO, criado.getTipo());
+        assertEquals(1L, criado.getEntidadeId());
+        assertEquals("Aluno 1", ((AlunoResponseDTO) criado.getDados()).getNome());
+        assertTrue(texto(eventos.get(0)).contains("id:" + criado.getId()));
+        assertEquals(TipoAlteracao.ALUNO_ATUALIZADO, alteracao(eventos.get(1)).getTipo());
+        AlteracaoDTO removido = alteracao(eventos.get(2));
+        assertEquals(TipoAlteracao.ALUNO_REMOVIDO, removido.getTipo());
+        assertNull(removido.getDados());
+        
+        assertEquals(3, enviados(segundo).size());
+        assertEquals(2, feed.getQuantidadeAssinantes());
+    }
+    
+    @Test
+    void aoAlterarCursoEImportar_EnviaTipoCorrespondente() throws IOException {
+        FeedAlteracoes feed = criarFeed(100);
+        SseEmitter emitter = feed.assinar(null);
+        
+        feed.aoAlterarCurso(CursoAlteradoEvent.criado(3L, "Direito"));
+        feed.aoAlterarCurso(CursoAlteradoEvent.atualizado(3L, "Direito Civil"));
+        feed.aoAlterarCurso(CursoAlteradoEvent.alunosRemovidos(3L));
+        feed.aoAlterarCurso(CursoAlteradoEvent.removido(3L));
+        feed.aoImportarAlunos(new AlunosImportadosEvent(500));
+        
+        List<AlteracaoDTO> alteracoes = enviados(emitter).stream().map(this::alteracao).toList();
+        assertEquals(List.of(TipoAlteracao.CURSO_CRIADO, TipoAlteracao.CURSO_ATUALIZADO,
+                TipoAlteracao.ALUNOS_DO_CURSO_REMOVIDOS, TipoAlteracao.CURSO_REMOVIDO, TipoAlteracao.ALUNOS_IMPORTADOS),
+                alteracoes.stream().map(AlteracaoDTO::getTipo).toList());
+        assertEquals(Map.of("nome", "Direito Civil"), alteracoes.get(1).getDados());
+        assertEquals(Map.of("quantidade", 500L), alteracoes.get(4).getDados());
+        assertNull(alteracoes.get(4).getEntidadeId());
+    }
+    
+    @Test
+    void assinar_ComUltimoEventoId_ReenviaApenasAsAlteracoesPerdidas() throws IOException {
+        FeedAlteracoes feed = criarFeed(100);
+        SseEmitter original = feed.assinar(null);
+        for (long id = 1; id <= 4; id++) {
+            feed.aoAlterarAluno(AlunoAlteradoEvent.criado(aluno(id)));
+        }
+        String segundoId = alteracao(enviados(original).get(1)).getId();
+        
+        SseEmitter reconectado = feed.assinar(segundoId);
+        feed.aoAlterarAluno(AlunoAlteradoEvent.criado(aluno(5L)));
+        
+        List<Long> alunos = enviados(reconectado).stream().map(evento -> alteracao(evento).getEntidadeId()).toList();
+        assertEquals(List.of(3L, 4L, 5L), alunos);
+    }
+    
+    @Test
+    void assinar_UltimoEventoIdForaDoHistorico_AvisaHistoricoIncompleto() throws IOException {
+        FeedAlteracoes feed = criarFeed(2);
+        SseEmitter original = feed.assinar(null);
+        for (long id = 1; id <= 4; id++) {
+            feed.aoAlterarAluno(AlunoAlteradoEvent.criado(aluno(id)));
+        }
+        List<SseEmitter.SseEventBuilder> eventosOriginais = enviados(original);
+        String primeiroId = alteracao(eventosOriginais.get(0)).getId();
+        String ultimoId = alteracao(eventosOriginais.get(3)).getId();
+        
+        SseEmitter defasado = feed.assinar(primeiroId);
+        SseEmitter deOutraExecucao = feed.assinar("outra-3");
+        
+        for (SseEmitter emitter : List.of(defasado, deOutraExecucao)) {
+            List<SseEmitter.SseEventBuilder> eventos = enviados(emitter);
+            assertEquals(1, eventos.size());
+            String texto = texto(eventos.get(0));
+            assertTrue(texto.contains("event:" + FeedAlteracoes.EVENTO_HISTORICO_INCOMPLETO));
+            assertTrue(texto.contains("id:" + ultimoId));
+        }
+    }
+    
+    @Test
+    void publicar_AssinanteLento_EDesconectadoSemAfetarOsDemais() throws IOException {
+        // Envios acumulados sem executar, como um cliente que não lê a conexão
+        FeedAlteracoes feed = criarFeed(envios::add, 100, 2, 10);
+        SseEmitter lento = feed.assinar(null);
+        
+        for (long id = 1; id <= 3; id++) {
+            feed.aoAlterarAluno(AlunoAlteradoEvent.criado(aluno(id)));
+        }
+        assertEquals(0, feed.getQuantidadeAssinantes());
+        
+        envios.forEach(Runnable::run);
+        verify(lento, never()).send(any(SseEmitter.SseEventBuilder.class));
+        verify(lento).complete();
+        
+        envios.clear();
+        SseEmitter novo = feed.assinar(null);
+        feed.aoAlterarAluno(AlunoAlteradoEvent.criado(aluno(4L)));
+        envios.forEach(Runnable::run);
+        assertEquals(1, enviados(novo).size());
+    }
+    
+    @Test
+    void publicar_SemThreadLivreParaOEnvio_EncerraOAssinanteComErro() throws IOException {
+        List<Runnable> aceitos = new ArrayList<>();
+        FeedAlteracoes feed = criarFeed(tarefa -> {
+            if (aceitos.size() == 1) {
+                throw new RejectedExecutionException();
+            }
+            aceitos.add(tarefa);
+        }, 100, 10, 10);
+        SseEmitter preso = feed.assinar(null);
+        SseEmitter semThread = feed.assinar(null);
+        
+        feed.aoAlterarAluno(AlunoAlteradoEvent.criado(aluno(1L)));
+        
+        assertEquals(1, feed.getQuantidadeAssinantes());
+        verify(semThread).completeWithError(any(RejectedExecutionException.class));
+        verify(semThread, never()).send(any(SseEmitter.SseEventBuilder.class));
+        verify(preso, never()).completeWithError(any());
+    }
+    
+    @Test
+    void manterConexoes_EnviaComentarioParaAssinantesSemPendencias() throws IOException {
+        FeedAlteracoes feed = criarFeed(100);
+        SseEmitter emitter = feed.assinar(null);
+        
+        feed.manterConexoes();
+        
+        List<SseEmitter.SseEventBuilder> eventos = enviados(emitter);
+        assertEquals(1, eventos.size());
+        assertTrue(texto(eventos.get(0)).startsWith(":"));
+    }
+    
+    @Test
+    void assinar_LimiteDeConexoes_DeveLancarException() {
+        FeedAlteracoes feed = criarFeed(Runnable::run, 100, 10, 1);
+        feed.assinar(null);
+        
+        assertThrows(ServiceUnavailableException.class, () -> feed.assinar(null));
+    }
+}
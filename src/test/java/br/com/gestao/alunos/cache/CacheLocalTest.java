@@ -0,0 +1,93 @@
+package br.com.gestao.alunos.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheLocalTest {
+    
+    private AtomicLong agora;
+    private AtomicInteger carregamentos;
+    private CacheLocal<Long, String> cache;
+    
+    @BeforeEach
+    void setUp() {
+        agora = new AtomicLong();
+        carregamentos = new AtomicInteger();
+        cache = new CacheLocal<>(2, 60, agora::get);
+    }
+    
+    private String carregar(Long chave) {
+        carregamentos.incrementAndGet();
+        return "valor-" + chave;
+    }
+    
+    @Test
+    void obter_SegundaLeitura_DeveVirDoCache() {
+        assertEquals("valor-1", cache.obter(1L, this::carregar));
+        assertEquals("valor-1", cache.obter(1L, this::carregar));
+        
+        assertEquals(1, carregamentos.get());
+        EstatisticasCache estatisticas = cache.estatisticas();
+        assertEquals(1, estatisticas.getAcertos());
+        assertEquals(1, estatisticas.getFalhas());
+        assertEquals(0.5, estatisticas.getTaxaAcerto());
+    }
+    
+    @Test
+    void obter_AcimaDoTamanho_DeveRemoverMenosUsadoRecentemente() {
+        cache.obter(1L, this::carregar);
+        cache.obter(2L, this::carregar);
+        cache.obter(1L, this::carregar);
+        cache.obter(3L, this::carregar);
+        
+        cache.obter(1L, this::carregar);
+        cache.obter(2L, this::carregar);
+        
+        // 1, 2, 3 carregados; 2 foi removido ao entrar o 3 e precisou ser recarregado
+        assertEquals(4, carregamentos.get());
+        assertTrue(cache.estatisticas().getRemocoes() >= 1);
+        assertEquals(2, cache.estatisticas().getTamanho());
+    }
+    
+    @Test
+    void obter_EntradaExpirada_DeveRecarregar() {
+        cache.obter(1L, this::carregar);
+        agora.addAndGet(TimeUnit.SECONDS.toNanos(61));
+        
+        cache.obter(1L, this::carregar);
+        
+        assertEquals(2, carregamentos.get());
+        assertEquals(1, cache.estatisticas().getRemocoes());
+    }
+    
+    @Test
+    void obter_ValorNulo_NaoDeveSerArmazenado() {
+        assertNull(cache.obter(1L, chave -> null));
+        
+        assertEquals(0, cache.estatisticas().getTamanho());
+    }
+    
+    @Test
+    void invalidar_DeveForcarNovaLeitura() {
+        cache.obter(1L, this::carregar);
+        cache.obter(2L, this::carregar);
+        
+        cache.invalidar(1L);
+        cache.obter(1L, this::carregar);
+        cache.invalidarTodos();
+        
+        assertEquals(3, carregamentos.get());
+        assertEquals(0, cache.estatisticas().getTamanho());
+    }
+    
+    @Test
+    void construtor_TamanhoInvalido_DeveLancarException() {
+        assertThrows(IllegalArgumentException.class, () -> new CacheLocal<Long, String>(0, 60));
+    }
+}
@@ -0,0 +1,88 @@
+package br.com.gestao.alunos.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class EstadoRecarregavelTest {
+    
+    private final EstadoRecarregavel<List<String>> estado = new EstadoRecarregavel<>();
+    
+    private static List<String> lista(String... valores) {
+        return new ArrayList<>(List.of(valores));
+    }
+    
+    @Test
+    void aplicar_AntesDaPrimeiraCarga_NaoFazNada() {
+        estado.aplicar(lista -> lista.add("a"));
+        
+        assertNull(estado.atual());
+        assertNull(estado.ler(List::size));
+    }
+    
+    @Test
+    void recarregar_ReaplicaAlteracoesRecebidasDuranteACarga() {
+        estado.recarregar(() -> lista("a"));
+        
+        estado.recarregar(() -> {
+            estado.aplicar(lista -> lista.add("b"));
+            return lista("a");
+        });
+        
+        assertEquals(List.of("a", "b"), estado.atual());
+    }
+    
+    @Test
+    void recarregar_Falha_MantemEstadoAnteriorEParaDeGuardarAlteracoes() {
+        estado.recarregar(() -> lista("a"));
+        
+        assertThrows(IllegalStateException.class, () -> estado.recarregar(() -> {
+            throw new IllegalStateException("banco fora");
+        }));
+        estado.aplicar(lista -> lista.add("b"));
+        estado.recarregar(() -> lista("c"));
+        
+        assertEquals(List.of("c"), estado.atual());
+    }
+    
+    @Test
+    void descartar_DuranteACarga_NaoPublicaOResultadoDela() {
+        estado.recarregar(() -> lista("a"));
+        
+        estado.recarregar(() -> {
+            estado.descartar();
+            return lista("desatualizado");
+        });
+        
+        assertNull(estado.atual());
+        estado.recarregar(() -> lista("b"));
+        assertEquals(List.of("b"), estado.atual());
+    }
+    
+    @Test
+    void agendarRecarga_PedidosAntesDeComecarSaoAtendidosPelaMesma() {
+        TaskScheduler agendador = mock(TaskScheduler.class);
+        List<Runnable> agendadas = new ArrayList<>();
+        when(agendador.schedule(any(Runnable.class), any(Instant.class))).thenAnswer(invocacao -> {
+            agendadas.add(invocacao.getArgument(0));
+            return null;
+        });
+        
+        estado.agendarRecarga(agendador, () -> lista("a"));
+        estado.agendarRecarga(agendador, () -> lista("a"));
+        assertEquals(1, agendadas.size());
+        
+        agendadas.get(0).run();
+        estado.agendarRecarga(agendador, () -> lista("b"));
+        
+        assertEquals(List.of("a"), estado.atual());
+        assertEquals(2, agendadas.size());
+    }
+}
@@ -0,0 +1,93 @@
+package br.com.gestao.alunos.condicional;
+
+import br.com.gestao.alunos.dto.VersaoAlunoDTO;
+import br.com.gestao.alunos.model.Curso;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VersaoRecursoTest {
+    
+    private static final LocalDateTime JANEIRO = LocalDateTime.of(2024, 1, 2, 8, 0);
+    private static final LocalDateTime MAIO = LocalDateTime.of(2024, 5, 10, 14, 30);
+    
+    private static VersaoAlunoDTO aluno(long id, long versao, LocalDateTime atualizadoEm) {
+        return new VersaoAlunoDTO(id, versao, atualizadoEm, 0L, JANEIRO);
+    }
+    
+    @Test
+    void doAluno_EtagCombinaVersoesDoAlunoEDoCurso() {
+        VersaoRecurso versao = VersaoRecurso.doAluno(new VersaoAlunoDTO(1L, 3L, JANEIRO, 7L, MAIO));
+        
+        assertEquals("3.7", versao.getEtag());
+        assertEquals(MAIO, versao.getUltimaAlteracao());
+        assertEquals(MAIO.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(),
+                versao.getUltimaAlteracaoEmMilissegundos());
+    }
+    
+    @Test
+    void daPagina_MesmosAlunos_MesmaEtag() {
+        VersaoRecurso primeira = VersaoRecurso.daPagina(List.of(aluno(1, 0, JANEIRO), aluno(2, 4, MAIO)));
+        VersaoRecurso segunda = VersaoRecurso.daPagina(List.of(aluno(1, 0, JANEIRO), aluno(2, 4, MAIO)));
+        
+        assertEquals(primeira.getEtag(), segunda.getEtag());
+        assertEquals(MAIO, primeira.getUltimaAlteracao());
+    }
+    
+    @Test
+    void daPagina_AlunoAlterado_DeveMudarEtag() {
+        VersaoRecurso antes = VersaoRecurso.daPagina(List.of(aluno(1, 0, JANEIRO), aluno(2, 4, MAIO)));
+        VersaoRecurso depois = VersaoRecurso.daPagina(List.of(aluno(1, 1, JANEIRO), aluno(2, 4, MAIO)));
+        
+        assertNotEquals(antes.getEtag(), depois.getEtag());
+    }
+    
+    @Test
+    void daPagina_AlunoRemovidoESubstituidoPeloSeguinte_DeveMudarEtagMesmoSemMudarQuantidadeNemData() {
+        VersaoRecurso antes = VersaoRecurso.daPagina(List.of(aluno(1, 0, JANEIRO), aluno(2, 4, MAIO)));
+        VersaoRecurso depois = VersaoRecurso.daPagina(List.of(aluno(2, 4, MAIO), aluno(3, 0, JANEIRO)));
+        
+        assertNotEquals(antes.getEtag(), depois.getEtag());
+        assertEquals(antes.getUltimaAlteracao(), depois.getUltimaAlteracao());
+    }
+    
+    @Test
+    void daPagina_CursoRenomeado_DeveMudarEtag() {
+        VersaoRecurso antes = VersaoRecurso.daPagina(List.of(new VersaoAlunoDTO(1L, 0L, JANEIRO, 0L, JANEIRO)));
+        VersaoRecurso depois = VersaoRecurso.daPagina(List.of(new VersaoAlunoDTO(1L, 0L, JANEIRO, 1L, MAIO)));
+        
+        assertNotEquals(antes.getEtag(), depois.getEtag());
+        assertEquals(MAIO, depois.getUltimaAlteracao());
+    }
+    
+    @Test
+    void daLista_Vazia_SemDataDeAlteracao() {
+        VersaoRecurso versao = VersaoRecurso.daLista(List.of());
+        
+        assertNotNull(versao.getEtag());
+        assertNull(versao.getUltimaAlteracao());
+        assertEquals(-1, versao.getUltimaAlteracaoEmMilissegundos());
+    }
+    
+    @Test
+    void daLista_CursoNovo_DeveMudarEtag() {
+        Curso curso = new Curso();
+        curso.setId(1L);
+        curso.setVersao(0L);
+        curso.setAtualizadoEm(JANEIRO);
+        Curso novo = new Curso();
+        novo.setId(2L);
+        novo.setVersao(0L);
+        novo.setAtualizadoEm(MAIO);
+        
+        VersaoRecurso antes = VersaoRecurso.daLista(List.of(curso));
+        VersaoRecurso depois = VersaoRecurso.daLista(List.of(curso, novo));
+        
+        assertNotEquals(antes.getEtag(), depois.getEtag());
+        assertEquals(MAIO, depois.getUltimaAlteracao());
+    }
+}
@@ -0,0 +1,33 @@
+package br.com.gestao.alunos.config;
+
+import br.com.gestao.alunos.dto.FiltroAlunoDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DicasNativasTest {
+    
+    private final RuntimeHints hints = new RuntimeHints();
+    
+    @Test
+    void registerHints_DeveIncluirAsMigrationsDoPostgreSQL() {
+        new DicasNativas().registerHints(hints, getClass().getClassLoader());
+        
+        assertTrue(RuntimeHintsPredicates.resource()
+                .forResource("db/migration/comum/V1__criar_cursos_e_alunos.sql").test(hints));
+        assertTrue(RuntimeHintsPredicates.resource()
+                .forResource("db/migration/postgresql/V4__email_sem_caixa_e_sequences.sql").test(hints));
+        assertFalse(RuntimeHintsPredicates.resource()
+                .forResource("db/dev/R__dados_desenvolvimento.sql").test(hints));
+    }
+    
+    @Test
+    void registerHints_DevePermitirALigacaoDoFiltroDeAlunos() throws NoSuchMethodException {
+        new DicasNativas().registerHints(hints, getClass().getClassLoader());
+        
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onMethod(FiltroAlunoDTO.class.getMethod("setEmail", String.class)).test(hints));
+    }
+}
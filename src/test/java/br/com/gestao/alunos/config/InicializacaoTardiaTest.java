@@ -0,0 +1,95 @@
+package br.com.gestao.alunos.config;
+
+import br.com.gestao.alunos.exception.GlobalExceptionHandler;
+import br.com.gestao.alunos.service.AlunoService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InicializacaoTardiaTest {
+    
+    // Tipos dos beans simulados; o nome da classe registrado na definição é o que decide o pacote
+    static class RecursoSpringdoc {
+    }
+    
+    static class RecursoSpringdocComRetorno implements SmartInitializingSingleton {
+    
+        @Override
+        public void afterSingletonsInstantiated() {
+        }
+    }
+    
+    private final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+    
+    private void registrar(String nome, Class<?> tipo, String nomeClasse) {
+        RootBeanDefinition definicao = new RootBeanDefinition();
+        definicao.setBeanClassName(nomeClasse);
+        definicao.setTargetType(tipo);
+        beanFactory.registerBeanDefinition(nome, definicao);
+    }
+    
+    private void processar(boolean habilitada) {
+        InicializacaoTardia inicializacao = new InicializacaoTardia();
+        inicializacao.setEnvironment(new MockEnvironment()
+                .withProperty("inicializacao.tardia.habilitada", String.valueOf(habilitada)));
+        inicializacao.postProcessBeanFactory(beanFactory);
+    }
+    
+    private boolean tardio(String nome) {
+        return beanFactory.getBeanDefinition(nome).isLazyInit();
+    }
+    
+    @Test
+    void postProcessBeanFactory_BeansNaoCriticos_DevemSerTardios() {
+        registrar("openApiResource", RecursoSpringdoc.class, "org.springdoc.webmvc.api.OpenApiWebMvcResource");
+        registrar("globalExceptionHandler", GlobalExceptionHandler.class, GlobalExceptionHandler.class.getName());
+        registrar("openApiConfig", OpenApiConfig.class, OpenApiConfig.class.getName() + "$$SpringCGLIB$$0");
+        
+        processar(true);
+        
+        assertTrue(tardio("openApiResource"));
+        assertTrue(tardio("globalExceptionHandler"));
+        assertTrue(tardio("openApiConfig"));
+    }
+    
+    @Test
+    void postProcessBeanFactory_BeansDaAplicacao_DevemContinuarNaSubida() {
+        registrar("alunoService", AlunoService.class, AlunoService.class.getName());
+        
+        processar(true);
+        
+        assertFalse(tardio("alunoService"));
+    }
+    
+    @Test
+    void postProcessBeanFactory_LazyFalseExplicito_DeveSerRespeitado() {
+        registrar("openApiResource", RecursoSpringdoc.class, "org.springdoc.webmvc.api.OpenApiWebMvcResource");
+        ((RootBeanDefinition) beanFactory.getBeanDefinition("openApiResource")).setLazyInit(false);
+        
+        processar(true);
+        
+        assertFalse(tardio("openApiResource"));
+    }
+    
+    @Test
+    void postProcessBeanFactory_SmartInitializingSingleton_DeveContinuarNaSubida() {
+        registrar("springdocProviders", RecursoSpringdocComRetorno.class, "org.springdoc.core.providers.Providers");
+        
+        processar(true);
+        
+        assertFalse(tardio("springdocProviders"));
+    }
+    
+    @Test
+    void postProcessBeanFactory_Desabilitada_NaoDeveAlterarNenhumBean() {
+        registrar("openApiResource", RecursoSpringdoc.class, "org.springdoc.webmvc.api.OpenApiWebMvcResource");
+        
+        processar(false);
+        
+        assertFalse(tardio("openApiResource"));
+    }
+}
@@ -1,22 +1,69 @@
 package br.com.gestao.alunos.controller;
 
+import br.com.gestao.alunos.condicional.RecursoVersionado;
+import br.com.gestao.alunos.condicional.VersaoRecurso;
 import br.com.gestao.alunos.dto.AlunoDTO;
 import br.com.gestao.alunos.dto.AlunoResponseDTO;
+import br.com.gestao.alunos.dto.ErroImportacaoDTO;
+import br.com.gestao.alunos.dto.FiltroAlunoDTO;
+import br.com.gestao.alunos.dto.PaginaDTO;
+import br.com.gestao.alunos.dto.FormatoExportacao;
+import br.com.gestao.alunos.dto.ItemLoteDTO;
+import br.com.gestao.alunos.dto.PosicaoRankingDTO;
+import br.com.gestao.alunos.dto.RankingAlunoDTO;
+import br.com.gestao.alunos.dto.ResultadoImportacaoDTO;
+import br.com.gestao.alunos.dto.ResultadoLoteDTO;
+import br.com.gestao.alunos.dto.VersaoAlunoDTO;
+import br.com.gestao.alunos.exception.BusinessException;
+import br.com.gestao.alunos.exception.ConflictException;
+import br.com.gestao.alunos.exception.PreconditionFailedException;
+import br.com.gestao.alunos.exception.ResourceNotFoundException;
+import br.com.gestao.alunos.model.Aluno;
+import br.com.gestao.alunos.service.AlunoExportacaoService;
+import br.com.gestao.alunos.service.AlunoImportacaoService;
+import br.com.gestao.alunos.service.AlunoLoteService;
 import br.com.gestao.alunos.service.AlunoService;
+import br.com.gestao.alunos.service.RankingService;
+import br.com.gestao.alunos.unicidade.EstatisticasFiltroBloom;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.stubbing.Answer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.BufferedReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -24,17 +71,35 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @WebMvcTest(AlunoController.class)
 class AlunoControllerTest {
     
+    private static final VersaoRecurso VERSAO_ALUNO = VersaoRecurso.doAluno(new VersaoAlunoDTO(
+            1L, 3L, LocalDateTime.of(2024, 5, 10, 14, 30), 1L, LocalDateTime.of(2024, 1, 2, 8, 0)));
+    private static final VersaoRecurso VERSAO_PAGINA = VersaoRecurso.daPagina(List.of(new VersaoAlunoDTO(
+            1L, 3L, LocalDateTime.of(2024, 5, 10, 14, 30), 1L, LocalDateTime.of(2024, 1, 2, 8, 0))));
+    
     @Autowired
     private MockMvc mockMvc;
     
     @MockBean
     private AlunoService alunoService;
     
+    @MockBean
+    private AlunoExportacaoService alunoExportacaoService;
+    
+    @MockBean
+    private AlunoLoteService alunoLoteService;
+    
+    @MockBean
+    private AlunoImportacaoService alunoImportacaoService;
+    
+    @MockBean
+    private RankingService rankingService;
+    
     @Autowired
     private ObjectMapper objectMapper;
     
     private AlunoDTO alunoDTO;
     private AlunoResponseDTO alunoResponseDTO;
+    private PaginaDTO<AlunoResponseDTO> pagina;
     
     @BeforeEach
     void setUp() {
@@ -55,6 +120,8 @@ class AlunoControllerTest {
         alunoResponseDTO.setCursoNome("Ciência da Computação");
         alunoResponseDTO.setSemestre(3);
         alunoResponseDTO.setMediaGeral(8.5);
+        
+        pagina = new PaginaDTO<>(Arrays.asList(alunoResponseDTO), null, 50);
     }
     
     @Test
@@ -85,41 +152,250 @@ class AlunoControllerTest {
     }
     
     @Test
-    void listarTodosAlunos_Sucesso() throws Exception {
-        List<AlunoResponseDTO> alunos = Arrays.asList(alunoResponseDTO);
-        when(alunoService.listarTodosAlunos()).thenReturn(alunos);
+    void criarAlunosEmLote_Sucesso() throws Exception {
+        ItemLoteDTO criado = new ItemLoteDTO(0, true, alunoResponseDTO, List.of());
+        ItemLoteDTO rejeitado = new ItemLoteDTO(1, false, null, List.of("Já existe um aluno com a matrícula: 2024001"));
+        when(alunoLoteService.criarAlunosEmLote(anyList()))
+                .thenReturn(new ResultadoLoteDTO(2, 1, 1, Arrays.asList(criado, rejeitado)));
+        
+        mockMvc.perform(post("/api/alunos/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Arrays.asList(alunoDTO, alunoDTO))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.criados").value(1))
+                .andExpect(jsonPath("$.rejeitados").value(1))
+                .andExpect(jsonPath("$.itens[0].aluno.id").value(1L))
+                .andExpect(jsonPath("$.itens[1].erros[0]").value("Já existe um aluno com a matrícula: 2024001"));
+        
+        verify(alunoLoteService, times(1)).criarAlunosEmLote(anyList());
+    }
+    
+    @Test
+    void importarAlunos_LeCorpoCsvComoUtf8() throws Exception {
+        when(alunoImportacaoService.importarCsv(any(Reader.class))).thenAnswer(invocacao -> {
+            String csv = new BufferedReader(invocacao.<Reader>getArgument(0)).lines().collect(Collectors.joining("\n"));
+            assertTrue(csv.contains("João"));
+            return new ResultadoImportacaoDTO(2, 1, 1,
+                    List.of(new ErroImportacaoDTO(3, List.of("Curso não encontrado com ID: 9"))), 0);
+        });
+        
+        mockMvc.perform(post("/api/alunos/importacao")
+                        .contentType("text/csv")
+                        .content("nome,matricula,email,cursoId,semestre\nJoão,2024001,j@email.com,1,1\n"
+                                .getBytes(StandardCharsets.UTF_8)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.importados").value(1))
+                .andExpect(jsonPath("$.erros[0].linha").value(3))
+                .andExpect(jsonPath("$.erros[0].erros[0]").value("Curso não encontrado com ID: 9"));
+    }
+    
+    @Test
+    void listarAlunos_Sucesso() throws Exception {
+        when(alunoService.listarAlunos(isNull(), isNull(), any())).thenAnswer(condicional(VERSAO_PAGINA, pagina));
         
         mockMvc.perform(get("/api/alunos"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$[0].nome").value("João Silva"));
+                .andExpect(jsonPath("$[0].nome").value("João Silva"))
+                .andExpect(header().doesNotExist(AlunoController.HEADER_PROXIMO_CURSOR));
         
-        verify(alunoService, times(1)).listarTodosAlunos();
+        verify(alunoService, times(1)).listarAlunos(isNull(), isNull(), any());
+    }
+    
+    @Test
+    void listarAlunos_ComProximaPagina_DeveEnviarCursorNosHeaders() throws Exception {
+        pagina.setProximoCursor("aWQ6MQ");
+        when(alunoService.listarAlunos(eq("aWQ6MA"), eq(1), any())).thenAnswer(condicional(VERSAO_PAGINA, pagina));
+        
+        mockMvc.perform(get("/api/alunos?cursor=aWQ6MA&limite=1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(AlunoController.HEADER_PROXIMO_CURSOR, "aWQ6MQ"))
+                .andExpect(header().string("Link", "<http://localhost/api/alunos?limite=1&cursor=aWQ6MQ>; rel=\"next\""));
+        
+        verify(alunoService, times(1)).listarAlunos(eq("aWQ6MA"), eq(1), any());
     }
     
     @Test
     void buscarAlunoPorId_Sucesso() throws Exception {
-        when(alunoService.buscarAlunoPorId(1L)).thenReturn(alunoResponseDTO);
+        when(alunoService.buscarAlunoPorId(eq(1L), any())).thenAnswer(condicional(VERSAO_ALUNO, alunoResponseDTO));
         
         mockMvc.perform(get("/api/alunos/1"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(1L))
                 .andExpect(jsonPath("$.nome").value("João Silva"));
         
-        verify(alunoService, times(1)).buscarAlunoPorId(1L);
+        verify(alunoService, times(1)).buscarAlunoPorId(eq(1L), any());
+    }
+    
+    @Test
+    void buscarAlunoPorId_DeveEnviarETagELastModified() throws Exception {
+        when(alunoService.buscarAlunoPorId(eq(1L), any())).thenAnswer(condicional(VERSAO_ALUNO, alunoResponseDTO));
+        
+        mockMvc.perform(get("/api/alunos/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3.1\""))
+                .andExpect(header().dateValue("Last-Modified", VERSAO_ALUNO.getUltimaAlteracaoEmMilissegundos()));
+    }
+    
+    @Test
+    void buscarAlunoPorId_IfNoneMatchComVersaoAtual_DeveRetornar304SemCorpo() throws Exception {
+        when(alunoService.buscarAlunoPorId(eq(1L), any())).thenAnswer(condicional(VERSAO_ALUNO, alunoResponseDTO));
+        
+        mockMvc.perform(get("/api/alunos/1").header("If-None-Match", "\"3.1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"3.1\""))
+                .andExpect(content().string(""));
+    }
+    
+    @Test
+    void buscarAlunoPorId_IfNoneMatchComVersaoAntiga_DeveRetornarAluno() throws Exception {
+        when(alunoService.buscarAlunoPorId(eq(1L), any())).thenAnswer(condicional(VERSAO_ALUNO, alunoResponseDTO));
+        
+        mockMvc.perform(get("/api/alunos/1").header("If-None-Match", "\"2.1\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3.1\""))
+                .andExpect(jsonPath("$.id").value(1L));
+    }
+    
+    @Test
+    void listarAlunos_IfNoneMatchComVersaoAtual_DeveRetornar304() throws Exception {
+        when(alunoService.listarAlunos(isNull(), isNull(), any())).thenAnswer(condicional(VERSAO_PAGINA, pagina));
+        
+        mockMvc.perform(get("/api/alunos").header("If-None-Match", "\"" + VERSAO_PAGINA.getEtag() + "\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().doesNotExist(AlunoController.HEADER_PROXIMO_CURSOR))
+                .andExpect(content().string(""));
     }
     
     @Test
     void atualizarAluno_Sucesso() throws Exception {
-        when(alunoService.atualizarAluno(anyLong(), any(AlunoDTO.class))).thenReturn(alunoResponseDTO);
+        when(alunoService.atualizarAluno(anyLong(), any(AlunoDTO.class), any()))
+                .thenAnswer(atualizacaoCondicional(VERSAO_ALUNO, alunoResponseDTO));
+        
+        mockMvc.perform(put("/api/alunos/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(alunoDTO)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3.1\""))
+                .andExpect(jsonPath("$.id").value(1L));
+        
+        verify(alunoService, times(1)).atualizarAluno(anyLong(), any(AlunoDTO.class), any());
+    }
+    
+    @Test
+    void atualizarAluno_IfMatchComVersaoAtual_DeveAtualizar() throws Exception {
+        when(alunoService.atualizarAluno(anyLong(), any(AlunoDTO.class), any()))
+                .thenAnswer(atualizacaoCondicional(VERSAO_ALUNO, alunoResponseDTO));
+        
+        mockMvc.perform(put("/api/alunos/1")
+                        .header("If-Match", "\"2.1\", \"3.1\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(alunoDTO)))
+                .andExpect(status().isOk());
+    }
+    
+    @Test
+    void atualizarAluno_IfMatchComVersaoAntiga_DeveRetornar412() throws Exception {
+        when(alunoService.atualizarAluno(anyLong(), any(AlunoDTO.class), any()))
+                .thenAnswer(atualizacaoCondicional(VERSAO_ALUNO, alunoResponseDTO));
+        
+        mockMvc.perform(put("/api/alunos/1")
+                        .header("If-Match", "\"2.1\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(alunoDTO)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.status").value(412));
+    }
+    
+    @Test
+    void atualizarAluno_IfMatchComEtagFraca_DeveRetornar412() throws Exception {
+        when(alunoService.atualizarAluno(anyLong(), any(AlunoDTO.class), any()))
+                .thenAnswer(atualizacaoCondicional(VERSAO_ALUNO, alunoResponseDTO));
+        
+        mockMvc.perform(put("/api/alunos/1")
+                        .header("If-Match", "W/\"3.1\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(alunoDTO)))
+                .andExpect(status().isPreconditionFailed());
+    }
+    
+    @Test
+    void atualizarAluno_AlteracaoConcorrenteComIfMatch_DeveRetornar412() throws Exception {
+        when(alunoService.atualizarAluno(anyLong(), any(AlunoDTO.class), any()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Aluno.class, 1L));
+        
+        mockMvc.perform(put("/api/alunos/1")
+                        .header("If-Match", "\"3.1\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(alunoDTO)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.error").value("Versão desatualizada"));
+    }
+    
+    @Test
+    void atualizarAluno_AlteracaoConcorrenteSemIfMatch_DeveRetornar409() throws Exception {
+        when(alunoService.atualizarAluno(anyLong(), any(AlunoDTO.class), any()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Aluno.class, 1L));
         
         mockMvc.perform(put("/api/alunos/1")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(alunoDTO)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("Conflito"));
+    }
+    
+    @Test
+    void atualizarAlunoParcialmente_MergePatch_DeveRepassarSoOsCamposEnviados() throws Exception {
+        when(alunoService.atualizarAlunoParcialmente(anyLong(), any(JsonNode.class), any()))
+                .thenAnswer(atualizacaoCondicional(VERSAO_ALUNO, alunoResponseDTO));
+        
+        mockMvc.perform(patch("/api/alunos/1")
+                        .header("If-Match", "\"3.1\"")
+                        .contentType(AlunoController.MERGE_PATCH_JSON)
+                        .content("{\"mediaGeral\": 9.5}"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3.1\""))
                 .andExpect(jsonPath("$.id").value(1L));
         
-        verify(alunoService, times(1)).atualizarAluno(anyLong(), any(AlunoDTO.class));
+        ArgumentCaptor<JsonNode> patch = ArgumentCaptor.forClass(JsonNode.class);
+        verify(alunoService).atualizarAlunoParcialmente(eq(1L), patch.capture(), any());
+        assertEquals(1, patch.getValue().size());
+        assertEquals(9.5, patch.getValue().get("mediaGeral").asDouble());
+    }
+    
+    @Test
+    void atualizarAlunoParcialmente_ComoApplicationJson_DeveAceitar() throws Exception {
+        when(alunoService.atualizarAlunoParcialmente(anyLong(), any(JsonNode.class), any()))
+                .thenAnswer(atualizacaoCondicional(VERSAO_ALUNO, alunoResponseDTO));
+        
+        mockMvc.perform(patch("/api/alunos/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"mediaGeral\": null}"))
+                .andExpect(status().isOk());
+    }
+    
+    @Test
+    void atualizarAlunoParcialmente_IfMatchComVersaoAntiga_DeveRetornar412() throws Exception {
+        when(alunoService.atualizarAlunoParcialmente(anyLong(), any(JsonNode.class), any()))
+                .thenAnswer(atualizacaoCondicional(VERSAO_ALUNO, alunoResponseDTO));
+        
+        mockMvc.perform(patch("/api/alunos/1")
+                        .header("If-Match", "\"2.1\"")
+                        .contentType(AlunoController.MERGE_PATCH_JSON)
+                        .content("{\"mediaGeral\": 9.5}"))
+                .andExpect(status().isPreconditionFailed());
+    }
+    
+    @Test
+    void atualizarAlunoParcialmente_AlunoResultanteInvalido_DeveRetornar400() throws Exception {
+        when(alunoService.atualizarAlunoParcialmente(anyLong(), any(JsonNode.class), any()))
+                .thenThrow(new ConstraintViolationException("Nome é obrigatório", Set.of()));
+        
+        mockMvc.perform(patch("/api/alunos/1")
+                        .contentType(AlunoController.MERGE_PATCH_JSON)
+                        .content("{\"nome\": null}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Erro de validação"));
     }
     
     @Test
@@ -133,54 +409,208 @@ class AlunoControllerTest {
     }
     
     @Test
-    void buscarAlunosComFiltro_PorCurso_Sucesso() throws Exception {
-        List<AlunoResponseDTO> alunos = Arrays.asList(alunoResponseDTO);
-        when(alunoService.buscarAlunosPorCurso(1L)).thenReturn(alunos);
+    void buscarAlunosComFiltro_CombinaTodosOsParametros() throws Exception {
+        when(alunoService.buscarAlunosComFiltro(any(FiltroAlunoDTO.class), isNull(), isNull(), any()))
+                .thenAnswer(condicional(VERSAO_PAGINA, pagina));
         
         mockMvc.perform(get("/api/alunos/filtro")
-                        .param("cursoId", "1"))
+                        .param("cursoId", "1")
+                        .param("semestreMinimo", "2")
+                        .param("semestreMaximo", "4")
+                        .param("mediaMinima", "8.0")
+                        .param("dataMatriculaInicio", "2024-01-01")
+                        .param("ordenacao", "mediaGeral")
+                        .param("direcao", "desc"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isArray());
         
-        verify(alunoService, times(1)).buscarAlunosPorCurso(1L);
+        ArgumentCaptor<FiltroAlunoDTO> filtro = ArgumentCaptor.forClass(FiltroAlunoDTO.class);
+        verify(alunoService, times(1)).buscarAlunosComFiltro(filtro.capture(), isNull(), isNull(), any());
+        assertEquals(1L, filtro.getValue().getCursoId());
+        assertEquals(2, filtro.getValue().getSemestreMinimo());
+        assertEquals(4, filtro.getValue().getSemestreMaximo());
+        assertEquals(8.0, filtro.getValue().getMediaMinima());
+        assertEquals(LocalDate.of(2024, 1, 1), filtro.getValue().getDataMatriculaInicio());
+        assertEquals("mediaGeral", filtro.getValue().getOrdenacao());
+        assertEquals("desc", filtro.getValue().getDirecao());
     }
     
     @Test
-    void buscarAlunosComFiltro_PorSemestre_Sucesso() throws Exception {
-        List<AlunoResponseDTO> alunos = Arrays.asList(alunoResponseDTO);
-        when(alunoService.buscarAlunosPorSemestre(3)).thenReturn(alunos);
+    void buscarAlunosComFiltro_IfNoneMatchComVersaoAtual_DeveRetornar304() throws Exception {
+        when(alunoService.buscarAlunosComFiltro(any(FiltroAlunoDTO.class), isNull(), isNull(), any()))
+                .thenAnswer(condicional(VERSAO_PAGINA, pagina));
         
         mockMvc.perform(get("/api/alunos/filtro")
-                        .param("semestre", "3"))
+                        .param("cursoId", "1")
+                        .header("If-None-Match", "\"" + VERSAO_PAGINA.getEtag() + "\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+    
+    @Test
+    void buscarAlunosComFiltro_FiltroInvalido_DeveRetornar400() throws Exception {
+        when(alunoService.buscarAlunosComFiltro(any(FiltroAlunoDTO.class), isNull(), isNull(), any()))
+                .thenThrow(new BusinessException("A média mínima não pode ser maior que a média máxima"));
+        
+        mockMvc.perform(get("/api/alunos/filtro")
+                        .param("mediaMinima", "9.0")
+                        .param("mediaMaxima", "5.0"))
+                .andExpect(status().isBadRequest());
+    }
+    
+    @Test
+    void buscarAlunosComFiltro_SemFiltro_DeveListarTodos() throws Exception {
+        when(alunoService.buscarAlunosComFiltro(any(FiltroAlunoDTO.class), isNull(), isNull(), any()))
+                .thenAnswer(condicional(VERSAO_PAGINA, pagina));
+        
+        mockMvc.perform(get("/api/alunos/filtro"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isArray());
         
-        verify(alunoService, times(1)).buscarAlunosPorSemestre(3);
+        verify(alunoService, times(1)).buscarAlunosComFiltro(eq(new FiltroAlunoDTO()), isNull(), isNull(), any());
     }
     
     @Test
-    void buscarAlunosComFiltro_PorMediaMinima_Sucesso() throws Exception {
-        List<AlunoResponseDTO> alunos = Arrays.asList(alunoResponseDTO);
-        when(alunoService.buscarAlunosPorMediaMinima(8.0)).thenReturn(alunos);
+    void exportarAlunos_Ndjson_DeveTransmitirConteudo() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream saida = invocation.getArgument(1);
+            saida.write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(alunoExportacaoService).exportar(eq(FormatoExportacao.NDJSON), any(OutputStream.class));
         
-        mockMvc.perform(get("/api/alunos/filtro")
-                        .param("mediaMinima", "8.0"))
+        MvcResult resultado = mockMvc.perform(get("/api/alunos/exportacao"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        
+        mockMvc.perform(asyncDispatch(resultado))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray());
+                .andExpect(header().string("Content-Type", "application/x-ndjson"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"alunos.ndjson\""))
+                .andExpect(content().string("{\"id\":1}\n"));
+    }
+    
+    @Test
+    void exportarAlunos_FormatoInvalido_DeveRetornarBadRequest() throws Exception {
+        mockMvc.perform(get("/api/alunos/exportacao").param("formato", "xml"))
+                .andExpect(status().isBadRequest());
         
-        verify(alunoService, times(1)).buscarAlunosPorMediaMinima(8.0);
+        verifyNoInteractions(alunoExportacaoService);
     }
     
     @Test
-    void buscarAlunosComFiltro_SemFiltro_DeveListarTodos() throws Exception {
-        List<AlunoResponseDTO> alunos = Arrays.asList(alunoResponseDTO);
-        when(alunoService.listarTodosAlunos()).thenReturn(alunos);
+    void buscarRanking_PorCurso() throws Exception {
+        when(rankingService.buscarRanking(1L, 2)).thenReturn(Arrays.asList(
+                new RankingAlunoDTO(1, 2L, "Maria", "2024002", 1L, "Ciência da Computação", 9.5),
+                new RankingAlunoDTO(2, 1L, "João Silva", "2024001", 1L, "Ciência da Computação", 8.5)));
         
-        mockMvc.perform(get("/api/alunos/filtro"))
+        mockMvc.perform(get("/api/alunos/ranking").param("cursoId", "1").param("k", "2"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray());
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].posicao").value(1))
+                .andExpect(jsonPath("$[0].mediaGeral").value(9.5))
+                .andExpect(jsonPath("$[1].id").value(1));
         
-        verify(alunoService, times(1)).listarTodosAlunos();
+        verify(rankingService, times(1)).buscarRanking(1L, 2);
+    }
+    
+    @Test
+    void buscarRanking_SemParametros_DeveSerGeral() throws Exception {
+        when(rankingService.buscarRanking(null, null)).thenReturn(List.of());
+        
+        mockMvc.perform(get("/api/alunos/ranking"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+        
+        verify(rankingService, times(1)).buscarRanking(isNull(), isNull());
+        verifyNoInteractions(alunoService);
+    }
+    
+    @Test
+    void buscarRanking_KInvalido_DeveRetornarBadRequest() throws Exception {
+        when(rankingService.buscarRanking(null, 500)).thenThrow(new BusinessException("O parâmetro k deve estar entre 1 e 100"));
+        
+        mockMvc.perform(get("/api/alunos/ranking").param("k", "500"))
+                .andExpect(status().isBadRequest());
+    }
+    
+    @Test
+    void buscarPosicaoNoRanking_Sucesso() throws Exception {
+        when(rankingService.buscarPosicao(1L)).thenReturn(new PosicaoRankingDTO(1L, 1L, 8.5, 3L, 10L, 2L, 4L));
+        
+        mockMvc.perform(get("/api/alunos/1/ranking"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.posicaoGeral").value(3))
+                .andExpect(jsonPath("$.totalGeral").value(10))
+                .andExpect(jsonPath("$.posicaoNoCurso").value(2))
+                .andExpect(jsonPath("$.totalNoCurso").value(4));
+    }
+    
+    @Test
+    void buscarPosicaoNoRanking_AlunoInexistente_DeveRetornarNotFound() throws Exception {
+        when(rankingService.buscarPosicao(99L)).thenThrow(new ResourceNotFoundException("Aluno não encontrado com ID: 99"));
+        
+        mockMvc.perform(get("/api/alunos/99/ranking"))
+                .andExpect(status().isNotFound());
+    }
+    
+    @Test
+    void criarAluno_ViolacaoDeUnicidadeNoBanco_DeveRetornarConflict() throws Exception {
+        when(alunoService.criarAluno(any(AlunoDTO.class))).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement", new org.hibernate.exception.ConstraintViolationException(
+                        "could not execute statement", new SQLException("duplicate key", "23505"), "uk_alunos_email")));
+        
+        mockMvc.perform(post("/api/alunos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(alunoDTO)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Já existe um aluno com o email informado"));
+    }
+    
+    @Test
+    void criarAluno_ChaveDuplicadaNaVerificacao_DeveRetornarConflict() throws Exception {
+        // Mesmo status da violação no banco: o cliente não distingue por onde a duplicidade foi detectada
+        when(alunoService.criarAluno(any(AlunoDTO.class)))
+                .thenThrow(new ConflictException("Já existe um aluno com a matrícula: 2024001"));
+        
+        mockMvc.perform(post("/api/alunos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(alunoDTO)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("Conflito"))
+                .andExpect(jsonPath("$.message").value("Já existe um aluno com a matrícula: 2024001"));
+    }
+    
+    @Test
+    void estatisticasUnicidade_Sucesso() throws Exception {
+        EstatisticasFiltroBloom matriculas = new EstatisticasFiltroBloom(true, 1000, 10000, 95872, 7, 11984, 0.0001, 90, 5, 1);
+        when(alunoService.estatisticasUnicidade()).thenReturn(Map.of("matriculas", matriculas));
+        
+        mockMvc.perform(get("/api/alunos/unicidade/estatisticas"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matriculas.tamanhoBytes").value(11984))
+                .andExpect(jsonPath("$.matriculas.descartadasSemBanco").value(90))
+                .andExpect(jsonPath("$.matriculas.taxaFalsoPositivoObservada").value(1.0 / 91));
+    }
+    
+    // Simula o serviço: passa a versão ao predicado do controller e só devolve o conteúdo quando ele a recusa
+    @SuppressWarnings("unchecked")
+    private static <T> Answer<Optional<T>> condicional(VersaoRecurso versao, T conteudo) {
+        return invocacao -> {
+            Object[] argumentos = invocacao.getArguments();
+            Predicate<VersaoRecurso> naoModificado = (Predicate<VersaoRecurso>) argumentos[argumentos.length - 1];
+            return naoModificado.test(versao) ? Optional.empty() : Optional.of(conteudo);
+        };
+    }
+    
+    // Como o serviço: recusa a alteração (412) quando o predicado do If-Match não aceita a versão atual
+    @SuppressWarnings("unchecked")
+    private static <T> Answer<RecursoVersionado<T>> atualizacaoCondicional(VersaoRecurso versao, T conteudo) {
+        return invocacao -> {
+            Predicate<VersaoRecurso> versaoAceita = (Predicate<VersaoRecurso>) invocacao.getArgument(2);
+            if (!versaoAceita.test(versao)) {
+                throw new PreconditionFailedException("Versão desatualizada");
+            }
+            return new RecursoVersionado<>(conteudo, versao);
+        };
     }
 }
-
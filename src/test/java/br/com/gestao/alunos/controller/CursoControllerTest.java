@@ -1,21 +1,37 @@
 package br.com.gestao.alunos.controller;
 
+import br.com.gestao.alunos.cache.EstatisticasCache;
+import br.com.gestao.alunos.condicional.RecursoVersionado;
+import br.com.gestao.alunos.condicional.VersaoRecurso;
+import br.com.gestao.alunos.dto.CursoComTotaisDTO;
 import br.com.gestao.alunos.dto.CursoDTO;
+import br.com.gestao.alunos.dto.EstatisticasCursoDTO;
+import br.com.gestao.alunos.dto.ResultadoRemocaoDTO;
+import br.com.gestao.alunos.exception.PreconditionFailedException;
+import br.com.gestao.alunos.exception.ResourceNotFoundException;
+import br.com.gestao.alunos.model.Curso;
 import br.com.gestao.alunos.service.CursoService;
+import br.com.gestao.alunos.service.EstatisticasCursoService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -29,10 +45,15 @@ class CursoControllerTest {
     @MockBean
     private CursoService cursoService;
     
+    @MockBean
+    private EstatisticasCursoService estatisticasCursoService;
+    
     @Autowired
     private ObjectMapper objectMapper;
     
     private CursoDTO cursoDTO;
+    private VersaoRecurso versaoCurso;
+    private VersaoRecurso versaoLista;
     
     @BeforeEach
     void setUp() {
@@ -40,6 +61,13 @@ class CursoControllerTest {
         cursoDTO.setId(1L);
         cursoDTO.setNome("Ciência da Computação");
         cursoDTO.setDescricao("Curso de CC");
+        
+        Curso curso = new Curso();
+        curso.setId(1L);
+        curso.setVersao(4L);
+        curso.setAtualizadoEm(LocalDateTime.of(2024, 3, 1, 9, 0));
+        versaoCurso = VersaoRecurso.doCurso(curso);
+        versaoLista = VersaoRecurso.daLista(List.of(curso));
     }
     
     @Test
@@ -59,51 +87,145 @@ class CursoControllerTest {
     @Test
     void listarTodosCursos_Sucesso() throws Exception {
         List<CursoDTO> cursos = Arrays.asList(cursoDTO);
-        when(cursoService.listarTodosCursos()).thenReturn(cursos);
+        when(cursoService.listarTodosCursos(any())).thenAnswer(condicional(versaoLista, cursos));
         
         mockMvc.perform(get("/api/cursos"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$[0].nome").value("Ciência da Computação"));
         
-        verify(cursoService, times(1)).listarTodosCursos();
+        verify(cursoService, times(1)).listarTodosCursos(any());
+    }
+    
+    @Test
+    void listarTodosCursos_IfNoneMatchComVersaoAtual_DeveRetornar304SemCorpo() throws Exception {
+        when(cursoService.listarTodosCursos(any())).thenAnswer(condicional(versaoLista, List.of(cursoDTO)));
+        
+        mockMvc.perform(get("/api/cursos").header("If-None-Match", "\"" + versaoLista.getEtag() + "\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"" + versaoLista.getEtag() + "\""))
+                .andExpect(content().string(""));
+    }
+    
+    @Test
+    void listarTodosCursos_ComTotais() throws Exception {
+        when(cursoService.listarCursosComTotais())
+                .thenReturn(List.of(new CursoComTotaisDTO(1L, "Ciência da Computação", "Curso de CC", 12L, 7.85)));
+        
+        mockMvc.perform(get("/api/cursos").param("incluirTotais", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].nome").value("Ciência da Computação"))
+                .andExpect(jsonPath("$[0].totalAlunos").value(12))
+                .andExpect(jsonPath("$[0].mediaGeral").value(7.85));
+        
+        verify(cursoService, never()).listarTodosCursos(any());
+    }
+    
+    @Test
+    void estatisticasCache_Sucesso() throws Exception {
+        when(cursoService.estatisticasCache())
+                .thenReturn(Map.of("cursosPorId", new EstatisticasCache(3, 1, 0, 1, 1000)));
+        
+        mockMvc.perform(get("/api/cursos/cache/estatisticas"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cursosPorId.acertos").value(3))
+                .andExpect(jsonPath("$.cursosPorId.taxaAcerto").value(0.75));
     }
     
     @Test
     void buscarCursoPorId_Sucesso() throws Exception {
-        when(cursoService.buscarCursoPorId(1L)).thenReturn(cursoDTO);
+        when(cursoService.buscarCursoPorId(eq(1L), any())).thenAnswer(condicional(versaoCurso, cursoDTO));
         
         mockMvc.perform(get("/api/cursos/1"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(1L))
                 .andExpect(jsonPath("$.nome").value("Ciência da Computação"));
         
-        verify(cursoService, times(1)).buscarCursoPorId(1L);
+        verify(cursoService, times(1)).buscarCursoPorId(eq(1L), any());
+    }
+    
+    @Test
+    void buscarCursoPorId_DeveEnviarETagELastModified() throws Exception {
+        when(cursoService.buscarCursoPorId(eq(1L), any())).thenAnswer(condicional(versaoCurso, cursoDTO));
+        
+        mockMvc.perform(get("/api/cursos/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""))
+                .andExpect(header().dateValue("Last-Modified", versaoCurso.getUltimaAlteracaoEmMilissegundos()));
+    }
+    
+    @Test
+    void buscarCursoPorId_IfNoneMatchComVersaoAtual_DeveRetornar304SemCorpo() throws Exception {
+        when(cursoService.buscarCursoPorId(eq(1L), any())).thenAnswer(condicional(versaoCurso, cursoDTO));
+        
+        mockMvc.perform(get("/api/cursos/1").header("If-None-Match", "\"4\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
     }
     
     @Test
     void atualizarCurso_Sucesso() throws Exception {
-        when(cursoService.atualizarCurso(anyLong(), any(CursoDTO.class))).thenReturn(cursoDTO);
+        when(cursoService.atualizarCurso(anyLong(), any(CursoDTO.class), any()))
+                .thenAnswer(atualizacaoCondicional(versaoCurso, cursoDTO));
         
         mockMvc.perform(put("/api/cursos/1")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(cursoDTO)))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""))
                 .andExpect(jsonPath("$.id").value(1L));
         
-        verify(cursoService, times(1)).atualizarCurso(anyLong(), any(CursoDTO.class));
+        verify(cursoService, times(1)).atualizarCurso(anyLong(), any(CursoDTO.class), any());
+    }
+    
+    @Test
+    void atualizarCurso_IfMatchQualquerVersao_DeveAtualizar() throws Exception {
+        when(cursoService.atualizarCurso(anyLong(), any(CursoDTO.class), any()))
+                .thenAnswer(atualizacaoCondicional(versaoCurso, cursoDTO));
+        
+        mockMvc.perform(put("/api/cursos/1")
+                        .header("If-Match", "*")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(cursoDTO)))
+                .andExpect(status().isOk());
+    }
+    
+    @Test
+    void atualizarCurso_IfMatchComVersaoAntiga_DeveRetornar412() throws Exception {
+        when(cursoService.atualizarCurso(anyLong(), any(CursoDTO.class), any()))
+                .thenAnswer(atualizacaoCondicional(versaoCurso, cursoDTO));
+        
+        mockMvc.perform(put("/api/cursos/1")
+                        .header("If-Match", "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(cursoDTO)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.status").value(412));
     }
     
     @Test
     void deletarCurso_Sucesso() throws Exception {
-        doNothing().when(cursoService).deletarCurso(1L);
+        when(cursoService.deletarCurso(1L)).thenReturn(new ResultadoRemocaoDTO(1L, true, 42));
         
         mockMvc.perform(delete("/api/cursos/1"))
-                .andExpect(status().isNoContent());
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cursoRemovido").value(true))
+                .andExpect(jsonPath("$.alunosRemovidos").value(42));
         
         verify(cursoService, times(1)).deletarCurso(1L);
     }
     
+    @Test
+    void deletarAlunosDoCurso_Sucesso() throws Exception {
+        when(cursoService.deletarAlunosDoCurso(1L)).thenReturn(new ResultadoRemocaoDTO(1L, false, 7));
+        
+        mockMvc.perform(delete("/api/cursos/1/alunos"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cursoId").value(1))
+                .andExpect(jsonPath("$.cursoRemovido").value(false))
+                .andExpect(jsonPath("$.alunosRemovidos").value(7));
+    }
+    
     @Test
     void criarCurso_DadosInvalidos_DeveRetornarBadRequest() throws Exception {
         cursoDTO.setNome(""); // Nome vazio
@@ -125,7 +247,65 @@ class CursoControllerTest {
                         .content(objectMapper.writeValueAsString(cursoDTO)))
                 .andExpect(status().isBadRequest());
         
-        verify(cursoService, never()).atualizarCurso(anyLong(), any(CursoDTO.class));
+        verify(cursoService, never()).atualizarCurso(anyLong(), any(CursoDTO.class), any());
+    }
+    
+    @Test
+    void buscarEstatisticas_Sucesso() throws Exception {
+        EstatisticasCursoDTO estatisticas = new EstatisticasCursoDTO(1L, "Ciência da Computação", 3, 2, 8.25, 7.5, 9.0,
+                Map.of(3, 2L, 5, 1L), Map.of("7-8", 1L, "9-10", 1L));
+        when(estatisticasCursoService.buscarEstatisticas(1L)).thenReturn(estatisticas);
+        
+        mockMvc.perform(get("/api/cursos/1/estatisticas"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quantidadeAlunos").value(3))
+                .andExpect(jsonPath("$.mediaGeral").value(8.25))
+                .andExpect(jsonPath("$.alunosPorSemestre.3").value(2))
+                .andExpect(jsonPath("$.alunosPorFaixaDeMedia['9-10']").value(1));
+    }
+    
+    @Test
+    void buscarEstatisticas_CursoInexistente_DeveRetornarNotFound() throws Exception {
+        when(estatisticasCursoService.buscarEstatisticas(99L))
+                .thenThrow(new ResourceNotFoundException("Curso não encontrado com ID: 99"));
+        
+        mockMvc.perform(get("/api/cursos/99/estatisticas"))
+                .andExpect(status().isNotFound());
+    }
+    
+    @Test
+    void listarEstatisticas_Sucesso() throws Exception {
+        EstatisticasCursoDTO estatisticas = new EstatisticasCursoDTO();
+        estatisticas.setCursoId(1L);
+        estatisticas.setCursoNome("Ciência da Computação");
+        when(estatisticasCursoService.listarEstatisticas()).thenReturn(List.of(estatisticas));
+        
+        mockMvc.perform(get("/api/cursos/estatisticas"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].cursoId").value(1))
+                .andExpect(jsonPath("$[0].quantidadeAlunos").value(0));
+        
+        verifyNoInteractions(cursoService);
+    }
+    
+    // O serviço só devolve o conteúdo quando o predicado do controller recusa a versão
+    @SuppressWarnings("unchecked")
+    private static <T> Answer<Optional<T>> condicional(VersaoRecurso versao, T conteudo) {
+        return invocacao -> {
+            Object[] argumentos = invocacao.getArguments();
+            Predicate<VersaoRecurso> naoModificado = (Predicate<VersaoRecurso>) argumentos[argumentos.length - 1];
+            return naoModificado.test(versao) ? Optional.empty() : Optional.of(conteudo);
+        };
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static <T> Answer<RecursoVersionado<T>> atualizacaoCondicional(VersaoRecurso versao, T conteudo) {
+        return invocacao -> {
+            Predicate<VersaoRecurso> versaoAceita = (Predicate<VersaoRecurso>) invocacao.getArgument(2);
+            if (!versaoAceita.test(versao)) {
+                throw new PreconditionFailedException("Versão desatualizada");
+            }
+            return new RecursoVersionado<>(conteudo, versao);
+        };
     }
 }
-
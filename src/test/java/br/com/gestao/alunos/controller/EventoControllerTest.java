@@ -0,0 +1,56 @@
+package br.com.gestao.alunos.controller;
+
+import br.com.gestao.alunos.alteracoes.FeedAlteracoes;
+import br.com.gestao.alunos.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(EventoController.class)
+class EventoControllerTest {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @MockBean
+    private FeedAlteracoes feedAlteracoes;
+    
+    @Test
+    void acompanharAlteracoes_AbreStreamRetomandoDoLastEventId() throws Exception {
+        when(feedAlteracoes.assinar("abc-5")).thenReturn(new SseEmitter());
+        
+        mockMvc.perform(get("/api/eventos/stream")
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .header("Last-Event-ID", "abc-5")
+                        .param("desde", "abc-1"))
+                .andExpect(request().asyncStarted());
+        
+        verify(feedAlteracoes).assinar("abc-5");
+    }
+    
+    @Test
+    void acompanharAlteracoes_SemHeader_UsaParametroDesde() throws Exception {
+        when(feedAlteracoes.assinar("abc-1")).thenReturn(new SseEmitter());
+        
+        mockMvc.perform(get("/api/eventos/stream").param("desde", "abc-1"))
+                .andExpect(request().asyncStarted());
+        
+        verify(feedAlteracoes).assinar("abc-1");
+    }
+    
+    @Test
+    void acompanharAlteracoes_LimiteDeConexoes_Retorna503() throws Exception {
+        when(feedAlteracoes.assinar(null)).thenThrow(new ServiceUnavailableException("Limite de conexões atingido"));
+        
+        mockMvc.perform(get("/api/eventos/stream"))
+                .andExpect(status().isServiceUnavailable());
+    }
+}
@@ -0,0 +1,101 @@
+package br.com.gestao.alunos.controller;
+
+import br.com.gestao.alunos.dto.ErroImportacaoDTO;
+import br.com.gestao.alunos.dto.ImportacaoDTO;
+import br.com.gestao.alunos.exception.ResourceNotFoundException;
+import br.com.gestao.alunos.exception.ServiceUnavailableException;
+import br.com.gestao.alunos.model.StatusImportacao;
+import br.com.gestao.alunos.service.ImportacaoService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ImportacaoController.class)
+class ImportacaoControllerTest {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @MockBean
+    private ImportacaoService importacaoService;
+    
+    private ImportacaoDTO importacao(StatusImportacao status) {
+        ImportacaoDTO dto = new ImportacaoDTO();
+        dto.setId(7L);
+        dto.setStatus(status);
+        dto.setLinhasEstimadas(1000);
+        dto.setCriadaEm(LocalDateTime.of(2024, 3, 1, 10, 0));
+        dto.setErros(List.of());
+        return dto;
+    }
+    
+    @Test
+    void criarImportacao_Retorna202ComLocation() throws Exception {
+        when(importacaoService.criar(any(InputStream.class))).thenAnswer(invocacao -> {
+            String csv = new String(invocacao.getArgument(0, InputStream.class).readAllBytes(), StandardCharsets.UTF_8);
+            return csv.startsWith("nome,matricula") ? importacao(StatusImportacao.PENDENTE) : null;
+        });
+        
+        mockMvc.perform(post("/api/importacoes")
+                        .contentType("text/csv")
+                        .content("nome,matricula,email,cursoId,semestre\nAna,2024001,ana@email.com,1,1\n"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "http://localhost/api/importacoes/7"))
+                .andExpect(jsonPath("$.id").value(7))
+                .andExpect(jsonPath("$.status").value("PENDENTE"))
+                .andExpect(jsonPath("$.linhasEstimadas").value(1000));
+    }
+    
+    @Test
+    void criarImportacao_LimiteAtingido_Retorna503() throws Exception {
+        when(importacaoService.criar(any(InputStream.class)))
+                .thenThrow(new ServiceUnavailableException("Limite de 10 importações em andamento atingido"));
+        
+        mockMvc.perform(post("/api/importacoes")
+                        .contentType("text/csv")
+                        .content("nome,matricula,email,cursoId,semestre\n"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.message").value("Limite de 10 importações em andamento atingido"));
+    }
+    
+    @Test
+    void buscarImportacao_RetornaProgresso() throws Exception {
+        ImportacaoDTO dto = importacao(StatusImportacao.PROCESSANDO);
+        dto.setLinhasProcessadas(400);
+        dto.setImportados(399);
+        dto.setRejeitados(1);
+        dto.setLinhasPorSegundo(200.0);
+        dto.setSegundosRestantes(3L);
+        dto.setErros(List.of(new ErroImportacaoDTO(5, List.of("Curso não encontrado com ID: 9"))));
+        when(importacaoService.buscarPorId(7L)).thenReturn(dto);
+        
+        mockMvc.perform(get("/api/importacoes/7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("PROCESSANDO"))
+                .andExpect(jsonPath("$.linhasProcessadas").value(400))
+                .andExpect(jsonPath("$.linhasPorSegundo").value(200.0))
+                .andExpect(jsonPath("$.segundosRestantes").value(3))
+                .andExpect(jsonPath("$.erros[0].linha").value(5));
+    }
+    
+    @Test
+    void buscarImportacao_NaoEncontrada_Retorna404() throws Exception {
+        when(importacaoService.buscarPorId(99L))
+                .thenThrow(new ResourceNotFoundException("Importação não encontrada com ID: 99"));
+        
+        mockMvc.perform(get("/api/importacoes/99"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,339 @@
+package br.com.gestao.alunos.estatisticas;
+
+import br.com.gestao.alunos.dto.AlunoResponseDTO;
+import br.com.gestao.alunos.dto.ContagemAlunosDTO;
+import br.com.gestao.alunos.dto.EstatisticasCursoDTO;
+import br.com.gestao.alunos.event.AlunoAlteradoEvent;
+import br.com.gestao.alunos.event.AlunosImportadosEvent;
+import br.com.gestao.alunos.event.CursoAlteradoEvent;
+import br.com.gestao.alunos.repository.AlunoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EstatisticasCursosTest {
+    
+    @Mock
+    private AlunoRepository alunoRepository;
+    
+    @Mock
+    private TaskScheduler agendador;
+    
+    private EstatisticasCursos estatisticasCursos;
+    
+    @BeforeEach
+    void setUp() {
+        estatisticasCursos = new EstatisticasCursos(alunoRepository, agendador, true);
+    }
+    
+    private AlunoResponseDTO aluno(long id, long cursoId, int semestre, Double media) {
+        return new AlunoResponseDTO(id, "Aluno " + id, "M" + id, id + "@email.com", "Curso", cursoId, semestre, media, null);
+    }
+    
+    // Uma contagem unitária por aluno; o banco agruparia os iguais, o que dá os mesmos contadores
+    private List<ContagemAlunosDTO> contagens(AlunoResponseDTO... alunos) {
+        return Arrays.stream(alunos)
+                .map(aluno -> new ContagemAlunosDTO(aluno.getCursoId(), aluno.getSemestre(), aluno.getMediaGeral(), 1L))
+                .collect(Collectors.toList());
+    }
+    
+    private void carregar(AlunoResponseDTO... alunos) {
+        when(alunoRepository.contarAlunosAgrupados()).thenReturn(contagens(alunos));
+        estatisticasCursos.recarregar();
+    }
+    
+    // Uma transação de escrita inteira, como o Spring a conduz: publicação, commit e entrega do evento
+    private void confirmarEscrita(AlunoAlteradoEvent evento) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            estatisticasCursos.registrarCommit();
+            TransactionSynchronizationUtils.triggerBeforeCommit(false);
+            estatisticasCursos.aoAlterarAluno(evento);
+            TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+    
+    @Test
+    void antesDeCarregar_DeveRetornarNulo() {
+        assertFalse(estatisticasCursos.isCarregado());
+        assertNull(estatisticasCursos.resumir(1L));
+        assertNull(estatisticasCursos.resumirTodos());
+        
+        estatisticasCursos.aoAlterarAluno(AlunoAlteradoEvent.criado(aluno(1, 1, 1, 8.0)));
+        assertNull(estatisticasCursos.resumir(1L));
+    }
+    
+    @Test
+    void desabilitado_NaoCarrega() {
+        EstatisticasCursos desabilitado = new EstatisticasCursos(alunoRepository, agendador, false);
+        
+        desabilitado.recarregar();
+        desabilitado.aoImportarAlunos(new AlunosImportadosEvent(1));
+        
+        assertFalse(desabilitado.isCarregado());
+        verifyNoInteractions(alunoRepository, agendador);
+    }
+    
+    @Test
+    void resumir_CalculaContagensMediaEDistribuicoes() {
+        carregar(aluno(1, 1, 1, 9.0), aluno(2, 1, 3, 7.5), aluno(3, 1, 3, null), aluno(4, 1, 5, 10.0), aluno(5, 2, 1, 4.0));
+        
+        EstatisticasCursoDTO estatisticas = estatisticasCursos.resumir(1L);
+        
+        assertEquals(1L, estatisticas.getCursoId());
+        assertEquals(4, estatisticas.getQuantidadeAlunos());
+        assertEquals(3, estatisticas.getAlunosComMedia());
+        assertEquals(8.83, estatisticas.getMediaGeral());
+        assertEquals(7.5, estatisticas.getMenorMedia());
+        assertEquals(10.0, estatisticas.getMaiorMedia());
+        assertEquals(Map.of(1, 1L, 3, 2L, 5, 1L), estatisticas.getAlunosPorSemestre());
+        assertEquals(10, estatisticas.getAlunosPorFaixaDeMedia().size());
+        assertEquals(1L, estatisticas.getAlunosPorFaixaDeMedia().get("7-8"));
+        assertEquals(2L, estatisticas.getAlunosPorFaixaDeMedia().get("9-10"));
+        assertEquals(0L, estatisticas.getAlunosPorFaixaDeMedia().get("0-1"));
+        
+        assertEquals(2, estatisticasCursos.resumirTodos().size());
+    }
+    
+    @Test
+    void resumir_CursoSemAlunos_RetornaZerado() {
+        carregar(aluno(1, 1, 1, 9.0));
+        
+        EstatisticasCursoDTO estatisticas = estatisticasCursos.resumir(99L);
+        
+        assertEquals(0, estatisticas.getQuantidadeAlunos());
+        assertNull(estatisticas.getMediaGeral());
+        assertNull(estatisticas.getMenorMedia());
+        assertTrue(estatisticas.getAlunosPorSemestre().isEmpty());
+    }
+    
+    @Test
+    void recarregar_LeContagensAgrupadasDoBanco() {
+        when(alunoRepository.contarAlunosAgrupados()).thenReturn(List.of(
+                new ContagemAlunosDTO(1L, 1, 8.0, 1000L),
+                new ContagemAlunosDTO(1L, 2, null, 1L)));
+        
+        estatisticasCursos.recarregar();
+        
+        EstatisticasCursoDTO estatisticas = estatisticasCursos.resumir(1L);
+        assertEquals(1001, estatisticas.getQuantidadeAlunos());
+        assertEquals(1000, estatisticas.getAlunosComMedia());
+        assertEquals(Map.of(1, 1000L, 2, 1L), estatisticas.getAlunosPorSemestre());
+        verify(alunoRepository, only()).contarAlunosAgrupados();
+    }
+    
+    @Test
+    void aoAlterarAluno_AjustaContadores() {
+        carregar(aluno(1, 1, 1, 9.0), aluno(2, 1, 3, 7.0));
+        
+        estatisticasCursos.aoAlterarAluno(AlunoAlteradoEvent.criado(aluno(3, 1, 3, 5.0)));
+        estatisticasCursos.aoAlterarAluno(AlunoAlteradoEvent.atualizado(aluno(1, 1, 1, 9.0), aluno(1, 2, 2, 6.0)));
+        estatisticasCursos.aoAlterarAluno(AlunoAlteradoEvent.removido(aluno(2, 1, 3, 7.0)));
+        
+        EstatisticasCursoDTO curso1 = estatisticasCursos.resumir(1L);
+        assertEquals(1, curso1.getQuantidadeAlunos());
+        assertEquals(5.0, curso1.getMenorMedia());
+        assertEquals(5.0, curso1.getMaiorMedia());
+        assertEquals(Map.of(3, 1L), curso1.getAlunosPorSemestre());
+        
+        EstatisticasCursoDTO curso2 = estatisticasCursos.resumir(2L);
+        assertEquals(1, curso2.getQuantidadeAlunos());
+        assertEquals(6.0, curso2.getMediaGeral());
+    }
+    
+    @Test
+    void aoAlterarAluno_RemocaoDoUltimoAluno_DescartaOCurso() {
+        carregar(aluno(1, 1, 1, 9.0), aluno(2, 2, 1, 8.0));
+        
+        estatisticasCursos.aoAlterarAluno(AlunoAlteradoEvent.removido(aluno(1, 1, 1, 9.0)));
+        
+        assertEquals(0, estatisticasCursos.resumir(1L).getQuantidadeAlunos());
+        assertEquals(Map.of(2L, 1L), estatisticasCursos.resumirTodos().entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entrada -> entrada.getValue().getQuantidadeAlunos())));
+    }
+    
+    @Test
+    void aoAlterarCurso_RemocaoDescartaAgregados() {
+        carregar(aluno(1, 1, 1, 9.0), aluno(2, 2, 1, 8.0));
+        
+        estatisticasCursos.aoAlterarCurso(CursoAlteradoEvent.atualizado(1L, "Novo nome"));
+        assertEquals(1, estatisticasCursos.resumir(1L).getQuantidadeAlunos());
+        
+        estatisticasCursos.aoAlterarCurso(CursoAlteradoEvent.removido(1L));
+        assertEquals(0, estatisticasCursos.resumir(1L).getQuantidadeAlunos());
+        assertEquals(1, estatisticasCursos.resumir(2L).getQuantidadeAlunos());
+        
+        // Remoção tardia de um aluno do curso removido não deixa contadores negativos
+        estatisticasCursos.aoAlterarAluno(AlunoAlteradoEvent.removido(aluno(1, 1, 1, 9.0)));
+        assertEquals(0, estatisticasCursos.resumir(1L).getQuantidadeAlunos());
+    }
+    
+    @Test
+    void aoAlterarCurso_AlunosRemovidos_ZeraOCurso() {
+        carregar(aluno(1, 1, 1, 9.0), aluno(2, 1, 3, 7.0), aluno(3, 2, 1, 8.0));
+        
+        estatisticasCursos.aoAlterarCurso(CursoAlteradoEvent.alunosRemovidos(1L));
+        
+        assertEquals(0, estatisticasCursos.resumir(1L).getQuantidadeAlunos());
+        assertEquals(1, estatisticasCursos.resumir(2L).getQuantidadeAlunos());
+        
+        // Novos alunos do curso voltam a ser contados normalmente
+        estatisticasCursos.aoAlterarAluno(AlunoAlteradoEvent.criado(aluno(4, 1, 2, 6.0)));
+        assertEquals(1, estatisticasCursos.resumir(1L).getQuantidadeAlunos());
+    }
+    
+    @Test
+    void recarregar_ReaplicaEventosRecebidosDuranteACarga() {
+        carregar(aluno(1, 1, 1, 9.0));
+        // Evento sem transação durante a leitura agrupada: só o evento traz o aluno para os agregados novos
+        when(alunoRepository.contarAlunosAgrupados()).thenAnswer(invocacao -> {
+            estatisticasCursos.aoAlterarAluno(AlunoAlteradoEvent.criado(aluno(2, 1, 1, 7.0)));
+            return contagens(aluno(1, 1, 1, 9.0));
+        });
+        
+        estatisticasCursos.recarregar();
+        
+        assertEquals(2, estatisticasCursos.resumir(1L).getQuantidadeAlunos());
+        assertEquals(7.0, estatisticasCursos.resumir(1L).getMenorMedia());
+    }
+    
+    @Test
+    void recarregar_CommitEmCursoDuranteAConsulta_DescartaACargaEContaOAlunoUmaVez() {
+        carregar(aluno(1, 1, 1, 9.0));
+        AlunoResponseDTO novo = aluno(2, 1, 1, 7.0);
+        // A consulta agrupada já lê o aluno novo, cujo evento só é entregue depois dela
+        when(alunoRepository.contarAlunosAgrupados()).thenReturn(contagens(aluno(1, 1, 1, 9.0), novo));
+        
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            estatisticasCursos.registrarCommit();
+            TransactionSynchronizationUtils.triggerBeforeCommit(false);
+            estatisticasCursos.recarregar();
+            estatisticasCursos.aoAlterarAluno(AlunoAlteradoEvent.criado(novo));
+            TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        
+        EstatisticasCursoDTO estatisticas = estatisticasCursos.resumir(1L);
+        assertEquals(2, estatisticas.getQuantidadeAlunos());
+        assertEquals(Map.of(1, 2L), estatisticas.getAlunosPorSemestre());
+        
+        estatisticasCursos.recarregar();
+        assertEquals(2, estatisticasCursos.resumir(1L).getQuantidadeAlunos());
+    }
+    
+    @Test
+    void recarregar_CommitConcluidoDuranteAConsulta_RepeteACarga() {
+        carregar(aluno(1, 1, 1, 9.0));
+        AlunoResponseDTO novo = aluno(2, 1, 1, 7.0);
+        when(alunoRepository.contarAlunosAgrupados())
+                .thenAnswer(invocacao -> {
+                    confirmarEscrita(AlunoAlteradoEvent.criado(novo));
+                    return contagens(aluno(1, 1, 1, 9.0), novo);
+                })
+                .thenReturn(contagens(aluno(1, 1, 1, 9.0), novo));
+        
+        estatisticasCursos.recarregar();
+        
+        verify(alunoRepository, times(3)).contarAlunosAgrupados();
+        assertEquals(2, estatisticasCursos.resumir(1L).getQuantidadeAlunos());
+    }
+    
+    @Test
+    void recarregar_CommitsEmTodasAsTentativas_MantemAgregadosAnteriores() {
+        carregar(aluno(1, 1, 1, 9.0));
+        when(alunoRepository.contarAlunosAgrupados()).thenAnswer(invocacao -> {
+            confirmarEscrita(AlunoAlteradoEvent.removido(aluno(1, 1, 1, 9.0)));
+            return contagens(aluno(1, 1, 1, 9.0));
+        });
+        
+        estatisticasCursos.recarregar();
+        
+        verify(alunoRepository, times(6)).contarAlunosAgrupados();
+        assertEquals(0, estatisticasCursos.resumir(1L).getQuantidadeAlunos());
+    }
+    
+    @Test
+    void registrarCommit_VariosEventosNaMesmaTransacao_ContaUmCommitSo() {
+        carregar(aluno(1, 1, 1, 9.0));
+        
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            estatisticasCursos.registrarCommit();
+            estatisticasCursos.registrarCommit();
+            assertEquals(1, TransactionSynchronizationManager.getSynchronizations().size());
+            TransactionSynchronizationUtils.triggerBeforeCommit(false);
+            TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        estatisticasCursos.recarregar();
+        
+        // Sem commit em curso, a primeira tentativa já é publicada
+        verify(alunoRepository, times(2)).contarAlunosAgrupados();
+        assertTrue(estatisticasCursos.isCarregado());
+    }
+    
+    @Test
+    void recarregar_FalhaNoBanco_MantemAgregadosAnteriores() {
+        carregar(aluno(1, 1, 1, 9.0));
+        when(alunoRepository.contarAlunosAgrupados()).thenThrow(new IllegalStateException("banco fora"));
+        
+        assertThrows(IllegalStateException.class, () -> estatisticasCursos.recarregar());
+        
+        estatisticasCursos.aoAlterarAluno(AlunoAlteradoEvent.criado(aluno(2, 1, 1, 7.0)));
+        assertEquals(2, estatisticasCursos.resumir(1L).getQuantidadeAlunos());
+    }
+    
+    @Test
+    void resumirContagensDoBanco() {
+        Map<Long, EstatisticasCursoDTO> estatisticas = EstatisticasCursos.resumir(List.of(
+                new ContagemAlunosDTO(1L, 1, 8.0, 3L),
+                new ContagemAlunosDTO(1L, 2, null, 1L),
+                new ContagemAlunosDTO(2L, 1, 11.0, 1L)));
+        
+        assertEquals(4, estatisticas.get(1L).getQuantidadeAlunos());
+        assertEquals(3, estatisticas.get(1L).getAlunosComMedia());
+        assertEquals(3L, estatisticas.get(1L).getAlunosPorFaixaDeMedia().get("8-9"));
+        // Valores fora da escala caem na faixa mais próxima
+        assertEquals(1L, estatisticas.get(2L).getAlunosPorFaixaDeMedia().get("9-10"));
+        assertEquals(0, EstatisticasCursos.vazias(3L).getQuantidadeAlunos());
+    }
+    
+    @Test
+    void aoImportarAlunos_RecarregaNoAgendador() {
+        carregar(aluno(1, 1, 1, 9.0));
+        when(alunoRepository.contarAlunosAgrupados()).thenReturn(contagens(aluno(1, 1, 1, 9.0), aluno(2, 1, 2, 7.0)));
+        
+        estatisticasCursos.aoImportarAlunos(new AlunosImportadosEvent(1));
+        
+        assertEquals(1, estatisticasCursos.resumir(1L).getQuantidadeAlunos());
+        ArgumentCaptor<Runnable> recarga = ArgumentCaptor.forClass(Runnable.class);
+        verify(agendador).schedule(recarga.capture(), any(Instant.class));
+        
+        recarga.getValue().run();
+        
+        assertEquals(2, estatisticasCursos.resumir(1L).getQuantidadeAlunos());
+    }
+}
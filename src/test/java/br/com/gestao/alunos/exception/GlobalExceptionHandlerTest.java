@@ -8,6 +8,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
@@ -15,6 +18,8 @@ import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.context.request.WebRequest;
 
+import java.sql.BatchUpdateException;
+import java.sql.SQLException;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -50,6 +55,39 @@ class GlobalExceptionHandlerTest {
         assertEquals("Recurso não encontrado", response.getBody().getMessage());
     }
     
+    @Test
+    void handlePreconditionFailedException_DeveRetornar412() {
+        PreconditionFailedException ex = new PreconditionFailedException("O aluno 1 foi alterado depois da versão informada em If-Match");
+        
+        ResponseEntity<ErrorResponse> response = globalExceptionHandler.handlePreconditionFailedException(ex, webRequest);
+        
+        assertEquals(HttpStatus.PRECONDITION_FAILED, response.getStatusCode());
+        assertEquals(412, response.getBody().getStatus());
+        assertEquals("O aluno 1 foi alterado depois da versão informada em If-Match", response.getBody().getMessage());
+    }
+    
+    @Test
+    void handleOptimisticLockingFailureException_ComIfMatch_DeveRetornar412() {
+        when(webRequest.getHeader(HttpHeaders.IF_MATCH)).thenReturn("\"3.1\"");
+        OptimisticLockingFailureException ex = new OptimisticLockingFailureException("Row was updated or deleted");
+        
+        ResponseEntity<ErrorResponse> response = globalExceptionHandler.handleOptimisticLockingFailureException(ex, webRequest);
+        
+        assertEquals(HttpStatus.PRECONDITION_FAILED, response.getStatusCode());
+        assertEquals("Versão desatualizada", response.getBody().getError());
+        assertFalse(response.getBody().getMessage().contains("Row was updated"));
+    }
+    
+    @Test
+    void handleOptimisticLockingFailureException_SemIfMatch_DeveRetornar409() {
+        OptimisticLockingFailureException ex = new OptimisticLockingFailureException("Row was updated or deleted");
+        
+        ResponseEntity<ErrorResponse> response = globalExceptionHandler.handleOptimisticLockingFailureException(ex, webRequest);
+        
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals("Conflito", response.getBody().getError());
+    }
+    
     @Test
     void handleBusinessException_DeveRetornar400() {
         BusinessException ex = new BusinessException("Erro de negócio");
@@ -64,6 +102,146 @@ class GlobalExceptionHandlerTest {
         assertEquals("Erro de negócio", response.getBody().getMessage());
     }
     
+    @Test
+    void handleServiceUnavailableException_DeveRetornar503() {
+        ServiceUnavailableException ex = new ServiceUnavailableException("Limite de importações em andamento atingido");
+        
+        ResponseEntity<ErrorResponse> response = globalExceptionHandler.handleServiceUnavailableException(ex, webRequest);
+        
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals(503, response.getBody().getStatus());
+        assertEquals("Serviço indisponível", response.getBody().getError());
+        assertEquals("Limite de importações em andamento atingido", response.getBody().getMessage());
+    }
+    
+    private DataIntegrityViolationException violacaoDeUnicidade(String constraintName) {
+        return violacaoDeUnicidade(new SQLException("duplicate key", "23505"), constraintName);
+    }
+    
+    private DataIntegrityViolationException violacaoDeUnicidade(SQLException erro, String constraintName) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new org.hibernate.exception.ConstraintViolationException("could not execute statement",
+                        erro, constraintName));
+    }
+    
+    // Erro do PostgreSQL para uma constraint com nome gerado pelo Hibernate, anterior à migration que a renomeia
+    private SQLException erroDoPostgreSQL(String constraintName, String coluna, String valor) {
+        return new SQLException("ERROR: duplicate key value violates unique constraint \"" + constraintName + "\"\n" +
+                "  Detail: Key (" + coluna + ")=(" + valor + ") already exists.", "23505");
+    }
+    
+    @Test
+    void handleConflictException_DeveRetornar409() {
+        ConflictException ex = new ConflictException("Já existe um aluno com a matrícula: 2024001");
+        
+        ResponseEntity<ErrorResponse> response = globalExceptionHandler.handleConflictException(ex, webRequest);
+        
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals(409, response.getBody().getStatus());
+        assertEquals("Conflito", response.getBody().getError());
+        assertEquals("Já existe um aluno com a matrícula: 2024001", response.getBody().getMessage());
+    }
+    
+    @Test
+    void handleDataIntegrityViolationException_Matricula_DeveRetornar409() {
+        // Nome como o PostgreSQL informa
+        DataIntegrityViolationException ex = violacaoDeUnicidade("uk_alunos_matricula");
+        
+        ResponseEntity<ErrorResponse> response = globalExceptionHandler.handleDataIntegrityViolationException(ex, webRequest);
+        
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals(409, response.getBody().getStatus());
+        assertEquals("Conflito", response.getBody().getError());
+        assertEquals("Já existe um aluno com a matrícula informada", response.getBody().getMessage());
+    }
+    
+    @Test
+    void handleDataIntegrityViolationException_Email_DeveRetornar409() {
+        // Índice da constraint como o H2 informa
+        DataIntegrityViolationException ex = violacaoDeUnicidade(
+                "\"PUBLIC.UK_ALUNOS_EMAIL_INDEX_A ON PUBLIC.ALUNOS(EMAIL NULLS FIRST) VALUES ( /* 1 */ 'a@email.com' )\"");
+        
+        ResponseEntity<ErrorResponse> response = globalExceptionHandler.handleDataIntegrityViolationException(ex, webRequest);
+        
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals("Já existe um aluno com o email informado", response.getBody().getMessage());
+    }
+    
+    @Test
+    void handleDataIntegrityViolationException_NomeDoCurso_DeveRetornar409() {
+        ResponseEntity<ErrorResponse> response = globalExceptionHandler.handleDataIntegrityViolationException(
+                violacaoDeUnicidade("uk_cursos_nome"), webRequest);
+        
+        assertEquals("Já existe um curso com o nome informado", response.getBody().getMessage());
+    }
+    
+    @Test
+    void handleDataIntegrityViolationException_NomeGeradoPeloHibernateNoPostgreSQL_IdentificaPelaColuna() {
+        String constraint = "uk_5hs8nbgtgk8xuq2agcrqn3cdn";
+        DataIntegrityViolationException ex = violacaoDeUnicidade(
+                erroDoPostgreSQL(constraint, "matricula", "email@x.com"), constraint);
+        
+        ResponseEntity<ErrorResponse> response = globalExceptionHandler.handleDataIntegrityViolationException(ex, webRequest);
+        
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals("Já existe um aluno com a matrícula informada", response.getBody().getMessage());
+    }
+    
+    @Test
+    void handleDataIntegrityViolationException_NomeGeradoPeloHibernateNoLote_UsaOErroDoServidor() {
+        String constraint = "uk_ku6t8y0vmwcy57f2smtcq8s5w";
+        // A exceção do lote traz o INSERT, com valores que poderiam parecer uma chave
+        BatchUpdateException lote = new BatchUpdateException("Batch entry 0 insert into alunos (nome,email) " +
+                "values ('(nome)=(x)','a@x.com') was aborted", "23505", new int[0]);
+        lote.setNextException(erroDoPostgreSQL(constraint, "email", "a@x.com"));
+        
+        ResponseEntity<ErrorResponse> response = globalExceptionHandler.handleDataIntegrityViolationException(
+                violacaoDeUnicidade(lote, constraint), webRequest);
+        
+        assertEquals("Já existe um aluno com o email informado", response.getBody().getMessage());
+    }
+    
+    @Test
+    void handleDataIntegrityViolationException_NomeGeradoPeloHibernateNoH2_IdentificaPelaColuna() {
+        DataIntegrityViolationException ex = violacaoDeUnicidade(
+                "\"PUBLIC.UK_QND0YKCQ8WKJ1BVJWBEU5LS7F_INDEX_8 ON PUBLIC.CURSOS(NOME NULLS FIRST) VALUES ( /* 1 */ 'Física' )\"");
+        
+        ResponseEntity<ErrorResponse> response = globalExceptionHandler.handleDataIntegrityViolationException(ex, webRequest);
+        
+        assertEquals("Já existe um curso com o nome informado", response.getBody().getMessage());
+    }
+    
+    @Test
+    void handleDataIntegrityViolationException_ChavePrimariaComNomeGerado_DeveRetornar409Generico() {
+        DataIntegrityViolationException ex = violacaoDeUnicidade(erroDoPostgreSQL("alunos_pkey", "id", "1"), "alunos_pkey");
+        
+        ResponseEntity<ErrorResponse> response = globalExceptionHandler.handleDataIntegrityViolationException(ex, webRequest);
+        
+        assertEquals("A operação viola uma restrição de integridade dos dados", response.getBody().getMessage());
+    }
+    
+    @Test
+    void handleDataIntegrityViolationException_MensagemDoDriverNaoIdentificaAChave() {
+        // Fora de uma violação identificada pelo Hibernate, a mensagem do driver não decide a chave
+        DataIntegrityViolationException ex = new DataIntegrityViolationException("could not execute statement",
+                new RuntimeException("Key (matricula)=(email@x.com) already exists"));
+        
+        ResponseEntity<ErrorResponse> response = globalExceptionHandler.handleDataIntegrityViolationException(ex, webRequest);
+        
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals("A operação viola uma restrição de integridade dos dados", response.getBody().getMessage());
+    }
+    
+    @Test
+    void handleDataIntegrityViolationException_OutraRestricao_DeveRetornar409Generico() {
+        DataIntegrityViolationException ex = violacaoDeUnicidade("fk_alunos_curso");
+        
+        ResponseEntity<ErrorResponse> response = globalExceptionHandler.handleDataIntegrityViolationException(ex, webRequest);
+        
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals("A operação viola uma restrição de integridade dos dados", response.getBody().getMessage());
+    }
+    
     @Test
     void handleMethodArgumentNotValidException_DeveRetornar400ComDetalhes() {
         MethodArgumentNotValidException ex = mock(MethodArgumentNotValidException.class);
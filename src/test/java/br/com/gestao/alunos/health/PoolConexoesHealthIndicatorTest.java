@@ -0,0 +1,91 @@
+package br.com.gestao.alunos.health;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PoolConexoesHealthIndicatorTest {
+    
+    @Mock
+    private DataSource dataSource;
+    
+    @Mock
+    private HikariDataSource hikariDataSource;
+    
+    @Mock
+    private HikariPoolMXBean pool;
+    
+    @Mock
+    private Connection conexao;
+    
+    private void simularPool(int ativas, int ociosas, int aguardando) throws SQLException {
+        when(hikariDataSource.isWrapperFor(HikariDataSource.class)).thenReturn(true);
+        when(hikariDataSource.unwrap(HikariDataSource.class)).thenReturn(hikariDataSource);
+        when(hikariDataSource.isRunning()).thenReturn(true);
+        when(hikariDataSource.getHikariPoolMXBean()).thenReturn(pool);
+        when(hikariDataSource.getMaximumPoolSize()).thenReturn(10);
+        when(pool.getActiveConnections()).thenReturn(ativas);
+        when(pool.getIdleConnections()).thenReturn(ociosas);
+        when(pool.getTotalConnections()).thenReturn(ativas + ociosas);
+        when(pool.getThreadsAwaitingConnection()).thenReturn(aguardando);
+    }
+    
+    @Test
+    void health_PoolComConexaoOciosa_DeveValidarERetornarUp() throws SQLException {
+        simularPool(3, 2, 0);
+        when(hikariDataSource.getConnection()).thenReturn(conexao);
+        when(conexao.isValid(PoolConexoesHealthIndicator.TIMEOUT_VALIDACAO_SEGUNDOS)).thenReturn(true);
+        
+        Health health = new PoolConexoesHealthIndicator(hikariDataSource).health();
+        
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals(3, health.getDetails().get("ativas"));
+        assertEquals(30L, health.getDetails().get("saturacao"));
+        assertEquals(false, health.getDetails().get("saturado"));
+        verify(conexao, times(1)).close();
+    }
+    
+    @Test
+    void health_PoolSaturado_NaoDeveDisputarConexao() throws SQLException {
+        simularPool(10, 0, 4);
+        
+        Health health = new PoolConexoesHealthIndicator(hikariDataSource).health();
+        
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals(true, health.getDetails().get("saturado"));
+        assertEquals(4, health.getDetails().get("aguardandoConexao"));
+        verify(hikariDataSource, never()).getConnection();
+    }
+    
+    @Test
+    void health_ConexaoInvalida_DeveRetornarDown() throws SQLException {
+        when(dataSource.getConnection()).thenReturn(conexao);
+        when(conexao.isValid(PoolConexoesHealthIndicator.TIMEOUT_VALIDACAO_SEGUNDOS)).thenReturn(false);
+        
+        Health health = new PoolConexoesHealthIndicator(dataSource).health();
+        
+        assertEquals(Status.DOWN, health.getStatus());
+    }
+    
+    @Test
+    void health_BancoIndisponivel_DeveRetornarDown() throws SQLException {
+        when(dataSource.getConnection()).thenThrow(new SQLException("Connection refused"));
+        
+        Health health = new PoolConexoesHealthIndicator(dataSource).health();
+        
+        assertEquals(Status.DOWN, health.getStatus());
+    }
+}
@@ -0,0 +1,80 @@
+package br.com.gestao.alunos.importacao;
+
+import br.com.gestao.alunos.dto.AlunoDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.copy.CopyIn;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CargaStagingCopyTest {
+    
+    @Mock
+    private CopyIn copia;
+    
+    private final ByteArrayOutputStream enviado = new ByteArrayOutputStream();
+    
+    private void capturarEnvios() throws SQLException {
+        doAnswer(invocacao -> {
+            byte[] bytes = invocacao.getArgument(0);
+            enviado.write(bytes, invocacao.getArgument(1), invocacao.getArgument(2));
+            return null;
+        }).when(copia).writeToCopy(any(byte[].class), anyInt(), anyInt());
+    }
+    
+    @Test
+    void concluir_EnviaLinhasEmCsv() throws SQLException {
+        capturarEnvios();
+        when(copia.endCopy()).thenReturn(2L);
+        CargaStagingCopy carga = new CargaStagingCopy(copia);
+        
+        carga.adicionar(2, new AlunoDTO(null, "Ana \"Aninha\" Souza", "2024001", "ana@email.com", 1L, 3, 8.5));
+        carga.adicionar(5, new AlunoDTO(null, "José, o Segundo", "2024002", "jose@email.com", 2L, 1, 0.0));
+        
+        assertEquals(2, carga.concluir());
+        assertEquals("2,\"Ana \"\"Aninha\"\" Souza\",\"2024001\",\"ana@email.com\",1,3,8.5\n" +
+                "5,\"José, o Segundo\",\"2024002\",\"jose@email.com\",2,1,0.0\n",
+                enviado.toString(StandardCharsets.UTF_8));
+    }
+    
+    @Test
+    void adicionar_EnviaEmBlocosSemAcumularOArquivo() throws SQLException {
+        CargaStagingCopy carga = new CargaStagingCopy(copia);
+        
+        for (int i = 0; i < 2000; i++) {
+            carga.adicionar(i + 2, new AlunoDTO(null, "Aluno " + i, "M" + i, "aluno" + i + "@email.com", 1L, 1, 7.0));
+        }
+        
+        verify(copia, atLeastOnce()).writeToCopy(any(byte[].class), anyInt(), anyInt());
+        verify(copia, never()).endCopy();
+    }
+    
+    @Test
+    void cancelar_SoCancelaCopiaAtiva() throws SQLException {
+        CargaStagingCopy carga = new CargaStagingCopy(copia);
+        when(copia.isActive()).thenReturn(true, false);
+        
+        carga.cancelar();
+        carga.cancelar();
+        
+        verify(copia, times(1)).cancelCopy();
+    }
+    
+    @Test
+    void concluir_FalhaNoBanco_DeveLancarException() throws SQLException {
+        when(copia.endCopy()).thenThrow(new SQLException("violação"));
+        CargaStagingCopy carga = new CargaStagingCopy(copia);
+        
+        assertThrows(IllegalStateException.class, carga::concluir);
+    }
+}
@@ -0,0 +1,84 @@
+package br.com.gestao.alunos.importacao;
+
+import br.com.gestao.alunos.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeitorCsvTest {
+    
+    @Test
+    void proximoRegistro_SeparaCamposELinhas() throws IOException {
+        LeitorCsv leitor = new LeitorCsv(new StringReader("nome,matricula\nAna, 2024001 \r\nBruno,2024002"));
+        
+        assertEquals(List.of("nome", "matricula"), leitor.proximoRegistro());
+        assertEquals(1, leitor.getLinhaDoRegistro());
+        assertEquals(List.of("Ana", "2024001"), leitor.proximoRegistro());
+        assertEquals(2, leitor.getLinhaDoRegistro());
+        assertEquals(List.of("Bruno", "2024002"), leitor.proximoRegistro());
+        assertEquals(3, leitor.getLinhaDoRegistro());
+        assertNull(leitor.proximoRegistro());
+        assertEquals(',', leitor.getSeparador());
+    }
+    
+    @Test
+    void proximoRegistro_CamposEntreAspas() throws IOException {
+        LeitorCsv leitor = new LeitorCsv(new StringReader(
+                "nome,obs\n\"Silva, Ana\",\"disse \"\"oi\"\"\nem duas linhas\"\n\" Bruno \",\n"));
+        leitor.proximoRegistro();
+        
+        assertEquals(List.of("Silva, Ana", "disse \"oi\"\nem duas linhas"), leitor.proximoRegistro());
+        assertEquals(2, leitor.getLinhaDoRegistro());
+        assertEquals(List.of(" Bruno ", ""), leitor.proximoRegistro());
+        assertEquals(4, leitor.getLinhaDoRegistro());
+        assertNull(leitor.proximoRegistro());
+    }
+    
+    @Test
+    void proximoRegistro_DetectaPontoEVirgulaEIgnoraBomELinhasEmBranco() throws IOException {
+        LeitorCsv leitor = new LeitorCsv(new StringReader("\uFEFFnome;media\n\n  \nAna;8,5\n\n"));
+        
+        assertEquals(List.of("nome", "media"), leitor.proximoRegistro());
+        assertEquals(';', leitor.getSeparador());
+        assertEquals(List.of("Ana", "8,5"), leitor.proximoRegistro());
+        assertEquals(4, leitor.getLinhaDoRegistro());
+        assertNull(leitor.proximoRegistro());
+    }
+    
+    @Test
+    void proximoRegistro_EntradaVazia() throws IOException {
+        assertNull(new LeitorCsv(new StringReader("")).proximoRegistro());
+    }
+    
+    @Test
+    void proximoRegistro_RegistrosMaioresQueOBuffer() throws IOException {
+        StringBuilder csv = new StringBuilder("id,nome\n");
+        for (int i = 0; i < 20000; i++) {
+            csv.append(i).append(",\"Aluno ").append(i).append("\"\n");
+        }
+        LeitorCsv leitor = new LeitorCsv(new StringReader(csv.toString()));
+        leitor.proximoRegistro();
+        
+        List<String> ultimo = null;
+        int registros = 0;
+        for (List<String> registro; (registro = leitor.proximoRegistro()) != null; registros++) {
+            ultimo = registro;
+        }
+        assertEquals(20000, registros);
+        assertEquals(List.of("19999", "Aluno 19999"), ultimo);
+        assertEquals(20001, leitor.getLinhaDoRegistro());
+    }
+    
+    @Test
+    void proximoRegistro_AspasNaoFechadas_DeveLancarException() throws IOException {
+        LeitorCsv leitor = new LeitorCsv(new StringReader("nome\n\"Ana\n"));
+        leitor.proximoRegistro();
+        
+        BusinessException excecao = assertThrows(BusinessException.class, leitor::proximoRegistro);
+        assertTrue(excecao.getMessage().contains("linha 2"));
+    }
+}
@@ -0,0 +1,123 @@
+package br.com.gestao.alunos.importacao;
+
+import br.com.gestao.alunos.dto.AlunoDTO;
+import br.com.gestao.alunos.dto.ErroImportacaoDTO;
+import br.com.gestao.alunos.model.Aluno;
+import br.com.gestao.alunos.model.Curso;
+import br.com.gestao.alunos.repository.AlunoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(StagingAlunos.class)
+// Só as migrations do esquema, sem os dados de desenvolvimento
+@TestPropertySource(properties = "spring.flyway.locations=classpath:db/migration/comum,classpath:db/migration/{vendor}")
+class StagingAlunosTest {
+    
+    @Autowired
+    private TestEntityManager entityManager;
+    
+    @Autowired
+    private StagingAlunos stagingAlunos;
+    
+    @Autowired
+    private AlunoRepository alunoRepository;
+    
+    private Curso curso;
+    
+    @BeforeEach
+    void setUp() {
+        curso = new Curso();
+        curso.setNome("Ciência da Computação");
+        entityManager.persist(curso);
+        
+        Aluno existente = new Aluno();
+        existente.setNome("Existente");
+        existente.setMatricula("2020001");
+        existente.setEmail("existente@email.com");
+        existente.setCurso(curso);
+        existente.setSemestre(5);
+        existente.setMediaGeral(7.0);
+        entityManager.persist(existente);
+        entityManager.flush();
+        entityManager.clear();
+    }
+    
+    private AlunoDTO aluno(String matricula, String email, Long cursoId) {
+        return new AlunoDTO(null, "Aluno " + matricula, matricula, email, cursoId, 2, 8.0);
+    }
+    
+    @Test
+    void importacao_RejeitaInvalidosEMesclaOsDemais() {
+        TabelaStaging staging = stagingAlunos.criar();
+        staging.adicionar(2, aluno("2024001", "a@email.com", curso.getId()));
+        staging.adicionar(3, aluno("2024001", "b@email.com", curso.getId()));
+        staging.adicionar(4, aluno("2024002", "a@email.com", curso.getId()));
+        staging.adicionar(5, aluno("2020001", "c@email.com", curso.getId()));
+        staging.adicionar(6, aluno("2024003", "existente@email.com", curso.getId()));
+        staging.adicionar(7, aluno("2024004", "d@email.com", 999L));
+        staging.adicionar(9, aluno("2024005", "e@email.com", curso.getId()));
+        assertEquals(7, staging.concluirCarga());
+        
+        assertEquals(5, staging.rejeitarInvalidos());
+        assertEquals(2, staging.mesclar(LocalDate.of(2024, 3, 1)));
+        
+        List<ErroImportacaoDTO> erros = staging.listarErros(10);
+        assertEquals(List.of(3L, 4L, 5L, 6L, 7L), erros.stream().map(ErroImportacaoDTO::getLinha).collect(Collectors.toList()));
+        assertEquals(List.of("Matrícula repetida no arquivo: 2024001"), erros.get(0).getErros());
+        assertEquals(List.of("Email repetido no arquivo: a@email.com"), erros.get(1).getErros());
+        assertEquals(List.of("Já existe um aluno com a matrícula: 2020001"), erros.get(2).getErros());
+        assertEquals(List.of("Já existe um aluno com o email: existente@email.com"), erros.get(3).getErros());
+        assertEquals(List.of("Curso não encontrado com ID: 999"), erros.get(4).getErros());
+        assertEquals(2, staging.listarErros(2).size());
+        
+        Aluno importado = alunoRepository.findByMatricula("2024005").orElseThrow();
+        assertEquals(curso.getId(), importado.getCurso().getId());
+        assertEquals(LocalDate.of(2024, 3, 1), importado.getDataMatricula());
+        assertTrue(alunoRepository.existsByMatricula("2024001"));
+        assertEquals(3, alunoRepository.count());
+    }
+    
+    @Test
+    void importacao_IdsNaoColidemComOsDoHibernate() {
+        TabelaStaging staging = stagingAlunos.criar();
+        for (int i = 0; i < 2500; i++) {
+            staging.adicionar(i + 2, aluno("M" + (100000 + i), "aluno" + i + "@email.com", curso.getId()));
+        }
+        assertEquals(2500, staging.concluirCarga());
+        assertEquals(0, staging.rejeitarInvalidos());
+        assertEquals(2500, staging.mesclar(LocalDate.now()));
+        
+        Aluno novo = new Aluno();
+        novo.setNome("Depois da importação");
+        novo.setMatricula("2099001");
+        novo.setEmail("depois@email.com");
+        novo.setCurso(entityManager.find(Curso.class, curso.getId()));
+        novo.setSemestre(1);
+        entityManager.persist(novo);
+        entityManager.flush();
+        
+        assertEquals(2502, alunoRepository.count());
+    }
+    
+    @Test
+    void cancelarCarga_DescartaPendentes() {
+        TabelaStaging staging = stagingAlunos.criar();
+        staging.adicionar(2, aluno("2024001", "a@email.com", curso.getId()));
+        
+        staging.cancelarCarga();
+        
+        assertEquals(0, staging.concluirCarga());
+    }
+}
@@ -0,0 +1,183 @@
+package br.com.gestao.alunos.pool;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DimensionamentoPoolTest {
+    
+    private static final String POOL = "primario";
+    private static final long INTERVALO_MS = 10_000;
+    
+    @Mock
+    private HikariDataSource hikariDataSource;
+    
+    @Mock
+    private HikariConfigMXBean config;
+    
+    @Mock
+    private HikariPoolMXBean pool;
+    
+    @Mock
+    private ObjectProvider<MeterRegistry> meterRegistry;
+    
+    private MeterRegistry registry;
+    private Timer espera;
+    private Timer uso;
+    
+    @BeforeEach
+    void setUp() throws SQLException {
+        registry = new SimpleMeterRegistry();
+        espera = Timer.builder(DimensionamentoPool.METRICA_ESPERA).tag("pool", POOL).register(registry);
+        uso = Timer.builder(DimensionamentoPool.METRICA_USO).tag("pool", POOL).register(registry);
+        lenient().when(meterRegistry.getIfAvailable()).thenReturn(registry);
+        lenient().when(hikariDataSource.isWrapperFor(HikariDataSource.class)).thenReturn(true);
+        lenient().when(hikariDataSource.unwrap(HikariDataSource.class)).thenReturn(hikariDataSource);
+        lenient().when(hikariDataSource.isRunning()).thenReturn(true);
+        lenient().when(hikariDataSource.getPoolName()).thenReturn(POOL);
+        lenient().when(hikariDataSource.getHikariConfigMXBean()).thenReturn(config);
+        lenient().when(hikariDataSource.getHikariPoolMXBean()).thenReturn(pool);
+        lenient().when(config.getMaximumPoolSize()).thenReturn(10);
+        lenient().when(config.getMinimumIdle()).thenReturn(10);
+    }
+    
+    private DimensionamentoPool dimensionamento(boolean habilitado) {
+        return new DimensionamentoPool(hikariDataSource, meterRegistry, habilitado, 4, 12, 2, 20, 200, INTERVALO_MS);
+    }
+    
+    // Janela com a quantidade de obtenções de conexão, a espera e o tempo de uso de cada uma
+    private void registrarJanela(int quantidade, long esperaMs, long usoMs) {
+        for (int i = 0; i < quantidade; i++) {
+            espera.record(Duration.ofMillis(esperaMs));
+            uso.record(Duration.ofMillis(usoMs));
+        }
+    }
+    
+    @Test
+    void ajustar_PrimeiraLeitura_DeveApenasGuardarAJanela() {
+        DimensionamentoPool dimensionamento = dimensionamento(true);
+        registrarJanela(1000, 100, 10);
+        
+        dimensionamento.ajustar();
+        
+        verify(config, never()).setMaximumPoolSize(anyInt());
+    }
+    
+    @Test
+    void ajustar_EsperaAcimaDoLimite_DeveAumentarOPool() {
+        DimensionamentoPool dimensionamento = dimensionamento(true);
+        dimensionamento.ajustar();
+        registrarJanela(1000, 50, 80);
+        
+        dimensionamento.ajustar();
+        
+        verify(config).setMaximumPoolSize(12);
+        assertEquals(1.0, registry.get(DimensionamentoPool.METRICA_AJUSTES).tag("direcao", "aumento").counter().count());
+    }
+    
+    @Test
+    void ajustar_ThreadsAguardandoConexao_DeveAumentarLimitadoAoMaximo() {
+        when(config.getMaximumPoolSize()).thenReturn(11);
+        when(pool.getThreadsAwaitingConnection()).thenReturn(3);
+        DimensionamentoPool dimensionamento = dimensionamento(true);
+        dimensionamento.ajustar();
+        registrarJanela(1000, 1, 80);
+        
+        dimensionamento.ajustar();
+        
+        verify(config).setMaximumPoolSize(12);
+    }
+    
+    @Test
+    void ajustar_BancoLento_NaoDeveAumentarMesmoComEspera() {
+        DimensionamentoPool dimensionamento = dimensionamento(true);
+        dimensionamento.ajustar();
+        registrarJanela(200, 500, 400);
+        
+        dimensionamento.ajustar();
+        
+        verify(config, never()).setMaximumPoolSize(anyInt());
+    }
+    
+    @Test
+    void ajustar_PoolOcioso_DeveReduzirEAcompanharOMinimoDeOciosas() {
+        DimensionamentoPool dimensionamento = dimensionamento(true);
+        dimensionamento.ajustar();
+        // 100 usos de 20 ms em 10 s: 0,2 conexão ocupada em média
+        registrarJanela(100, 0, 20);
+        
+        dimensionamento.ajustar();
+        
+        verify(config).setMinimumIdle(8);
+        verify(config).setMaximumPoolSize(8);
+        assertEquals(1.0, registry.get(DimensionamentoPool.METRICA_AJUSTES).tag("direcao", "reducao").counter().count());
+    }
+    
+    @Test
+    void ajustar_PoolOciosoNoMinimo_NaoDeveReduzirAbaixoDoMinimo() {
+        when(config.getMaximumPoolSize()).thenReturn(4);
+        DimensionamentoPool dimensionamento = dimensionamento(true);
+        dimensionamento.ajustar();
+        registrarJanela(10, 0, 5);
+        
+        dimensionamento.ajustar();
+        
+        verify(config, never()).setMaximumPoolSize(anyInt());
+    }
+    
+    @Test
+    void ajustar_DemandaBaixaComEsperaAbaixoDoLimite_NaoDeveReduzir() {
+        DimensionamentoPool dimensionamento = dimensionamento(true);
+        dimensionamento.ajustar();
+        // Picos curtos: demanda média baixa, mas ainda há fila para obter conexão
+        registrarJanela(100, 15, 20);
+        
+        dimensionamento.ajustar();
+        
+        verify(config, never()).setMaximumPoolSize(anyInt());
+    }
+    
+    @Test
+    void ajustar_DemandaCompativelComOTamanho_DeveManter() {
+        DimensionamentoPool dimensionamento = dimensionamento(true);
+        dimensionamento.ajustar();
+        // 1000 usos de 60 ms em 10 s: 6 conexões ocupadas em média, de 10
+        registrarJanela(1000, 2, 60);
+        
+        dimensionamento.ajustar();
+        
+        verify(config, never()).setMaximumPoolSize(anyInt());
+    }
+    
+    @Test
+    void ajustar_Desabilitado_NaoDeveConsultarOPool() {
+        DimensionamentoPool dimensionamento = dimensionamento(false);
+        
+        dimensionamento.ajustar();
+        dimensionamento.ajustar();
+        
+        verifyNoInteractions(hikariDataSource, meterRegistry);
+    }
+    
+    @Test
+    void construtor_LimitesInvalidos_DeveLancarExcecao() {
+        assertThrows(IllegalArgumentException.class, () ->
+                new DimensionamentoPool(hikariDataSource, meterRegistry, true, 10, 5, 2, 20, 200, INTERVALO_MS));
+    }
+}
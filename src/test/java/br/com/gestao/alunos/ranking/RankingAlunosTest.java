@@ -0,0 +1,226 @@
+package br.com.gestao.alunos.ranking;
+
+import br.com.gestao.alunos.dto.AlunoResponseDTO;
+import br.com.gestao.alunos.dto.MediaAlunoDTO;
+import br.com.gestao.alunos.dto.PosicaoRankingDTO;
+import br.com.gestao.alunos.event.AlunoAlteradoEvent;
+import br.com.gestao.alunos.event.AlunosImportadosEvent;
+import br.com.gestao.alunos.event.CursoAlteradoEvent;
+import br.com.gestao.alunos.repository.AlunoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RankingAlunosTest {
+    
+    @Mock
+    private AlunoRepository alunoRepository;
+    
+    @Mock
+    private TaskScheduler agendador;
+    
+    private RankingAlunos rankingAlunos;
+    
+    @BeforeEach
+    void setUp() {
+        rankingAlunos = new RankingAlunos(alunoRepository, agendador, true);
+    }
+    
+    private AlunoResponseDTO aluno(long id, long cursoId, Double media) {
+        return new AlunoResponseDTO(id, "Aluno " + id, "M" + id, id + "@email.com", "Curso " + cursoId, cursoId, 3, media, null);
+    }
+    
+    private MediaAlunoDTO media(long id, long cursoId, Double media) {
+        return new MediaAlunoDTO(id, cursoId, media);
+    }
+    
+    private void carregar(MediaAlunoDTO... alunos) {
+        when(alunoRepository.findMediasAposId(anyLong(), any())).thenReturn(List.of(alunos));
+        rankingAlunos.recarregar();
+    }
+    
+    @Test
+    void antesDeCarregar_DeveRetornarNulo() {
+        assertFalse(rankingAlunos.isCarregado());
+        assertNull(rankingAlunos.primeiros(null, 10));
+        assertNull(rankingAlunos.posicao(1L));
+        
+        // Eventos sem índice carregado são ignorados
+        rankingAlunos.aoAlterarAluno(AlunoAlteradoEvent.criado(aluno(1, 1, 8.0)));
+        assertNull(rankingAlunos.primeiros(null, 10));
+    }
+    
+    @Test
+    void desabilitado_NaoCarrega() {
+        RankingAlunos desabilitado = new RankingAlunos(alunoRepository, agendador, false);
+        
+        desabilitado.recarregar();
+        desabilitado.aoImportarAlunos(new AlunosImportadosEvent(1));
+        
+        assertFalse(desabilitado.isCarregado());
+        verifyNoInteractions(alunoRepository, agendador);
+    }
+    
+    @Test
+    void recarregar_PaginaPeloId() {
+        List<MediaAlunoDTO> primeiroBloco = new ArrayList<>();
+        for (long id = 1; id <= 1000; id++) {
+            primeiroBloco.add(media(id, 1, (double) (id % 11)));
+        }
+        when(alunoRepository.findMediasAposId(0L, PageRequest.of(0, 1000))).thenReturn(primeiroBloco);
+        when(alunoRepository.findMediasAposId(1000L, PageRequest.of(0, 1000))).thenReturn(List.of(media(1001, 2, 10.0)));
+        
+        rankingAlunos.recarregar();
+        
+        assertTrue(rankingAlunos.isCarregado());
+        assertEquals(List.of(1001L, 1000L), rankingAlunos.primeiros(null, 2));
+        assertEquals(1L, rankingAlunos.posicao(1001L).getPosicaoGeral());
+        verify(alunoRepository, times(2)).findMediasAposId(anyLong(), any());
+    }
+    
+    @Test
+    void recarregar_FalhaNoBanco_MantemIndiceAnterior() {
+        carregar(media(1, 1, 8.0));
+        when(alunoRepository.findMediasAposId(anyLong(), any())).thenThrow(new IllegalStateException("banco fora"));
+        
+        assertThrows(IllegalStateException.class, () -> rankingAlunos.recarregar());
+        
+        assertEquals(List.of(1L), rankingAlunos.primeiros(null, 10));
+        rankingAlunos.aoAlterarAluno(AlunoAlteradoEvent.criado(aluno(2, 1, 9.0)));
+        assertEquals(List.of(2L, 1L), rankingAlunos.primeiros(null, 10));
+    }
+    
+    @Test
+    void primeiros_OrdenaPorMediaEIdDecrescente_IgnorandoNulos() {
+        carregar(media(1, 1, 9.0), media(2, 1, 7.5), media(3, 1, null), media(4, 1, 9.0), media(5, 2, 8.0));
+        
+        assertEquals(List.of(4L, 1L, 5L), rankingAlunos.primeiros(null, 3));
+        assertEquals(List.of(4L, 1L, 2L), rankingAlunos.primeiros(1L, 10));
+        assertEquals(List.of(5L), rankingAlunos.primeiros(2L, 10));
+        assertTrue(rankingAlunos.primeiros(99L, 10).isEmpty());
+    }
+    
+    @Test
+    void posicao_EmpatesDividemAPosicao() {
+        carregar(media(1, 1, 9.0), media(2, 1, 7.5), media(4, 1, 9.0), media(5, 2, 8.0));
+        
+        PosicaoRankingDTO posicao = rankingAlunos.posicao(2L);
+        
+        assertEquals(4L, posicao.getPosicaoGeral());
+        assertEquals(4L, posicao.getTotalGeral());
+        assertEquals(3L, posicao.getPosicaoNoCurso());
+        assertEquals(3L, posicao.getTotalNoCurso());
+        assertEquals(1L, rankingAlunos.posicao(1L).getPosicaoGeral());
+        assertEquals(1L, rankingAlunos.posicao(4L).getPosicaoGeral());
+        assertNull(rankingAlunos.posicao(99L));
+    }
+    
+    @Test
+    void aoAlterarAluno_AtualizaMediaECurso() {
+        carregar(media(1, 1, 9.0), media(2, 1, 7.5));
+        
+        rankingAlunos.aoAlterarAluno(AlunoAlteradoEvent.atualizado(aluno(2, 1, 7.5), aluno(2, 2, 9.5)));
+        
+        assertEquals(List.of(2L, 1L), rankingAlunos.primeiros(null, 10));
+        assertEquals(List.of(1L), rankingAlunos.primeiros(1L, 10));
+        assertEquals(List.of(2L), rankingAlunos.primeiros(2L, 10));
+        assertEquals(1L, rankingAlunos.posicao(2L).getPosicaoNoCurso());
+    }
+    
+    @Test
+    void aoAlterarAluno_MediaRemovida_SaiDoRanking() {
+        carregar(media(1, 1, 9.0));
+        
+        rankingAlunos.aoAlterarAluno(AlunoAlteradoEvent.atualizado(aluno(1, 1, 9.0), aluno(1, 1, null)));
+        
+        assertTrue(rankingAlunos.primeiros(null, 10).isEmpty());
+        assertNull(rankingAlunos.posicao(1L));
+    }
+    
+    @Test
+    void aoAlterarAluno_Remocao() {
+        carregar(media(1, 1, 9.0), media(2, 1, 7.5));
+        
+        rankingAlunos.aoAlterarAluno(AlunoAlteradoEvent.removido(aluno(1, 1, 9.0)));
+        rankingAlunos.aoAlterarAluno(AlunoAlteradoEvent.removido(aluno(1, 1, 9.0)));
+        
+        assertEquals(List.of(2L), rankingAlunos.primeiros(null, 10));
+        assertEquals(1L, rankingAlunos.posicao(2L).getPosicaoGeral());
+    }
+    
+    @Test
+    void aoAlterarCurso_RenomearNaoMudaOIndice() {
+        carregar(media(1, 1, 9.0), media(2, 1, 7.5), media(3, 2, 8.0));
+        
+        // O índice não guarda o nome do curso; renomear ou remover um curso vazio não mexe no ranking
+        rankingAlunos.aoAlterarCurso(CursoAlteradoEvent.atualizado(1L, "Computação"));
+        assertEquals(List.of(1L, 2L), rankingAlunos.primeiros(1L, 10));
+        
+        rankingAlunos.aoAlterarCurso(CursoAlteradoEvent.removido(1L));
+        assertEquals(List.of(3L), rankingAlunos.primeiros(null, 10));
+        assertTrue(rankingAlunos.primeiros(1L, 10).isEmpty());
+        
+        // Curso sem alunos no ranking
+        rankingAlunos.aoAlterarCurso(CursoAlteradoEvent.atualizado(99L, "Outro"));
+        rankingAlunos.aoAlterarCurso(CursoAlteradoEvent.removido(99L));
+        assertEquals(List.of(3L), rankingAlunos.primeiros(null, 10));
+    }
+    
+    @Test
+    void aoAlterarCurso_AlunosRemovidos_EsvaziaRankingDoCurso() {
+        carregar(media(1, 1, 9.0), media(2, 1, 7.5), media(3, 2, 8.0));
+        
+        rankingAlunos.aoAlterarCurso(CursoAlteradoEvent.alunosRemovidos(1L));
+        
+        assertTrue(rankingAlunos.primeiros(1L, 10).isEmpty());
+        assertEquals(List.of(3L), rankingAlunos.primeiros(null, 10));
+        assertNull(rankingAlunos.posicao(1L));
+    }
+    
+    @Test
+    void recarregar_ReaplicaEventosRecebidosDuranteACarga() {
+        carregar(media(1, 1, 9.0));
+        // Simula uma escrita confirmada enquanto a carga lia o banco: o snapshot não a enxerga
+        when(alunoRepository.findMediasAposId(eq(0L), any())).thenAnswer(invocacao -> {
+            rankingAlunos.aoAlterarAluno(AlunoAlteradoEvent.criado(aluno(2, 1, 10.0)));
+            return List.of(media(1, 1, 9.0));
+        });
+        
+        rankingAlunos.recarregar();
+        
+        assertEquals(List.of(2L, 1L), rankingAlunos.primeiros(null, 10));
+    }
+    
+    @Test
+    void aoImportarAlunos_RecarregaNoAgendador() {
+        carregar(media(1, 1, 9.0));
+        when(alunoRepository.findMediasAposId(anyLong(), any())).thenReturn(List.of(media(1, 1, 9.0), media(2, 1, 9.5)));
+        
+        rankingAlunos.aoImportarAlunos(new AlunosImportadosEvent(1));
+        
+        // A thread do evento só agenda a recarga
+        assertEquals(List.of(1L), rankingAlunos.primeiros(null, 10));
+        ArgumentCaptor<Runnable> recarga = ArgumentCaptor.forClass(Runnable.class);
+        verify(agendador).schedule(recarga.capture(), any(Instant.class));
+        
+        recarga.getValue().run();
+        
+        assertEquals(List.of(2L, 1L), rankingAlunos.primeiros(null, 10));
+    }
+}
@@ -0,0 +1,169 @@
+package br.com.gestao.alunos.replicas;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.UserCredentialsDataSourceAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Primário e réplicas são bancos H2 em memória distintos, cada um com uma tabela que identifica o banco:
+ * a consulta dentro da transação mostra para onde a conexão foi roteada.
+ */
+class DataSourceRoteadoTest {
+    
+    private static final long INTERVALO_RETESTE_MS = 30_000;
+    
+    private final AtomicLong relogio = new AtomicLong(1_000);
+    private MeterRegistry registry;
+    private DataSource primario;
+    private DataSource dataSource;
+    
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        primario = banco("primario");
+    }
+    
+    private DataSource banco(String nome) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + nome + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE origem (nome VARCHAR(20))");
+        jdbc.update("INSERT INTO origem VALUES (?)", nome);
+        return dataSource;
+    }
+    
+    // Mesmo arranjo da aplicação: o roteamento atrás do proxy preguiçoso, com transações do Spring
+    private DataSourceRoteado roteado(Map<String, DataSource> replicas) {
+        DataSourceRoteado roteado = new DataSourceRoteado(primario, replicas, INTERVALO_RETESTE_MS, registry, relogio::get);
+        dataSource = new LazyConnectionDataSourceProxy(roteado);
+        return roteado;
+    }
+    
+    private String origem(boolean somenteLeitura) {
+        TransactionTemplate transacao = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transacao.setReadOnly(somenteLeitura);
+        return transacao.execute(status ->
+                new JdbcTemplate(dataSource).queryForObject("SELECT nome FROM origem", String.class));
+    }
+    
+    private double conexoes(String destino, String tipo) {
+        return registry.get(DataSourceRoteado.METRICA_CONEXOES).tag("destino", destino).tag("tipo", tipo)
+                .counter().count();
+    }
+    
+    @Test
+    void getConnection_TransacaoSomenteLeitura_DeveUsarReplica() {
+        roteado(Map.of("replica-1", banco("replica-1")));
+        
+        assertEquals("replica-1", origem(true));
+        assertEquals(1.0, conexoes("replica-1", "leitura"));
+        assertEquals(0.0, conexoes(DataSourceRoteado.DESTINO_PRIMARIO, "leitura"));
+    }
+    
+    @Test
+    void getConnection_TransacaoDeEscrita_DeveUsarPrimario() {
+        roteado(Map.of("replica-1", banco("replica-1")));
+        // O proxy preguiçoso lê as propriedades padrão de uma conexão ao ser criado
+        double antes = conexoes(DataSourceRoteado.DESTINO_PRIMARIO, "escrita");
+        
+        assertEquals("primario", origem(false));
+        assertEquals(antes + 1, conexoes(DataSourceRoteado.DESTINO_PRIMARIO, "escrita"));
+        assertEquals(0.0, conexoes("replica-1", "leitura"));
+    }
+    
+    @Test
+    void getConnection_VariasReplicas_DeveAlternarEmRodizio() {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", banco("replica-1"));
+        replicas.put("replica-2", banco("replica-2"));
+        roteado(replicas);
+        
+        List<String> origens = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            origens.add(origem(true));
+        }
+        
+        assertEquals(List.of("replica-1", "replica-2", "replica-1", "replica-2"), origens);
+        assertEquals(2.0, conexoes("replica-2", "leitura"));
+    }
+    
+    @Test
+    void getConnection_ReplicaFalhando_DeveTirarDoRodizioAteOIntervaloDeReteste() throws SQLException {
+        DataSource fora = mock(DataSource.class);
+        when(fora.getConnection()).thenThrow(new SQLException("Connection refused"));
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", fora);
+        replicas.put("replica-2", banco("replica-2"));
+        DataSourceRoteado roteado = roteado(replicas);
+        
+        assertEquals("replica-2", origem(true));
+        assertEquals(1, roteado.getReplicasDisponiveis());
+        assertEquals("replica-2", origem(true));
+        assertEquals("replica-2", origem(true));
+        verify(fora, times(1)).getConnection();
+        assertEquals(1.0, registry.get(DataSourceRoteado.METRICA_FALHAS).tag("destino", "replica-1").counter().count());
+        
+        relogio.addAndGet(INTERVALO_RETESTE_MS);
+        assertEquals(2, roteado.getReplicasDisponiveis());
+        origem(true);
+        origem(true);
+        verify(fora, times(2)).getConnection();
+    }
+    
+    @Test
+    void getConnection_NenhumaReplicaDisponivel_DeveLerDoPrimario() throws SQLException {
+        DataSource fora = mock(DataSource.class);
+        when(fora.getConnection()).thenThrow(new SQLException("Connection refused"));
+        roteado(Map.of("replica-1", fora));
+        
+        assertEquals("primario", origem(true));
+        assertEquals(1.0, conexoes(DataSourceRoteado.DESTINO_PRIMARIO, "leitura"));
+        assertEquals(0.0, registry.get(DataSourceRoteado.METRICA_REPLICAS_DISPONIVEIS).gauge().value());
+    }
+    
+    @Test
+    void getConnectionComCredenciais_DeveRotearComoSemCredenciais() throws SQLException {
+        DataSource replica = spy(banco("replica-1"));
+        DataSourceRoteado roteado = roteado(Map.of("replica-1", replica));
+        // Usa getConnection(usuario, senha) no destino, como um pool configurado com credenciais por cima
+        UserCredentialsDataSourceAdapter comCredenciais = new UserCredentialsDataSourceAdapter();
+        comCredenciais.setTargetDataSource(roteado);
+        comCredenciais.setUsername("sa");
+        comCredenciais.setPassword("");
+        dataSource = new LazyConnectionDataSourceProxy(comCredenciais);
+        
+        assertEquals("replica-1", origem(true));
+        assertEquals("primario", origem(false));
+        verify(replica).getConnection("sa", "");
+        verify(replica, never()).getConnection();
+    }
+    
+    @Test
+    void getConnection_SemTransacao_DeveUsarPrimario() {
+        roteado(Map.of("replica-1", banco("replica-1")));
+        
+        String origem = new JdbcTemplate(dataSource).queryForObject("SELECT nome FROM origem", String.class);
+        
+        assertEquals("primario", origem);
+    }
+}
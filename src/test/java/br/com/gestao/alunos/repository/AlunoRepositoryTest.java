@@ -0,0 +1,347 @@
+package br.com.gestao.alunos.repository;
+
+import br.com.gestao.alunos.dto.AlunoResponseDTO;
+import br.com.gestao.alunos.dto.ContagemAlunosDTO;
+import br.com.gestao.alunos.dto.CursoComTotaisDTO;
+import br.com.gestao.alunos.dto.FiltroAlunoDTO;
+import br.com.gestao.alunos.dto.MediaAlunoDTO;
+import br.com.gestao.alunos.dto.OrdenacaoAluno;
+import br.com.gestao.alunos.dto.VersaoAlunoDTO;
+import br.com.gestao.alunos.model.Aluno;
+import br.com.gestao.alunos.model.Curso;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+// Só as migrations do esquema, sem os dados de desenvolvimento
+@TestPropertySource(properties = "spring.flyway.locations=classpath:db/migration/comum,classpath:db/migration/{vendor}")
+class AlunoRepositoryTest {
+    
+    @Autowired
+    private TestEntityManager entityManager;
+    
+    @Autowired
+    private AlunoRepository alunoRepository;
+    
+    @Autowired
+    private CursoRepository cursoRepository;
+    
+    private Curso computacao;
+    private Curso sistemas;
+    
+    @BeforeEach
+    void setUp() {
+        computacao = persistirCurso("Ciência da Computação");
+        sistemas = persistirCurso("Sistemas de Informação");
+        
+        persistirAluno("Ana", computacao, 1, 9.0, LocalDate.of(2024, 2, 1));
+        persistirAluno("Bruno", computacao, 3, 7.5, LocalDate.of(2023, 8, 1));
+        persistirAluno("Carla", computacao, 3, null, null);
+        persistirAluno("Daniel", computacao, 5, 9.0, LocalDate.of(2022, 2, 1));
+        persistirAluno("Elisa", sistemas, 3, 8.0, LocalDate.of(2024, 2, 1));
+        entityManager.flush();
+        entityManager.clear();
+    }
+    
+    private Curso persistirCurso(String nome) {
+        Curso curso = new Curso();
+        curso.setNome(nome);
+        return entityManager.persist(curso);
+    }
+    
+    private void persistirAluno(String nome, Curso curso, int semestre, Double media, LocalDate dataMatricula) {
+        Aluno aluno = new Aluno();
+        aluno.setNome(nome);
+        aluno.setMatricula("M" + nome);
+        aluno.setEmail(nome.toLowerCase() + "@email.com");
+        aluno.setCurso(curso);
+        aluno.setSemestre(semestre);
+        aluno.setMediaGeral(media);
+        aluno.setDataMatricula(dataMatricula);
+        entityManager.persist(aluno);
+    }
+    
+    private List<String> nomes(List<AlunoResponseDTO> alunos) {
+        return alunos.stream().map(AlunoResponseDTO::getNome).collect(Collectors.toList());
+    }
+    
+    @Test
+    void findResumosAposId_ProjetaDtoComNomeDoCurso() {
+        List<AlunoResponseDTO> alunos = alunoRepository.findResumosAposId(0L, PageRequest.of(0, 3));
+        
+        assertEquals(List.of("Ana", "Bruno", "Carla"), nomes(alunos));
+        assertEquals(computacao.getId(), alunos.get(0).getCursoId());
+        assertEquals("Ciência da Computação", alunos.get(0).getCursoNome());
+        
+        List<AlunoResponseDTO> restantes = alunoRepository.findResumosAposId(alunos.get(2).getId(), PageRequest.of(0, 3));
+        assertEquals(List.of("Daniel", "Elisa"), nomes(restantes));
+    }
+    
+    @Test
+    void findMediasAposId_SoAlunosComMedia() {
+        List<MediaAlunoDTO> medias = alunoRepository.findMediasAposId(0L, PageRequest.of(0, 10));
+        
+        // Carla não tem média
+        assertEquals(List.of(9.0, 7.5, 9.0, 8.0), medias.stream().map(MediaAlunoDTO::getMediaGeral).collect(Collectors.toList()));
+        assertEquals(computacao.getId(), medias.get(0).getCursoId());
+        assertEquals(sistemas.getId(), medias.get(3).getCursoId());
+        
+        List<MediaAlunoDTO> restantes = alunoRepository.findMediasAposId(medias.get(1).getId(), PageRequest.of(0, 10));
+        assertEquals(2, restantes.size());
+    }
+    
+    @Test
+    void findResumosByIdIn_ProjetaSoOsPedidos() {
+        List<AlunoResponseDTO> todos = alunoRepository.findResumosAposId(0L, PageRequest.of(0, 10));
+        
+        List<AlunoResponseDTO> alunos = alunoRepository.findResumosByIdIn(List.of(todos.get(4).getId(), todos.get(0).getId()));
+        
+        assertEquals(Set.of("Ana", "Elisa"), Set.copyOf(nomes(alunos)));
+        assertTrue(alunoRepository.findResumosByIdIn(List.of(-1L)).isEmpty());
+    }
+    
+    @Test
+    void findResumoById_ProjetaDto() {
+        Long id = alunoRepository.findResumosAposId(0L, PageRequest.of(0, 1)).get(0).getId();
+        
+        AlunoResponseDTO aluno = alunoRepository.findResumoById(id).orElseThrow();
+        
+        assertEquals("Ana", aluno.getNome());
+        assertEquals("MAna", aluno.getMatricula());
+        assertEquals(9.0, aluno.getMediaGeral());
+        assertTrue(alunoRepository.findResumoById(-1L).isEmpty());
+    }
+    
+    @Test
+    void buscarPorFiltro_CombinaTodosOsCriterios() {
+        FiltroAlunoDTO filtro = new FiltroAlunoDTO();
+        filtro.setCursoId(computacao.getId());
+        filtro.setSemestreMinimo(2);
+        filtro.setMediaMinima(7.0);
+        filtro.setDataMatriculaFim(LocalDate.of(2023, 12, 31));
+        
+        List<AlunoResponseDTO> alunos = alunoRepository.buscarPorFiltro(filtro, OrdenacaoAluno.ID, false, null, null, 10);
+        
+        assertEquals(List.of("Bruno", "Daniel"), nomes(alunos));
+        assertEquals("Ciência da Computação", alunos.get(0).getCursoNome());
+        assertEquals(LocalDate.of(2023, 8, 1), alunos.get(0).getDataMatricula());
+    }
+    
+    @Test
+    void buscarPorFiltro_Email_DeveIgnorarMaiusculasEEspacos() {
+        FiltroAlunoDTO filtro = new FiltroAlunoDTO();
+        filtro.setEmail(" Carla@Email.COM ");
+        
+        List<AlunoResponseDTO> alunos = alunoRepository.buscarPorFiltro(filtro, OrdenacaoAluno.ID, false, null, null, 10);
+        
+        assertEquals(List.of("Carla"), nomes(alunos));
+    }
+    
+    @Test
+    void buscarPorFiltro_OrdenadoPorMediaAsc_PaginaComNulosNoFim() {
+        FiltroAlunoDTO filtro = new FiltroAlunoDTO();
+        filtro.setCursoId(computacao.getId());
+        
+        List<String> visitados = percorrer(filtro, OrdenacaoAluno.MEDIA_GERAL, false);
+        
+        assertEquals(List.of("Bruno", "Ana", "Daniel", "Carla"), visitados);
+    }
+    
+    @Test
+    void buscarPorFiltro_OrdenadoPorMediaDesc_PaginaComNulosNoInicio() {
+        FiltroAlunoDTO filtro = new FiltroAlunoDTO();
+        filtro.setCursoId(computacao.getId());
+        
+        List<String> visitados = percorrer(filtro, OrdenacaoAluno.MEDIA_GERAL, true);
+        
+        assertEquals(List.of("Carla", "Daniel", "Ana", "Bruno"), visitados);
+    }
+    
+    @Test
+    void buscarPorFiltro_OrdenadoPorSemestre_DesempataPorId() {
+        FiltroAlunoDTO filtro = new FiltroAlunoDTO();
+        filtro.setSemestre(3);
+        
+        List<String> visitados = percorrer(filtro, OrdenacaoAluno.SEMESTRE, false);
+        
+        assertEquals(List.of("Bruno", "Carla", "Elisa"), visitados);
+    }
+    
+    // Percorre o resultado uma linha por página, como um cliente seguindo o cursor
+    private List<String> percorrer(FiltroAlunoDTO filtro, OrdenacaoAluno ordenacao, boolean decrescente) {
+        List<String> visitados = new ArrayList<>();
+        Long ultimoId = null;
+        Comparable<?> ultimoValor = null;
+        List<AlunoResponseDTO> pagina = alunoRepository.buscarPorFiltro(filtro, ordenacao, decrescente, null, null, 1);
+        while (!pagina.isEmpty()) {
+            AlunoResponseDTO aluno = pagina.get(0);
+            visitados.add(aluno.getNome());
+            ultimoId = aluno.getId();
+            ultimoValor = ordenacao.valorDe(aluno);
+            pagina = alunoRepository.buscarPorFiltro(filtro, ordenacao, decrescente, ultimoId, ultimoValor, 1);
+        }
+        return visitados;
+    }
+    
+    @Test
+    void findVersaoById_AlteracaoDoAlunoEDoCurso_DeveIncrementarAsVersoes() {
+        Long id = alunoRepository.findResumosAposId(0L, PageRequest.of(0, 1)).get(0).getId();
+        VersaoAlunoDTO antes = alunoRepository.findVersaoById(id).orElseThrow();
+        
+        Aluno aluno = entityManager.find(Aluno.class, id);
+        aluno.setSemestre(2);
+        aluno.getCurso().setDescricao("Nova descrição");
+        entityManager.flush();
+        entityManager.clear();
+        VersaoAlunoDTO depois = alunoRepository.findVersaoById(id).orElseThrow();
+        
+        assertEquals(0L, antes.getVersao());
+        assertEquals(0L, antes.getCursoVersao());
+        assertNotNull(antes.getAtualizadoEm());
+        assertEquals(1L, depois.getVersao());
+        assertEquals(1L, depois.getCursoVersao());
+        assertFalse(depois.getAtualizadoEm().isBefore(antes.getAtualizadoEm()));
+    }
+    
+    @Test
+    void saveAndFlush_VersaoAlteradaPorOutraTransacao_NaoDeveGravar() {
+        Long id = alunoRepository.findResumosAposId(0L, PageRequest.of(0, 1)).get(0).getId();
+        Aluno aluno = alunoRepository.findById(id).orElseThrow();
+        // Outra requisição grava o aluno depois da leitura
+        entityManager.getEntityManager()
+                .createNativeQuery("UPDATE alunos SET semestre = 8, versao = versao + 1 WHERE id = :id")
+                .setParameter("id", id)
+                .executeUpdate();
+        
+        aluno.setSemestre(2);
+        
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> alunoRepository.saveAndFlush(aluno));
+    }
+    
+    @Test
+    void flush_SoAMediaAlterada_NaoDeveReescreverAsDemaisColunas() {
+        Long id = alunoRepository.findResumosAposId(0L, PageRequest.of(0, 1)).get(0).getId();
+        Aluno aluno = alunoRepository.findById(id).orElseThrow();
+        // Coluna alterada fora do contexto de persistência, sem mudar a versão: o UPDATE da média não pode desfazê-la
+        entityManager.getEntityManager()
+                .createNativeQuery("UPDATE alunos SET nome = 'Ana Maria' WHERE id = :id")
+                .setParameter("id", id)
+                .executeUpdate();
+        
+        aluno.setMediaGeral(6.0);
+        aluno.setNome(aluno.getNome());
+        alunoRepository.flush();
+        entityManager.clear();
+        
+        Aluno gravado = alunoRepository.findById(id).orElseThrow();
+        assertEquals(6.0, gravado.getMediaGeral());
+        assertEquals("Ana Maria", gravado.getNome());
+        assertEquals(aluno.getVersao(), gravado.getVersao());
+    }
+    
+    @Test
+    void findVersoesAposId_MesmosAlunosDaPagina() {
+        List<AlunoResponseDTO> pagina = alunoRepository.findResumosAposId(0L, PageRequest.of(0, 3));
+        
+        List<VersaoAlunoDTO> versoes = alunoRepository.findVersoesAposId(0L, PageRequest.of(0, 3));
+        
+        assertEquals(pagina.stream().map(AlunoResponseDTO::getId).collect(Collectors.toList()),
+                versoes.stream().map(VersaoAlunoDTO::getId).collect(Collectors.toList()));
+    }
+    
+    @Test
+    void buscarVersoesPorFiltro_MesmaOrdemECursorDaBusca() {
+        FiltroAlunoDTO filtro = new FiltroAlunoDTO();
+        filtro.setCursoId(computacao.getId());
+        List<AlunoResponseDTO> primeira = alunoRepository.buscarPorFiltro(filtro, OrdenacaoAluno.MEDIA_GERAL, true, null, null, 2);
+        AlunoResponseDTO ultimo = primeira.get(1);
+        
+        List<Long> ids = alunoRepository.buscarVersoesPorFiltro(filtro, OrdenacaoAluno.MEDIA_GERAL, true,
+                        ultimo.getId(), ultimo.getMediaGeral(), 10).stream()
+                .map(VersaoAlunoDTO::getId)
+                .collect(Collectors.toList());
+        
+        assertEquals(alunoRepository.buscarPorFiltro(filtro, OrdenacaoAluno.MEDIA_GERAL, true,
+                        ultimo.getId(), ultimo.getMediaGeral(), 10).stream()
+                .map(AlunoResponseDTO::getId)
+                .collect(Collectors.toList()), ids);
+        assertEquals(2, ids.size());
+    }
+    
+    @Test
+    void findMelhoresMedias_IgnoraNulosEDesempataPorIdDecrescente() {
+        List<AlunoResponseDTO> geral = alunoRepository.findMelhoresMedias(PageRequest.of(0, 3));
+        
+        assertEquals(List.of("Daniel", "Ana", "Elisa"), nomes(geral));
+        
+        List<AlunoResponseDTO> computacaoTop = alunoRepository.findMelhoresMediasDoCurso(computacao.getId(), PageRequest.of(0, 10));
+        assertEquals(List.of("Daniel", "Ana", "Bruno"), nomes(computacaoTop));
+    }
+    
+    @Test
+    void contagensDoRanking() {
+        assertEquals(2, alunoRepository.countByMediaGeralGreaterThan(8.0));
+        assertEquals(4, alunoRepository.countByMediaGeralIsNotNull());
+        assertEquals(2, alunoRepository.countByCursoIdAndMediaGeralGreaterThan(computacao.getId(), 7.5));
+        assertEquals(3, alunoRepository.countByCursoIdAndMediaGeralIsNotNull(computacao.getId()));
+    }
+    
+    @Test
+    void contarAlunosAgrupados_AgrupaPorCursoSemestreEMedia() {
+        List<ContagemAlunosDTO> contagens = alunoRepository.contarAlunosAgrupados();
+        
+        assertEquals(5, contagens.stream().mapToLong(ContagemAlunosDTO::getQuantidade).sum());
+        assertEquals(5, contagens.size());
+        
+        List<ContagemAlunosDTO> doCurso = alunoRepository.contarAlunosAgrupadosDoCurso(sistemas.getId());
+        assertEquals(List.of(new ContagemAlunosDTO(sistemas.getId(), 3, 8.0, 1L)), doCurso);
+    }
+    
+    @Test
+    void deletarPorCursoId_RemoveSoOsAlunosDoCurso() {
+        assertEquals(4, alunoRepository.deletarPorCursoId(computacao.getId()));
+        
+        assertEquals(List.of("Elisa"), nomes(alunoRepository.findResumosAposId(0L, PageRequest.of(0, 10))));
+        assertTrue(cursoRepository.existsById(computacao.getId()));
+        assertEquals(0, alunoRepository.deletarPorCursoId(computacao.getId()));
+    }
+    
+    @Test
+    void deletarPorId_RemoveCursoSemAlunos() {
+        alunoRepository.deletarPorCursoId(sistemas.getId());
+        
+        assertEquals(1, cursoRepository.deletarPorId(sistemas.getId()));
+        assertFalse(cursoRepository.existsById(sistemas.getId()));
+        assertEquals(0, cursoRepository.deletarPorId(sistemas.getId()));
+    }
+    
+    @Test
+    void listarComTotais_ContaAlunosEIncluiCursoVazio() {
+        Curso vazio = persistirCurso("Engenharia de Software");
+        entityManager.flush();
+        
+        List<CursoComTotaisDTO> cursos = cursoRepository.listarComTotais();
+        
+        assertEquals(List.of(computacao.getId(), sistemas.getId(), vazio.getId()),
+                cursos.stream().map(CursoComTotaisDTO::getId).collect(Collectors.toList()));
+        assertEquals(4, cursos.get(0).getTotalAlunos());
+        assertEquals(8.5, cursos.get(0).getMediaGeral(), 0.0001);
+        assertEquals(1, cursos.get(1).getTotalAlunos());
+        assertEquals(0, cursos.get(2).getTotalAlunos());
+        assertNull(cursos.get(2).getMediaGeral());
+    }
+}
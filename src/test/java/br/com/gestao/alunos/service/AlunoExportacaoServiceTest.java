@@ -0,0 +1,84 @@
+package br.com.gestao.alunos.service;
+
+import br.com.gestao.alunos.dto.FormatoExportacao;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AlunoExportacaoServiceTest {
+    
+    private JdbcTemplate jdbcTemplate;
+    private AlunoExportacaoService alunoExportacaoService;
+    
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:exportacao;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE cursos (id BIGINT PRIMARY KEY, nome VARCHAR(100))");
+        jdbcTemplate.execute("CREATE TABLE alunos (id BIGINT PRIMARY KEY, nome VARCHAR(100), matricula VARCHAR(20), " +
+                "email VARCHAR(100), curso_id BIGINT, semestre INT, media_geral DOUBLE PRECISION, data_matricula DATE)");
+        jdbcTemplate.update("INSERT INTO cursos VALUES (1, 'Ciência da Computação')");
+        jdbcTemplate.update("INSERT INTO alunos VALUES (2, 'Maria, Santos', '2024002', 'maria@email.com', 1, 2, NULL, NULL)");
+        jdbcTemplate.update("INSERT INTO alunos VALUES (1, 'João Silva', '2024001', 'joao@email.com', 1, 3, 8.5, DATE '2024-02-01')");
+        
+        alunoExportacaoService = new AlunoExportacaoService(dataSource,
+                new DataSourceTransactionManager(dataSource), new ObjectMapper());
+    }
+    
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+    
+    @Test
+    void exportar_Ndjson_DeveEscreverUmObjetoPorLinhaOrdenadoPorId() throws Exception {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        
+        alunoExportacaoService.exportar(FormatoExportacao.NDJSON, saida);
+        
+        String[] linhas = saida.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, linhas.length);
+        
+        ObjectMapper objectMapper = new ObjectMapper();
+        JsonNode primeiro = objectMapper.readTree(linhas[0]);
+        assertEquals(1L, primeiro.get("id").asLong());
+        assertEquals("João Silva", primeiro.get("nome").asText());
+        assertEquals("Ciência da Computação", primeiro.get("cursoNome").asText());
+        assertEquals(8.5, primeiro.get("mediaGeral").asDouble());
+        assertEquals("2024-02-01", primeiro.get("dataMatricula").asText());
+        
+        JsonNode segundo = objectMapper.readTree(linhas[1]);
+        assertEquals(2L, segundo.get("id").asLong());
+        assertTrue(segundo.get("mediaGeral").isNull());
+    }
+    
+    @Test
+    void exportar_Csv_DeveEscreverCabecalhoEEscaparCampos() throws Exception {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        
+        alunoExportacaoService.exportar(FormatoExportacao.CSV, saida);
+        
+        String[] linhas = saida.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, linhas.length);
+        assertEquals("id,nome,matricula,email,cursoId,cursoNome,semestre,mediaGeral,dataMatricula", linhas[0]);
+        assertEquals("1,João Silva,2024001,joao@email.com,1,Ciência da Computação,3,8.5,2024-02-01", linhas[1]);
+        assertEquals("2,\"Maria, Santos\",2024002,maria@email.com,1,Ciência da Computação,2,,", linhas[2]);
+    }
+    
+    @Test
+    void escaparCsv_DeveDuplicarAspas() {
+        assertEquals("\"Diz \"\"olá\"\"\"", AlunoExportacaoService.escaparCsv("Diz \"olá\""));
+        assertEquals("simples", AlunoExportacaoService.escaparCsv("simples"));
+        assertEquals("", AlunoExportacaoService.escaparCsv(null));
+    }
+}
@@ -0,0 +1,162 @@
+package br.com.gestao.alunos.service;
+
+import br.com.gestao.alunos.dto.AlunoDTO;
+import br.com.gestao.alunos.dto.ErroImportacaoDTO;
+import br.com.gestao.alunos.dto.ResultadoImportacaoDTO;
+import br.com.gestao.alunos.event.AlunosImportadosEvent;
+import br.com.gestao.alunos.exception.BusinessException;
+import br.com.gestao.alunos.importacao.StagingAlunos;
+import br.com.gestao.alunos.importacao.TabelaStaging;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AlunoImportacaoServiceTest {
+    
+    @Mock
+    private StagingAlunos stagingAlunos;
+    
+    @Mock
+    private TabelaStaging staging;
+    
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    
+    private AlunoImportacaoService alunoImportacaoService;
+    
+    @BeforeEach
+    void setUp() {
+        alunoImportacaoService = new AlunoImportacaoService(stagingAlunos,
+                Validation.buildDefaultValidatorFactory().getValidator(), eventPublisher, 3);
+    }
+    
+    private ResultadoImportacaoDTO importar(String csv) throws IOException {
+        return alunoImportacaoService.importarCsv(new StringReader(csv));
+    }
+    
+    @Test
+    void importarCsv_CarregaLinhasValidasEMescla() throws IOException {
+        when(stagingAlunos.criar()).thenReturn(staging);
+        when(staging.mesclar(any(LocalDate.class))).thenReturn(2L);
+        
+        ResultadoImportacaoDTO resultado = importar(
+                "nome,matricula,email,cursoId,semestre,mediaGeral\n" +
+                "Ana Souza,2024001,ana@email.com,1,3,8.5\n" +
+                "Bruno Lima,2024002,bruno@email.com,2,1,\n");
+        
+        ArgumentCaptor<AlunoDTO> alunos = ArgumentCaptor.forClass(AlunoDTO.class);
+        verify(staging).adicionar(eq(2L), alunos.capture());
+        verify(staging).adicionar(eq(3L), alunos.capture());
+        assertEquals("Ana Souza", alunos.getAllValues().get(0).getNome());
+        assertEquals(8.5, alunos.getAllValues().get(0).getMediaGeral());
+        assertEquals(2L, alunos.getAllValues().get(1).getCursoId());
+        assertEquals(0.0, alunos.getAllValues().get(1).getMediaGeral());
+        verify(staging).concluirCarga();
+        verify(staging).rejeitarInvalidos();
+        
+        assertEquals(2, resultado.getLinhas());
+        assertEquals(2, resultado.getImportados());
+        assertEquals(0, resultado.getRejeitados());
+        assertTrue(resultado.getErros().isEmpty());
+        
+        ArgumentCaptor<AlunosImportadosEvent> evento = ArgumentCaptor.forClass(AlunosImportadosEvent.class);
+        verify(eventPublisher).publishEvent(evento.capture());
+        assertEquals(2, evento.getValue().getQuantidade());
+    }
+    
+    @Test
+    void importarCsv_ValidaCadaLinhaERelataPorNumero() throws IOException {
+        when(stagingAlunos.criar()).thenReturn(staging);
+        when(staging.mesclar(any(LocalDate.class))).thenReturn(1L);
+        when(staging.listarErros(3)).thenReturn(List.of(
+                new ErroImportacaoDTO(3, List.of("Já existe um aluno com a matrícula: 2024002"))));
+        
+        ResultadoImportacaoDTO resultado = importar(
+                "id;curso_id;Nome;Matricula;Email;Semestre;Media_Geral\n" +
+                "10;1;Ana Souza;2024001;ana@email.com;3;8,5\n" +
+                "11;1;Bruno Lima;2024002;bruno@email.com;1;7\n" +
+                "12;x;Carla Dias;2024003;carla@email.com;abc;11\n" +
+                "13;1;Daniel\n");
+        
+        verify(staging).adicionar(eq(2L), argThat(aluno -> aluno.getMediaGeral() == 8.5));
+        verify(staging, times(2)).adicionar(anyLong(), any(AlunoDTO.class));
+        
+        assertEquals(4, resultado.getLinhas());
+        assertEquals(1, resultado.getImportados());
+        assertEquals(3, resultado.getRejeitados());
+        assertEquals(List.of(3L, 4L, 5L), resultado.getErros().stream().map(ErroImportacaoDTO::getLinha).toList());
+        List<String> errosLinha4 = resultado.getErros().get(1).getErros();
+        assertEquals(3, errosLinha4.size());
+        assertTrue(errosLinha4.containsAll(List.of("Curso inválido: x", "Semestre inválido: abc",
+                "Média geral deve ser no máximo 10.0")));
+        assertEquals(List.of("A linha tem 3 colunas, mas o cabeçalho tem 7"), resultado.getErros().get(2).getErros());
+        assertEquals(0, resultado.getErrosNaoListados());
+    }
+    
+    @Test
+    void importarCsv_LimitaErrosListados() throws IOException {
+        when(stagingAlunos.criar()).thenReturn(staging);
+        when(staging.listarErros(3)).thenReturn(List.of(new ErroImportacaoDTO(2, List.of("Curso não encontrado com ID: 9"))));
+        
+        ResultadoImportacaoDTO resultado = importar(
+                "nome,matricula,email,cursoId,semestre\n" +
+                "Ana Souza,2024001,ana@email.com,9,1\n" +
+                ",2024002,b@email.com,1,1\n" +
+                ",2024003,c@email.com,1,1\n" +
+                ",2024004,d@email.com,1,1\n" +
+                ",2024005,e@email.com,1,1\n");
+        
+        assertEquals(0, resultado.getImportados());
+        assertEquals(5, resultado.getRejeitados());
+        assertEquals(List.of(2L, 3L, 4L), resultado.getErros().stream().map(ErroImportacaoDTO::getLinha).toList());
+        assertEquals(2, resultado.getErrosNaoListados());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+    
+    @Test
+    void importarCsv_ArquivoVazio_DeveLancarException() {
+        BusinessException excecao = assertThrows(BusinessException.class, () -> importar(""));
+        
+        assertEquals("O arquivo CSV está vazio", excecao.getMessage());
+        verify(stagingAlunos, never()).criar();
+    }
+    
+    @Test
+    void importarCsv_SemColunaObrigatoria_DeveLancarException() {
+        BusinessException excecao = assertThrows(BusinessException.class,
+                () -> importar("nome,matricula,email,semestre\nAna,2024001,a@email.com,1\n"));
+        
+        assertTrue(excecao.getMessage().contains("cursoid"));
+        verify(stagingAlunos, never()).criar();
+    }
+    
+    @Test
+    void importarCsv_FalhaNaLeitura_CancelaCarga() {
+        when(stagingAlunos.criar()).thenReturn(staging);
+        
+        assertThrows(BusinessException.class, () -> importar(
+                "nome,matricula,email,cursoId,semestre\n\"Ana Souza,2024001,ana@email.com,1,1\n"));
+        
+        verify(staging).cancelarCarga();
+        verify(staging, never()).mesclar(any());
+        verify(staging, never()).listarErros(anyInt());
+    }
+}
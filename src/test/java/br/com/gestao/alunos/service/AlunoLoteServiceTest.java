@@ -0,0 +1,145 @@
+package br.com.gestao.alunos.service;
+
+import br.com.gestao.alunos.dto.AlunoDTO;
+import br.com.gestao.alunos.dto.ResultadoLoteDTO;
+import br.com.gestao.alunos.event.AlunoAlteradoEvent;
+import br.com.gestao.alunos.exception.BusinessException;
+import br.com.gestao.alunos.model.Aluno;
+import br.com.gestao.alunos.model.Curso;
+import br.com.gestao.alunos.repository.AlunoRepository;
+import br.com.gestao.alunos.repository.CursoRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AlunoLoteServiceTest {
+    
+    @Mock
+    private AlunoRepository alunoRepository;
+    
+    @Mock
+    private CursoRepository cursoRepository;
+    
+    @Mock
+    private EntityManager entityManager;
+    
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    
+    private AlunoLoteService alunoLoteService;
+    private Curso curso;
+    
+    @BeforeEach
+    void setUp() {
+        alunoLoteService = new AlunoLoteService(alunoRepository, cursoRepository,
+                Validation.buildDefaultValidatorFactory().getValidator(), entityManager, eventPublisher);
+        
+        curso = new Curso();
+        curso.setId(1L);
+        curso.setNome("Ciência da Computação");
+    }
+    
+    private AlunoDTO novoAluno(String matricula, String email, Long cursoId) {
+        AlunoDTO alunoDTO = new AlunoDTO();
+        alunoDTO.setNome("Aluno " + matricula);
+        alunoDTO.setMatricula(matricula);
+        alunoDTO.setEmail(email);
+        alunoDTO.setCursoId(cursoId);
+        alunoDTO.setSemestre(1);
+        alunoDTO.setMediaGeral(7.0);
+        return alunoDTO;
+    }
+    
+    private void simularSaveAll() {
+        AtomicLong sequencia = new AtomicLong(100);
+        when(alunoRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Aluno> alunos = new ArrayList<>(invocation.getArgument(0));
+            alunos.forEach(aluno -> aluno.setId(sequencia.incrementAndGet()));
+            return alunos;
+        });
+    }
+    
+    @Test
+    void criarAlunosEmLote_TodosValidos_DeveCriarComPoucasConsultas() {
+        when(alunoRepository.findMatriculasExistentes(anyCollection())).thenReturn(Collections.emptySet());
+        when(alunoRepository.findEmailsExistentes(anyCollection())).thenReturn(Collections.emptySet());
+        when(cursoRepository.findAllById(any())).thenReturn(List.of(curso));
+        simularSaveAll();
+        
+        ResultadoLoteDTO resultado = alunoLoteService.criarAlunosEmLote(Arrays.asList(
+                novoAluno("2024001", "a@email.com", 1L),
+                novoAluno("2024002", "b@email.com", 1L)));
+        
+        assertEquals(2, resultado.getTotal());
+        assertEquals(2, resultado.getCriados());
+        assertEquals(0, resultado.getRejeitados());
+        assertEquals(101L, resultado.getItens().get(0).getAluno().getId());
+        assertEquals("Ciência da Computação", resultado.getItens().get(1).getAluno().getCursoNome());
+        verify(alunoRepository, times(1)).findMatriculasExistentes(anyCollection());
+        verify(alunoRepository, times(1)).findEmailsExistentes(anyCollection());
+        verify(cursoRepository, times(1)).findAllById(any());
+        verify(entityManager, times(1)).flush();
+        verify(eventPublisher, times(2)).publishEvent(any(AlunoAlteradoEvent.class));
+    }
+    
+    @Test
+    void criarAlunosEmLote_ItensInvalidos_DeveRejeitarApenasEles() {
+        AlunoDTO semNome = novoAluno("2024003", "c@email.com", 1L);
+        semNome.setNome("");
+        
+        when(alunoRepository.findMatriculasExistentes(anyCollection())).thenReturn(Set.of("2024002"));
+        when(alunoRepository.findEmailsExistentes(anyCollection())).thenReturn(Collections.emptySet());
+        when(cursoRepository.findAllById(any())).thenReturn(List.of(curso));
+        simularSaveAll();
+        
+        ResultadoLoteDTO resultado = alunoLoteService.criarAlunosEmLote(Arrays.asList(
+                novoAluno("2024001", "a@email.com", 1L),
+                novoAluno("2024002", "b@email.com", 1L),
+                semNome,
+                novoAluno("2024001", "d@email.com", 1L),
+                novoAluno("2024005", "e@email.com", 99L)));
+        
+        assertEquals(5, resultado.getTotal());
+        assertEquals(1, resultado.getCriados());
+        assertEquals(4, resultado.getRejeitados());
+        assertTrue(resultado.getItens().get(0).isCriado());
+        assertTrue(resultado.getItens().get(1).getErros().get(0).contains("matrícula"));
+        assertFalse(resultado.getItens().get(2).getErros().isEmpty());
+        assertTrue(resultado.getItens().get(3).getErros().get(0).contains("repetida no lote"));
+        assertTrue(resultado.getItens().get(4).getErros().get(0).contains("Curso não encontrado"));
+        verify(eventPublisher, times(1)).publishEvent(any(AlunoAlteradoEvent.class));
+    }
+    
+    @Test
+    void criarAlunosEmLote_Vazio_DeveLancarException() {
+        assertThrows(BusinessException.class, () -> alunoLoteService.criarAlunosEmLote(Collections.emptyList()));
+        verifyNoInteractions(alunoRepository);
+    }
+    
+    @Test
+    void criarAlunosEmLote_AcimaDoLimite_DeveLancarException() {
+        List<AlunoDTO> lote = Collections.nCopies(AlunoLoteService.TAMANHO_MAXIMO_LOTE + 1, novoAluno("2024001", "a@email.com", 1L));
+        
+        assertThrows(BusinessException.class, () -> alunoLoteService.criarAlunosEmLote(lote));
+        verifyNoInteractions(alunoRepository);
+    }
+}
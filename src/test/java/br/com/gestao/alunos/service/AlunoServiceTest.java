@@ -1,21 +1,43 @@
 package br.com.gestao.alunos.service;
 
+import br.com.gestao.alunos.condicional.RecursoVersionado;
 import br.com.gestao.alunos.dto.AlunoDTO;
 import br.com.gestao.alunos.dto.AlunoResponseDTO;
+import br.com.gestao.alunos.dto.FiltroAlunoDTO;
+import br.com.gestao.alunos.dto.OrdenacaoAluno;
+import br.com.gestao.alunos.dto.PaginaDTO;
+import br.com.gestao.alunos.dto.VersaoAlunoDTO;
+import br.com.gestao.alunos.event.AlunoAlteradoEvent;
 import br.com.gestao.alunos.exception.BusinessException;
+import br.com.gestao.alunos.exception.ConflictException;
+import br.com.gestao.alunos.exception.PreconditionFailedException;
 import br.com.gestao.alunos.exception.ResourceNotFoundException;
 import br.com.gestao.alunos.model.Aluno;
 import br.com.gestao.alunos.model.Curso;
 import br.com.gestao.alunos.repository.AlunoRepository;
-import br.com.gestao.alunos.repository.CursoRepository;
+import br.com.gestao.alunos.unicidade.ChavesAlunos;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -23,6 +45,7 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,7 +55,20 @@ class AlunoServiceTest {
     private AlunoRepository alunoRepository;
     
     @Mock
-    private CursoRepository cursoRepository;
+    private CursoService cursoService;
+    
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    
+    // Filtro não carregado: toda verificação de unicidade vai ao banco
+    @Spy
+    private ChavesAlunos chavesAlunos = new ChavesAlunos(null, null, false, 0.01, 100);
+    
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+    
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
     
     @InjectMocks
     private AlunoService alunoService;
@@ -40,6 +76,7 @@ class AlunoServiceTest {
     private Curso curso;
     private Aluno aluno;
     private AlunoDTO alunoDTO;
+    private AlunoResponseDTO alunoResponseDTO;
     
     @BeforeEach
     void setUp() {
@@ -65,13 +102,15 @@ class AlunoServiceTest {
         alunoDTO.setCursoId(1L);
         alunoDTO.setSemestre(3);
         alunoDTO.setMediaGeral(8.5);
+        
+        alunoResponseDTO = AlunoService.converterParaResponseDTO(aluno);
     }
     
     @Test
     void criarAluno_Sucesso() {
         when(alunoRepository.existsByMatricula(anyString())).thenReturn(false);
         when(alunoRepository.existsByEmail(anyString())).thenReturn(false);
-        when(cursoRepository.findById(1L)).thenReturn(Optional.of(curso));
+        when(cursoService.buscarEntidadePorId(1L)).thenReturn(curso);
         when(alunoRepository.save(any(Aluno.class))).thenReturn(aluno);
         
         AlunoResponseDTO resultado = alunoService.criarAluno(alunoDTO);
@@ -80,13 +119,32 @@ class AlunoServiceTest {
         assertEquals("João Silva", resultado.getNome());
         assertEquals("2024001", resultado.getMatricula());
         verify(alunoRepository, times(1)).save(any(Aluno.class));
+        
+        ArgumentCaptor<AlunoAlteradoEvent> evento = ArgumentCaptor.forClass(AlunoAlteradoEvent.class);
+        verify(eventPublisher).publishEvent(evento.capture());
+        assertNull(evento.getValue().getAnterior());
+        assertEquals(resultado, evento.getValue().getAtual());
+    }
+    
+    @Test
+    void criarAluno_FiltroDescartaChaves_NaoConsultaUnicidadeNoBanco() {
+        doReturn(false).when(chavesAlunos).matriculaExiste(eq("2024001"), any());
+        doReturn(false).when(chavesAlunos).emailExiste(eq("joao@email.com"), any());
+        when(cursoService.buscarEntidadePorId(1L)).thenReturn(curso);
+        when(alunoRepository.save(any(Aluno.class))).thenReturn(aluno);
+        
+        alunoService.criarAluno(alunoDTO);
+        
+        verify(alunoRepository, never()).existsByMatricula(anyString());
+        verify(alunoRepository, never()).existsByEmail(anyString());
+        verify(alunoRepository, times(1)).save(any(Aluno.class));
     }
     
     @Test
     void criarAluno_MatriculaJaExiste_DeveLancarException() {
         when(alunoRepository.existsByMatricula(anyString())).thenReturn(true);
         
-        assertThrows(BusinessException.class, () -> alunoService.criarAluno(alunoDTO));
+        assertThrows(ConflictException.class, () -> alunoService.criarAluno(alunoDTO));
         verify(alunoRepository, never()).save(any(Aluno.class));
     }
     
@@ -95,7 +153,7 @@ class AlunoServiceTest {
         when(alunoRepository.existsByMatricula(anyString())).thenReturn(false);
         when(alunoRepository.existsByEmail(anyString())).thenReturn(true);
         
-        assertThrows(BusinessException.class, () -> alunoService.criarAluno(alunoDTO));
+        assertThrows(ConflictException.class, () -> alunoService.criarAluno(alunoDTO));
         verify(alunoRepository, never()).save(any(Aluno.class));
     }
     
@@ -103,50 +161,124 @@ class AlunoServiceTest {
     void criarAluno_CursoNaoEncontrado_DeveLancarException() {
         when(alunoRepository.existsByMatricula(anyString())).thenReturn(false);
         when(alunoRepository.existsByEmail(anyString())).thenReturn(false);
-        when(cursoRepository.findById(1L)).thenReturn(Optional.empty());
+        when(cursoService.buscarEntidadePorId(1L)).thenThrow(new ResourceNotFoundException("Curso não encontrado com ID: 1"));
         
         assertThrows(ResourceNotFoundException.class, () -> alunoService.criarAluno(alunoDTO));
         verify(alunoRepository, never()).save(any(Aluno.class));
     }
     
     @Test
-    void listarTodosAlunos_Sucesso() {
-        Aluno aluno2 = new Aluno();
-        aluno2.setId(2L);
-        aluno2.setNome("Maria Santos");
-        aluno2.setMatricula("2024002");
-        aluno2.setEmail("maria@email.com");
-        aluno2.setCurso(curso);
-        aluno2.setSemestre(2);
-        aluno2.setMediaGeral(9.0);
+    void listarAlunos_Sucesso() {
+        AlunoResponseDTO aluno2 = new AlunoResponseDTO(2L, "Maria Santos", "2024002", "maria@email.com",
+                "Ciência da Computação", 1L, 2, 9.0, null);
         
-        when(alunoRepository.findAll()).thenReturn(Arrays.asList(aluno, aluno2));
+        when(alunoRepository.findResumosAposId(0L, PageRequest.of(0, 51)))
+                .thenReturn(Arrays.asList(alunoResponseDTO, aluno2));
         
-        List<AlunoResponseDTO> resultado = alunoService.listarTodosAlunos();
+        PaginaDTO<AlunoResponseDTO> resultado = alunoService.listarAlunos(null, null);
         
         assertNotNull(resultado);
-        assertEquals(2, resultado.size());
-        verify(alunoRepository, times(1)).findAll();
+        assertEquals(2, resultado.getConteudo().size());
+        assertEquals(50, resultado.getLimite());
+        assertNull(resultado.getProximoCursor());
+    }
+    
+    @Test
+    void listarAlunos_ComProximaPagina_DeveRetornarCursor() {
+        AlunoResponseDTO aluno2 = new AlunoResponseDTO(2L, "Maria Santos", "2024002", "maria@email.com",
+                "Ciência da Computação", 1L, 2, 9.0, null);
+        
+        when(alunoRepository.findResumosAposId(0L, PageRequest.of(0, 2)))
+                .thenReturn(Arrays.asList(alunoResponseDTO, aluno2));
+        
+        PaginaDTO<AlunoResponseDTO> resultado = alunoService.listarAlunos(null, 1);
+        
+        assertEquals(1, resultado.getConteudo().size());
+        assertEquals(CursorPaginacao.codificar(1L), resultado.getProximoCursor());
+    }
+    
+    @Test
+    void listarAlunos_ComCursor_DeveBuscarIdsMaiores() {
+        when(alunoRepository.findResumosAposId(eq(10L), any(PageRequest.class)))
+                .thenReturn(Arrays.asList());
+        
+        PaginaDTO<AlunoResponseDTO> resultado = alunoService.listarAlunos(CursorPaginacao.codificar(10L), 20);
+        
+        assertTrue(resultado.getConteudo().isEmpty());
+        verify(alunoRepository, times(1)).findResumosAposId(10L, PageRequest.of(0, 21));
+    }
+    
+    @Test
+    void listarAlunos_CursorInvalido_DeveLancarException() {
+        assertThrows(BusinessException.class, () -> alunoService.listarAlunos("cursor-invalido", null));
+        verify(alunoRepository, never()).findResumosAposId(anyLong(), any(PageRequest.class));
+    }
+    
+    @Test
+    void listarAlunos_LimiteInvalido_DeveLancarException() {
+        assertThrows(BusinessException.class, () -> alunoService.listarAlunos(null, 0));
     }
     
     @Test
     void buscarAlunoPorId_Sucesso() {
-        when(alunoRepository.findById(1L)).thenReturn(Optional.of(aluno));
+        when(alunoRepository.findResumoById(1L)).thenReturn(Optional.of(alunoResponseDTO));
         
         AlunoResponseDTO resultado = alunoService.buscarAlunoPorId(1L);
         
         assertNotNull(resultado);
         assertEquals("João Silva", resultado.getNome());
-        verify(alunoRepository, times(1)).findById(1L);
+        verify(alunoRepository, times(1)).findResumoById(1L);
+        verify(alunoRepository, never()).findById(anyLong());
     }
     
     @Test
     void buscarAlunoPorId_NaoEncontrado_DeveLancarException() {
-        when(alunoRepository.findById(1L)).thenReturn(Optional.empty());
+        when(alunoRepository.findResumoById(1L)).thenReturn(Optional.empty());
         
         assertThrows(ResourceNotFoundException.class, () -> alunoService.buscarAlunoPorId(1L));
     }
     
+    @Test
+    void buscarAlunoPorId_ClienteComVersaoAtual_NaoDeveBuscarOAluno() {
+        when(alunoRepository.findVersaoById(1L)).thenReturn(Optional.of(versaoDoAluno(1L, 3L)));
+        List<String> etags = new ArrayList<>();
+        
+        Optional<AlunoResponseDTO> resultado = alunoService.buscarAlunoPorId(1L, versao -> etags.add(versao.getEtag()));
+        
+        assertTrue(resultado.isEmpty());
+        assertEquals(List.of("3.1"), etags);
+        verify(alunoRepository, never()).findResumoById(anyLong());
+    }
+    
+    @Test
+    void buscarAlunoPorId_ClienteComVersaoAntiga_DeveBuscarOAluno() {
+        when(alunoRepository.findVersaoById(1L)).thenReturn(Optional.of(versaoDoAluno(1L, 3L)));
+        when(alunoRepository.findResumoById(1L)).thenReturn(Optional.of(alunoResponseDTO));
+        
+        Optional<AlunoResponseDTO> resultado = alunoService.buscarAlunoPorId(1L, versao -> false);
+        
+        assertEquals(Optional.of(alunoResponseDTO), resultado);
+    }
+    
+    @Test
+    void buscarAlunoPorId_CondicionalNaoEncontrado_DeveLancarException() {
+        when(alunoRepository.findVersaoById(1L)).thenReturn(Optional.empty());
+        
+        assertThrows(ResourceNotFoundException.class, () -> alunoService.buscarAlunoPorId(1L, versao -> false));
+        verify(alunoRepository, never()).findResumoById(anyLong());
+    }
+    
+    @Test
+    void listarAlunos_ClienteComVersaoAtual_DeveLerSoAsVersoesDaPagina() {
+        when(alunoRepository.findVersoesAposId(0L, PageRequest.of(0, 51)))
+                .thenReturn(List.of(versaoDoAluno(1L, 0L), versaoDoAluno(2L, 5L)));
+        
+        Optional<PaginaDTO<AlunoResponseDTO>> resultado = alunoService.listarAlunos(null, null, versao -> true);
+        
+        assertTrue(resultado.isEmpty());
+        verify(alunoRepository, never()).findResumosAposId(anyLong(), any());
+    }
+    
     @Test
     void atualizarAluno_Sucesso() {
         AlunoDTO alunoDTOAtualizado = new AlunoDTO();
@@ -160,13 +292,70 @@ class AlunoServiceTest {
         when(alunoRepository.findById(1L)).thenReturn(Optional.of(aluno));
         when(alunoRepository.existsByMatricula(anyString())).thenReturn(false);
         when(alunoRepository.existsByEmail(anyString())).thenReturn(false);
-        when(cursoRepository.findById(1L)).thenReturn(Optional.of(curso));
+        when(cursoService.buscarEntidadePorId(1L)).thenReturn(curso);
         when(alunoRepository.save(any(Aluno.class))).thenReturn(aluno);
         
         AlunoResponseDTO resultado = alunoService.atualizarAluno(1L, alunoDTOAtualizado);
         
         assertNotNull(resultado);
         verify(alunoRepository, times(1)).save(any(Aluno.class));
+        
+        ArgumentCaptor<AlunoAlteradoEvent> evento = ArgumentCaptor.forClass(AlunoAlteradoEvent.class);
+        verify(eventPublisher).publishEvent(evento.capture());
+        assertEquals(8.5, evento.getValue().getAnterior().getMediaGeral());
+        assertEquals(9.0, evento.getValue().getAtual().getMediaGeral());
+    }
+    
+    @Test
+    void atualizarAluno_VersaoDoIfMatchAceita_DeveGravarERetornarNovaVersao() {
+        aluno.setVersao(3L);
+        curso.setVersao(1L);
+        when(alunoRepository.findById(1L)).thenReturn(Optional.of(aluno));
+        when(alunoRepository.existsByMatricula(anyString())).thenReturn(false);
+        when(alunoRepository.existsByEmail(anyString())).thenReturn(false);
+        when(cursoService.buscarEntidadePorId(1L)).thenReturn(curso);
+        when(alunoRepository.save(any(Aluno.class))).thenReturn(aluno);
+        // O flush executa o UPDATE com a versão no WHERE e incrementa a versão da entidade
+        doAnswer(invocacao -> {
+            aluno.setVersao(4L);
+            return null;
+        }).when(alunoRepository).flush();
+        
+        RecursoVersionado<AlunoResponseDTO> resultado = alunoService.atualizarAluno(1L, alunoDTO,
+                versao -> versao.getEtag().equals("3.1"));
+        
+        assertEquals("4.1", resultado.getVersao().getEtag());
+        assertEquals("João Silva", resultado.getConteudo().getNome());
+        InOrder ordem = inOrder(alunoRepository, eventPublisher);
+        ordem.verify(alunoRepository).flush();
+        ordem.verify(eventPublisher).publishEvent(any(AlunoAlteradoEvent.class));
+    }
+    
+    @Test
+    void atualizarAluno_VersaoDoIfMatchRecusada_NaoDeveAlterarNada() {
+        aluno.setVersao(4L);
+        curso.setVersao(1L);
+        when(alunoRepository.findById(1L)).thenReturn(Optional.of(aluno));
+        
+        assertThrows(PreconditionFailedException.class,
+                () -> alunoService.atualizarAluno(1L, alunoDTO, versao -> versao.getEtag().equals("3.1")));
+        verify(alunoRepository, never()).existsByMatricula(anyString());
+        verify(alunoRepository, never()).save(any(Aluno.class));
+        verifyNoInteractions(eventPublisher);
+        assertEquals("João Silva", aluno.getNome());
+    }
+    
+    @Test
+    void atualizarAluno_AlteracaoConcorrente_NaoDevePublicarEvento() {
+        when(alunoRepository.findById(1L)).thenReturn(Optional.of(aluno));
+        when(alunoRepository.existsByMatricula(anyString())).thenReturn(false);
+        when(alunoRepository.existsByEmail(anyString())).thenReturn(false);
+        when(cursoService.buscarEntidadePorId(1L)).thenReturn(curso);
+        when(alunoRepository.save(any(Aluno.class))).thenReturn(aluno);
+        doThrow(new ObjectOptimisticLockingFailureException(Aluno.class, 1L)).when(alunoRepository).flush();
+        
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> alunoService.atualizarAluno(1L, alunoDTO));
+        verifyNoInteractions(eventPublisher);
     }
     
     @Test
@@ -186,7 +375,7 @@ class AlunoServiceTest {
         when(alunoRepository.findById(1L)).thenReturn(Optional.of(aluno));
         when(alunoRepository.existsByMatricula("2024002")).thenReturn(true);
         
-        assertThrows(BusinessException.class, () -> alunoService.atualizarAluno(1L, alunoDTOAtualizado));
+        assertThrows(ConflictException.class, () -> alunoService.atualizarAluno(1L, alunoDTOAtualizado));
         verify(alunoRepository, never()).save(any(Aluno.class));
     }
     
@@ -204,7 +393,7 @@ class AlunoServiceTest {
         when(alunoRepository.existsByMatricula("2024001")).thenReturn(false);
         when(alunoRepository.existsByEmail("maria@email.com")).thenReturn(true);
         
-        assertThrows(BusinessException.class, () -> alunoService.atualizarAluno(1L, alunoDTOAtualizado));
+        assertThrows(ConflictException.class, () -> alunoService.atualizarAluno(1L, alunoDTOAtualizado));
         verify(alunoRepository, never()).save(any(Aluno.class));
     }
     
@@ -221,7 +410,7 @@ class AlunoServiceTest {
         when(alunoRepository.findById(1L)).thenReturn(Optional.of(aluno));
         when(alunoRepository.existsByMatricula("2024001")).thenReturn(false);
         when(alunoRepository.existsByEmail("joao@email.com")).thenReturn(false);
-        when(cursoRepository.findById(999L)).thenReturn(Optional.empty());
+        when(cursoService.buscarEntidadePorId(999L)).thenThrow(new ResourceNotFoundException("Curso não encontrado com ID: 999"));
         
         assertThrows(ResourceNotFoundException.class, () -> alunoService.atualizarAluno(1L, alunoDTOAtualizado));
         verify(alunoRepository, never()).save(any(Aluno.class));
@@ -233,7 +422,7 @@ class AlunoServiceTest {
         
         when(alunoRepository.existsByMatricula(anyString())).thenReturn(false);
         when(alunoRepository.existsByEmail(anyString())).thenReturn(false);
-        when(cursoRepository.findById(1L)).thenReturn(Optional.of(curso));
+        when(cursoService.buscarEntidadePorId(1L)).thenReturn(curso);
         when(alunoRepository.save(any(Aluno.class))).thenAnswer(invocation -> {
             Aluno alunoSalvo = invocation.getArgument(0);
             alunoSalvo.setId(1L);
@@ -260,7 +449,7 @@ class AlunoServiceTest {
         when(alunoRepository.findById(1L)).thenReturn(Optional.of(aluno));
         when(alunoRepository.existsByMatricula("2024001")).thenReturn(false);
         when(alunoRepository.existsByEmail("joao@email.com")).thenReturn(false);
-        when(cursoRepository.findById(1L)).thenReturn(Optional.of(curso));
+        when(cursoService.buscarEntidadePorId(1L)).thenReturn(curso);
         when(alunoRepository.save(any(Aluno.class))).thenReturn(aluno);
         
         AlunoResponseDTO resultado = alunoService.atualizarAluno(1L, alunoDTOAtualizado);
@@ -276,55 +465,312 @@ class AlunoServiceTest {
         assertThrows(ResourceNotFoundException.class, () -> alunoService.atualizarAluno(1L, alunoDTO));
     }
     
+    @Test
+    void atualizarAlunoParcialmente_SoAMedia_NaoDeveVerificarUnicidadeNemCurso() throws JsonProcessingException {
+        aluno.setVersao(3L);
+        curso.setVersao(1L);
+        when(alunoRepository.findById(1L)).thenReturn(Optional.of(aluno));
+        doAnswer(invocacao -> {
+            aluno.setVersao(4L);
+            return null;
+        }).when(alunoRepository).flush();
+        
+        RecursoVersionado<AlunoResponseDTO> resultado = alunoService.atualizarAlunoParcialmente(1L,
+                patch("{\"mediaGeral\": 9.5}"), versao -> versao.getEtag().equals("3.1"));
+        
+        assertEquals(9.5, resultado.getConteudo().getMediaGeral());
+        assertEquals("João Silva", resultado.getConteudo().getNome());
+        assertEquals("4.1", resultado.getVersao().getEtag());
+        verify(alunoRepository, never()).existsByMatricula(anyString());
+        verify(alunoRepository, never()).existsByEmail(anyString());
+        verify(alunoRepository, never()).save(any(Aluno.class));
+        verifyNoInteractions(cursoService);
+        
+        ArgumentCaptor<AlunoAlteradoEvent> evento = ArgumentCaptor.forClass(AlunoAlteradoEvent.class);
+        verify(eventPublisher).publishEvent(evento.capture());
+        assertEquals(8.5, evento.getValue().getAnterior().getMediaGeral());
+        assertEquals(9.5, evento.getValue().getAtual().getMediaGeral());
+    }
+    
+    @Test
+    void atualizarAlunoParcialmente_MatriculaAlterada_DeveVerificarSoAMatricula() throws JsonProcessingException {
+        when(alunoRepository.findById(1L)).thenReturn(Optional.of(aluno));
+        when(alunoRepository.existsByMatricula("2024002")).thenReturn(true);
+        
+        ConflictException excecao = assertThrows(ConflictException.class,
+                () -> alunoService.atualizarAlunoParcialmente(1L, patch("{\"matricula\": \"2024002\"}"), versao -> true));
+        
+        assertEquals("Já existe um aluno com a matrícula: 2024002", excecao.getMessage());
+        verify(alunoRepository, never()).existsByEmail(anyString());
+        verify(alunoRepository, never()).flush();
+        assertEquals("2024001", aluno.getMatricula());
+    }
+    
+    @Test
+    void atualizarAlunoParcialmente_EmailAlterado_DeveGravarONovoEmail() throws JsonProcessingException {
+        when(alunoRepository.findById(1L)).thenReturn(Optional.of(aluno));
+        when(alunoRepository.existsByEmail("joao.novo@email.com")).thenReturn(false);
+        
+        RecursoVersionado<AlunoResponseDTO> resultado = alunoService.atualizarAlunoParcialmente(1L,
+                patch("{\"email\": \"joao.novo@email.com\"}"), versao -> true);
+        
+        assertEquals("joao.novo@email.com", resultado.getConteudo().getEmail());
+        verify(alunoRepository, never()).existsByMatricula(anyString());
+        verify(alunoRepository).flush();
+    }
+    
+    @Test
+    void atualizarAlunoParcialmente_CursoAlterado_DeveBuscarONovoCurso() throws JsonProcessingException {
+        Curso outroCurso = new Curso();
+        outroCurso.setId(2L);
+        outroCurso.setNome("Engenharia");
+        when(alunoRepository.findById(1L)).thenReturn(Optional.of(aluno));
+        when(cursoService.buscarEntidadePorId(2L)).thenReturn(outroCurso);
+        
+        RecursoVersionado<AlunoResponseDTO> resultado = alunoService.atualizarAlunoParcialmente(1L,
+                patch("{\"cursoId\": 2}"), versao -> true);
+        
+        assertEquals(2L, resultado.getConteudo().getCursoId());
+        assertEquals("Engenharia", resultado.getConteudo().getCursoNome());
+        verify(alunoRepository, never()).existsByMatricula(anyString());
+    }
+    
+    @Test
+    void atualizarAlunoParcialmente_MediaNula_DeveRemoverAMedia() throws JsonProcessingException {
+        when(alunoRepository.findById(1L)).thenReturn(Optional.of(aluno));
+        
+        RecursoVersionado<AlunoResponseDTO> resultado = alunoService.atualizarAlunoParcialmente(1L,
+                patch("{\"mediaGeral\": null}"), versao -> true);
+        
+        assertNull(resultado.getConteudo().getMediaGeral());
+        assertNull(aluno.getMediaGeral());
+    }
+    
+    @Test
+    void atualizarAlunoParcialmente_CampoObrigatorioNulo_DeveLancarException() throws JsonProcessingException {
+        when(alunoRepository.findById(1L)).thenReturn(Optional.of(aluno));
+        
+        ConstraintViolationException excecao = assertThrows(ConstraintViolationException.class,
+                () -> alunoService.atualizarAlunoParcialmente(1L, patch("{\"nome\": null, \"semestre\": 25}"), versao -> true));
+        
+        assertEquals(2, excecao.getConstraintViolations().size());
+        assertEquals("João Silva", aluno.getNome());
+        verify(alunoRepository, never()).flush();
+        verifyNoInteractions(eventPublisher);
+    }
+    
+    @Test
+    void atualizarAlunoParcialmente_CampoDesconhecido_DeveLancarException() throws JsonProcessingException {
+        when(alunoRepository.findById(1L)).thenReturn(Optional.of(aluno));
+        
+        BusinessException excecao = assertThrows(BusinessException.class,
+                () -> alunoService.atualizarAlunoParcialmente(1L, patch("{\"media\": 9.5}"), versao -> true));
+        
+        assertEquals("Campo desconhecido ou com valor inválido no patch: media", excecao.getMessage());
+    }
+    
+    @Test
+    void atualizarAlunoParcialmente_ValorComTipoErrado_DeveLancarException() throws JsonProcessingException {
+        when(alunoRepository.findById(1L)).thenReturn(Optional.of(aluno));
+        
+        BusinessException excecao = assertThrows(BusinessException.class,
+                () -> alunoService.atualizarAlunoParcialmente(1L, patch("{\"semestre\": \"quarto\"}"), versao -> true));
+        
+        assertEquals("Campo desconhecido ou com valor inválido no patch: semestre", excecao.getMessage());
+    }
+    
+    @Test
+    void atualizarAlunoParcialmente_IdDiferenteDoCaminho_DeveLancarException() throws JsonProcessingException {
+        BusinessException excecao = assertThrows(BusinessException.class,
+                () -> alunoService.atualizarAlunoParcialmente(1L, patch("{\"id\": 2, \"nome\": \"Outro\"}"), versao -> true));
+        
+        assertEquals("O id do aluno não pode ser alterado: o patch informa 2 para o aluno 1", excecao.getMessage());
+        verifyNoInteractions(alunoRepository);
+    }
+    
+    @Test
+    void atualizarAlunoParcialmente_IdIgualAoDoCaminho_DeveAplicarOsDemaisCampos() throws JsonProcessingException {
+        when(alunoRepository.findById(1L)).thenReturn(Optional.of(aluno));
+        
+        RecursoVersionado<AlunoResponseDTO> resultado = alunoService.atualizarAlunoParcialmente(1L,
+                patch("{\"id\": 1, \"mediaGeral\": 9.5}"), versao -> true);
+        
+        assertEquals(1L, resultado.getConteudo().getId());
+        assertEquals(9.5, aluno.getMediaGeral());
+    }
+    
+    @Test
+    void atualizarAlunoParcialmente_PatchQueNaoEObjeto_DeveLancarException() throws JsonProcessingException {
+        assertThrows(BusinessException.class,
+                () -> alunoService.atualizarAlunoParcialmente(1L, patch("[9.5]"), versao -> true));
+        verifyNoInteractions(alunoRepository);
+    }
+    
+    @Test
+    void atualizarAlunoParcialmente_SemAlteracoes_NaoDeveGravarNemPublicar() throws JsonProcessingException {
+        aluno.setVersao(3L);
+        curso.setVersao(1L);
+        when(alunoRepository.findById(1L)).thenReturn(Optional.of(aluno));
+        
+        RecursoVersionado<AlunoResponseDTO> resultado = alunoService.atualizarAlunoParcialmente(1L,
+                patch("{\"nome\": \"João Silva\", \"mediaGeral\": 8.5}"), versao -> true);
+        
+        assertEquals("3.1", resultado.getVersao().getEtag());
+        verify(alunoRepository, never()).flush();
+        verifyNoInteractions(eventPublisher);
+    }
+    
+    @Test
+    void atualizarAlunoParcialmente_VersaoDoIfMatchRecusada_NaoDeveAlterarNada() throws JsonProcessingException {
+        aluno.setVersao(4L);
+        curso.setVersao(1L);
+        when(alunoRepository.findById(1L)).thenReturn(Optional.of(aluno));
+        
+        assertThrows(PreconditionFailedException.class, () -> alunoService.atualizarAlunoParcialmente(1L,
+                patch("{\"mediaGeral\": 9.5}"), versao -> versao.getEtag().equals("3.1")));
+        assertEquals(8.5, aluno.getMediaGeral());
+        verify(alunoRepository, never()).flush();
+        verifyNoInteractions(eventPublisher);
+    }
+    
+    @Test
+    void atualizarAlunoParcialmente_NaoEncontrado_DeveLancarException() throws JsonProcessingException {
+        when(alunoRepository.findById(99L)).thenReturn(Optional.empty());
+        
+        assertThrows(ResourceNotFoundException.class,
+                () -> alunoService.atualizarAlunoParcialmente(99L, patch("{\"mediaGeral\": 9.5}"), versao -> true));
+    }
+    
     @Test
     void deletarAluno_Sucesso() {
-        when(alunoRepository.existsById(1L)).thenReturn(true);
+        when(alunoRepository.findResumoById(1L)).thenReturn(Optional.of(alunoResponseDTO));
         doNothing().when(alunoRepository).deleteById(1L);
         
         alunoService.deletarAluno(1L);
         
         verify(alunoRepository, times(1)).deleteById(1L);
+        
+        ArgumentCaptor<AlunoAlteradoEvent> evento = ArgumentCaptor.forClass(AlunoAlteradoEvent.class);
+        verify(eventPublisher).publishEvent(evento.capture());
+        assertTrue(evento.getValue().isRemocao());
+        assertEquals(1L, evento.getValue().getAlunoId());
     }
     
     @Test
     void deletarAluno_NaoEncontrado_DeveLancarException() {
-        when(alunoRepository.existsById(1L)).thenReturn(false);
+        when(alunoRepository.findResumoById(1L)).thenReturn(Optional.empty());
         
         assertThrows(ResourceNotFoundException.class, () -> alunoService.deletarAluno(1L));
         verify(alunoRepository, never()).deleteById(anyLong());
+        verifyNoInteractions(eventPublisher);
     }
     
     @Test
-    void buscarAlunosPorCurso_Sucesso() {
-        when(alunoRepository.findByCursoId(1L)).thenReturn(Arrays.asList(aluno));
+    void buscarAlunosComFiltro_CombinaFiltrosEmUmaConsulta() {
+        FiltroAlunoDTO filtro = new FiltroAlunoDTO();
+        filtro.setCursoId(1L);
+        filtro.setSemestreMinimo(2);
+        filtro.setMediaMinima(8.0);
+        when(alunoRepository.buscarPorFiltro(filtro, OrdenacaoAluno.ID, false, null, null, 51))
+                .thenReturn(Arrays.asList(alunoResponseDTO));
         
-        List<AlunoResponseDTO> resultado = alunoService.buscarAlunosPorCurso(1L);
+        PaginaDTO<AlunoResponseDTO> resultado = alunoService.buscarAlunosComFiltro(filtro, null, null);
         
         assertNotNull(resultado);
-        assertEquals(1, resultado.size());
-        verify(alunoRepository, times(1)).findByCursoId(1L);
+        assertEquals(1, resultado.getConteudo().size());
+        assertNull(resultado.getProximoCursor());
+        verify(alunoRepository, times(1)).buscarPorFiltro(filtro, OrdenacaoAluno.ID, false, null, null, 51);
     }
     
     @Test
-    void buscarAlunosPorSemestre_Sucesso() {
-        when(alunoRepository.findBySemestre(3)).thenReturn(Arrays.asList(aluno));
+    void buscarAlunosComFiltro_OrdenadoPorMedia_CursorCarregaUltimoValor() {
+        AlunoResponseDTO outro = new AlunoResponseDTO();
+        outro.setId(2L);
+        outro.setMediaGeral(7.0);
+        FiltroAlunoDTO filtro = new FiltroAlunoDTO();
+        filtro.setOrdenacao("mediaGeral");
+        filtro.setDirecao("desc");
+        when(alunoRepository.buscarPorFiltro(filtro, OrdenacaoAluno.MEDIA_GERAL, true, null, null, 2))
+                .thenReturn(Arrays.asList(alunoResponseDTO, outro));
         
-        List<AlunoResponseDTO> resultado = alunoService.buscarAlunosPorSemestre(3);
+        PaginaDTO<AlunoResponseDTO> primeira = alunoService.buscarAlunosComFiltro(filtro, null, 1);
         
-        assertNotNull(resultado);
-        assertEquals(1, resultado.size());
-        verify(alunoRepository, times(1)).findBySemestre(3);
+        assertEquals(1, primeira.getConteudo().size());
+        assertNotNull(primeira.getProximoCursor());
+        
+        when(alunoRepository.buscarPorFiltro(filtro, OrdenacaoAluno.MEDIA_GERAL, true, 1L, 8.5, 2))
+                .thenReturn(Arrays.asList(outro));
+        
+        PaginaDTO<AlunoResponseDTO> segunda = alunoService.buscarAlunosComFiltro(filtro, primeira.getProximoCursor(), 1);
+        
+        assertEquals(2L, segunda.getConteudo().get(0).getId());
+        assertNull(segunda.getProximoCursor());
+    }
+    
+    @Test
+    void buscarAlunosComFiltro_CursorDeOutraOrdenacao_DeveLancarException() {
+        FiltroAlunoDTO filtro = new FiltroAlunoDTO();
+        filtro.setOrdenacao("semestre");
+        String cursorDeMedia = CursorPaginacao.codificar("mediaGeral.asc", 1L, "8.5");
+        
+        assertThrows(BusinessException.class, () -> alunoService.buscarAlunosComFiltro(filtro, cursorDeMedia, null));
+        verifyNoInteractions(alunoRepository);
     }
     
     @Test
-    void buscarAlunosPorMediaMinima_Sucesso() {
-        when(alunoRepository.findByMediaGeralGreaterThanEqual(8.0)).thenReturn(Arrays.asList(aluno));
+    void buscarAlunosComFiltro_FaixaInvertida_DeveLancarException() {
+        FiltroAlunoDTO filtro = new FiltroAlunoDTO();
+        filtro.setMediaMinima(9.0);
+        filtro.setMediaMaxima(5.0);
         
-        List<AlunoResponseDTO> resultado = alunoService.buscarAlunosPorMediaMinima(8.0);
+        assertThrows(BusinessException.class, () -> alunoService.buscarAlunosComFiltro(filtro, null, null));
+        verifyNoInteractions(alunoRepository);
+    }
+    
+    @Test
+    void buscarAlunosComFiltro_ClienteComVersaoAntiga_DeveUsarOsMesmosParametrosNasDuasConsultas() {
+        FiltroAlunoDTO filtro = new FiltroAlunoDTO();
+        filtro.setOrdenacao("mediaGeral");
+        String cursor = CursorPaginacao.codificar("mediaGeral.asc", 4L, "7.5");
+        when(alunoRepository.buscarVersoesPorFiltro(filtro, OrdenacaoAluno.MEDIA_GERAL, false, 4L, 7.5, 11))
+                .thenReturn(List.of(versaoDoAluno(1L, 2L)));
+        when(alunoRepository.buscarPorFiltro(filtro, OrdenacaoAluno.MEDIA_GERAL, false, 4L, 7.5, 11))
+                .thenReturn(List.of(alunoResponseDTO));
+        
+        Optional<PaginaDTO<AlunoResponseDTO>> resultado = alunoService.buscarAlunosComFiltro(filtro, cursor, 10, versao -> false);
+        
+        assertEquals(1, resultado.orElseThrow().getConteudo().size());
+    }
+    
+    @Test
+    void buscarAlunosComFiltro_CondicionalComFiltroInvalido_NaoDeveConsultarAVersao() {
+        FiltroAlunoDTO filtro = new FiltroAlunoDTO();
+        filtro.setSemestreMinimo(6);
+        filtro.setSemestreMaximo(2);
         
-        assertNotNull(resultado);
-        assertEquals(1, resultado.size());
-        verify(alunoRepository, times(1)).findByMediaGeralGreaterThanEqual(8.0);
+        assertThrows(BusinessException.class, () -> alunoService.buscarAlunosComFiltro(filtro, null, null, versao -> true));
+        verifyNoInteractions(alunoRepository);
+    }
+    
+    @Test
+    void buscarAlunosComFiltro_OrdenacaoInvalida_DeveLancarException() {
+        FiltroAlunoDTO filtro = new FiltroAlunoDTO();
+        filtro.setOrdenacao("email");
+        
+        assertThrows(BusinessException.class, () -> alunoService.buscarAlunosComFiltro(filtro, null, null));
+    }
+    
+    @Test
+    void estatisticasUnicidade_DelegaAoFiltro() {
+        assertFalse(alunoService.estatisticasUnicidade().get("matriculas").isCarregado());
+        assertEquals(2, alunoService.estatisticasUnicidade().size());
+    }
+    
+    private static VersaoAlunoDTO versaoDoAluno(Long id, Long versao) {
+        return new VersaoAlunoDTO(id, versao, LocalDateTime.of(2024, 5, 10, 14, 30), 1L, LocalDateTime.of(2024, 1, 2, 8, 0));
+    }
+    
+    private JsonNode patch(String json) throws JsonProcessingException {
+        return objectMapper.readTree(json);
     }
 }
-
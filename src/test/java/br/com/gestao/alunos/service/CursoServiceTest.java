@@ -1,17 +1,26 @@
 package br.com.gestao.alunos.service;
 
+import br.com.gestao.alunos.condicional.RecursoVersionado;
+import br.com.gestao.alunos.dto.CursoComTotaisDTO;
 import br.com.gestao.alunos.dto.CursoDTO;
-import br.com.gestao.alunos.exception.BusinessException;
+import br.com.gestao.alunos.dto.ResultadoRemocaoDTO;
+import br.com.gestao.alunos.event.CursoAlteradoEvent;
+import br.com.gestao.alunos.exception.ConflictException;
+import br.com.gestao.alunos.exception.PreconditionFailedException;
 import br.com.gestao.alunos.exception.ResourceNotFoundException;
 import br.com.gestao.alunos.model.Curso;
+import br.com.gestao.alunos.repository.AlunoRepository;
 import br.com.gestao.alunos.repository.CursoRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -27,7 +36,12 @@ class CursoServiceTest {
     @Mock
     private CursoRepository cursoRepository;
     
-    @InjectMocks
+    @Mock
+    private AlunoRepository alunoRepository;
+    
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    
     private CursoService cursoService;
     
     private Curso curso;
@@ -35,6 +49,8 @@ class CursoServiceTest {
     
     @BeforeEach
     void setUp() {
+        cursoService = new CursoService(cursoRepository, alunoRepository, eventPublisher, 100, 300);
+        
         curso = new Curso();
         curso.setId(1L);
         curso.setNome("Ciência da Computação");
@@ -55,13 +71,19 @@ class CursoServiceTest {
         assertNotNull(resultado);
         assertEquals("Ciência da Computação", resultado.getNome());
         verify(cursoRepository, times(1)).save(any(Curso.class));
+        
+        ArgumentCaptor<CursoAlteradoEvent> evento = ArgumentCaptor.forClass(CursoAlteradoEvent.class);
+        verify(eventPublisher).publishEvent(evento.capture());
+        assertTrue(evento.getValue().isCriado());
+        assertEquals(1L, evento.getValue().getCursoId());
+        assertEquals("Ciência da Computação", evento.getValue().getNome());
     }
     
     @Test
     void criarCurso_NomeJaExiste_DeveLancarException() {
         when(cursoRepository.existsByNome(anyString())).thenReturn(true);
         
-        assertThrows(BusinessException.class, () -> cursoService.criarCurso(cursoDTO));
+        assertThrows(ConflictException.class, () -> cursoService.criarCurso(cursoDTO));
         verify(cursoRepository, never()).save(any(Curso.class));
     }
     
@@ -81,6 +103,21 @@ class CursoServiceTest {
         verify(cursoRepository, times(1)).findAll();
     }
     
+    @Test
+    void listarCursosComTotais_ArredondaMedia() {
+        when(cursoRepository.listarComTotais()).thenReturn(Arrays.asList(
+                new CursoComTotaisDTO(1L, "Ciência da Computação", "Curso de CC", 3L, 8.166666),
+                new CursoComTotaisDTO(2L, "Engenharia de Software", null, 0L, null)));
+        
+        List<CursoComTotaisDTO> resultado = cursoService.listarCursosComTotais();
+        
+        assertEquals(3, resultado.get(0).getTotalAlunos());
+        assertEquals(8.17, resultado.get(0).getMediaGeral());
+        assertEquals(0, resultado.get(1).getTotalAlunos());
+        assertNull(resultado.get(1).getMediaGeral());
+        verify(cursoRepository, never()).findAll();
+    }
+    
     @Test
     void buscarCursoPorId_Sucesso() {
         when(cursoRepository.findById(1L)).thenReturn(Optional.of(curso));
@@ -115,6 +152,39 @@ class CursoServiceTest {
         verify(cursoRepository, times(1)).save(any(Curso.class));
     }
     
+    @Test
+    void atualizarCurso_VersaoDoIfMatchRecusada_NaoDeveAlterarNemInvalidarCache() {
+        curso.setVersao(2L);
+        when(cursoRepository.findById(1L)).thenReturn(Optional.of(curso));
+        cursoService.buscarEntidadePorId(1L);
+        
+        assertThrows(PreconditionFailedException.class,
+                () -> cursoService.atualizarCurso(1L, cursoDTO, versao -> versao.getEtag().equals("1")));
+        cursoService.buscarEntidadePorId(1L);
+        
+        verify(cursoRepository, never()).existsByNome(anyString());
+        verify(cursoRepository, never()).save(any(Curso.class));
+        verify(cursoRepository, times(2)).findById(1L);
+        verifyNoInteractions(eventPublisher);
+    }
+    
+    @Test
+    void atualizarCurso_VersaoDoIfMatchAceita_DeveRetornarNovaVersao() {
+        curso.setVersao(1L);
+        when(cursoRepository.findById(1L)).thenReturn(Optional.of(curso));
+        when(cursoRepository.existsByNome(anyString())).thenReturn(false);
+        when(cursoRepository.save(any(Curso.class))).thenReturn(curso);
+        doAnswer(invocacao -> {
+            curso.setVersao(2L);
+            return null;
+        }).when(cursoRepository).flush();
+        
+        RecursoVersionado<CursoDTO> resultado = cursoService.atualizarCurso(1L, cursoDTO,
+                versao -> versao.getEtag().equals("1"));
+        
+        assertEquals("2", resultado.getVersao().getEtag());
+    }
+    
     @Test
     void atualizarCurso_NomeJaExiste_DeveLancarException() {
         CursoDTO cursoDTOAtualizado = new CursoDTO();
@@ -124,7 +194,7 @@ class CursoServiceTest {
         when(cursoRepository.findById(1L)).thenReturn(Optional.of(curso));
         when(cursoRepository.existsByNome("Engenharia de Software")).thenReturn(true);
         
-        assertThrows(BusinessException.class, () -> cursoService.atualizarCurso(1L, cursoDTOAtualizado));
+        assertThrows(ConflictException.class, () -> cursoService.atualizarCurso(1L, cursoDTOAtualizado));
         verify(cursoRepository, never()).save(any(Curso.class));
     }
     
@@ -184,11 +254,21 @@ class CursoServiceTest {
     @Test
     void deletarCurso_Sucesso() {
         when(cursoRepository.existsById(1L)).thenReturn(true);
-        doNothing().when(cursoRepository).deleteById(1L);
+        when(alunoRepository.deletarPorCursoId(1L)).thenReturn(3);
+        when(cursoRepository.deletarPorId(1L)).thenReturn(1);
         
-        cursoService.deletarCurso(1L);
+        ResultadoRemocaoDTO resultado = cursoService.deletarCurso(1L);
         
-        verify(cursoRepository, times(1)).deleteById(1L);
+        assertEquals(1L, resultado.getCursoId());
+        assertTrue(resultado.isCursoRemovido());
+        assertEquals(3, resultado.getAlunosRemovidos());
+        verify(cursoRepository, never()).deleteById(anyLong());
+        
+        ArgumentCaptor<CursoAlteradoEvent> evento = ArgumentCaptor.forClass(CursoAlteradoEvent.class);
+        verify(eventPublisher).publishEvent(evento.capture());
+        assertTrue(evento.getValue().isRemovido());
+        assertTrue(evento.getValue().isAlunosRemovidos());
+        assertEquals(1L, evento.getValue().getCursoId());
     }
     
     @Test
@@ -196,7 +276,157 @@ class CursoServiceTest {
         when(cursoRepository.existsById(1L)).thenReturn(false);
         
         assertThrows(ResourceNotFoundException.class, () -> cursoService.deletarCurso(1L));
-        verify(cursoRepository, never()).deleteById(anyLong());
+        verify(cursoRepository, never()).deletarPorId(anyLong());
+        verify(alunoRepository, never()).deletarPorCursoId(anyLong());
+    }
+    
+    @Test
+    void deletarAlunosDoCurso_DeveManterCurso() {
+        when(cursoRepository.existsById(1L)).thenReturn(true);
+        when(alunoRepository.deletarPorCursoId(1L)).thenReturn(5);
+        
+        ResultadoRemocaoDTO resultado = cursoService.deletarAlunosDoCurso(1L);
+        
+        assertFalse(resultado.isCursoRemovido());
+        assertEquals(5, resultado.getAlunosRemovidos());
+        verify(cursoRepository, never()).deletarPorId(anyLong());
+        
+        ArgumentCaptor<CursoAlteradoEvent> evento = ArgumentCaptor.forClass(CursoAlteradoEvent.class);
+        verify(eventPublisher).publishEvent(evento.capture());
+        assertFalse(evento.getValue().isRemovido());
+        assertTrue(evento.getValue().isAlunosRemovidos());
+    }
+    
+    @Test
+    void deletarAlunosDoCurso_NaoEncontrado_DeveLancarException() {
+        when(cursoRepository.existsById(1L)).thenReturn(false);
+        
+        assertThrows(ResourceNotFoundException.class, () -> cursoService.deletarAlunosDoCurso(1L));
+        verify(alunoRepository, never()).deletarPorCursoId(anyLong());
+    }
+    
+    @Test
+    void buscarEntidadePorId_SegundaChamada_DeveUsarCache() {
+        when(cursoRepository.findById(1L)).thenReturn(Optional.of(curso));
+        
+        Curso primeiro = cursoService.buscarEntidadePorId(1L);
+        Curso segundo = cursoService.buscarEntidadePorId(1L);
+        
+        assertEquals("Ciência da Computação", segundo.getNome());
+        assertNotSame(primeiro, segundo);
+        verify(cursoRepository, times(1)).findById(1L);
+        assertEquals(1, cursoService.estatisticasCache().get("cursosPorId").getAcertos());
+        assertEquals(1, cursoService.estatisticasCache().get("cursosPorId").getFalhas());
+    }
+    
+    @Test
+    void buscarEntidadePorId_CursoInexistente_NaoDeveFicarEmCache() {
+        when(cursoRepository.findById(1L)).thenReturn(Optional.empty());
+        
+        assertThrows(ResourceNotFoundException.class, () -> cursoService.buscarEntidadePorId(1L));
+        assertThrows(ResourceNotFoundException.class, () -> cursoService.buscarEntidadePorId(1L));
+        
+        verify(cursoRepository, times(2)).findById(1L);
+    }
+    
+    @Test
+    void listarTodosCursos_SegundaChamada_DeveUsarCache() {
+        when(cursoRepository.findAll()).thenReturn(Arrays.asList(curso));
+        
+        cursoService.listarTodosCursos();
+        List<CursoDTO> resultado = cursoService.listarTodosCursos();
+        
+        assertEquals(1, resultado.size());
+        verify(cursoRepository, times(1)).findAll();
+    }
+    
+    @Test
+    void buscarEntidadePorId_CopiaDeveManterVersao() {
+        curso.setVersao(2L);
+        curso.setAtualizadoEm(LocalDateTime.of(2024, 3, 1, 9, 0));
+        when(cursoRepository.findById(1L)).thenReturn(Optional.of(curso));
+        
+        Curso copia = cursoService.buscarEntidadePorId(1L);
+        
+        assertEquals(2L, copia.getVersao());
+        assertEquals(LocalDateTime.of(2024, 3, 1, 9, 0), copia.getAtualizadoEm());
+    }
+    
+    @Test
+    void listarTodosCursos_ClienteComVersaoAtual_NaoDeveIrAoBanco() {
+        curso.setVersao(0L);
+        when(cursoRepository.findAll()).thenReturn(Arrays.asList(curso));
+        List<String> etags = new ArrayList<>();
+        cursoService.listarTodosCursos(versao -> !etags.add(versao.getEtag()));
+        
+        Optional<List<CursoDTO>> resultado = cursoService.listarTodosCursos(versao -> versao.getEtag().equals(etags.get(0)));
+        
+        assertTrue(resultado.isEmpty());
+        verify(cursoRepository, times(1)).findAll();
+    }
+    
+    @Test
+    void listarTodosCursos_CursoAtualizado_DeveMudarAVersao() {
+        curso.setVersao(0L);
+        Curso atualizado = new Curso();
+        atualizado.setId(1L);
+        atualizado.setNome("Computação");
+        atualizado.setVersao(1L);
+        when(cursoRepository.findAll()).thenReturn(Arrays.asList(curso), Arrays.asList(atualizado));
+        when(cursoRepository.findById(1L)).thenReturn(Optional.of(curso));
+        when(cursoRepository.existsByNome(anyString())).thenReturn(false);
+        when(cursoRepository.save(any(Curso.class))).thenAnswer(invocacao -> invocacao.getArgument(0));
+        List<String> etags = new ArrayList<>();
+        
+        cursoService.listarTodosCursos(versao -> !etags.add(versao.getEtag()));
+        cursoDTO.setNome("Computação");
+        cursoService.atualizarCurso(1L, cursoDTO);
+        Optional<List<CursoDTO>> resultado = cursoService.listarTodosCursos(versao -> versao.getEtag().equals(etags.get(0)));
+        
+        assertEquals("Computação", resultado.orElseThrow().get(0).getNome());
+    }
+    
+    @Test
+    void atualizarCurso_DeveInvalidarCache() {
+        when(cursoRepository.findById(1L)).thenReturn(Optional.of(curso));
+        when(cursoRepository.findAll()).thenReturn(Arrays.asList(curso));
+        when(cursoRepository.existsByNome(anyString())).thenReturn(false);
+        when(cursoRepository.save(any(Curso.class))).thenReturn(curso);
+        cursoService.buscarEntidadePorId(1L);
+        cursoService.listarTodosCursos();
+        
+        CursoDTO cursoDTOAtualizado = new CursoDTO(null, "Computação", "Descrição atualizada");
+        cursoService.atualizarCurso(1L, cursoDTOAtualizado);
+        
+        assertEquals("Computação", cursoService.buscarEntidadePorId(1L).getNome());
+        cursoService.listarTodosCursos();
+        // 1ª leitura + atualização + releitura após a invalidação
+        verify(cursoRepository, times(3)).findById(1L);
+        verify(cursoRepository, times(2)).findAll();
+    }
+    
+    @Test
+    void criarCurso_DeveInvalidarLista() {
+        when(cursoRepository.findAll()).thenReturn(Arrays.asList(curso));
+        when(cursoRepository.existsByNome(anyString())).thenReturn(false);
+        when(cursoRepository.save(any(Curso.class))).thenReturn(curso);
+        cursoService.listarTodosCursos();
+        
+        cursoService.criarCurso(cursoDTO);
+        cursoService.listarTodosCursos();
+        
+        verify(cursoRepository, times(2)).findAll();
+    }
+    
+    @Test
+    void deletarCurso_DeveInvalidarCache() {
+        when(cursoRepository.findById(1L)).thenReturn(Optional.of(curso));
+        when(cursoRepository.existsById(1L)).thenReturn(true);
+        cursoService.buscarEntidadePorId(1L);
+        
+        cursoService.deletarCurso(1L);
+        when(cursoRepository.findById(1L)).thenReturn(Optional.empty());
+        
+        assertThrows(ResourceNotFoundException.class, () -> cursoService.buscarEntidadePorId(1L));
     }
 }
-
@@ -0,0 +1,108 @@
+package br.com.gestao.alunos.service;
+
+import br.com.gestao.alunos.dto.ContagemAlunosDTO;
+import br.com.gestao.alunos.dto.CursoDTO;
+import br.com.gestao.alunos.dto.EstatisticasCursoDTO;
+import br.com.gestao.alunos.estatisticas.EstatisticasCursos;
+import br.com.gestao.alunos.exception.ResourceNotFoundException;
+import br.com.gestao.alunos.repository.AlunoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EstatisticasCursoServiceTest {
+    
+    @Mock
+    private AlunoRepository alunoRepository;
+    
+    @Mock
+    private CursoService cursoService;
+    
+    @Mock
+    private EstatisticasCursos estatisticasCursos;
+    
+    @InjectMocks
+    private EstatisticasCursoService estatisticasCursoService;
+    
+    private CursoDTO computacao;
+    private CursoDTO sistemas;
+    
+    @BeforeEach
+    void setUp() {
+        computacao = new CursoDTO(1L, "Ciência da Computação", null);
+        sistemas = new CursoDTO(2L, "Sistemas de Informação", null);
+    }
+    
+    @Test
+    void buscarEstatisticas_EmMemoria_NaoConsultaAlunos() {
+        when(cursoService.buscarCursoPorId(1L)).thenReturn(computacao);
+        when(estatisticasCursos.resumir(1L)).thenReturn(EstatisticasCursos.vazias(1L));
+        
+        EstatisticasCursoDTO estatisticas = estatisticasCursoService.buscarEstatisticas(1L);
+        
+        assertEquals("Ciência da Computação", estatisticas.getCursoNome());
+        verifyNoInteractions(alunoRepository);
+    }
+    
+    @Test
+    void buscarEstatisticas_SemMemoria_AgregaNoBanco() {
+        when(cursoService.buscarCursoPorId(1L)).thenReturn(computacao);
+        when(estatisticasCursos.resumir(1L)).thenReturn(null);
+        when(alunoRepository.contarAlunosAgrupadosDoCurso(1L)).thenReturn(List.of(new ContagemAlunosDTO(1L, 2, 7.0, 4L)));
+        
+        EstatisticasCursoDTO estatisticas = estatisticasCursoService.buscarEstatisticas(1L);
+        
+        assertEquals(4, estatisticas.getQuantidadeAlunos());
+        assertEquals(7.0, estatisticas.getMediaGeral());
+        assertEquals(Map.of(2, 4L), estatisticas.getAlunosPorSemestre());
+    }
+    
+    @Test
+    void buscarEstatisticas_SemMemoriaESemAlunos_RetornaZerado() {
+        when(cursoService.buscarCursoPorId(1L)).thenReturn(computacao);
+        when(alunoRepository.contarAlunosAgrupadosDoCurso(1L)).thenReturn(List.of());
+        
+        assertEquals(0, estatisticasCursoService.buscarEstatisticas(1L).getQuantidadeAlunos());
+    }
+    
+    @Test
+    void buscarEstatisticas_CursoInexistente_DeveLancarException() {
+        when(cursoService.buscarCursoPorId(99L)).thenThrow(new ResourceNotFoundException("Curso não encontrado com ID: 99"));
+        
+        assertThrows(ResourceNotFoundException.class, () -> estatisticasCursoService.buscarEstatisticas(99L));
+        verifyNoInteractions(estatisticasCursos, alunoRepository);
+    }
+    
+    @Test
+    void listarEstatisticas_IncluiCursosSemAlunos() {
+        when(cursoService.listarTodosCursos()).thenReturn(List.of(computacao, sistemas));
+        when(estatisticasCursos.resumirTodos()).thenReturn(null);
+        when(alunoRepository.contarAlunosAgrupados()).thenReturn(List.of(new ContagemAlunosDTO(1L, 1, 9.0, 2L)));
+        
+        List<EstatisticasCursoDTO> estatisticas = estatisticasCursoService.listarEstatisticas();
+        
+        assertEquals(2, estatisticas.size());
+        assertEquals(2, estatisticas.get(0).getQuantidadeAlunos());
+        assertEquals("Sistemas de Informação", estatisticas.get(1).getCursoNome());
+        assertEquals(0, estatisticas.get(1).getQuantidadeAlunos());
+    }
+    
+    @Test
+    void listarEstatisticas_EmMemoria_NaoConsultaAlunos() {
+        when(cursoService.listarTodosCursos()).thenReturn(List.of(computacao));
+        when(estatisticasCursos.resumirTodos()).thenReturn(Map.of(1L, EstatisticasCursos.vazias(1L)));
+        
+        assertEquals(1, estatisticasCursoService.listarEstatisticas().size());
+        verifyNoInteractions(alunoRepository);
+    }
+}
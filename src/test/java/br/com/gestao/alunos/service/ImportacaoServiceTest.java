@@ -0,0 +1,266 @@
+package br.com.gestao.alunos.service;
+
+import br.com.gestao.alunos.dto.ErroImportacaoDTO;
+import br.com.gestao.alunos.dto.ImportacaoDTO;
+import br.com.gestao.alunos.dto.ResultadoImportacaoDTO;
+import br.com.gestao.alunos.event.AlunosImportadosEvent;
+import br.com.gestao.alunos.exception.BusinessException;
+import br.com.gestao.alunos.exception.ResourceNotFoundException;
+import br.com.gestao.alunos.exception.ServiceUnavailableException;
+import br.com.gestao.alunos.importacao.ArquivoCsvAlunos;
+import br.com.gestao.alunos.model.ErroImportacao;
+import br.com.gestao.alunos.model.Importacao;
+import br.com.gestao.alunos.model.StatusImportacao;
+import br.com.gestao.alunos.repository.ErroImportacaoRepository;
+import br.com.gestao.alunos.repository.ImportacaoRepository;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImportacaoServiceTest {
+    
+    private static final String CABECALHO = "nome,matricula,email,cursoId,semestre\n";
+    
+    @Mock
+    private ImportacaoRepository importacaoRepository;
+    
+    @Mock
+    private ErroImportacaoRepository erroImportacaoRepository;
+    
+    @Mock
+    private AlunoImportacaoService alunoImportacaoService;
+    
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    
+    @Mock
+    private ExecutorService executor;
+    
+    @TempDir
+    Path diretorio;
+    
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    
+    private ImportacaoService importacaoService;
+    
+    @BeforeEach
+    void setUp() {
+        importacaoService = new ImportacaoService(importacaoRepository, erroImportacaoRepository, alunoImportacaoService,
+                eventPublisher, transactionManager, executor, diretorio, 2, 2, 3);
+    }
+    
+    private void abrirArquivosDeVerdade() throws IOException {
+        when(alunoImportacaoService.abrirArquivo(any(Reader.class)))
+                .thenAnswer(invocacao -> new ArquivoCsvAlunos(invocacao.getArgument(0), validator));
+    }
+    
+    // O repositório devolve sempre o mesmo objeto, como o estado gravado da importação
+    private Importacao gravada(StatusImportacao status, Path arquivo) {
+        Importacao importacao = new Importacao();
+        importacao.setId(7L);
+        importacao.setStatus(status);
+        importacao.setArquivo(arquivo.toString());
+        importacao.setLinhasEstimadas(3);
+        importacao.setCriadaEm(LocalDateTime.now());
+        lenient().when(importacaoRepository.findById(7L)).thenReturn(Optional.of(importacao));
+        lenient().when(importacaoRepository.save(importacao)).thenReturn(importacao);
+        return importacao;
+    }
+    
+    private Path arquivo(String csv) throws IOException {
+        return Files.writeString(diretorio.resolve("importacao-7.csv"), csv, StandardCharsets.UTF_8);
+    }
+    
+    private Runnable tarefaAgendada() {
+        ArgumentCaptor<Runnable> tarefa = ArgumentCaptor.forClass(Runnable.class);
+        verify(executor).execute(tarefa.capture());
+        return tarefa.getValue();
+    }
+    
+    @Test
+    void criar_GravaArquivoEAgendaImportacao() throws IOException {
+        abrirArquivosDeVerdade();
+        when(importacaoRepository.save(any(Importacao.class))).thenAnswer(invocacao -> {
+            Importacao importacao = invocacao.getArgument(0);
+            importacao.setId(7L);
+            return importacao;
+        });
+        
+        ImportacaoDTO dto = importacaoService.criar(new ByteArrayInputStream((CABECALHO +
+                "Ana Souza,2024001,ana@email.com,1,1\nBruno Lima,2024002,bruno@email.com,1,1\n" +
+                "Carla Dias,2024003,carla@email.com,1,1").getBytes(StandardCharsets.UTF_8)));
+        
+        assertEquals(7L, dto.getId());
+        assertEquals(StatusImportacao.PENDENTE, dto.getStatus());
+        assertEquals(3, dto.getLinhasEstimadas());
+        
+        ArgumentCaptor<Importacao> importacao = ArgumentCaptor.forClass(Importacao.class);
+        verify(importacaoRepository).save(importacao.capture());
+        assertTrue(Files.readString(Path.of(importacao.getValue().getArquivo())).startsWith(CABECALHO));
+        verify(executor).execute(any(Runnable.class));
+    }
+    
+    @Test
+    void criar_SemColunaObrigatoria_RecusaERemoveArquivo() throws IOException {
+        abrirArquivosDeVerdade();
+        
+        assertThrows(BusinessException.class, () -> importacaoService.criar(
+                new ByteArrayInputStream("nome,email\nAna,ana@email.com\n".getBytes(StandardCharsets.UTF_8))));
+        
+        try (var arquivos = Files.list(diretorio)) {
+            assertEquals(0, arquivos.count());
+        }
+        verify(importacaoRepository, never()).save(any());
+        verifyNoInteractions(executor);
+    }
+    
+    @Test
+    void criar_LimiteEmAndamentoAtingido_DeveLancarException() {
+        when(importacaoRepository.countByStatusIn(any())).thenReturn(2L);
+        
+        assertThrows(ServiceUnavailableException.class,
+                () -> importacaoService.criar(new ByteArrayInputStream(CABECALHO.getBytes(StandardCharsets.UTF_8))));
+        
+        verifyNoInteractions(alunoImportacaoService, executor);
+    }
+    
+    @Test
+    void executar_ImportaEmBlocosEConclui() throws IOException {
+        abrirArquivosDeVerdade();
+        Path arquivo = arquivo(CABECALHO + "a\nb\nc\n");
+        Importacao importacao = gravada(StatusImportacao.PENDENTE, arquivo);
+        when(alunoImportacaoService.importarBloco(any(ArquivoCsvAlunos.class), eq(2L), anyInt()))
+                .thenReturn(new ResultadoImportacaoDTO(2, 2, 0, List.of(), 0))
+                .thenReturn(new ResultadoImportacaoDTO(1, 0, 1,
+                        List.of(new ErroImportacaoDTO(4, List.of("Curso não encontrado com ID: 9"))), 0));
+        
+        importacaoService.executar(7L);
+        
+        assertEquals(StatusImportacao.CONCLUIDA, importacao.getStatus());
+        assertEquals(3, importacao.getLinhasProcessadas());
+        assertEquals(2, importacao.getImportados());
+        assertEquals(1, importacao.getRejeitados());
+        assertEquals(1, importacao.getErrosListados());
+        assertNotNull(importacao.getConcluidaEm());
+        assertFalse(Files.exists(arquivo));
+        
+        // O limite de erros listados vale para a importação inteira, não para cada bloco
+        verify(alunoImportacaoService, times(2)).importarBloco(any(ArquivoCsvAlunos.class), eq(2L), eq(3));
+        verify(erroImportacaoRepository).saveAll(List.of(new ErroImportacao(null, 7L, 4, "Curso não encontrado com ID: 9")));
+        ArgumentCaptor<AlunosImportadosEvent> evento = ArgumentCaptor.forClass(AlunosImportadosEvent.class);
+        verify(eventPublisher).publishEvent(evento.capture());
+        assertEquals(2, evento.getValue().getQuantidade());
+    }
+    
+    @Test
+    void retomarPendentes_ContinuaDoUltimoBlocoConfirmado() throws IOException {
+        abrirArquivosDeVerdade();
+        Importacao importacao = gravada(StatusImportacao.PROCESSANDO, arquivo(CABECALHO +
+                "Ana Souza,2024001,ana@email.com,1,1\nBruno Lima,2024002,bruno@email.com,1,1\n" +
+                "Carla Dias,2024003,carla@email.com,1,1\n"));
+        importacao.setLinhasProcessadas(2);
+        importacao.setImportados(2);
+        when(importacaoRepository.findByStatusInOrderByIdAsc(any())).thenReturn(List.of(importacao));
+        when(alunoImportacaoService.importarBloco(any(ArquivoCsvAlunos.class), anyLong(), anyInt())).thenAnswer(invocacao -> {
+            ArquivoCsvAlunos.LinhaAluno linha = invocacao.getArgument(0, ArquivoCsvAlunos.class).proximaLinha();
+            assertEquals(4, linha.getLinha());
+            assertEquals("Carla Dias", linha.getAluno().getNome());
+            return new ResultadoImportacaoDTO(1, 1, 0, List.of(), 0);
+        });
+        
+        importacaoService.retomarPendentes();
+        tarefaAgendada().run();
+        
+        assertEquals(StatusImportacao.CONCLUIDA, importacao.getStatus());
+        assertEquals(3, importacao.getLinhasProcessadas());
+        assertEquals(3, importacao.getImportados());
+        assertEquals(2, importacao.getLinhasNoInicio());
+        verify(eventPublisher).publishEvent(any(AlunosImportadosEvent.class));
+    }
+    
+    @Test
+    void executar_FalhaNoBloco_MarcaImportacaoComoFalhou() throws IOException {
+        abrirArquivosDeVerdade();
+        Path arquivo = arquivo(CABECALHO + "a\nb\nc\n");
+        Importacao importacao = gravada(StatusImportacao.PENDENTE, arquivo);
+        when(alunoImportacaoService.importarBloco(any(ArquivoCsvAlunos.class), anyLong(), anyInt()))
+                .thenThrow(new IllegalStateException("Conexão com o banco perdida"));
+        
+        importacaoService.executar(7L);
+        
+        assertEquals(StatusImportacao.FALHOU, importacao.getStatus());
+        assertEquals("Conexão com o banco perdida", importacao.getFalha());
+        assertFalse(Files.exists(arquivo));
+        verifyNoInteractions(eventPublisher);
+    }
+    
+    @Test
+    void executar_ImportacaoJaConcluida_NaoFazNada() throws IOException {
+        gravada(StatusImportacao.CONCLUIDA, diretorio.resolve("inexistente.csv"));
+        
+        importacaoService.executar(7L);
+        
+        verifyNoInteractions(alunoImportacaoService);
+    }
+    
+    @Test
+    void buscarPorId_CalculaVelocidadePrevisaoEErros() {
+        Importacao importacao = gravada(StatusImportacao.PROCESSANDO, diretorio.resolve("importacao-7.csv"));
+        importacao.setLinhasEstimadas(3000);
+        importacao.setLinhasProcessadas(1500);
+        importacao.setLinhasNoInicio(500);
+        importacao.setRejeitados(4);
+        importacao.setErrosListados(2);
+        importacao.setIniciadaEm(LocalDateTime.now().minusSeconds(10));
+        when(erroImportacaoRepository.findByImportacaoIdOrderByLinhaAscIdAsc(7L)).thenReturn(List.of(
+                new ErroImportacao(1L, 7L, 5, "Curso inválido: x"),
+                new ErroImportacao(2L, 7L, 5, "Semestre inválido: y"),
+                new ErroImportacao(3L, 7L, 9, "Email deve ser válido")));
+        
+        ImportacaoDTO dto = importacaoService.buscarPorId(7L);
+        
+        assertEquals(100.0, dto.getLinhasPorSegundo(), 5.0);
+        assertEquals(15, dto.getSegundosRestantes(), 1);
+        assertEquals(2, dto.getErros().size());
+        assertEquals(List.of("Curso inválido: x", "Semestre inválido: y"), dto.getErros().get(0).getErros());
+        assertEquals(9, dto.getErros().get(1).getLinha());
+        assertEquals(2, dto.getErrosNaoListados());
+    }
+    
+    @Test
+    void buscarPorId_NaoEncontrada_DeveLancarException() {
+        when(importacaoRepository.findById(99L)).thenReturn(Optional.empty());
+        
+        assertThrows(ResourceNotFoundException.class, () -> importacaoService.buscarPorId(99L));
+    }
+}
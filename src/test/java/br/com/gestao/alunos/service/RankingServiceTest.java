@@ -0,0 +1,164 @@
+package br.com.gestao.alunos.service;
+
+import br.com.gestao.alunos.dto.AlunoResponseDTO;
+import br.com.gestao.alunos.dto.PosicaoRankingDTO;
+import br.com.gestao.alunos.dto.RankingAlunoDTO;
+import br.com.gestao.alunos.exception.BusinessException;
+import br.com.gestao.alunos.exception.ResourceNotFoundException;
+import br.com.gestao.alunos.ranking.RankingAlunos;
+import br.com.gestao.alunos.repository.AlunoRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RankingServiceTest {
+    
+    @Mock
+    private AlunoRepository alunoRepository;
+    
+    @Mock
+    private CursoService cursoService;
+    
+    @Mock
+    private RankingAlunos rankingAlunos;
+    
+    @InjectMocks
+    private RankingService rankingService;
+    
+    private AlunoResponseDTO aluno(long id, Double media) {
+        return new AlunoResponseDTO(id, "Aluno " + id, "M" + id, id + "@email.com", "Computação", 1L, 3, media, null);
+    }
+    
+    @Test
+    void buscarRanking_EmMemoria_BuscaSoOsKAlunosPeloId() {
+        when(rankingAlunos.primeiros(1L, 3)).thenReturn(List.of(4L, 2L, 7L));
+        // O banco devolve fora de ordem; a ordem vale a do índice
+        when(alunoRepository.findResumosByIdIn(List.of(4L, 2L, 7L)))
+                .thenReturn(Arrays.asList(aluno(2, 9.5), aluno(7, 8.0), aluno(4, 9.5)));
+        
+        List<RankingAlunoDTO> ranking = rankingService.buscarRanking(1L, 3);
+        
+        assertEquals(3, ranking.size());
+        assertEquals(4L, ranking.get(0).getId());
+        assertEquals(1, ranking.get(0).getPosicao());
+        assertEquals(1, ranking.get(1).getPosicao());
+        assertEquals(3, ranking.get(2).getPosicao());
+        assertEquals(7L, ranking.get(2).getId());
+        verify(cursoService).buscarEntidadePorId(1L);
+        verify(alunoRepository, never()).findMelhoresMediasDoCurso(anyLong(), any());
+    }
+    
+    @Test
+    void buscarRanking_EmMemoria_AlunoRemovidoNoMeioTempoFicaDeFora() {
+        when(rankingAlunos.primeiros(null, 2)).thenReturn(List.of(4L, 2L));
+        when(alunoRepository.findResumosByIdIn(List.of(4L, 2L))).thenReturn(List.of(aluno(2, 9.0)));
+        
+        List<RankingAlunoDTO> ranking = rankingService.buscarRanking(null, 2);
+        
+        assertEquals(1, ranking.size());
+        assertEquals(2L, ranking.get(0).getId());
+        assertEquals(1, ranking.get(0).getPosicao());
+    }
+    
+    @Test
+    void buscarRanking_EmMemoriaVazio_NaoConsultaBanco() {
+        when(rankingAlunos.primeiros(null, 5)).thenReturn(List.of());
+        
+        assertTrue(rankingService.buscarRanking(null, 5).isEmpty());
+        verifyNoInteractions(alunoRepository);
+    }
+    
+    @Test
+    void buscarRanking_SemMemoria_UsaConsultaLimit() {
+        when(rankingAlunos.primeiros(null, RankingService.QUANTIDADE_PADRAO)).thenReturn(null);
+        when(alunoRepository.findMelhoresMedias(PageRequest.of(0, RankingService.QUANTIDADE_PADRAO)))
+                .thenReturn(List.of(aluno(1, 10.0)));
+        
+        List<RankingAlunoDTO> ranking = rankingService.buscarRanking(null, null);
+        
+        assertEquals(1, ranking.size());
+        assertEquals(1, ranking.get(0).getPosicao());
+        verifyNoInteractions(cursoService);
+    }
+    
+    @Test
+    void buscarRanking_PorCursoSemMemoria_UsaConsultaDoCurso() {
+        when(rankingAlunos.primeiros(2L, 5)).thenReturn(null);
+        when(alunoRepository.findMelhoresMediasDoCurso(2L, PageRequest.of(0, 5))).thenReturn(List.of());
+        
+        assertTrue(rankingService.buscarRanking(2L, 5).isEmpty());
+        verify(alunoRepository).findMelhoresMediasDoCurso(2L, PageRequest.of(0, 5));
+    }
+    
+    @Test
+    void buscarRanking_CursoInexistente_DeveLancarException() {
+        when(cursoService.buscarEntidadePorId(99L)).thenThrow(new ResourceNotFoundException("Curso não encontrado com ID: 99"));
+        
+        assertThrows(ResourceNotFoundException.class, () -> rankingService.buscarRanking(99L, 10));
+        verifyNoInteractions(rankingAlunos, alunoRepository);
+    }
+    
+    @Test
+    void buscarRanking_KForaDoIntervalo_DeveLancarException() {
+        assertThrows(BusinessException.class, () -> rankingService.buscarRanking(null, 0));
+        assertThrows(BusinessException.class, () -> rankingService.buscarRanking(null, RankingService.QUANTIDADE_MAXIMA + 1));
+        verify(rankingAlunos, never()).primeiros(any(), anyInt());
+    }
+    
+    @Test
+    void buscarPosicao_EmMemoria_NaoConsultaBanco() {
+        PosicaoRankingDTO emMemoria = new PosicaoRankingDTO(1L, 1L, 9.0, 2L, 10L, 1L, 4L);
+        when(rankingAlunos.posicao(1L)).thenReturn(emMemoria);
+        
+        assertSame(emMemoria, rankingService.buscarPosicao(1L));
+        verifyNoInteractions(alunoRepository);
+    }
+    
+    @Test
+    void buscarPosicao_SemMemoria_UsaContagens() {
+        when(alunoRepository.findResumoById(5L)).thenReturn(Optional.of(aluno(5, 8.0)));
+        when(alunoRepository.countByMediaGeralIsNotNull()).thenReturn(10L);
+        when(alunoRepository.countByCursoIdAndMediaGeralIsNotNull(1L)).thenReturn(4L);
+        when(alunoRepository.countByMediaGeralGreaterThan(8.0)).thenReturn(6L);
+        when(alunoRepository.countByCursoIdAndMediaGeralGreaterThan(1L, 8.0)).thenReturn(2L);
+        
+        PosicaoRankingDTO posicao = rankingService.buscarPosicao(5L);
+        
+        assertEquals(7L, posicao.getPosicaoGeral());
+        assertEquals(10L, posicao.getTotalGeral());
+        assertEquals(3L, posicao.getPosicaoNoCurso());
+        assertEquals(4L, posicao.getTotalNoCurso());
+    }
+    
+    @Test
+    void buscarPosicao_AlunoSemMedia_NaoTemPosicao() {
+        when(alunoRepository.findResumoById(5L)).thenReturn(Optional.of(aluno(5, null)));
+        
+        PosicaoRankingDTO posicao = rankingService.buscarPosicao(5L);
+        
+        assertNull(posicao.getPosicaoGeral());
+        assertNull(posicao.getPosicaoNoCurso());
+        verify(alunoRepository, never()).countByMediaGeralGreaterThan(any());
+    }
+    
+    @Test
+    void buscarPosicao_AlunoInexistente_DeveLancarException() {
+        when(alunoRepository.findResumoById(99L)).thenReturn(Optional.empty());
+        
+        assertThrows(ResourceNotFoundException.class, () -> rankingService.buscarPosicao(99L));
+    }
+}
@@ -0,0 +1,200 @@
+package br.com.gestao.alunos.unicidade;
+
+import br.com.gestao.alunos.dto.AlunoResponseDTO;
+import br.com.gestao.alunos.event.AlunoAlteradoEvent;
+import br.com.gestao.alunos.event.AlunosImportadosEvent;
+import br.com.gestao.alunos.repository.AlunoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChavesAlunosTest {
+    
+    @Mock
+    private AlunoRepository alunoRepository;
+    
+    @Mock
+    private Predicate<String> consultaBanco;
+    
+    @Mock
+    private TaskScheduler agendador;
+    
+    private ChavesAlunos chavesAlunos;
+    
+    @BeforeEach
+    void setUp() {
+        chavesAlunos = new ChavesAlunos(alunoRepository, agendador, true, 0.01, 100);
+    }
+    
+    private AlunoResponseDTO aluno(long id) {
+        return new AlunoResponseDTO(id, "Aluno " + id, "M" + id, "aluno" + id + "@email.com", "Curso", 1L, 1, 8.0, null);
+    }
+    
+    private void carregar(AlunoResponseDTO... alunos) {
+        when(alunoRepository.findResumosAposId(anyLong(), any())).thenReturn(List.of(alunos));
+        chavesAlunos.recarregar();
+    }
+    
+    @Test
+    void naoCarregado_SempreConsultaBanco() {
+        when(consultaBanco.test("M1")).thenReturn(true);
+        
+        assertTrue(chavesAlunos.matriculaExiste("M1", consultaBanco));
+        
+        EstatisticasFiltroBloom estatisticas = chavesAlunos.estatisticas().get("matriculas");
+        assertFalse(estatisticas.isCarregado());
+        assertEquals(0, estatisticas.getConfirmadasNoBanco());
+    }
+    
+    @Test
+    void desabilitado_NaoCarrega() {
+        ChavesAlunos desabilitado = new ChavesAlunos(alunoRepository, agendador, false, 0.01, 100);
+        
+        desabilitado.recarregar();
+        desabilitado.aoImportarAlunos(new AlunosImportadosEvent(1));
+        
+        assertFalse(desabilitado.estatisticas().get("emails").isCarregado());
+        verifyNoInteractions(alunoRepository, agendador);
+    }
+    
+    @Test
+    void chaveAusente_DispensaConsultaAoBanco() {
+        carregar(aluno(1), aluno(2));
+        
+        assertFalse(chavesAlunos.matriculaExiste("M999", consultaBanco));
+        assertFalse(chavesAlunos.emailExiste("novo@email.com", consultaBanco));
+        
+        verifyNoInteractions(consultaBanco);
+        assertEquals(1, chavesAlunos.estatisticas().get("matriculas").getDescartadasSemBanco());
+        assertEquals(1, chavesAlunos.estatisticas().get("emails").getDescartadasSemBanco());
+    }
+    
+    @Test
+    void chaveExistente_ConfirmaNoBanco() {
+        carregar(aluno(1));
+        when(consultaBanco.test("aluno1@email.com")).thenReturn(true);
+        
+        assertTrue(chavesAlunos.emailExiste("aluno1@email.com", consultaBanco));
+        
+        EstatisticasFiltroBloom estatisticas = chavesAlunos.estatisticas().get("emails");
+        assertTrue(estatisticas.isCarregado());
+        assertEquals(1, estatisticas.getConfirmadasNoBanco());
+        assertEquals(1, estatisticas.getChaves());
+        assertEquals(100, estatisticas.getCapacidade());
+        assertTrue(estatisticas.getTamanhoBytes() > 0);
+    }
+    
+    @Test
+    void bancoDesmenteOFiltro_ContaFalsoPositivo() {
+        carregar(aluno(1));
+        // Aluno removido continua no filtro até a próxima recarga
+        when(consultaBanco.test("M1")).thenReturn(false);
+        
+        assertFalse(chavesAlunos.matriculaExiste("M1", consultaBanco));
+        
+        EstatisticasFiltroBloom estatisticas = chavesAlunos.estatisticas().get("matriculas");
+        assertEquals(1, estatisticas.getFalsosPositivos());
+        assertEquals(1.0, estatisticas.getTaxaFalsoPositivoObservada());
+    }
+    
+    @Test
+    void aoAlterarAluno_AdicionaNovasChaves() {
+        carregar(aluno(1));
+        when(consultaBanco.test(anyString())).thenReturn(true);
+        
+        chavesAlunos.aoAlterarAluno(AlunoAlteradoEvent.criado(aluno(2)));
+        chavesAlunos.aoAlterarAluno(AlunoAlteradoEvent.removido(aluno(1)));
+        
+        assertTrue(chavesAlunos.matriculaExiste("M2", consultaBanco));
+        assertTrue(chavesAlunos.emailExiste("aluno2@email.com", consultaBanco));
+        verify(consultaBanco, times(2)).test(anyString());
+    }
+    
+    @Test
+    void aoAlterarAluno_AntesDeCarregar_NaoFalha() {
+        chavesAlunos.aoAlterarAluno(AlunoAlteradoEvent.criado(aluno(1)));
+        
+        assertFalse(chavesAlunos.estatisticas().get("matriculas").isCarregado());
+    }
+    
+    @Test
+    void recarregar_DimensionaPelaQuantidadeDeAlunosEPaginaPeloId() {
+        List<AlunoResponseDTO> primeiroBloco = new ArrayList<>();
+        for (long id = 1; id <= 1000; id++) {
+            primeiroBloco.add(aluno(id));
+        }
+        when(alunoRepository.findResumosAposId(0L, PageRequest.of(0, 1000))).thenReturn(primeiroBloco);
+        when(alunoRepository.findResumosAposId(1000L, PageRequest.of(0, 1000))).thenReturn(List.of(aluno(1001)));
+        
+        chavesAlunos.recarregar();
+        
+        EstatisticasFiltroBloom estatisticas = chavesAlunos.estatisticas().get("matriculas");
+        assertEquals(1001, estatisticas.getChaves());
+        assertEquals(2002, estatisticas.getCapacidade());
+        assertTrue(estatisticas.getTaxaFalsoPositivoEstimada() < 0.01);
+    }
+    
+    @Test
+    void recarregar_ReaplicaChavesGravadasDuranteACarga() {
+        when(alunoRepository.findResumosAposId(eq(0L), any())).thenAnswer(invocacao -> {
+            chavesAlunos.aoAlterarAluno(AlunoAlteradoEvent.criado(aluno(2)));
+            return List.of(aluno(1));
+        });
+        when(consultaBanco.test("M2")).thenReturn(true);
+        
+        chavesAlunos.recarregar();
+        
+        assertTrue(chavesAlunos.matriculaExiste("M2", consultaBanco));
+    }
+    
+    @Test
+    void recarregar_FalhaNoBanco_MantemFiltrosAnteriores() {
+        carregar(aluno(1));
+        when(alunoRepository.findResumosAposId(anyLong(), any())).thenThrow(new IllegalStateException("banco fora"));
+        
+        assertThrows(IllegalStateException.class, () -> chavesAlunos.recarregar());
+        
+        chavesAlunos.aoAlterarAluno(AlunoAlteradoEvent.criado(aluno(2)));
+        assertFalse(chavesAlunos.matriculaExiste("M999", consultaBanco));
+        assertEquals(2, chavesAlunos.estatisticas().get("matriculas").getChaves());
+    }
+    
+    @Test
+    void aoImportarAlunos_ConsultaOBancoAteARecargaAgendadaTerminar() {
+        carregar(aluno(1));
+        when(alunoRepository.findResumosAposId(anyLong(), any())).thenReturn(List.of(aluno(1), aluno(2)));
+        when(consultaBanco.test("M2")).thenReturn(true);
+        
+        chavesAlunos.aoImportarAlunos(new AlunosImportadosEvent(1));
+        
+        // Sem filtro até a recarga: a chave importada é confirmada no banco, nunca descartada pelo filtro antigo
+        assertFalse(chavesAlunos.estatisticas().get("matriculas").isCarregado());
+        assertTrue(chavesAlunos.matriculaExiste("M2", consultaBanco));
+        ArgumentCaptor<Runnable> recarga = ArgumentCaptor.forClass(Runnable.class);
+        verify(agendador).schedule(recarga.capture(), any(Instant.class));
+        
+        recarga.getValue().run();
+        
+        assertTrue(chavesAlunos.matriculaExiste("M2", consultaBanco));
+        assertEquals(2, chavesAlunos.estatisticas().get("matriculas").getChaves());
+        assertEquals(1, chavesAlunos.estatisticas().get("matriculas").getConfirmadasNoBanco());
+    }
+}
@@ -0,0 +1,59 @@
+package br.com.gestao.alunos.unicidade;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FiltroBloomTest {
+    
+    @Test
+    void chavesAdicionadas_SempreTalvezPresentes() {
+        FiltroBloom filtro = new FiltroBloom(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            filtro.adicionar("2024" + i);
+        }
+        
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(filtro.podeConter("2024" + i));
+        }
+        assertEquals(1000, filtro.getChavesAdicionadas());
+    }
+    
+    @Test
+    void chavesAusentes_TaxaDeFalsoPositivoPertoDaConfigurada() {
+        FiltroBloom filtro = new FiltroBloom(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filtro.adicionar("aluno" + i + "@email.com");
+        }
+        
+        int falsosPositivos = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filtro.podeConter("novo" + i + "@email.com")) {
+                falsosPositivos++;
+            }
+        }
+        
+        assertTrue(falsosPositivos < 2000, "falsos positivos: " + falsosPositivos);
+        assertEquals(0.01, filtro.taxaFalsoPositivoEstimada(), 0.002);
+    }
+    
+    @Test
+    void dimensionamento_SegueAFormulaPadrao() {
+        FiltroBloom filtro = new FiltroBloom(10_000, 0.01);
+        
+        // m = -n ln p / (ln 2)^2 ≈ 95851 bits, arredondado para palavras de 64 bits; k = m/n ln 2 ≈ 7
+        assertEquals(95872, filtro.getQuantidadeBits());
+        assertEquals(7, filtro.getFuncoesHash());
+        assertEquals(11984, filtro.getTamanhoBytes());
+        assertEquals(10_000, filtro.getCapacidade());
+        assertEquals(0.0, filtro.taxaFalsoPositivoEstimada());
+        assertFalse(filtro.podeConter("qualquer"));
+    }
+    
+    @Test
+    void parametrosInvalidos_DeveLancarException() {
+        assertThrows(IllegalArgumentException.class, () -> new FiltroBloom(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new FiltroBloom(100, 0));
+        assertThrows(IllegalArgumentException.class, () -> new FiltroBloom(100, 1));
+    }
+}